@@ -0,0 +1,170 @@
+package com.java.benchmark;
+
+import com.java.model.cards.ArmyType;
+import com.java.model.cards.Card;
+import com.java.model.cards.CardsDeck;
+import com.java.model.gamedata.GameData;
+import com.java.model.map.Country;
+import com.java.model.map.GameMap;
+import com.java.model.player.AttackPhaseState;
+import com.java.model.player.PlayerStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per battle hot paths: one dice round through fight, the AI card trade and
+ * a conquest through GameMap.updateCountryConquerer.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BattleBenchmark {
+
+	@Param({"default", "synthetic-1024"})
+	public String mapName;
+
+	private GameData gameData;
+	private PlayerStrategy attacker;
+	private PlayerStrategy defender;
+	private String attackingCountry;
+	private String defendingCountry;
+	private AttackPhaseState attackPhase;
+	private Card[] tradeCards;
+	private ArrayList<Card> tradeHand;
+	private ArrayList<Country> deckCountries;
+	private boolean conqueredByAttacker;
+
+	/**
+	 * Creates a two player game and picks a border between both players.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		BenchmarkFixtures.silenceConsole();
+		gameData = BenchmarkFixtures.newGame(mapName, BenchmarkFixtures.AGGRESSIVE, BenchmarkFixtures.AGGRESSIVE);
+		attacker = gameData.getPlayers().get(0).getStrategyType();
+		defender = gameData.getPlayers().get(1).getStrategyType();
+
+		GameMap gameMap = gameData.gameMap;
+		for (String countryName : gameMap.getConqueredCountries(attacker.getPlayerID())) {
+			for (String adjacentCountry : gameMap.getAdjacentCountries(countryName)) {
+				if (gameMap.getCountry(adjacentCountry).getCountryConquerorID().equals(defender.getPlayerID())) {
+					attackingCountry = countryName;
+					defendingCountry = adjacentCountry;
+					break;
+				}
+			}
+			if (attackingCountry != null) {
+				break;
+			}
+		}
+
+		attackPhase = new AttackPhaseState();
+		attackPhase.setAttackingPlayer(attacker.getPlayerName());
+		attackPhase.setDefendingPlayer(defender.getPlayerName());
+		attackPhase.setAttackingCountry(attackingCountry);
+		attackPhase.setDefendingCountry(defendingCountry);
+		attackPhase.setAttackerDiceCount(3);
+		attackPhase.setDefenderDiceCount(2);
+		attackPhase.setAttackerDiceRollResults(new ArrayList<>(Arrays.asList(6, 4, 2)));
+		attackPhase.setDefenderDiceRollResults(new ArrayList<>(Arrays.asList(5, 4)));
+
+		deckCountries = new ArrayList<>(gameMap.getAllCountries().values());
+		ArmyType[] armyTypes = {ArmyType.INFANTRY, ArmyType.CAVALRY, ArmyType.ARTILLERY, ArmyType.INFANTRY,
+				ArmyType.INFANTRY, ArmyType.CAVALRY};
+		tradeCards = new Card[armyTypes.length];
+		for (int i = 0; i < armyTypes.length; i++) {
+			tradeCards[i] = new Card(armyTypes[i], deckCountries.get(i));
+		}
+		tradeHand = new ArrayList<>(tradeCards.length);
+	}
+
+	/**
+	 * Gives the traded cards a fresh deck. A per invocation setup would be timed by JMH
+	 * around calls of a few microseconds, so the armies, the hand and the size of the deck
+	 * are reset in the benchmarks themselves.
+	 */
+	@Setup(Level.Iteration)
+	public void resetDeck() {
+		attackPhase.setBattleOutcomeFlag(false);
+		gameData.cardsDeck = new CardsDeck(new ArrayList<>(deckCountries));
+	}
+
+	/**
+	 * Gives the console back to JMH.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkFixtures.restoreConsole();
+	}
+
+	/**
+	 * One dice round between the two countries, without conquest. Putting back 50 armies on
+	 * both sides is part of the measure.
+	 *
+	 * @return true if the defending country was conquered.
+	 */
+	@Benchmark
+	public Boolean fight() {
+		gameData.gameMap.getCountry(attackingCountry).setArmyCount(50);
+		gameData.gameMap.getCountry(defendingCountry).setArmyCount(50);
+		return attacker.fight(attackPhase);
+	}
+
+	/**
+	 * Trades a six card hand through the AI trade logic, from the first trade of the game.
+	 * Refilling the hand and the trade value and drawing the traded cards back out of the
+	 * deck, which reshuffles for every returned card, are part of the measure.
+	 *
+	 * @return the number of armies received.
+	 */
+	@Benchmark
+	public int tradeCardsAI() {
+		tradeHand.clear();
+		Collections.addAll(tradeHand, tradeCards);
+		gameData.setCardExchangeArmyCount(5);
+		int armies = attacker.tradeCardsAI(tradeHand);
+		for (int i = tradeHand.size(); i < tradeCards.length; i++) {
+			gameData.cardsDeck.getCard();
+		}
+		return armies;
+	}
+
+	/**
+	 * Moves the defending country back and forth between both players.
+	 */
+	@Benchmark
+	public void updateCountryConquerer() {
+		if (conqueredByAttacker) {
+			gameData.gameMap.updateCountryConquerer(defendingCountry, attacker.getPlayerID(), defender.getPlayerID());
+		} else {
+			gameData.gameMap.updateCountryConquerer(defendingCountry, defender.getPlayerID(), attacker.getPlayerID());
+		}
+		conqueredByAttacker = !conqueredByAttacker;
+	}
+}
@@ -0,0 +1,157 @@
+package com.java.benchmark;
+
+import com.java.controller.map.MapGenerator;
+import com.java.controller.map.MapLoader;
+import com.java.controller.startup.StartUpPhase;
+import com.java.model.gamedata.GameData;
+import com.java.model.map.GameMap;
+import com.java.model.player.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+
+/**
+ * Shared set up for the benchmarks. It resolves the bundled and synthetic maps, builds
+ * ready to play games and silences the console so that the measurements are not dominated
+ * by the game's logging.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public final class BenchmarkFixtures {
+
+	/**
+	 * Strategy codes as understood by StartUpPhase.generatePlayers.
+	 * */
+	public static final int AGGRESSIVE = 1;
+	public static final int BENEVOLENT = 2;
+	public static final int RANDOM = 3;
+	public static final int CHEATER = 4;
+
+	private static final PrintStream CONSOLE = System.out;
+	private static final PrintStream NULL_CONSOLE = new PrintStream(OutputStream.nullOutputStream());
+
+	private BenchmarkFixtures() {
+	}
+
+	/**
+	 * Redirects the standard output to a null stream.
+	 */
+	public static void silenceConsole() {
+		System.setOut(NULL_CONSOLE);
+	}
+
+	/**
+	 * Restores the standard output.
+	 */
+	public static void restoreConsole() {
+		System.setOut(CONSOLE);
+	}
+
+	/**
+	 * Resolves a benchmark map name to a file path. "default" and "Manhattan" are the bundled
+	 * maps, "synthetic-N", "geometric-N" and "scalefree-N" are generated maps with N
+	 * territories using the planar grid, random geometric and scale free topologies.
+	 *
+	 * @param mapName the map name used as benchmark parameter.
+	 * @return the path of the .map file.
+	 */
+	public static String resolveMapFile(String mapName) {
+		if (mapName.startsWith("synthetic-")) {
+			return writeSyntheticMap(MapGenerator.Topology.PLANAR_GRID, sizeOf(mapName));
+		}
+		if (mapName.startsWith("geometric-")) {
+			return writeSyntheticMap(MapGenerator.Topology.RANDOM_GEOMETRIC, sizeOf(mapName));
+		}
+		if (mapName.startsWith("scalefree-")) {
+			return writeSyntheticMap(MapGenerator.Topology.SCALE_FREE, sizeOf(mapName));
+		}
+		return "./map/" + mapName + ".map";
+	}
+
+	private static int sizeOf(String mapName) {
+		return Integer.parseInt(mapName.substring(mapName.indexOf('-') + 1));
+	}
+
+	/**
+	 * Loads and validates a map through the regular MapLoader path.
+	 *
+	 * @param mapName the map name used as benchmark parameter.
+	 * @return the loaded map.
+	 */
+	public static GameMap loadMap(String mapName) {
+		MapLoader mapLoader = new MapLoader();
+		if (!mapLoader.loadMapFromFile(resolveMapFile(mapName))) {
+			throw new IllegalStateException("Benchmark map " + mapName + " could not be loaded");
+		}
+		return mapLoader.map;
+	}
+
+	/**
+	 * Creates a game on the given map with one player per strategy code. The countries are
+	 * assigned at random and every country receives between one and four armies.
+	 *
+	 * @param mapName the map name used as benchmark parameter.
+	 * @param strategies strategy codes, one per player.
+	 * @return the game data ready to play.
+	 */
+	public static GameData newGame(String mapName, int... strategies) {
+		GameData gameData = new GameData();
+		gameData.gameMap = loadMap(mapName);
+		gameData.setNoOfPlayers(strategies.length);
+
+		ArrayList<String> playerNames = new ArrayList<>();
+		ArrayList<Integer> playerStrategies = new ArrayList<>();
+		for (int i = 0; i < strategies.length; i++) {
+			playerNames.add("Bench" + (i + 1));
+			playerStrategies.add(strategies[i]);
+		}
+
+		StartUpPhase startUp = new StartUpPhase(gameData);
+		startUp.generatePlayers(playerNames, playerStrategies);
+		startUp.generateCardsDeck();
+		startUp.assignCountriesToPlayers();
+
+		int armies = 0;
+		for (String countryName : gameData.gameMap.getAllCountries().keySet()) {
+			gameData.gameMap.getCountry(countryName).setArmyCount(1 + (armies++ % 4));
+		}
+		gameData.gameMap.calculateNumberOfArmiesPerPlayer();
+
+		for (Player player : gameData.getPlayers()) {
+			player.getStrategyType().setGameData(gameData);
+		}
+		return gameData;
+	}
+
+	/**
+	 * Writes a generated map, split in continents of about 32 territories. The file is
+	 * cached in the temporary directory since the generation is deterministic.
+	 *
+	 * @param topology the degree distribution.
+	 * @param numberOfCountries number of territories.
+	 * @return the path of the written file.
+	 */
+	private static String writeSyntheticMap(MapGenerator.Topology topology, int numberOfCountries) {
+		File file = new File(System.getProperty("java.io.tmpdir"),
+				"risk-bench-" + topology.name().toLowerCase() + "-" + numberOfCountries + ".map");
+		if (file.exists()) {
+			return file.getPath();
+		}
+
+		int numberOfContinents = Math.max(1, numberOfCountries / 32);
+		try {
+			new MapGenerator(numberOfCountries, numberOfContinents, topology, 42L).writeMapFile(file.getPath());
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not write synthetic map", e);
+		}
+		return file.getPath();
+	}
+}
@@ -0,0 +1,86 @@
+package com.java.benchmark;
+
+import com.java.controller.map.MapLoader;
+import com.java.controller.map.MapValidator;
+import com.java.model.map.GameMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a .map file through MapLoader and validating an already loaded map
+ * through MapValidator, on the bundled maps and on synthetic maps of growing size.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark {
+
+	@Param({"default", "Manhattan", "synthetic-256", "synthetic-1024"})
+	public String mapName;
+
+	private String mapFilePath;
+	private GameMap loadedMap;
+
+	/**
+	 * Resolves the map file and keeps a loaded copy for the validation benchmark.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		BenchmarkFixtures.silenceConsole();
+		mapFilePath = BenchmarkFixtures.resolveMapFile(mapName);
+		loadedMap = BenchmarkFixtures.loadMap(mapName);
+	}
+
+	/**
+	 * Gives the console back to JMH.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkFixtures.restoreConsole();
+	}
+
+	/**
+	 * Parses and validates the map file.
+	 *
+	 * @return the loaded map.
+	 */
+	@Benchmark
+	public GameMap loadMapFromFile() {
+		MapLoader mapLoader = new MapLoader();
+		mapLoader.loadMapFromFile(mapFilePath);
+		return mapLoader.map;
+	}
+
+	/**
+	 * Validates an already loaded map.
+	 *
+	 * @return true if the map is valid.
+	 */
+	@Benchmark
+	public Boolean validateMap() {
+		return new MapValidator().validateMap(loadedMap);
+	}
+}
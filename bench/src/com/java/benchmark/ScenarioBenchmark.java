@@ -0,0 +1,84 @@
+package com.java.benchmark;
+
+import com.java.model.gamedata.GameData;
+import com.java.model.player.PlayerStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the scenario builders every bot calls on each turn: the potential attack
+ * scenarios and the (recursive) fortification scenarios.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScenarioBenchmark {
+
+	@Param({"default", "Manhattan", "synthetic-256", "synthetic-1024"})
+	public String mapName;
+
+	private PlayerStrategy player;
+
+	/**
+	 * Creates a two player game on the selected map.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		BenchmarkFixtures.silenceConsole();
+		GameData gameData = BenchmarkFixtures.newGame(mapName, BenchmarkFixtures.AGGRESSIVE, BenchmarkFixtures.RANDOM);
+		player = gameData.getPlayers().get(0).getStrategyType();
+	}
+
+	/**
+	 * Gives the console back to JMH.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkFixtures.restoreConsole();
+	}
+
+	/**
+	 * Builds the attack scenarios of the first player.
+	 *
+	 * @return the attack scenarios.
+	 */
+	@Benchmark
+	public HashMap<String, ArrayList<String>> getPotentialAttackScenarios() {
+		return player.getPotentialAttackScenarios();
+	}
+
+	/**
+	 * Builds the fortification scenarios of the first player.
+	 *
+	 * @return the fortification scenarios.
+	 */
+	@Benchmark
+	public HashMap<String, ArrayList<String>> getFortificationScenarios() {
+		return player.getFortificationScenarios();
+	}
+}
@@ -0,0 +1,113 @@
+package com.java.benchmark;
+
+import com.java.model.cards.Card;
+import com.java.model.gamedata.GameData;
+import com.java.model.map.GameMapSnapshot;
+import com.java.model.player.Player;
+import com.java.model.player.PlayerStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one full turn (reinforcement, attack and fortification) for each bot strategy.
+ * The game is set up once per trial, and every turn starts again from its first position so
+ * that the position does not drift.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TurnBenchmark {
+
+	@Param({"default", "synthetic-256"})
+	public String mapName;
+
+	@Param({"aggressive", "benevolent", "random", "cheater"})
+	public String strategy;
+
+	private GameData gameData;
+	private Player player;
+	private GameMapSnapshot firstPosition;
+
+	/**
+	 * Sets up the game where the measured strategy plays against a random player, and takes
+	 * the snapshot of its first position.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		BenchmarkFixtures.silenceConsole();
+		int strategyCode;
+		switch (strategy) {
+		case "aggressive":
+			strategyCode = BenchmarkFixtures.AGGRESSIVE;
+			break;
+		case "benevolent":
+			strategyCode = BenchmarkFixtures.BENEVOLENT;
+			break;
+		case "cheater":
+			strategyCode = BenchmarkFixtures.CHEATER;
+			break;
+		default:
+			strategyCode = BenchmarkFixtures.RANDOM;
+			break;
+		}
+		gameData = BenchmarkFixtures.newGame(mapName, strategyCode, BenchmarkFixtures.RANDOM);
+		player = gameData.getPlayers().get(0);
+		firstPosition = gameData.gameMap.createSnapshot();
+	}
+
+	/**
+	 * Gives the console back to JMH.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkFixtures.restoreConsole();
+	}
+
+	/**
+	 * Plays one turn from the first position. A per invocation setup would be timed by JMH,
+	 * so putting back the map, the cards and the state of the players is part of the
+	 * measure. It takes a pass over the countries and the cards, small next to a turn.
+	 */
+	@Benchmark
+	public void startTurn() {
+		gameData.gameMap.restoreSnapshot(firstPosition);
+		gameData.setCardExchangeArmyCount(5);
+		for (Player eachPlayer : gameData.getPlayers()) {
+			PlayerStrategy strategy = eachPlayer.getStrategyType();
+			for (Card card : strategy.getPlayerCardList()) {
+				gameData.cardsDeck.setCard(card);
+			}
+			strategy.getPlayerCardList().clear();
+			strategy.getReinforcementPhaseState().clear();
+			strategy.getAttackPhaseState().clear();
+			strategy.getFortificationPhaseState().clear();
+			strategy.setIsWinner(false);
+			strategy.isActive = true;
+			strategy.gameOn = true;
+		}
+		player.startTurn();
+	}
+}
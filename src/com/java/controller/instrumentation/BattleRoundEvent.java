@@ -0,0 +1,42 @@
+package com.java.controller.instrumentation;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for one round of dice between an attacker and a defender.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+@Name("risk.BattleRound")
+@Label("Battle Round")
+@Description("One round of dice of an attack")
+public class BattleRoundEvent extends GameEvent {
+
+	@Label("Attacking Country")
+	public String attackingCountry;
+
+	@Label("Defending Country")
+	public String defendingCountry;
+
+	@Label("Attacker Dice")
+	public int attackerDice;
+
+	@Label("Defender Dice")
+	public int defenderDice;
+
+	@Label("Attacker Losses")
+	public int attackerLosses;
+
+	@Label("Defender Losses")
+	public int defenderLosses;
+
+	@Label("Conquered")
+	public boolean conquered;
+}
@@ -0,0 +1,27 @@
+package com.java.controller.instrumentation;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the automatic trade of cards into armies.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+@Name("risk.CardTrade")
+@Label("Card Trade")
+@Description("Cards traded for reinforcement armies")
+public class CardTradeEvent extends GameEvent {
+
+	@Label("Cards Traded")
+	public int cardsTraded;
+
+	@Label("Armies Received")
+	public int armiesReceived;
+}
@@ -0,0 +1,28 @@
+package com.java.controller.instrumentation;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a country changing hands. The player fields describe the new
+ * owner.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+@Name("risk.Conquest")
+@Label("Conquest")
+@Description("A country is taken by another player")
+public class ConquestEvent extends GameEvent {
+
+	@Label("Country")
+	public String country;
+
+	@Label("Previous Owner Id")
+	public int previousPlayerId;
+}
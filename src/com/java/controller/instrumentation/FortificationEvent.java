@@ -0,0 +1,30 @@
+package com.java.controller.instrumentation;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the armies moved during the fortification phase.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+@Name("risk.Fortification")
+@Label("Fortification")
+@Description("Armies moved from one country to another at the end of a turn")
+public class FortificationEvent extends GameEvent {
+
+	@Label("From Country")
+	public String fromCountry;
+
+	@Label("To Country")
+	public String toCountry;
+
+	@Label("Armies Moved")
+	public int armiesMoved;
+}
@@ -0,0 +1,74 @@
+package com.java.controller.instrumentation;
+
+import com.java.model.gamedata.GameData;
+import com.java.model.map.GameMap;
+import com.java.model.player.PlayerStrategy;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+
+/**
+ * GameEvent is the parent of the Java Flight Recorder events of the game. It carries the
+ * fields shared by all of them so that the game behaviour can be correlated with GC and JIT
+ * activity in a recording.
+ *
+ * The events are only committed when a recording has them enabled, callers check
+ * isEnabled or shouldCommit before filling the fields so the overhead is close to zero
+ * otherwise.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+@Category("Risk Game")
+public abstract class GameEvent extends jdk.jfr.Event {
+
+	@Label("Game Id")
+	@Description("Id of the game, 0 when the map is not used by a game yet")
+	public long gameId;
+
+	@Label("Player Id")
+	public int playerId;
+
+	@Label("Strategy")
+	@Description("Simple class name of the player strategy")
+	public String strategy;
+
+	@Label("Map Size")
+	@Description("Number of countries of the map")
+	public int mapSize;
+
+	/**
+	 * Sets the common fields from the playing strategy.
+	 *
+	 * @param gameData the game data.
+	 * @param player the playing strategy.
+	 */
+	public void setContext(GameData gameData, PlayerStrategy player) {
+		if (gameData != null) {
+			this.gameId = toPrimitive(gameData.getGameId());
+			this.mapSize = gameData.gameMap == null ? 0 : gameData.gameMap.getNumberOfCountries();
+		}
+		if (player != null) {
+			this.playerId = player.getPlayerID() == null ? 0 : player.getPlayerID();
+			this.strategy = player.getClass().getSimpleName();
+		}
+	}
+
+	/**
+	 * Sets the common fields when no player is involved.
+	 *
+	 * @param map the game map.
+	 */
+	public void setContext(GameMap map) {
+		this.gameId = toPrimitive(map.getGameId());
+		this.mapSize = map.getNumberOfCountries();
+	}
+
+	private static long toPrimitive(Long value) {
+		return value == null ? 0 : value;
+	}
+}
@@ -0,0 +1,173 @@
+package com.java.controller.instrumentation;
+
+import com.java.model.gamedata.GameData;
+import com.java.model.player.Player;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * GameMetrics records the counters and gauges of the games played by this process in the
+ * default MetricsRegistry: games in progress, turns and battles (totals and per second),
+ * average battle duration, size of the cards decks, number of observers and the win rate of
+ * every strategy.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public final class GameMetrics {
+
+	/**
+	 * Per second rate of a counter, computed between two reads at least one second apart so
+	 * that concurrent scrapers do not shorten the window.
+	 * */
+	private static final class RateGauge {
+		private static final long MINIMUM_WINDOW_NANOS = 1000000000L;
+
+		private final LongAdder counter;
+		private long lastCount;
+		private long lastTime = System.nanoTime();
+		private double lastRate;
+
+		private RateGauge(LongAdder counter) {
+			this.counter = counter;
+		}
+
+		private synchronized double getRate() {
+			long now = System.nanoTime();
+			if (now - lastTime >= MINIMUM_WINDOW_NANOS) {
+				long count = counter.sum();
+				lastRate = (count - lastCount) * 1e9 / (now - lastTime);
+				lastCount = count;
+				lastTime = now;
+			}
+			return lastRate;
+		}
+	}
+
+	private static final MetricsRegistry registry = MetricsRegistry.getDefault();
+	private static final Set<GameData> gamesInProgress = ConcurrentHashMap.newKeySet();
+
+	private static final LongAdder gamesStarted = registry.counter("risk_games_started_total", "Games started");
+	private static final LongAdder gamesFinished = registry.counter("risk_games_finished_total", "Games finished");
+	private static final LongAdder turns = registry.counter("risk_turns_total", "Turns played");
+	private static final LongAdder battles = registry.counter("risk_battles_total", "Battle rounds fought");
+	private static final LongAdder battleNanoseconds = registry.counter("risk_battle_nanoseconds_total",
+			"Time spent in battle rounds");
+
+	static {
+		RateGauge turnRate = new RateGauge(turns);
+		RateGauge battleRate = new RateGauge(battles);
+
+		registry.gauge("risk_games_in_progress", "Games currently being played", gamesInProgress::size);
+		registry.gauge("risk_turns_per_second", "Turns played per second", turnRate::getRate);
+		registry.gauge("risk_battles_per_second", "Battle rounds fought per second", battleRate::getRate);
+		registry.gauge("risk_battle_average_seconds", "Average duration of a battle round", () -> {
+			long numberOfBattles = battles.sum();
+			return numberOfBattles == 0 ? 0 : battleNanoseconds.sum() / 1e9 / numberOfBattles;
+		});
+		registry.gauge("risk_deck_size", "Cards left in the decks of the games in progress", () -> {
+			long deckSize = 0;
+			for (GameData gameData : gamesInProgress) {
+				if (gameData.cardsDeck != null) {
+					deckSize += gameData.cardsDeck.getDeckSize();
+				}
+			}
+			return deckSize;
+		});
+		registry.gauge("risk_observers", "Observers notified synchronously by the maps and players of the games in progress", () -> {
+			long numberOfObservers = 0;
+			for (GameData gameData : gamesInProgress) {
+				if (gameData.gameMap != null) {
+					numberOfObservers += gameData.gameMap.getNumberOfObservers();
+				}
+				if (gameData.getPlayers() != null) {
+					for (Player player : gameData.getPlayers()) {
+						numberOfObservers += player.getStrategyType().getNumberOfObservers();
+					}
+				}
+			}
+			return numberOfObservers;
+		});
+	}
+
+	private GameMetrics() {
+	}
+
+	/**
+	 * Records the start of a game.
+	 *
+	 * @param gameData the game being started.
+	 */
+	public static void gameStarted(GameData gameData) {
+		if (gamesInProgress.add(gameData)) {
+			gamesStarted.increment();
+		}
+	}
+
+	/**
+	 * Stops counting a game as in progress without finishing it, when it is set aside or
+	 * abandoned.
+	 *
+	 * @param gameData the game set aside.
+	 */
+	public static void gameSuspended(GameData gameData) {
+		gamesInProgress.remove(gameData);
+	}
+
+	/**
+	 * Counts a game set aside as in progress again, without starting a new one.
+	 *
+	 * @param gameData the game taken back.
+	 */
+	public static void gameResumed(GameData gameData) {
+		gamesInProgress.add(gameData);
+	}
+
+	/**
+	 * Records the end of a game and the strategy of its winner, if any.
+	 *
+	 * @param gameData the finished game.
+	 */
+	public static void gameFinished(GameData gameData) {
+		if (!gamesInProgress.remove(gameData)) {
+			return;
+		}
+		gamesFinished.increment();
+
+		Player winner = gameData.getWinner();
+		for (Player player : gameData.getPlayers()) {
+			String strategy = player.getStrategyType().getClass().getSimpleName();
+			LongAdder played = registry.counter("risk_games_played_total", "Games played per strategy", "strategy", strategy);
+			LongAdder won = registry.counter("risk_games_won_total", "Games won per strategy", "strategy", strategy);
+			registry.gauge("risk_win_rate", "Ratio of the games won per strategy", "strategy", strategy,
+					() -> played.sum() == 0 ? 0 : (double) won.sum() / played.sum());
+			played.increment();
+			if (player == winner) {
+				won.increment();
+			}
+		}
+	}
+
+	/**
+	 * Records a played turn.
+	 */
+	public static void turnPlayed() {
+		turns.increment();
+	}
+
+	/**
+	 * Records a battle round.
+	 *
+	 * @param durationNanos the duration of the round in nanoseconds.
+	 */
+	public static void battleFought(long durationNanos) {
+		battles.increment();
+		battleNanoseconds.add(durationNanos);
+	}
+}
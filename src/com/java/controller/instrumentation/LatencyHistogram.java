@@ -0,0 +1,165 @@
+package com.java.controller.instrumentation;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram is a lock-free histogram of positive long values (nanoseconds, bytes...)
+ * with log-linear buckets, in the same spirit as an HDR histogram. Values below 64 have
+ * their own bucket, above that every power of two is split in 32 buckets, so any recorded
+ * value is reported with less than 3.2% of relative error while the whole long range fits
+ * in 1888 counters.
+ *
+ * Recording is a few atomic increments and can be done concurrently from any number of
+ * threads.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class LatencyHistogram implements Serializable {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+	private static final int NUMBER_OF_BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray counts = new AtomicLongArray(NUMBER_OF_BUCKETS);
+	private final AtomicLong totalCount = new AtomicLong();
+	private final AtomicLong totalSum = new AtomicLong();
+	private final AtomicLong minValue = new AtomicLong(Long.MAX_VALUE);
+	private final AtomicLong maxValue = new AtomicLong();
+
+	/**
+	 * Records a value, negative values are recorded as 0.
+	 *
+	 * @param value the value to be recorded.
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		counts.incrementAndGet(bucketIndex(value));
+		totalCount.incrementAndGet();
+		totalSum.addAndGet(value);
+		minValue.accumulateAndGet(value, Math::min);
+		maxValue.accumulateAndGet(value, Math::max);
+	}
+
+	/**
+	 * Gets the number of recorded values.
+	 *
+	 * @return the number of recorded values.
+	 */
+	public long getTotalCount() {
+		return totalCount.get();
+	}
+
+	/**
+	 * Gets the sum of the recorded values.
+	 *
+	 * @return the sum of the recorded values.
+	 */
+	public long getTotalSum() {
+		return totalSum.get();
+	}
+
+	/**
+	 * Gets the mean of the recorded values.
+	 *
+	 * @return the mean, 0 if nothing was recorded.
+	 */
+	public double getMean() {
+		long count = totalCount.get();
+		return count == 0 ? 0 : (double) totalSum.get() / count;
+	}
+
+	/**
+	 * Gets the smallest recorded value.
+	 *
+	 * @return the minimum, 0 if nothing was recorded.
+	 */
+	public long getMin() {
+		return totalCount.get() == 0 ? 0 : minValue.get();
+	}
+
+	/**
+	 * Gets the largest recorded value.
+	 *
+	 * @return the maximum, 0 if nothing was recorded.
+	 */
+	public long getMax() {
+		return maxValue.get();
+	}
+
+	/**
+	 * Gets the value below which the given percentage of the recorded values fall. The
+	 * highest value of the bucket is returned, capped by the maximum recorded value.
+	 *
+	 * @param percentile the percentile, between 0 and 100.
+	 * @return the value at the percentile, 0 if nothing was recorded.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long count = totalCount.get();
+		if (count == 0) {
+			return 0;
+		}
+		long countAtPercentile = Math.max(1, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * count));
+		long runningCount = 0;
+		for (int index = 0; index < NUMBER_OF_BUCKETS; index++) {
+			runningCount += counts.get(index);
+			if (runningCount >= countAtPercentile) {
+				return Math.min(highestValueInBucket(index), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Clears all recorded values.
+	 */
+	public void reset() {
+		for (int index = 0; index < NUMBER_OF_BUCKETS; index++) {
+			counts.set(index, 0);
+		}
+		totalCount.set(0);
+		totalSum.set(0);
+		minValue.set(Long.MAX_VALUE);
+		maxValue.set(0);
+	}
+
+	/**
+	 * Bucket of a value: linear below LINEAR_LIMIT, then SUB_BUCKET_COUNT buckets per power
+	 * of two.
+	 *
+	 * @param value a positive value.
+	 * @return the bucket index.
+	 */
+	static int bucketIndex(long value) {
+		if (value < LINEAR_LIMIT) {
+			return (int) value;
+		}
+		int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+		return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+	}
+
+	/**
+	 * Highest value that is recorded in a bucket.
+	 *
+	 * @param index the bucket index.
+	 * @return the highest value of the bucket.
+	 */
+	static long highestValueInBucket(int index) {
+		if (index < LINEAR_LIMIT) {
+			return index;
+		}
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long mantissa = index - (long) shift * SUB_BUCKET_COUNT;
+		long highest = ((mantissa + 1) << shift) - 1;
+		return highest < 0 ? Long.MAX_VALUE : highest;
+	}
+}
@@ -0,0 +1,27 @@
+package com.java.controller.instrumentation;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the loading of a .map file.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+@Name("risk.MapLoad")
+@Label("Map Load")
+@Description("Reading, parsing and validation of a .map file")
+public class MapLoadEvent extends GameEvent {
+
+	@Label("Path")
+	public String path;
+
+	@Label("Loaded")
+	public boolean loaded;
+}
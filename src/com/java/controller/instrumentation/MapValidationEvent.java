@@ -0,0 +1,24 @@
+package com.java.controller.instrumentation;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the validation of a loaded map.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+@Name("risk.MapValidation")
+@Label("Map Validation")
+@Description("Validation of the metadata, continents, countries and connectivity of a map")
+public class MapValidationEvent extends GameEvent {
+
+	@Label("Valid")
+	public boolean valid;
+}
@@ -0,0 +1,161 @@
+package com.java.controller.instrumentation;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MetricsExporter exposes a MetricsRegistry in the Prometheus text format, on a local HTTP
+ * endpoint (http://127.0.0.1:port/metrics) and/or by writing a file periodically. The file is
+ * written next to its destination and moved in place, so a collector never reads half of it.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class MetricsExporter {
+
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	private final MetricsRegistry registry;
+	private HttpServer httpServer;
+	private ExecutorService httpExecutor;
+	private ScheduledExecutorService fileExportScheduler;
+
+	/**
+	 * Creates an exporter of a registry.
+	 *
+	 * @param registry the registry to be exported.
+	 */
+	public MetricsExporter(MetricsRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Starts the HTTP endpoint on the loopback interface.
+	 *
+	 * @param port the port, 0 to pick a free one.
+	 * @return the port the endpoint listens on.
+	 * @throws IOException if the port can not be bound.
+	 */
+	public synchronized int startHttpEndpoint(int port) throws IOException {
+		if (httpServer != null) {
+			return httpServer.getAddress().getPort();
+		}
+		httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		httpServer.createContext("/metrics", exchange -> {
+			byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream responseBody = exchange.getResponseBody()) {
+				responseBody.write(body);
+			}
+		});
+		httpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "metrics-http");
+			thread.setDaemon(true);
+			return thread;
+		});
+		httpServer.setExecutor(httpExecutor);
+		httpServer.start();
+		return httpServer.getAddress().getPort();
+	}
+
+	/**
+	 * Starts writing the metrics to a file at a fixed period.
+	 *
+	 * @param filePath the destination file, e.g. for the node exporter textfile collector.
+	 * @param periodSeconds the period between two exports.
+	 */
+	public synchronized void startFileExport(String filePath, long periodSeconds) {
+		if (fileExportScheduler != null) {
+			return;
+		}
+		fileExportScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "metrics-file-export");
+			thread.setDaemon(true);
+			return thread;
+		});
+		fileExportScheduler.scheduleAtFixedRate(() -> {
+			try {
+				writeFile(filePath);
+			} catch (IOException e) {
+				System.out.println("Metrics could not be exported: " + e.getMessage());
+			}
+		}, 0, periodSeconds, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Writes the current metrics to a file, through a temporary file moved in place.
+	 *
+	 * @param filePath the destination file.
+	 * @throws IOException if the file can not be written.
+	 */
+	public void writeFile(String filePath) throws IOException {
+		Path destination = Paths.get(filePath).toAbsolutePath();
+		Path temporaryFile = destination.resolveSibling(destination.getFileName() + ".tmp");
+		Files.write(temporaryFile, registry.scrape().getBytes(StandardCharsets.UTF_8));
+		try {
+			Files.move(temporaryFile, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			Files.move(temporaryFile, destination, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Stops the HTTP endpoint and the file export.
+	 */
+	public synchronized void stop() {
+		if (httpServer != null) {
+			httpServer.stop(0);
+			httpExecutor.shutdown();
+			httpServer = null;
+		}
+		if (fileExportScheduler != null) {
+			fileExportScheduler.shutdown();
+			fileExportScheduler = null;
+		}
+	}
+
+	/**
+	 * Starts the exports requested through the system properties risk.metrics.port and
+	 * risk.metrics.file (exported every risk.metrics.period seconds, 15 by default).
+	 *
+	 * @return the started exporter, null if no export was requested.
+	 */
+	public static MetricsExporter startFromSystemProperties() {
+		String port = System.getProperty("risk.metrics.port");
+		String file = System.getProperty("risk.metrics.file");
+		if (port == null && file == null) {
+			return null;
+		}
+		MetricsExporter exporter = new MetricsExporter(MetricsRegistry.getDefault());
+		try {
+			if (port != null) {
+				int boundPort = exporter.startHttpEndpoint(Integer.parseInt(port));
+				System.out.println("Metrics available on http://127.0.0.1:" + boundPort + "/metrics");
+			}
+		} catch (IOException | NumberFormatException e) {
+			System.out.println("Metrics endpoint could not be started: " + e.getMessage());
+		}
+		if (file != null) {
+			exporter.startFileExport(file, Long.parseLong(System.getProperty("risk.metrics.period", "15")));
+		}
+		return exporter;
+	}
+}
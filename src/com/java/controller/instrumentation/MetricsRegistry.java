@@ -0,0 +1,160 @@
+package com.java.controller.instrumentation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * MetricsRegistry holds named counters and gauges and renders them in the Prometheus text
+ * exposition format. Counters are striped LongAdder so that the game threads can increment
+ * them without contention, gauges are functions evaluated when the metrics are scraped.
+ *
+ * A metric family has a name, a help text, a type and one sample per label value. The
+ * families and samples are kept sorted so that two scrapes list them in the same order.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class MetricsRegistry {
+
+	private static final MetricsRegistry defaultRegistry = new MetricsRegistry();
+
+	/**
+	 * One metric family, counter or gauge, with its samples keyed by label set.
+	 * */
+	private static final class Family {
+		private final String help;
+		private final String type;
+		private final ConcurrentSkipListMap<String, Object> samples = new ConcurrentSkipListMap<>();
+
+		private Family(String help, String type) {
+			this.help = help;
+			this.type = type;
+		}
+	}
+
+	private final ConcurrentSkipListMap<String, Family> families = new ConcurrentSkipListMap<>();
+
+	/**
+	 * Gets the registry used by the game.
+	 *
+	 * @return the default registry.
+	 */
+	public static MetricsRegistry getDefault() {
+		return defaultRegistry;
+	}
+
+	/**
+	 * Gets or creates a counter without labels.
+	 *
+	 * @param name the metric name.
+	 * @param help the description of the metric.
+	 * @return the counter.
+	 */
+	public LongAdder counter(String name, String help) {
+		return counter(name, help, null, null);
+	}
+
+	/**
+	 * Gets or creates a counter with one label.
+	 *
+	 * @param name the metric name.
+	 * @param help the description of the metric.
+	 * @param labelName the label name, null for none.
+	 * @param labelValue the label value.
+	 * @return the counter.
+	 */
+	public LongAdder counter(String name, String help, String labelName, String labelValue) {
+		Family family = getFamily(name, help, "counter");
+		return (LongAdder) family.samples.computeIfAbsent(labels(labelName, labelValue), key -> new LongAdder());
+	}
+
+	/**
+	 * Registers a gauge without labels, an existing gauge with the same name is replaced.
+	 *
+	 * @param name the metric name.
+	 * @param help the description of the metric.
+	 * @param value function giving the current value.
+	 */
+	public void gauge(String name, String help, DoubleSupplier value) {
+		gauge(name, help, null, null, value);
+	}
+
+	/**
+	 * Registers a gauge with one label, an existing gauge with the same labels is replaced.
+	 *
+	 * @param name the metric name.
+	 * @param help the description of the metric.
+	 * @param labelName the label name, null for none.
+	 * @param labelValue the label value.
+	 * @param value function giving the current value.
+	 */
+	public void gauge(String name, String help, String labelName, String labelValue, DoubleSupplier value) {
+		getFamily(name, help, "gauge").samples.put(labels(labelName, labelValue), value);
+	}
+
+	private Family getFamily(String name, String help, String type) {
+		Family family = families.computeIfAbsent(name, key -> new Family(help, type));
+		if (!family.type.equals(type)) {
+			throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type);
+		}
+		return family;
+	}
+
+	private static String labels(String labelName, String labelValue) {
+		if (labelName == null) {
+			return "";
+		}
+		String escapedValue = labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+		return "{" + labelName + "=\"" + escapedValue + "\"}";
+	}
+
+	/**
+	 * Renders all metrics in the Prometheus text format.
+	 *
+	 * @return the metrics text.
+	 */
+	public String scrape() {
+		StringBuilder text = new StringBuilder();
+		for (Map.Entry<String, Family> familyEntry : families.entrySet()) {
+			Family family = familyEntry.getValue();
+			text.append("# HELP ").append(familyEntry.getKey()).append(' ').append(family.help).append('\n');
+			text.append("# TYPE ").append(familyEntry.getKey()).append(' ').append(family.type).append('\n');
+			for (Map.Entry<String, Object> sample : family.samples.entrySet()) {
+				text.append(familyEntry.getKey()).append(sample.getKey()).append(' ');
+				if (sample.getValue() instanceof LongAdder) {
+					text.append(((LongAdder) sample.getValue()).sum());
+				} else {
+					text.append(formatDouble(((DoubleSupplier) sample.getValue()).getAsDouble()));
+				}
+				text.append('\n');
+			}
+		}
+		return text.toString();
+	}
+
+	private static String formatDouble(double value) {
+		if (Double.isNaN(value)) {
+			return "NaN";
+		}
+		if (Double.isInfinite(value)) {
+			return value > 0 ? "+Inf" : "-Inf";
+		}
+		if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+			return Long.toString((long) value);
+		}
+		return Double.toString(value);
+	}
+
+	/**
+	 * Removes all metrics.
+	 */
+	public void clear() {
+		families.clear();
+	}
+}
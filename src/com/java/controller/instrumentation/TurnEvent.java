@@ -0,0 +1,28 @@
+package com.java.controller.instrumentation;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a whole turn of a player, from the start of the reinforcement
+ * to the end of the fortification.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+@Name("risk.Turn")
+@Label("Turn")
+@Description("Turn of a player, its start time and duration")
+public class TurnEvent extends GameEvent {
+
+	@Label("Countries Owned At End")
+	public int countriesOwned;
+
+	@Label("Winner")
+	public boolean winner;
+}
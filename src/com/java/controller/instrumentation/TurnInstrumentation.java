@@ -0,0 +1,221 @@
+package com.java.controller.instrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TurnInstrumentation measures the turns of the players. For every strategy class and
+ * every phase (the whole turn, reinforcement, attack and fortification) it records the wall
+ * time, the CPU time and the bytes allocated by the playing thread into lock-free
+ * histograms, one sample per turn. A summary can be printed at the end of a game or a
+ * tournament to find which strategy and phase is the slowest.
+ *
+ * The instrumentation is enabled by default and can be turned off with the system property
+ * risk.instrumentation=false or with setEnabled.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public final class TurnInstrumentation {
+
+	/**
+	 * The measured phases, TURN covers the three others.
+	 * */
+	public enum Phase {
+		TURN, REINFORCEMENT, ATTACK, FORTIFICATION
+	}
+
+	/**
+	 * Start values of one measurement.
+	 * */
+	public static final class Probe {
+		private final long wallTimeStart;
+		private final long cpuTimeStart;
+		private final long allocatedBytesStart;
+
+		private Probe(long wallTimeStart, long cpuTimeStart, long allocatedBytesStart) {
+			this.wallTimeStart = wallTimeStart;
+			this.cpuTimeStart = cpuTimeStart;
+			this.allocatedBytesStart = allocatedBytesStart;
+		}
+	}
+
+	/**
+	 * Histograms of one strategy and phase.
+	 * */
+	public static final class PhaseStatistics {
+		private final LatencyHistogram wallTime = new LatencyHistogram();
+		private final LatencyHistogram cpuTime = new LatencyHistogram();
+		private final LatencyHistogram allocatedBytes = new LatencyHistogram();
+
+		/**
+		 * @return the wall time histogram, in nanoseconds.
+		 */
+		public LatencyHistogram getWallTime() {
+			return wallTime;
+		}
+
+		/**
+		 * @return the CPU time histogram, in nanoseconds.
+		 */
+		public LatencyHistogram getCpuTime() {
+			return cpuTime;
+		}
+
+		/**
+		 * @return the allocated memory histogram, in bytes.
+		 */
+		public LatencyHistogram getAllocatedBytes() {
+			return allocatedBytes;
+		}
+	}
+
+	private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+	private static final boolean CPU_TIME_SUPPORTED = THREAD_BEAN.isCurrentThreadCpuTimeSupported();
+	private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = getAllocationBean();
+
+	private static final ConcurrentHashMap<String, PhaseStatistics[]> statistics = new ConcurrentHashMap<>();
+	private static volatile boolean enabled = Boolean.parseBoolean(System.getProperty("risk.instrumentation", "true"));
+
+	private TurnInstrumentation() {
+	}
+
+	/**
+	 * Gets the bean measuring the allocations, if the JVM supports it.
+	 *
+	 * @return the bean or null.
+	 */
+	private static com.sun.management.ThreadMXBean getAllocationBean() {
+		if (THREAD_BEAN instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_BEAN;
+			if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+				return bean;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Enables or disables the instrumentation.
+	 *
+	 * @param isEnabled true to record measurements.
+	 */
+	public static void setEnabled(boolean isEnabled) {
+		enabled = isEnabled;
+	}
+
+	/**
+	 * @return true if the measurements are recorded.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts a measurement on the current thread.
+	 *
+	 * @return the probe to be given to stop, null when disabled.
+	 */
+	public static Probe start() {
+		if (!enabled) {
+			return null;
+		}
+		return new Probe(System.nanoTime(), CPU_TIME_SUPPORTED ? THREAD_BEAN.getCurrentThreadCpuTime() : 0,
+				ALLOCATION_BEAN != null ? ALLOCATION_BEAN.getCurrentThreadAllocatedBytes() : 0);
+	}
+
+	/**
+	 * Ends a measurement started on the current thread and records it.
+	 *
+	 * @param strategyClass the class of the playing strategy.
+	 * @param phase the measured phase.
+	 * @param probe the probe returned by start, nothing is recorded when null.
+	 */
+	public static void stop(Class<?> strategyClass, Phase phase, Probe probe) {
+		if (probe == null) {
+			return;
+		}
+		long wallTime = System.nanoTime() - probe.wallTimeStart;
+		long cpuTime = CPU_TIME_SUPPORTED ? THREAD_BEAN.getCurrentThreadCpuTime() - probe.cpuTimeStart : 0;
+		long allocatedBytes = ALLOCATION_BEAN != null
+				? ALLOCATION_BEAN.getCurrentThreadAllocatedBytes() - probe.allocatedBytesStart : 0;
+
+		PhaseStatistics phaseStatistics = getOrCreateStatistics(strategyClass.getSimpleName(), phase);
+		phaseStatistics.wallTime.record(wallTime);
+		phaseStatistics.cpuTime.record(cpuTime);
+		phaseStatistics.allocatedBytes.record(allocatedBytes);
+	}
+
+	private static PhaseStatistics getOrCreateStatistics(String strategyName, Phase phase) {
+		PhaseStatistics[] phases = statistics.computeIfAbsent(strategyName, name -> {
+			PhaseStatistics[] newPhases = new PhaseStatistics[Phase.values().length];
+			for (int i = 0; i < newPhases.length; i++) {
+				newPhases[i] = new PhaseStatistics();
+			}
+			return newPhases;
+		});
+		return phases[phase.ordinal()];
+	}
+
+	/**
+	 * Gets the statistics of a strategy and phase.
+	 *
+	 * @param strategyName the simple class name of the strategy, e.g. AggresiveMode.
+	 * @param phase the phase.
+	 * @return the statistics, null if that strategy never played.
+	 */
+	public static PhaseStatistics getStatistics(String strategyName, Phase phase) {
+		PhaseStatistics[] phases = statistics.get(strategyName);
+		return phases == null ? null : phases[phase.ordinal()];
+	}
+
+	/**
+	 * Clears all measurements.
+	 */
+	public static void reset() {
+		statistics.clear();
+	}
+
+	/**
+	 * Prints one line per strategy and phase with the number of samples and the mean, median,
+	 * 90th, 99th percentile and maximum of the wall time, CPU time (microseconds) and
+	 * allocated memory (kilobytes).
+	 */
+	public static void printSummary() {
+		if (statistics.isEmpty()) {
+			return;
+		}
+		ArrayList<String> strategyNames = new ArrayList<>(statistics.keySet());
+		Collections.sort(strategyNames);
+
+		System.out.println("\n******************** Turn Instrumentation Summary ********************");
+		System.out.println("values are mean / p50 / p90 / p99 / max");
+		System.out.println(String.format("%-16s%-15s%8s  %-42s%-42s%-42s", "Strategy", "Phase", "Turns",
+				"Wall time (us)", "CPU time (us)", "Allocated (KB)"));
+		for (String strategyName : strategyNames) {
+			for (Phase phase : Phase.values()) {
+				PhaseStatistics phaseStatistics = statistics.get(strategyName)[phase.ordinal()];
+				if (phaseStatistics.wallTime.getTotalCount() == 0) {
+					continue;
+				}
+				System.out.println(String.format("%-16s%-15s%8d  %-42s%-42s%-42s", strategyName, phase,
+						phaseStatistics.wallTime.getTotalCount(), describe(phaseStatistics.wallTime, 1000),
+						describe(phaseStatistics.cpuTime, 1000), describe(phaseStatistics.allocatedBytes, 1024)));
+			}
+		}
+		System.out.println("**********************************************************************\n");
+	}
+
+	private static String describe(LatencyHistogram histogram, long unit) {
+		return String.format("%.1f / %.1f / %.1f / %.1f / %.1f", histogram.getMean() / unit,
+				(double) histogram.getValueAtPercentile(50) / unit, (double) histogram.getValueAtPercentile(90) / unit,
+				(double) histogram.getValueAtPercentile(99) / unit, (double) histogram.getMax() / unit);
+	}
+}
@@ -0,0 +1,393 @@
+package com.java.controller.map;
+
+import com.java.model.map.GameMap;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * IncrementalMapValidator keeps the verdict of MapValidator up to date while a map is edited
+ * through a MapEditEngine, so isValid answers in constant time after every edit.
+ *
+ * The validator listens to the edits and only re-checks what they touched: the countries left
+ * without a neighbour and the continents with less than two countries are kept in sets. The
+ * connected components of the map are kept as labels: an added adjacency merges the smaller
+ * component into the larger one, and a removed adjacency or country searches from its
+ * endpoints at the same time, stopping as soon as the searches meet, so only a piece that
+ * really broke away is explored to the end and labelled again.
+ *
+ * revalidate rebuilds everything from the map, for a map changed without the engine.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class IncrementalMapValidator implements MapEditEngine.Listener, Serializable {
+
+	private final GameMap map;
+	private final HashMap<String, Integer> componentOfCountry = new HashMap<>();
+	private final HashMap<Integer, HashSet<String>> components = new HashMap<>();
+	private int nextComponent;
+	private final LinkedHashSet<String> countriesWithoutNeighbour = new LinkedHashSet<>();
+	private final LinkedHashSet<String> smallContinents = new LinkedHashSet<>();
+	private boolean isAuthorMissing;
+
+	/**
+	 * What the pending removal touches, captured before the edit is applied.
+	 * */
+	private final ArrayList<String> removedCountries = new ArrayList<>();
+	private final LinkedHashSet<String> touchedCountries = new LinkedHashSet<>();
+	private final LinkedHashSet<String> touchedContinents = new LinkedHashSet<>();
+
+	/**
+	 * Creates a validator and validates the whole map once.
+	 *
+	 * @param map the map, edited only through the engine the validator listens to.
+	 */
+	public IncrementalMapValidator(GameMap map) {
+		this.map = map;
+		revalidate();
+	}
+
+	/**
+	 * Creates a validator listening to the edits of an engine.
+	 *
+	 * @param engine the engine editing the map.
+	 * @return the validator.
+	 */
+	public static IncrementalMapValidator attach(MapEditEngine engine) {
+		IncrementalMapValidator validator = new IncrementalMapValidator(engine.getMap());
+		engine.addListener(validator);
+		return validator;
+	}
+
+	/**
+	 * Validates the whole map again, in time linear in its size.
+	 *
+	 * @return true if the map is valid.
+	 */
+	public boolean revalidate() {
+		componentOfCountry.clear();
+		components.clear();
+		countriesWithoutNeighbour.clear();
+		smallContinents.clear();
+		for (String countryName : map.getAllCountries().keySet()) {
+			if (!componentOfCountry.containsKey(countryName)) {
+				HashSet<String> component = new HashSet<>();
+				int label = nextComponent++;
+				ArrayDeque<String> frontier = new ArrayDeque<>();
+				frontier.add(countryName);
+				component.add(countryName);
+				componentOfCountry.put(countryName, label);
+				while (!frontier.isEmpty()) {
+					for (String neighbourName : map.getAdjacentCountries(frontier.poll())) {
+						if (map.getCountry(neighbourName) != null && component.add(neighbourName)) {
+							componentOfCountry.put(neighbourName, label);
+							frontier.add(neighbourName);
+						}
+					}
+				}
+				components.put(label, component);
+			}
+			checkCountry(countryName);
+		}
+		for (String continentName : map.getAllContinents().keySet()) {
+			checkContinent(continentName);
+		}
+		checkAuthor();
+		return isValid();
+	}
+
+	/**
+	 * @return true if MapValidator would accept the map, in constant time.
+	 */
+	public boolean isValid() {
+		return !isAuthorMissing && !map.getAllContinents().isEmpty() && smallContinents.isEmpty()
+				&& map.getAllCountries().size() >= 2 && countriesWithoutNeighbour.isEmpty() && components.size() <= 1;
+	}
+
+	public int getNumberOfComponents() {
+		return components.size();
+	}
+
+	/**
+	 * @return the errors of MapValidator found in the map, empty if it is valid.
+	 */
+	public List<String> getErrors() {
+		List<String> errors = new ArrayList<>();
+		if (isAuthorMissing) {
+			errors.add("Map Author name missing");
+		}
+		if (map.getAllContinents().isEmpty()) {
+			errors.add("No continents in the map");
+		}
+		for (String continentName : smallContinents) {
+			errors.add("Continent " + continentName + " has less than 2 countries");
+		}
+		if (map.getAllCountries().size() < 2) {
+			errors.add("Less than 2 countries");
+		}
+		for (String countryName : countriesWithoutNeighbour) {
+			errors.add("Country " + countryName + " doesn't have any adjacent country");
+		}
+		if (components.size() > 1) {
+			errors.add("Map disconnected");
+		}
+		return errors;
+	}
+
+	/**
+	 * Prints the verdict like MapValidator, without validating the map again.
+	 *
+	 * @return true if the map is valid.
+	 */
+	public boolean printValidation() {
+		for (String error : getErrors()) {
+			System.out.println("ERROR: " + error);
+		}
+		System.out.println(isValid() ? "Result: Map is Valid" : "Result: Invalid Map");
+		return isValid();
+	}
+
+	@Override
+	public void beforeEdit(MapEdit edit) {
+		switch (edit.getOperation()) {
+		case REMOVE_CONTINENT:
+			for (String countryName : map.getContinentCountries(edit.getName())) {
+				captureRemoval(countryName);
+			}
+			touchedContinents.add(edit.getName());
+			break;
+		case REMOVE_COUNTRY:
+			captureRemoval(edit.getName());
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void captureRemoval(String countryName) {
+		removedCountries.add(countryName);
+		touchedCountries.addAll(map.getAdjacentCountries(countryName));
+		touchedContinents.add(map.getCountry(countryName).getCountryContinentName());
+	}
+
+	@Override
+	public void afterEdit(MapEdit edit) {
+		String name = edit.getName();
+		String otherName = edit.getOtherName();
+		switch (edit.getOperation()) {
+		case SET_AUTHOR:
+			checkAuthor();
+			break;
+		case ADD_CONTINENT:
+			checkContinent(name);
+			break;
+		case ADD_COUNTRY:
+			int label = nextComponent++;
+			HashSet<String> component = new HashSet<>();
+			component.add(name);
+			components.put(label, component);
+			componentOfCountry.put(name, label);
+			checkCountry(name);
+			checkContinent(otherName);
+			break;
+		case ADD_ADJACENCY:
+			merge(name, otherName);
+			checkCountry(name);
+			checkCountry(otherName);
+			break;
+		case REMOVE_ADJACENCY:
+			checkCountry(name);
+			checkCountry(otherName);
+			ArrayList<String> endpoints = new ArrayList<>();
+			endpoints.add(name);
+			endpoints.add(otherName);
+			split(endpoints);
+			break;
+		case REMOVE_CONTINENT:
+		case REMOVE_COUNTRY:
+			applyRemoval();
+			break;
+		}
+	}
+
+	private void applyRemoval() {
+		for (String countryName : removedCountries) {
+			Integer label = componentOfCountry.remove(countryName);
+			if (label != null) {
+				HashSet<String> component = components.get(label);
+				component.remove(countryName);
+				if (component.isEmpty()) {
+					components.remove(label);
+				}
+			}
+			countriesWithoutNeighbour.remove(countryName);
+		}
+		ArrayList<String> sources = new ArrayList<>();
+		for (String countryName : touchedCountries) {
+			if (componentOfCountry.containsKey(countryName)) {
+				checkCountry(countryName);
+				sources.add(countryName);
+			}
+		}
+		for (String continentName : touchedContinents) {
+			checkContinent(continentName);
+		}
+		removedCountries.clear();
+		touchedCountries.clear();
+		touchedContinents.clear();
+		split(sources);
+	}
+
+	private void checkAuthor() {
+		isAuthorMissing = map.getMapAuthor() == null || map.getMapAuthor().length() == 0;
+	}
+
+	private void checkCountry(String countryName) {
+		if (map.getCountry(countryName) != null && map.getAdjacentCountries(countryName).isEmpty()) {
+			countriesWithoutNeighbour.add(countryName);
+		} else {
+			countriesWithoutNeighbour.remove(countryName);
+		}
+	}
+
+	private void checkContinent(String continentName) {
+		if (map.getContinent(continentName) != null && map.getContinentCountries(continentName).size() < 2) {
+			smallContinents.add(continentName);
+		} else {
+			smallContinents.remove(continentName);
+		}
+	}
+
+	/**
+	 * Merges the components of two adjacent countries, relabelling the smaller one.
+	 */
+	private void merge(String countryName, String otherCountryName) {
+		Integer label = componentOfCountry.get(countryName);
+		Integer otherLabel = componentOfCountry.get(otherCountryName);
+		if (label == null || otherLabel == null || label.equals(otherLabel)) {
+			return;
+		}
+		if (components.get(label).size() < components.get(otherLabel).size()) {
+			Integer swap = label;
+			label = otherLabel;
+			otherLabel = swap;
+		}
+		HashSet<String> smaller = components.remove(otherLabel);
+		for (String smallerCountryName : smaller) {
+			componentOfCountry.put(smallerCountryName, label);
+		}
+		components.get(label).addAll(smaller);
+	}
+
+	/**
+	 * Finds the pieces a component may have broken into. Every piece holds one of the sources,
+	 * the countries next to what was removed.
+	 */
+	private void split(List<String> sources) {
+		HashMap<Integer, List<String>> sourcesPerComponent = new HashMap<>();
+		for (String countryName : sources) {
+			Integer label = componentOfCountry.get(countryName);
+			if (label != null) {
+				sourcesPerComponent.computeIfAbsent(label, key -> new ArrayList<>()).add(countryName);
+			}
+		}
+		for (Map.Entry<Integer, List<String>> entry : sourcesPerComponent.entrySet()) {
+			if (entry.getValue().size() > 1) {
+				splitComponent(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Searches from every source in turn, one country at a time, merging the searches that meet.
+	 * A group of searches that runs out of countries before meeting the others is a piece of its
+	 * own and gets a new label; the last group keeps the label of the component.
+	 */
+	private void splitComponent(Integer label, List<String> sources) {
+		int numberOfSources = sources.size();
+		int[] group = new int[numberOfSources];
+		ArrayList<ArrayDeque<String>> frontiers = new ArrayList<>();
+		HashMap<String, Integer> searchOfCountry = new HashMap<>();
+		int numberOfGroups = 0;
+		for (int i = 0; i < numberOfSources; i++) {
+			group[i] = i;
+			frontiers.add(new ArrayDeque<>());
+			if (searchOfCountry.putIfAbsent(sources.get(i), i) == null) {
+				frontiers.get(i).add(sources.get(i));
+				numberOfGroups++;
+			}
+		}
+		boolean[] isSeparated = new boolean[numberOfSources];
+		while (numberOfGroups > 1) {
+			for (int i = 0; i < numberOfSources && numberOfGroups > 1; i++) {
+				String countryName = frontiers.get(i).poll();
+				if (countryName == null) {
+					continue;
+				}
+				for (String neighbourName : map.getAdjacentCountries(countryName)) {
+					if (!componentOfCountry.containsKey(neighbourName)) {
+						continue;
+					}
+					Integer search = searchOfCountry.putIfAbsent(neighbourName, i);
+					if (search == null) {
+						frontiers.get(i).add(neighbourName);
+					} else {
+						int root = find(group, i);
+						int otherRoot = find(group, search);
+						if (root != otherRoot) {
+							group[root] = otherRoot;
+							numberOfGroups--;
+						}
+					}
+				}
+			}
+
+			boolean[] isSearching = new boolean[numberOfSources];
+			for (int i = 0; i < numberOfSources; i++) {
+				if (!frontiers.get(i).isEmpty()) {
+					isSearching[find(group, i)] = true;
+				}
+			}
+			for (int root = 0; root < numberOfSources && numberOfGroups > 1; root++) {
+				if (group[root] == root && !isSearching[root] && !isSeparated[root]
+						&& searchOfCountry.get(sources.get(root)) == root) {
+					isSeparated[root] = true;
+					numberOfGroups--;
+					relabel(label, root, group, searchOfCountry);
+				}
+			}
+		}
+	}
+
+	private void relabel(Integer label, int root, int[] group, HashMap<String, Integer> searchOfCountry) {
+		int newLabel = nextComponent++;
+		HashSet<String> piece = new HashSet<>();
+		for (Map.Entry<String, Integer> entry : searchOfCountry.entrySet()) {
+			if (find(group, entry.getValue()) == root) {
+				piece.add(entry.getKey());
+				componentOfCountry.put(entry.getKey(), newLabel);
+			}
+		}
+		components.get(label).removeAll(piece);
+		components.put(newLabel, piece);
+	}
+
+	private static int find(int[] group, int search) {
+		while (group[search] != search) {
+			group[search] = group[group[search]];
+			search = group[search];
+		}
+		return search;
+	}
+}
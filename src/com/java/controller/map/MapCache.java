@@ -0,0 +1,405 @@
+package com.java.controller.map;
+
+import com.java.model.map.Continent;
+import com.java.model.map.GameMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * MapCache loads .map files once per content. A file is identified by the SHA-256 hash of its
+ * bytes, and the first load parses and validates it with MapLoader. The verdict, and for a
+ * valid map its compiled topology (continents, countries and the adjacency in compressed rows),
+ * are then written in the cache directory and kept in a bounded in-memory LRU, so the next
+ * loads of the same content, in this process or a later one, skip both the parsing and the
+ * validation.
+ *
+ * Every load gives a new GameMap built from the topology, so the games using the same map do
+ * not share any state. A cache can be used by several threads.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class MapCache {
+
+	public static final String DEFAULT_CACHE_DIRECTORY_PATH = "./map/cache";
+	public static final int DEFAULT_CAPACITY = 8;
+
+	/**
+	 * Written at the start of every cache file, a file of another format is loaded again.
+	 */
+	private static final int FORMAT_MAGIC = 0x52534B31;
+	private static final int FORMAT_VERSION = 1;
+	private static final String FILE_EXTENSION = ".topology";
+
+	private static MapCache sharedCache;
+
+	/**
+	 * Verdict on a map file and, for a valid map, its compiled topology.
+	 */
+	private static final class Entry {
+		final boolean valid;
+		final String author;
+		final String warn;
+		final String[] continentNames;
+		final int[] controlValues;
+		final String[] countryNames;
+		final int[] continentOfCountry;
+		final int[] offsets;
+		final int[] neighbours;
+
+		Entry(boolean valid, String author, String warn, String[] continentNames, int[] controlValues,
+				String[] countryNames, int[] continentOfCountry, int[] offsets, int[] neighbours) {
+			this.valid = valid;
+			this.author = author;
+			this.warn = warn;
+			this.continentNames = continentNames;
+			this.controlValues = controlValues;
+			this.countryNames = countryNames;
+			this.continentOfCountry = continentOfCountry;
+			this.offsets = offsets;
+			this.neighbours = neighbours;
+		}
+	}
+
+	private static final Entry INVALID = new Entry(false, null, null, null, null, null, null, null, null);
+
+	private final Path cacheDirectory;
+	private final LinkedHashMap<String, Entry> entries;
+	private int numberOfParsedFiles;
+	private int numberOfMemoryHits;
+	private int numberOfDiskHits;
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param cacheDirectoryPath directory of the cache files, created when the first one is
+	 *            written.
+	 * @param capacity number of topologies kept in memory.
+	 */
+	public MapCache(String cacheDirectoryPath, final int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The capacity must be at least 1");
+		}
+		this.cacheDirectory = Paths.get(cacheDirectoryPath);
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Gets the cache shared by the games of this process, stored in the default directory.
+	 *
+	 * @return the shared cache.
+	 */
+	public static synchronized MapCache getSharedCache() {
+		if (sharedCache == null) {
+			sharedCache = new MapCache(DEFAULT_CACHE_DIRECTORY_PATH, DEFAULT_CAPACITY);
+		}
+		return sharedCache;
+	}
+
+	/**
+	 * Loads a map file, parsing and validating it only if its content has not been seen.
+	 *
+	 * @param mapFilePath path of the .map file.
+	 * @return a new map, null if the file is invalid or can not be read.
+	 */
+	public GameMap loadMap(String mapFilePath) {
+		String hash;
+		try {
+			hash = hashFile(Paths.get(mapFilePath));
+		} catch (IOException e) {
+			System.out.println("\nFile not Found");
+			return null;
+		}
+
+		Entry entry = getEntry(hash);
+		if (entry == null) {
+			MapLoader mapLoader = new MapLoader();
+			if (mapLoader.loadMapFromFile(mapFilePath)) {
+				entry = compile(mapLoader.map);
+				if (entry == null) {
+					return mapLoader.map;
+				}
+			} else {
+				entry = INVALID;
+			}
+			putEntry(hash, entry);
+		}
+
+		if (!entry.valid) {
+			System.out.println("Result: Invalid Map");
+			return null;
+		}
+		return toGameMap(entry);
+	}
+
+	/**
+	 * @return number of files parsed and validated because their content was not cached.
+	 */
+	public synchronized int getNumberOfParsedFiles() {
+		return numberOfParsedFiles;
+	}
+
+	/**
+	 * @return number of loads served by the in-memory topologies.
+	 */
+	public synchronized int getNumberOfMemoryHits() {
+		return numberOfMemoryHits;
+	}
+
+	/**
+	 * @return number of loads served by the cache files.
+	 */
+	public synchronized int getNumberOfDiskHits() {
+		return numberOfDiskHits;
+	}
+
+	/**
+	 * Gets the entry of a content from the memory, or else from the cache directory.
+	 *
+	 * @return the entry, null if the content is not cached.
+	 */
+	private Entry getEntry(String hash) {
+		synchronized (this) {
+			Entry entry = entries.get(hash);
+			if (entry != null) {
+				numberOfMemoryHits++;
+				return entry;
+			}
+		}
+		Entry entry = readEntry(cacheDirectory.resolve(hash + FILE_EXTENSION));
+		synchronized (this) {
+			if (entry != null) {
+				numberOfDiskHits++;
+				entries.put(hash, entry);
+			} else {
+				numberOfParsedFiles++;
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * Keeps an entry in memory and writes it in the cache directory.
+	 */
+	private void putEntry(String hash, Entry entry) {
+		synchronized (this) {
+			entries.put(hash, entry);
+		}
+		try {
+			writeEntry(cacheDirectory.resolve(hash + FILE_EXTENSION), entry);
+		} catch (IOException e) {
+			System.out.println("\nERROR: Map cache could not be written, " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Hashes the content of a file.
+	 *
+	 * @return the SHA-256 hash in hexadecimal.
+	 */
+	private static String hashFile(Path filePath) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		byte[] buffer = new byte[1 << 16];
+		try (InputStream input = Files.newInputStream(filePath)) {
+			int length;
+			while ((length = input.read(buffer)) > 0) {
+				digest.update(buffer, 0, length);
+			}
+		}
+		StringBuilder hash = new StringBuilder();
+		for (byte b : digest.digest()) {
+			hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return hash.toString();
+	}
+
+	/**
+	 * Compiles a loaded map into a topology, the countries and continents sorted by name.
+	 *
+	 * @return the entry, null if a neighbour is not a country of the map.
+	 */
+	private static Entry compile(GameMap map) {
+		HashMap<String, Continent> continents = map.getAllContinents();
+		String[] continentNames = continents.keySet().toArray(new String[0]);
+		Arrays.sort(continentNames);
+		HashMap<String, Integer> continentIds = new HashMap<>();
+		int[] controlValues = new int[continentNames.length];
+		for (int i = 0; i < continentNames.length; i++) {
+			continentIds.put(continentNames[i], i);
+			controlValues[i] = continents.get(continentNames[i]).getContinentControlValue();
+		}
+
+		String[] countryNames = map.getAllCountries().keySet().toArray(new String[0]);
+		Arrays.sort(countryNames);
+		HashMap<String, Integer> countryIds = new HashMap<>();
+		for (int i = 0; i < countryNames.length; i++) {
+			countryIds.put(countryNames[i], i);
+		}
+
+		int[] continentOfCountry = new int[countryNames.length];
+		int[] offsets = new int[countryNames.length + 1];
+		for (int i = 0; i < countryNames.length; i++) {
+			Integer continentId = continentIds.get(map.getCountry(countryNames[i]).getCountryContinentName());
+			if (continentId == null) {
+				return null;
+			}
+			continentOfCountry[i] = continentId;
+			offsets[i + 1] = offsets[i] + map.getAdjacentCountries(countryNames[i]).size();
+		}
+		int[] neighbours = new int[offsets[countryNames.length]];
+		for (int i = 0; i < countryNames.length; i++) {
+			int next = offsets[i];
+			for (String neighbourName : map.getAdjacentCountries(countryNames[i])) {
+				Integer neighbourId = countryIds.get(neighbourName);
+				if (neighbourId == null) {
+					return null;
+				}
+				neighbours[next++] = neighbourId;
+			}
+			Arrays.sort(neighbours, offsets[i], next);
+		}
+		return new Entry(true, map.getMapAuthor(), map.warn, continentNames, controlValues, countryNames,
+				continentOfCountry, offsets, neighbours);
+	}
+
+	/**
+	 * Builds a new map from a compiled topology.
+	 */
+	private static GameMap toGameMap(Entry entry) {
+		GameMap map = new GameMap();
+		map.setMapAuthor(entry.author);
+		map.warn = entry.warn;
+		for (int i = 0; i < entry.continentNames.length; i++) {
+			map.addContinent(entry.continentNames[i], entry.controlValues[i]);
+		}
+		for (int i = 0; i < entry.countryNames.length; i++) {
+			map.addCountry(entry.countryNames[i], entry.continentNames[entry.continentOfCountry[i]]);
+		}
+		for (int i = 0; i < entry.countryNames.length; i++) {
+			for (int j = entry.offsets[i]; j < entry.offsets[i + 1]; j++) {
+				if (entry.neighbours[j] >= i) {
+					map.setAdjacentCountry(entry.countryNames[i], entry.countryNames[entry.neighbours[j]]);
+				}
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Reads a cache file.
+	 *
+	 * @return the entry, null if there is no readable file of this format.
+	 */
+	private static Entry readEntry(Path entryFilePath) {
+		try (DataInputStream input = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(entryFilePath), 1 << 16))) {
+			if (input.readInt() != FORMAT_MAGIC || input.readInt() != FORMAT_VERSION) {
+				return null;
+			}
+			if (!input.readBoolean()) {
+				return INVALID;
+			}
+			String author = input.readUTF();
+			String warn = input.readUTF();
+			String[] continentNames = new String[input.readInt()];
+			int[] controlValues = new int[continentNames.length];
+			for (int i = 0; i < continentNames.length; i++) {
+				continentNames[i] = input.readUTF();
+				controlValues[i] = input.readInt();
+			}
+			String[] countryNames = new String[input.readInt()];
+			int[] continentOfCountry = new int[countryNames.length];
+			int[] offsets = new int[countryNames.length + 1];
+			for (int i = 0; i < countryNames.length; i++) {
+				countryNames[i] = input.readUTF();
+				continentOfCountry[i] = input.readInt();
+				offsets[i + 1] = offsets[i] + input.readInt();
+			}
+			int[] neighbours = new int[offsets[countryNames.length]];
+			for (int i = 0; i < neighbours.length; i++) {
+				neighbours[i] = input.readInt();
+			}
+			return new Entry(true, author, warn, continentNames, controlValues, countryNames, continentOfCountry,
+					offsets, neighbours);
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException | RuntimeException e) {
+			System.out.println("\nERROR: Map cache file " + entryFilePath + " is unreadable, " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Writes a cache file through a temporary file, so a reader never sees a partial one.
+	 */
+	private static void writeEntry(Path entryFilePath, Entry entry) throws IOException {
+		Files.createDirectories(entryFilePath.toAbsolutePath().getParent());
+		Path temporaryFilePath = Files.createTempFile(entryFilePath.toAbsolutePath().getParent(),
+				"." + entryFilePath.getFileName(), ".tmp");
+		try {
+			try (DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(temporaryFilePath), 1 << 16))) {
+				output.writeInt(FORMAT_MAGIC);
+				output.writeInt(FORMAT_VERSION);
+				output.writeBoolean(entry.valid);
+				if (entry.valid) {
+					output.writeUTF(entry.author);
+					output.writeUTF(entry.warn);
+					output.writeInt(entry.continentNames.length);
+					for (int i = 0; i < entry.continentNames.length; i++) {
+						output.writeUTF(entry.continentNames[i]);
+						output.writeInt(entry.controlValues[i]);
+					}
+					output.writeInt(entry.countryNames.length);
+					for (int i = 0; i < entry.countryNames.length; i++) {
+						output.writeUTF(entry.countryNames[i]);
+						output.writeInt(entry.continentOfCountry[i]);
+						output.writeInt(entry.offsets[i + 1] - entry.offsets[i]);
+					}
+					for (int neighbour : entry.neighbours) {
+						output.writeInt(neighbour);
+					}
+				}
+			}
+			try {
+				Files.move(temporaryFilePath, entryFilePath, StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFilePath, entryFilePath, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporaryFilePath);
+		}
+	}
+}
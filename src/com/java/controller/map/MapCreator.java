@@ -33,52 +33,51 @@ public class MapCreator extends MapEditor implements Serializable {
 	 * @see MapLoader
 	 */
 	public GameMap createMap() {
+		while (true) {
+			Integer userChoice = 0;
+			do {
+				userChoice = getCreateMapUserChoice();
+			} while (userChoice < 1 || userChoice > 11);
 
-		Integer userChoice = 0;
-		do {
-			userChoice = getCreateMapUserChoice();
-		} while (userChoice < 1 || userChoice > 11);
-
-		switch (userChoice) {
-		case 1:
-			addMapAuthor();
-			break;
-		case 2:
-			addContinenToMap();
-			break;
-		case 3:
-			removeContinentFromMap();
-			break;
-		case 4:
-			addCountryToMap();
-			break;
-		case 5:
-			removeCountryFromMap();
-			break;
-		case 6:
-			addAdjacenecyBetweenCountries();
-			break;
-		case 7:
-			removeAdjacenecyBetweenCountries();
-			break;
-		case 8:
-			showMapContent();
-			break;
-		case 9:
-			mapValidator.validateMap(editedMap);
-			break;
-		case 10:
-			editedMap = originalMap.clone();
-			System.out.println("Changes discarded");
-			return null;
-		case 11:
-			if (mapValidator.validateMap(editedMap)) {
-				return editedMap;
+			switch (userChoice) {
+			case 1:
+				addMapAuthor();
+				break;
+			case 2:
+				addContinenToMap();
+				break;
+			case 3:
+				removeContinentFromMap();
+				break;
+			case 4:
+				addCountryToMap();
+				break;
+			case 5:
+				removeCountryFromMap();
+				break;
+			case 6:
+				addAdjacenecyBetweenCountries();
+				break;
+			case 7:
+				removeAdjacenecyBetweenCountries();
+				break;
+			case 8:
+				showMapContent();
+				break;
+			case 9:
+				mapValidator.printValidation();
+				break;
+			case 10:
+				editEngine.undoAll();
+				System.out.println("Changes discarded");
+				return null;
+			case 11:
+				if (mapValidator.printValidation()) {
+					return editedMap;
+				}
+				break;
 			}
-			break;
 		}
-
-		return createMap();
 	}
 
 	/**
@@ -109,7 +108,7 @@ public class MapCreator extends MapEditor implements Serializable {
 			System.out.println("Invalid Name");
 			return;
 		}
-		editedMap.setMapAuthor(mapAuthorName);
+		applyEdit(MapEdit.setAuthor(mapAuthorName));
 		System.out.println("Author: " + mapAuthorName);
 	}
 
@@ -0,0 +1,156 @@
+package com.java.controller.map;
+
+import java.io.Serializable;
+
+/**
+ * MapEdit is one operation of the map editor: changing the author, adding or removing a
+ * continent, a country or an adjacency. Edits are applied by a MapEditEngine, one at a time or
+ * as a script with one edit per line.
+ *
+ * A script line is the operation followed by its arguments, separated by commas like the lines
+ * of a .map file: "addContinent,Asia,7", "addCountry,Siam,Asia", "addAdjacency,Siam,India",
+ * "removeAdjacency,Siam,India", "removeCountry,Siam", "removeContinent,Asia" or
+ * "author,Jane". Blank lines and lines starting with ';' are ignored.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public final class MapEdit implements Serializable {
+
+	/**
+	 * Operations of the map editor, with their name in the scripts.
+	 */
+	public enum Operation {
+		SET_AUTHOR("author", 1), ADD_CONTINENT("addContinent", 2), REMOVE_CONTINENT("removeContinent", 1),
+		ADD_COUNTRY("addCountry", 2), REMOVE_COUNTRY("removeCountry", 1), ADD_ADJACENCY("addAdjacency", 2),
+		REMOVE_ADJACENCY("removeAdjacency", 2);
+
+		private final String scriptName;
+		private final int numberOfArguments;
+
+		Operation(String scriptName, int numberOfArguments) {
+			this.scriptName = scriptName;
+			this.numberOfArguments = numberOfArguments;
+		}
+
+		public String getScriptName() {
+			return scriptName;
+		}
+	}
+
+	private final Operation operation;
+	private final String name;
+	private final String otherName;
+	private final int controlValue;
+
+	private MapEdit(Operation operation, String name, String otherName, int controlValue) {
+		this.operation = operation;
+		this.name = name;
+		this.otherName = otherName;
+		this.controlValue = controlValue;
+	}
+
+	public static MapEdit setAuthor(String author) {
+		return new MapEdit(Operation.SET_AUTHOR, author, null, 0);
+	}
+
+	public static MapEdit addContinent(String continentName, int controlValue) {
+		return new MapEdit(Operation.ADD_CONTINENT, continentName, null, controlValue);
+	}
+
+	public static MapEdit removeContinent(String continentName) {
+		return new MapEdit(Operation.REMOVE_CONTINENT, continentName, null, 0);
+	}
+
+	public static MapEdit addCountry(String countryName, String continentName) {
+		return new MapEdit(Operation.ADD_COUNTRY, countryName, continentName, 0);
+	}
+
+	public static MapEdit removeCountry(String countryName) {
+		return new MapEdit(Operation.REMOVE_COUNTRY, countryName, null, 0);
+	}
+
+	public static MapEdit addAdjacency(String countryName, String adjacentCountryName) {
+		return new MapEdit(Operation.ADD_ADJACENCY, countryName, adjacentCountryName, 0);
+	}
+
+	public static MapEdit removeAdjacency(String countryName, String adjacentCountryName) {
+		return new MapEdit(Operation.REMOVE_ADJACENCY, countryName, adjacentCountryName, 0);
+	}
+
+	/**
+	 * Parses a line of an edit script.
+	 *
+	 * @param line the line.
+	 * @return the edit, null for a blank or comment line.
+	 * @throws IllegalArgumentException if the line is not a valid edit.
+	 */
+	public static MapEdit parse(String line) {
+		String trimmedLine = line.trim();
+		if (trimmedLine.isEmpty() || trimmedLine.startsWith(";")) {
+			return null;
+		}
+		String[] fields = trimmedLine.split(",");
+		Operation operation = null;
+		for (Operation candidate : Operation.values()) {
+			if (candidate.scriptName.equalsIgnoreCase(fields[0].trim())) {
+				operation = candidate;
+			}
+		}
+		if (operation == null) {
+			throw new IllegalArgumentException("Unknown edit '" + fields[0].trim() + "'");
+		}
+		if (fields.length != operation.numberOfArguments + 1) {
+			throw new IllegalArgumentException(
+					operation.scriptName + " takes " + operation.numberOfArguments + " argument(s)");
+		}
+		String name = fields[1].trim();
+		String otherName = operation.numberOfArguments > 1 ? fields[2].trim() : null;
+		if (operation == Operation.ADD_CONTINENT) {
+			try {
+				return addContinent(name, Integer.parseInt(otherName));
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid control value '" + otherName + "'");
+			}
+		}
+		return new MapEdit(operation, name, otherName, 0);
+	}
+
+	public Operation getOperation() {
+		return operation;
+	}
+
+	/**
+	 * @return the author, the continent or the first country of the edit.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the continent of an added country or the second country of an adjacency, null for
+	 *         the other edits.
+	 */
+	public String getOtherName() {
+		return otherName;
+	}
+
+	public int getControlValue() {
+		return controlValue;
+	}
+
+	/**
+	 * @return the edit as a line of a script.
+	 */
+	@Override
+	public String toString() {
+		if (operation == Operation.ADD_CONTINENT) {
+			return operation.scriptName + "," + name + "," + controlValue;
+		}
+		return operation.scriptName + "," + name + (otherName == null ? "" : "," + otherName);
+	}
+}
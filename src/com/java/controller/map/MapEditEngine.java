@@ -0,0 +1,423 @@
+package com.java.controller.map;
+
+import com.java.model.map.Continent;
+import com.java.model.map.Country;
+import com.java.model.map.GameMap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MapEditEngine applies MapEdits to a map being edited, before the start up phase. Every edit
+ * is checked first, so an invalid edit leaves the map unchanged, and then costs the degree of
+ * the countries it touches: removing a country visits its neighbours only, and removing a
+ * continent the neighbours of its countries.
+ *
+ * Applied edits are kept in an undo journal: each change records the edits undoing it, taken
+ * from the map before the change, so undoing, redoing or discarding every change never copies
+ * the map. A script is applied as one change, and undone as a whole if one of its lines fails.
+ *
+ * The countries and continents touched since the last validation are remembered, so
+ * validateChanges checks only them instead of the whole map. Listeners, such as an
+ * IncrementalMapValidator, are told about every edit applied to the map, including the edits
+ * of undo and redo.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class MapEditEngine implements Serializable {
+
+	/**
+	 * Listener told about every edit applied to the map, before and after it is applied.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called before a checked edit is applied, while the map still has what it removes.
+		 *
+		 * @param edit the edit.
+		 */
+		void beforeEdit(MapEdit edit);
+
+		/**
+		 * Called after an edit is applied.
+		 *
+		 * @param edit the edit.
+		 */
+		void afterEdit(MapEdit edit);
+	}
+
+	/**
+	 * Edits applied together, with the edits undoing each of them.
+	 */
+	private static final class Change implements Serializable {
+		private final ArrayList<MapEdit> edits = new ArrayList<>();
+		private final ArrayList<List<MapEdit>> inverses = new ArrayList<>();
+	}
+
+	private final GameMap map;
+	private final ArrayDeque<Change> undoStack = new ArrayDeque<>();
+	private final ArrayDeque<Change> redoStack = new ArrayDeque<>();
+	private final LinkedHashSet<String> changedCountries = new LinkedHashSet<>();
+	private final LinkedHashSet<String> changedContinents = new LinkedHashSet<>();
+	private boolean isAuthorChanged;
+	private final ArrayList<Listener> listeners = new ArrayList<>();
+
+	/**
+	 * Creates an engine editing a map in place.
+	 *
+	 * @param map the map to be edited.
+	 */
+	public MapEditEngine(GameMap map) {
+		this.map = map;
+	}
+
+	public GameMap getMap() {
+		return map;
+	}
+
+	public void addListener(Listener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Applies one edit as a change of its own.
+	 *
+	 * @param edit the edit.
+	 * @throws IllegalArgumentException if the edit is not valid on the map, which is unchanged.
+	 */
+	public void apply(MapEdit edit) {
+		Change change = new Change();
+		execute(edit, change);
+		undoStack.push(change);
+		redoStack.clear();
+	}
+
+	/**
+	 * Applies a script of edits, one per line, as one change.
+	 *
+	 * @param script the script.
+	 * @return the number of edits applied.
+	 * @throws IOException if the script cannot be read, the map is then unchanged.
+	 * @throws IllegalArgumentException if a line is not a valid edit, the map is then unchanged.
+	 */
+	public int applyScript(BufferedReader script) throws IOException {
+		Change change = new Change();
+		int lineNumber = 0;
+		try {
+			String line;
+			while ((line = script.readLine()) != null) {
+				lineNumber++;
+				MapEdit edit = MapEdit.parse(line);
+				if (edit != null) {
+					execute(edit, change);
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			revert(change);
+			throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+		} catch (IOException | RuntimeException e) {
+			revert(change);
+			throw e;
+		}
+		if (!change.edits.isEmpty()) {
+			undoStack.push(change);
+			redoStack.clear();
+		}
+		return change.edits.size();
+	}
+
+	/**
+	 * Undoes the last change.
+	 *
+	 * @return false if there was no change to undo.
+	 */
+	public boolean undo() {
+		if (undoStack.isEmpty()) {
+			return false;
+		}
+		Change change = undoStack.pop();
+		revert(change);
+		redoStack.push(change);
+		return true;
+	}
+
+	/**
+	 * Applies again the last undone change.
+	 *
+	 * @return false if there was no change to redo.
+	 */
+	public boolean redo() {
+		if (redoStack.isEmpty()) {
+			return false;
+		}
+		Change undone = redoStack.pop();
+		Change change = new Change();
+		for (MapEdit edit : undone.edits) {
+			execute(edit, change);
+		}
+		undoStack.push(change);
+		return true;
+	}
+
+	/**
+	 * Undoes every change, bringing the map back to its state when the engine was created.
+	 *
+	 * @return the number of changes undone.
+	 */
+	public int undoAll() {
+		int numberOfChanges = 0;
+		while (undo()) {
+			numberOfChanges++;
+		}
+		redoStack.clear();
+		return numberOfChanges;
+	}
+
+	public int getNumberOfUndoableChanges() {
+		return undoStack.size();
+	}
+
+	public int getNumberOfRedoableChanges() {
+		return redoStack.size();
+	}
+
+	/**
+	 * Checks and applies an edit, recording the edits undoing it in the change.
+	 */
+	private void execute(MapEdit edit, Change change) {
+		List<MapEdit> inverse = check(edit);
+		perform(edit);
+		change.edits.add(edit);
+		change.inverses.add(inverse);
+	}
+
+	/**
+	 * Undoes the edits of a change, last one first.
+	 */
+	private void revert(Change change) {
+		for (int i = change.inverses.size() - 1; i >= 0; i--) {
+			for (MapEdit edit : change.inverses.get(i)) {
+				perform(edit);
+			}
+		}
+	}
+
+	/**
+	 * Checks that an edit can be applied to the map.
+	 *
+	 * @return the edits undoing it, in order.
+	 * @throws IllegalArgumentException if it cannot.
+	 */
+	private List<MapEdit> check(MapEdit edit) {
+		String name = edit.getName();
+		String otherName = edit.getOtherName();
+		List<MapEdit> inverse = new ArrayList<>();
+		switch (edit.getOperation()) {
+		case SET_AUTHOR:
+			if (name == null || name.trim().isEmpty()) {
+				throw new IllegalArgumentException("Invalid Name");
+			}
+			inverse.add(MapEdit.setAuthor(map.getMapAuthor()));
+			break;
+		case ADD_CONTINENT:
+			requireName(name);
+			if (map.getContinent(name) != null) {
+				throw new IllegalArgumentException("Continent " + name + " already exists");
+			}
+			if (edit.getControlValue() < 0) {
+				throw new IllegalArgumentException("Invalid control value " + edit.getControlValue());
+			}
+			inverse.add(MapEdit.removeContinent(name));
+			break;
+		case REMOVE_CONTINENT:
+			Continent continent = requireContinent(name);
+			inverse.add(MapEdit.addContinent(name, continent.getContinentControlValue()));
+			for (String countryName : map.getContinentCountries(name)) {
+				inverse.add(MapEdit.addCountry(countryName, name));
+			}
+			for (String countryName : map.getContinentCountries(name)) {
+				addAdjacencies(countryName, inverse);
+			}
+			break;
+		case ADD_COUNTRY:
+			requireName(name);
+			if (map.getCountry(name) != null) {
+				throw new IllegalArgumentException("Country " + name + " already exists");
+			}
+			requireContinent(otherName);
+			inverse.add(MapEdit.removeCountry(name));
+			break;
+		case REMOVE_COUNTRY:
+			Country country = requireCountry(name);
+			inverse.add(MapEdit.addCountry(name, country.getCountryContinentName()));
+			addAdjacencies(name, inverse);
+			break;
+		case ADD_ADJACENCY:
+			requireCountry(name);
+			requireCountry(otherName);
+			if (name.equals(otherName)) {
+				throw new IllegalArgumentException("A country cannot be adjacent to itself");
+			}
+			if (!map.getAdjacentCountries(name).contains(otherName)) {
+				inverse.add(MapEdit.removeAdjacency(name, otherName));
+			}
+			break;
+		case REMOVE_ADJACENCY:
+			requireCountry(name);
+			requireCountry(otherName);
+			if (!map.getAdjacentCountries(name).contains(otherName)) {
+				throw new IllegalArgumentException("No edge exists between " + name + " and " + otherName);
+			}
+			inverse.add(MapEdit.addAdjacency(name, otherName));
+			break;
+		}
+		return inverse;
+	}
+
+	private static void requireName(String name) {
+		if (name == null || name.isEmpty() || name.contains(",")) {
+			throw new IllegalArgumentException("Invalid name '" + name + "'");
+		}
+	}
+
+	private Continent requireContinent(String continentName) {
+		Continent continent = map.getContinent(continentName);
+		if (continent == null) {
+			throw new IllegalArgumentException(continentName + " doesn't exist in the map.");
+		}
+		return continent;
+	}
+
+	private Country requireCountry(String countryName) {
+		Country country = map.getCountry(countryName);
+		if (country == null) {
+			throw new IllegalArgumentException(countryName + " doesn't exist in the map.");
+		}
+		return country;
+	}
+
+	private void addAdjacencies(String countryName, List<MapEdit> inverse) {
+		for (String neighbourName : map.getAdjacentCountries(countryName)) {
+			inverse.add(MapEdit.addAdjacency(countryName, neighbourName));
+		}
+	}
+
+	/**
+	 * Applies a checked edit to the map and remembers what it touched.
+	 */
+	private void perform(MapEdit edit) {
+		for (Listener listener : listeners) {
+			listener.beforeEdit(edit);
+		}
+		String name = edit.getName();
+		String otherName = edit.getOtherName();
+		switch (edit.getOperation()) {
+		case SET_AUTHOR:
+			map.setMapAuthor(name);
+			isAuthorChanged = true;
+			break;
+		case ADD_CONTINENT:
+			map.addContinent(name, edit.getControlValue());
+			changedContinents.add(name);
+			break;
+		case REMOVE_CONTINENT:
+			for (String countryName : map.getContinentCountries(name)) {
+				changedCountries.addAll(map.getAdjacentCountries(countryName));
+			}
+			map.removeContinent(name);
+			changedContinents.add(name);
+			break;
+		case ADD_COUNTRY:
+			map.addCountry(name, otherName);
+			changedCountries.add(name);
+			changedContinents.add(otherName);
+			break;
+		case REMOVE_COUNTRY:
+			changedCountries.addAll(map.getAdjacentCountries(name));
+			changedContinents.add(map.getCountry(name).getCountryContinentName());
+			map.removeCountry(name);
+			break;
+		case ADD_ADJACENCY:
+			map.setAdjacentCountry(name, otherName);
+			changedCountries.add(name);
+			changedCountries.add(otherName);
+			break;
+		case REMOVE_ADJACENCY:
+			map.removeAdjacenyBetweenCountries(name, otherName);
+			changedCountries.add(name);
+			changedCountries.add(otherName);
+			break;
+		}
+		for (Listener listener : listeners) {
+			listener.afterEdit(edit);
+		}
+	}
+
+	/**
+	 * @return the countries touched since the last validation, some of which may be removed.
+	 */
+	public Set<String> getChangedCountries() {
+		return Collections.unmodifiableSet(changedCountries);
+	}
+
+	/**
+	 * @return the continents touched since the last validation, some of which may be removed.
+	 */
+	public Set<String> getChangedContinents() {
+		return Collections.unmodifiableSet(changedContinents);
+	}
+
+	/**
+	 * Checks the rules of MapValidator on the countries and continents touched since the last
+	 * validation only: a country needs a neighbour and a continent two countries. The
+	 * connectivity of the whole map is left to MapValidator.
+	 *
+	 * @return the errors found, empty if the changes are valid.
+	 */
+	public List<String> validateChanges() {
+		List<String> errors = new ArrayList<>();
+		if (isAuthorChanged && (map.getMapAuthor() == null || map.getMapAuthor().length() == 0)) {
+			errors.add("Map Author name missing");
+		}
+		HashSet<String> checkedContinents = new HashSet<>();
+		for (String countryName : changedCountries) {
+			Country country = map.getCountry(countryName);
+			if (country != null) {
+				if (map.getAdjacentCountries(countryName).isEmpty()) {
+					errors.add("Country " + countryName + " doesn't have any adjacent country");
+				}
+				checkedContinents.add(country.getCountryContinentName());
+			}
+		}
+		checkedContinents.addAll(changedContinents);
+		for (String continentName : checkedContinents) {
+			if (map.getContinent(continentName) != null && map.getContinentCountries(continentName).size() < 2) {
+				errors.add("Continent " + continentName + " has less than 2 countries");
+			}
+		}
+		if (!changedContinents.isEmpty() && map.getAllContinents().isEmpty()) {
+			errors.add("No continents in the map");
+		}
+		changedCountries.clear();
+		changedContinents.clear();
+		isAuthorChanged = false;
+		return errors;
+	}
+}
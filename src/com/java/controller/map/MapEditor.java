@@ -2,12 +2,20 @@ package com.java.controller.map;
 
 import com.java.model.map.GameMap;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 /**
  * MapEditor implements the logic to make it possible for a user to edit an
- * already loaded map into the game. 
+ * already loaded map into the game. The edits go through a MapEditEngine, so
+ * they can be undone and redone, and scripts of edits can be applied from a file.
+ * An IncrementalMapValidator follows the edits, so validating the map does not
+ * check it again from scratch.
  *
  * @author Arnav Bhardwaj
  * @author Karan Dhingra
@@ -21,7 +29,8 @@ public class MapEditor implements Serializable {
 	GameMap originalMap;
 	GameMap editedMap;
 	static Scanner scanner;
-	MapValidator mapValidator;
+	IncrementalMapValidator mapValidator;
+	MapEditEngine editEngine;
 
 	/**
 	 * Constructor to initialize local map object
@@ -30,8 +39,9 @@ public class MapEditor implements Serializable {
 	public MapEditor(GameMap map) {
 		this.originalMap = map;
 		this.editedMap = originalMap.clone();
+		this.editEngine = new MapEditEngine(editedMap);
 		scanner = new Scanner(System.in);
-		mapValidator = new MapValidator();
+		mapValidator = IncrementalMapValidator.attach(editEngine);
 	}
 
 	/**
@@ -40,51 +50,60 @@ public class MapEditor implements Serializable {
 	 * @return a properly parsed valid map for the load map to use and construct the data
 	 */
 	public GameMap editMap() {
-		Integer userChoice = 0;
-		do {
-			userChoice = getEditMapUserChoice();
-		} while (userChoice < 1 || userChoice > 11);
-
-		switch (userChoice) {
-		case 1:
-			changeMapAuthor();
-			break;
-		case 2:
-			addContinenToMap();
-			break;
-		case 3:
-			removeContinentFromMap();
-			break;
-		case 4:
-			addCountryToMap();
-			break;
-		case 5:
-			removeCountryFromMap();
-			break;
-		case 6:
-			addAdjacenecyBetweenCountries();
-			break;
-		case 7:
-			removeAdjacenecyBetweenCountries();
-			break;
-		case 8:
-			showMapContent();
-			break;
-		case 9:
-			mapValidator.validateMap(editedMap);
-			break;
-		case 10:
-			editedMap = originalMap.clone();
-			System.out.println("Changes discarded");
-			break;
-		case 11:
-			if (mapValidator.validateMap(editedMap)) {
-				return editedMap;
+		while (true) {
+			Integer userChoice = 0;
+			do {
+				userChoice = getEditMapUserChoice();
+			} while (userChoice < 1 || userChoice > 14);
+
+			switch (userChoice) {
+			case 1:
+				changeMapAuthor();
+				break;
+			case 2:
+				addContinenToMap();
+				break;
+			case 3:
+				removeContinentFromMap();
+				break;
+			case 4:
+				addCountryToMap();
+				break;
+			case 5:
+				removeCountryFromMap();
+				break;
+			case 6:
+				addAdjacenecyBetweenCountries();
+				break;
+			case 7:
+				removeAdjacenecyBetweenCountries();
+				break;
+			case 8:
+				showMapContent();
+				break;
+			case 9:
+				mapValidator.printValidation();
+				break;
+			case 10:
+				System.out.println(editEngine.undo() ? "Last change undone" : "Nothing to undo");
+				break;
+			case 11:
+				System.out.println(editEngine.redo() ? "Last change redone" : "Nothing to redo");
+				break;
+			case 12:
+				applyEditScript();
+				break;
+			case 13:
+				editEngine.undoAll();
+				System.out.println("Changes discarded");
+				break;
+			case 14:
+				if (mapValidator.printValidation()) {
+					return editedMap;
+				}
+				break;
 			}
-			break;
 		}
-
-		return editMap();
 	}
 
 	/**
@@ -94,17 +113,52 @@ public class MapEditor implements Serializable {
 	private Integer getEditMapUserChoice() {
 		System.out.println("\nEdit map: \n1. Change Author\n2. Add a Continent\n3. Remove a Continent\n"
 				+ "4. Add a Country\n5. Remove a Country\n6. Add Adjacency\n7. Remove Adjacency\n"
-				+ "8. Show Map Content\n9. Validate Map\n10. Discard changes\n11. Save and Exit");
+				+ "8. Show Map Content\n9. Validate Map\n10. Undo\n11. Redo\n12. Apply an Edit Script\n"
+				+ "13. Discard changes\n14. Save and Exit");
 		System.out.print("Enter choice: ");
 
 		String userChoiceStr = scanner.nextLine();
-		if (isNaN(userChoiceStr) || Integer.parseInt(userChoiceStr) < 1 || Integer.parseInt(userChoiceStr) > 11) {
+		if (isNaN(userChoiceStr) || Integer.parseInt(userChoiceStr) < 1 || Integer.parseInt(userChoiceStr) > 14) {
 			System.out.println("Invalid input!!");
 			userChoiceStr = "0";
 		}
 		return Integer.parseInt(userChoiceStr);
 	}
 
+	/**
+	 * Applies the edits of a script file as one change, or none of them if one is invalid. The
+	 * script is read as UTF-8, as the map files are.
+	 *
+	 * @see MapEdit
+	 */
+	protected void applyEditScript() {
+		System.out.print("Please Enter the path of the edit script: ");
+		String scriptPath = scanner.nextLine().trim();
+		try (BufferedReader script = Files.newBufferedReader(Paths.get(scriptPath), StandardCharsets.UTF_8)) {
+			System.out.println(editEngine.applyScript(script) + " edits applied");
+		} catch (IOException e) {
+			System.out.println("Cannot read " + scriptPath + ": " + e.getMessage());
+		} catch (IllegalArgumentException e) {
+			System.out.println("Script not applied. " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Applies one edit, printing why it is rejected.
+	 *
+	 * @param edit the edit.
+	 * @return true if the edit is applied.
+	 */
+	protected boolean applyEdit(MapEdit edit) {
+		try {
+			editEngine.apply(edit);
+			return true;
+		} catch (IllegalArgumentException e) {
+			System.out.println(e.getMessage());
+			return false;
+		}
+	}
+
 	/**
 	 * prints the contents of the map to the user.
 	 */
@@ -137,12 +191,13 @@ public class MapEditor implements Serializable {
 			return;
 		}
 
-		if (!editedMap.removeAdjacenyBetweenCountries(countryName1, countryName2)) {
+		if (!editedMap.getAdjacentCountries(countryName1).contains(countryName2)) {
 			System.out.println("No edge extsts between the countries");
 			return;
 		}
-
-		System.out.println("Edge removed successfully");
+		if (applyEdit(MapEdit.removeAdjacency(countryName1, countryName2))) {
+			System.out.println("Edge removed successfully");
+		}
 	}
 
 	/**
@@ -164,8 +219,9 @@ public class MapEditor implements Serializable {
 			System.out.println(countryName2 + " doesn't exist in the map.");
 			return;
 		}
-		editedMap.setAdjacentCountry(countryName1, countryName2);
-		System.out.println("Edge added successfully");
+		if (applyEdit(MapEdit.addAdjacency(countryName1, countryName2))) {
+			System.out.println("Edge added successfully");
+		}
 	}
 
 	/**
@@ -179,8 +235,9 @@ public class MapEditor implements Serializable {
 			System.out.println(countryName + " doesn't exist in the map.");
 			return;
 		}
-		editedMap.removeCountry(countryName);
-		System.out.println("Country removed successfully");
+		if (applyEdit(MapEdit.removeCountry(countryName))) {
+			System.out.println("Country removed successfully");
+		}
 	}
 
 	/**
@@ -205,8 +262,9 @@ public class MapEditor implements Serializable {
 			return;
 		}
 
-		editedMap.addCountry(newCountryName, continentName);
-		System.out.println("Country added successfully");
+		if (applyEdit(MapEdit.addCountry(newCountryName, continentName))) {
+			System.out.println("Country added successfully");
+		}
 	}
 
 	/**
@@ -222,8 +280,9 @@ public class MapEditor implements Serializable {
 			System.out.println(continentName + " doesn't exist in the map.");
 			return;
 		}
-		editedMap.removeContinent(continentName);
-		System.out.println("Continent removed successfully");
+		if (applyEdit(MapEdit.removeContinent(continentName))) {
+			System.out.println("Continent removed successfully");
+		}
 	}
 
 	/**
@@ -252,8 +311,9 @@ public class MapEditor implements Serializable {
 			}
 		} while (continentControlValue < 0);
 
-		editedMap.addContinent(newContinentName, continentControlValue);
-		System.out.println("Continent added successfully");
+		if (applyEdit(MapEdit.addContinent(newContinentName, continentControlValue))) {
+			System.out.println("Continent added successfully");
+		}
 	}
 
 	/**
@@ -268,8 +328,9 @@ public class MapEditor implements Serializable {
 			System.out.println("Invalid Name");
 			return;
 		}
-		editedMap.setMapAuthor(mapAuthorName);
-		System.out.println("Map Author updated to : " + editedMap.getMapAuthor());
+		if (applyEdit(MapEdit.setAuthor(mapAuthorName))) {
+			System.out.println("Map Author updated to : " + editedMap.getMapAuthor());
+		}
 	}
 
 	/**
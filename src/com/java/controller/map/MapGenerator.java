@@ -0,0 +1,494 @@
+package com.java.controller.map;
+
+import com.java.model.map.GameMap;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * MapGenerator creates synthetic maps for scale testing. It can build maps from a thousand
+ * up to a million territories, either as an in-memory GameMap or as a .map file, using one
+ * of the supported topologies. Every generated map is connected, every continent holds at
+ * least two countries and every country has at least one neighbour, so the output passes
+ * MapValidator.
+ *
+ * The graph is kept in primitive arrays while it is generated, the GameMap (or the file) is
+ * only produced at the end. Generating the same parameters with the same seed always gives
+ * the same map.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class MapGenerator implements Serializable {
+
+	/**
+	 * The supported degree distributions.
+	 * <ul>
+	 * <li>PLANAR_GRID: square grid with 4-neighbour adjacency, degree 2 to 4.</li>
+	 * <li>RANDOM_GEOMETRIC: random points in the unit square linked when closer than a radius,
+	 * poisson like degree around the requested average.</li>
+	 * <li>SCALE_FREE: preferential attachment (Barabasi-Albert), power law degree with a few
+	 * hubs.</li>
+	 * </ul>
+	 * */
+	public enum Topology {
+		PLANAR_GRID, RANDOM_GEOMETRIC, SCALE_FREE
+	}
+
+	public static final String COUNTRY_PREFIX = "T";
+	public static final String CONTINENT_PREFIX = "Continent";
+	public static final Integer DEFAULT_AVERAGE_DEGREE = 6;
+
+	private final int numberOfCountries;
+	private final int numberOfContinents;
+	private final Topology topology;
+	private final int averageDegree;
+	private final long seed;
+
+	/**
+	 * Adjacency of the generated graph in compressed sparse row form: the neighbours of
+	 * country i are adjacency[offsets[i]] to adjacency[offsets[i + 1] - 1].
+	 * */
+	private int[] offsets;
+	private int[] adjacency;
+
+	/**
+	 * Continent index of each country.
+	 * */
+	private int[] continentOfCountry;
+
+	/**
+	 * Creates a generator with the default average degree.
+	 *
+	 * @param numberOfCountries number of territories, at least 2.
+	 * @param numberOfContinents number of continents, at most half the number of territories.
+	 * @param topology the degree distribution.
+	 * @param seed seed of the random generator.
+	 */
+	public MapGenerator(int numberOfCountries, int numberOfContinents, Topology topology, long seed) {
+		this(numberOfCountries, numberOfContinents, topology, DEFAULT_AVERAGE_DEGREE, seed);
+	}
+
+	/**
+	 * Creates a generator.
+	 *
+	 * @param numberOfCountries number of territories, at least 2.
+	 * @param numberOfContinents number of continents, at most half the number of territories.
+	 * @param topology the degree distribution.
+	 * @param averageDegree the targeted average number of neighbours (ignored by the grid).
+	 * @param seed seed of the random generator.
+	 */
+	public MapGenerator(int numberOfCountries, int numberOfContinents, Topology topology, int averageDegree, long seed) {
+		if (numberOfCountries < 2) {
+			throw new IllegalArgumentException("A map needs at least 2 countries");
+		}
+		if (numberOfContinents < 1 || numberOfContinents * 2 > numberOfCountries) {
+			throw new IllegalArgumentException("Every continent needs at least 2 countries");
+		}
+		if (averageDegree < 2) {
+			throw new IllegalArgumentException("Average degree must be at least 2");
+		}
+		this.numberOfCountries = numberOfCountries;
+		this.numberOfContinents = numberOfContinents;
+		this.topology = topology;
+		this.averageDegree = averageDegree;
+		this.seed = seed;
+	}
+
+	/**
+	 * Gets the country name for a country index.
+	 *
+	 * @param countryIndex the country index.
+	 * @return the country name.
+	 */
+	public static String countryName(int countryIndex) {
+		return COUNTRY_PREFIX + countryIndex;
+	}
+
+	/**
+	 * Gets the continent name for a continent index.
+	 *
+	 * @param continentIndex the continent index.
+	 * @return the continent name.
+	 */
+	public static String continentName(int continentIndex) {
+		return CONTINENT_PREFIX + continentIndex;
+	}
+
+	/**
+	 * Generates the map in memory.
+	 *
+	 * @return a valid game map.
+	 */
+	public GameMap generateMap() {
+		generateGraph();
+
+		GameMap map = new GameMap();
+		map.setMapAuthor("MapGenerator");
+		map.warn = "yes";
+
+		for (int continent = 0; continent < numberOfContinents; continent++) {
+			map.addContinent(continentName(continent), getContinentControlValue(continent));
+		}
+		for (int country = 0; country < numberOfCountries; country++) {
+			map.addCountry(countryName(country), continentName(continentOfCountry[country]));
+		}
+		for (int country = 0; country < numberOfCountries; country++) {
+			for (int i = offsets[country]; i < offsets[country + 1]; i++) {
+				if (adjacency[i] > country) {
+					map.setAdjacentCountry(countryName(country), countryName(adjacency[i]));
+				}
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Generates the map and writes it as a .map file. The file is streamed from the
+	 * primitive graph, so no GameMap is built even for very large maps.
+	 *
+	 * @param mapFilePath path of the file to be written.
+	 * @throws IOException if the file can not be written.
+	 */
+	public void writeMapFile(String mapFilePath) throws IOException {
+		generateGraph();
+
+		try (MapWriter mapWriter = new MapWriter(mapFilePath)) {
+			mapWriter.writeMapMetaData("MapGenerator", "yes");
+			for (int continent = 0; continent < numberOfContinents; continent++) {
+				mapWriter.writeContinent(continentName(continent), getContinentControlValue(continent));
+			}
+			for (int country = 0; country < numberOfCountries; country++) {
+				mapWriter.writeCountry(countryName(country), continentName(continentOfCountry[country]));
+				for (int i = offsets[country]; i < offsets[country + 1]; i++) {
+					mapWriter.writeNeighbour(countryName(adjacency[i]));
+				}
+			}
+			mapWriter.commit();
+		}
+	}
+
+	/**
+	 * Gets the number of adjacencies (undirected edges) of the generated graph.
+	 *
+	 * @return the number of edges.
+	 */
+	public long getNumberOfEdges() {
+		generateGraph();
+		return adjacency.length / 2;
+	}
+
+	/**
+	 * Bonus armies of a continent, growing with the size of the continent.
+	 *
+	 * @param continent the continent index.
+	 * @return the control value.
+	 */
+	private int getContinentControlValue(int continent) {
+		int continentSize = numberOfCountries / numberOfContinents;
+		return Math.max(1, Math.min(10, continentSize / 4)) + continent % 3;
+	}
+
+	/**
+	 * Builds the adjacency and the continent assignment once.
+	 */
+	private void generateGraph() {
+		if (offsets != null) {
+			return;
+		}
+
+		Random random = new Random(seed);
+		long[] edges;
+
+		switch (topology) {
+		case PLANAR_GRID:
+			edges = generateGridEdges();
+			assignContinentsByIndex();
+			break;
+		case RANDOM_GEOMETRIC:
+			edges = generateGeometricEdges(random);
+			break;
+		default:
+			edges = generateScaleFreeEdges(random);
+			assignContinentsByIndex();
+			break;
+		}
+
+		edges = connectComponents(edges, random);
+		buildAdjacency(edges);
+	}
+
+	/**
+	 * Continents are contiguous ranges of country indices of (almost) equal size.
+	 */
+	private void assignContinentsByIndex() {
+		continentOfCountry = new int[numberOfCountries];
+		for (int country = 0; country < numberOfCountries; country++) {
+			continentOfCountry[country] = (int) ((long) country * numberOfContinents / numberOfCountries);
+		}
+	}
+
+	/**
+	 * Square grid with right and bottom links, the last row may be partial.
+	 *
+	 * @return the edges.
+	 */
+	private long[] generateGridEdges() {
+		int width = (int) Math.ceil(Math.sqrt(numberOfCountries));
+		EdgeList edges = new EdgeList(numberOfCountries * 2);
+		for (int country = 0; country < numberOfCountries; country++) {
+			if ((country % width) < width - 1 && country + 1 < numberOfCountries) {
+				edges.add(country, country + 1);
+			}
+			if (country + width < numberOfCountries) {
+				edges.add(country, country + width);
+			}
+		}
+		return edges.toArray();
+	}
+
+	/**
+	 * Random geometric graph. Points are bucketed in cells of the size of the radius so that
+	 * only the neighbouring cells are scanned. Continents are vertical bands of points.
+	 *
+	 * @param random random generator.
+	 * @return the edges.
+	 */
+	private long[] generateGeometricEdges(Random random) {
+		double[] x = new double[numberOfCountries];
+		double[] y = new double[numberOfCountries];
+		for (int country = 0; country < numberOfCountries; country++) {
+			x[country] = random.nextDouble();
+			y[country] = random.nextDouble();
+		}
+
+		double radius = Math.sqrt(averageDegree / (Math.PI * numberOfCountries));
+		int cellsPerSide = Math.max(1, (int) (1.0 / radius));
+		int[] cellStart = new int[cellsPerSide * cellsPerSide + 1];
+		int[] cellOfCountry = new int[numberOfCountries];
+		for (int country = 0; country < numberOfCountries; country++) {
+			int cellX = Math.min(cellsPerSide - 1, (int) (x[country] * cellsPerSide));
+			int cellY = Math.min(cellsPerSide - 1, (int) (y[country] * cellsPerSide));
+			cellOfCountry[country] = cellY * cellsPerSide + cellX;
+			cellStart[cellOfCountry[country] + 1]++;
+		}
+		for (int cell = 0; cell < cellsPerSide * cellsPerSide; cell++) {
+			cellStart[cell + 1] += cellStart[cell];
+		}
+		int[] countriesByCell = new int[numberOfCountries];
+		int[] cellFill = Arrays.copyOf(cellStart, cellStart.length - 1);
+		for (int country = 0; country < numberOfCountries; country++) {
+			countriesByCell[cellFill[cellOfCountry[country]]++] = country;
+		}
+
+		double squaredRadius = radius * radius;
+		EdgeList edges = new EdgeList(numberOfCountries * averageDegree / 2);
+		for (int country = 0; country < numberOfCountries; country++) {
+			int cellX = cellOfCountry[country] % cellsPerSide;
+			int cellY = cellOfCountry[country] / cellsPerSide;
+			for (int neighbourY = Math.max(0, cellY - 1); neighbourY <= Math.min(cellsPerSide - 1, cellY + 1); neighbourY++) {
+				for (int neighbourX = Math.max(0, cellX - 1); neighbourX <= Math.min(cellsPerSide - 1, cellX + 1); neighbourX++) {
+					int cell = neighbourY * cellsPerSide + neighbourX;
+					for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+						int other = countriesByCell[i];
+						if (other <= country) {
+							continue;
+						}
+						double dx = x[country] - x[other];
+						double dy = y[country] - y[other];
+						if (dx * dx + dy * dy <= squaredRadius) {
+							edges.add(country, other);
+						}
+					}
+				}
+			}
+		}
+
+		// continents are bands along the x axis, each with the same number of points
+		Integer[] byX = new Integer[numberOfCountries];
+		for (int country = 0; country < numberOfCountries; country++) {
+			byX[country] = country;
+		}
+		Arrays.sort(byX, (a, b) -> Double.compare(x[a], x[b]));
+		continentOfCountry = new int[numberOfCountries];
+		for (int rank = 0; rank < numberOfCountries; rank++) {
+			continentOfCountry[byX[rank]] = (int) ((long) rank * numberOfContinents / numberOfCountries);
+		}
+		return edges.toArray();
+	}
+
+	/**
+	 * Barabasi-Albert preferential attachment. Every new country links to m distinct older
+	 * countries picked proportionally to their degree, which is done by sampling from the
+	 * list of all edge endpoints.
+	 *
+	 * @param random random generator.
+	 * @return the edges.
+	 */
+	private long[] generateScaleFreeEdges(Random random) {
+		int m = Math.max(1, averageDegree / 2);
+		int[] endpoints = new int[2 * m * numberOfCountries];
+		int numberOfEndpoints = 0;
+		EdgeList edges = new EdgeList(m * numberOfCountries);
+		int[] targets = new int[m];
+
+		// small clique to start with
+		int initialCountries = Math.min(numberOfCountries, m + 1);
+		for (int country = 0; country < initialCountries; country++) {
+			for (int other = country + 1; other < initialCountries; other++) {
+				edges.add(country, other);
+				endpoints[numberOfEndpoints++] = country;
+				endpoints[numberOfEndpoints++] = other;
+			}
+		}
+
+		for (int country = initialCountries; country < numberOfCountries; country++) {
+			int numberOfTargets = 0;
+			while (numberOfTargets < Math.min(m, country)) {
+				int target = numberOfEndpoints == 0 ? random.nextInt(country) : endpoints[random.nextInt(numberOfEndpoints)];
+				boolean duplicate = false;
+				for (int i = 0; i < numberOfTargets; i++) {
+					if (targets[i] == target) {
+						duplicate = true;
+						break;
+					}
+				}
+				if (!duplicate) {
+					targets[numberOfTargets++] = target;
+				}
+			}
+			for (int i = 0; i < numberOfTargets; i++) {
+				edges.add(country, targets[i]);
+				endpoints[numberOfEndpoints++] = country;
+				endpoints[numberOfEndpoints++] = targets[i];
+			}
+		}
+		return edges.toArray();
+	}
+
+	/**
+	 * Guarantees connectivity: the components are found with a union-find and each component
+	 * is linked to the next one through a random member.
+	 *
+	 * @param edges the edges generated by the topology.
+	 * @param random random generator.
+	 * @return the edges including the links between components.
+	 */
+	private long[] connectComponents(long[] edges, Random random) {
+		int[] parent = new int[numberOfCountries];
+		for (int country = 0; country < numberOfCountries; country++) {
+			parent[country] = country;
+		}
+		for (long edge : edges) {
+			union(parent, (int) (edge >>> 32), (int) edge);
+		}
+
+		int[] representative = new int[numberOfCountries];
+		Arrays.fill(representative, -1);
+		EdgeList links = new EdgeList(16);
+		int previousComponentMember = -1;
+		for (int country = 0; country < numberOfCountries; country++) {
+			int root = find(parent, country);
+			if (representative[root] == -1) {
+				representative[root] = country;
+				if (previousComponentMember != -1) {
+					// pick a random member already seen so the links are not all chained on low ids
+					int from = random.nextBoolean() ? previousComponentMember : random.nextInt(country);
+					links.add(from, country);
+				}
+				previousComponentMember = country;
+			}
+		}
+
+		if (links.size() == 0) {
+			return edges;
+		}
+		long[] allEdges = Arrays.copyOf(edges, edges.length + links.size());
+		System.arraycopy(links.toArray(), 0, allEdges, edges.length, links.size());
+		return allEdges;
+	}
+
+	/**
+	 * Builds the symmetric compressed sparse row adjacency, dropping duplicated edges.
+	 *
+	 * @param edges the undirected edges encoded as (low id &lt;&lt; 32 | high id).
+	 */
+	private void buildAdjacency(long[] edges) {
+		Arrays.sort(edges);
+		int numberOfEdges = 0;
+		for (int i = 0; i < edges.length; i++) {
+			if (i == 0 || edges[i] != edges[i - 1]) {
+				edges[numberOfEdges++] = edges[i];
+			}
+		}
+
+		offsets = new int[numberOfCountries + 1];
+		for (int i = 0; i < numberOfEdges; i++) {
+			offsets[(int) (edges[i] >>> 32) + 1]++;
+			offsets[(int) edges[i] + 1]++;
+		}
+		for (int country = 0; country < numberOfCountries; country++) {
+			offsets[country + 1] += offsets[country];
+		}
+		adjacency = new int[offsets[numberOfCountries]];
+		int[] fill = Arrays.copyOf(offsets, numberOfCountries);
+		for (int i = 0; i < numberOfEdges; i++) {
+			int from = (int) (edges[i] >>> 32);
+			int to = (int) edges[i];
+			adjacency[fill[from]++] = to;
+			adjacency[fill[to]++] = from;
+		}
+	}
+
+	private static int find(int[] parent, int country) {
+		while (parent[country] != country) {
+			parent[country] = parent[parent[country]];
+			country = parent[country];
+		}
+		return country;
+	}
+
+	private static void union(int[] parent, int a, int b) {
+		int rootA = find(parent, a);
+		int rootB = find(parent, b);
+		if (rootA != rootB) {
+			parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+		}
+	}
+
+	/**
+	 * Growable list of undirected edges packed in longs, lowest id in the high half.
+	 * */
+	private static class EdgeList {
+		private long[] edges;
+		private int size;
+
+		EdgeList(int initialCapacity) {
+			edges = new long[Math.max(16, initialCapacity)];
+		}
+
+		void add(int a, int b) {
+			if (a == b) {
+				return;
+			}
+			if (size == edges.length) {
+				edges = Arrays.copyOf(edges, size * 2);
+			}
+			edges[size++] = ((long) Math.min(a, b) << 32) | Math.max(a, b);
+		}
+
+		int size() {
+			return size;
+		}
+
+		long[] toArray() {
+			return Arrays.copyOf(edges, size);
+		}
+	}
+}
@@ -1,13 +1,13 @@
 package com.java.controller.map;
 
-import com.java.model.map.Continent;
-import com.java.model.map.Country;
+import com.java.controller.instrumentation.MapLoadEvent;
 import com.java.model.map.GameMap;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Scanner;
 
 /**
@@ -174,6 +174,27 @@ public class MapLoader implements Serializable {
 	 * @return true if the file has been read and false otherwise with an message stating why
 	 */
 	public Boolean loadMapFromFile(String mapFilePath) {
+		MapLoadEvent mapLoadEvent = new MapLoadEvent();
+		mapLoadEvent.begin();
+
+		Boolean response = readMapFromFile(mapFilePath);
+
+		mapLoadEvent.end();
+		if (mapLoadEvent.shouldCommit()) {
+			mapLoadEvent.setContext(map);
+			mapLoadEvent.path = mapFilePath;
+			mapLoadEvent.loaded = response;
+			mapLoadEvent.commit();
+		}
+		return response;
+	}
+
+	/**
+	 * Validates the text of the file, then reads and validates the map.
+	 * @param mapFilePath takes in a file path from as a string
+	 * @return true if the file has been read and false otherwise
+	 */
+	private Boolean readMapFromFile(String mapFilePath) {
 
 		Boolean response = true;
 		BufferedReader mapFileBufferedReader = null;
@@ -189,7 +210,8 @@ public class MapLoader implements Serializable {
 		}
 
 		try {
-			mapFileBufferedReader = new BufferedReader(new FileReader(mapFilePath));
+			mapFileBufferedReader = new BufferedReader(
+					new InputStreamReader(new FileInputStream(mapFilePath), StandardCharsets.UTF_8));
 		} catch (FileNotFoundException e1) {
 			System.out.println("\nFile not Found");
 			return false;
@@ -201,7 +223,11 @@ public class MapLoader implements Serializable {
 				response = readandLoadContinents(mapFileBufferedReader);
 			}
 			if (response) {
-				response = readandLoadCountries(mapFileBufferedReader);
+				if (new File(mapFilePath).length() >= TerritoryParser.PARALLEL_THRESHOLD) {
+					response = readandLoadCountries(mapFilePath);
+				} else {
+					response = readandLoadCountries(mapFileBufferedReader);
+				}
 			}
 			if (!mapValidator.validateMap(map)) {
 				return false;
@@ -320,43 +346,35 @@ public class MapLoader implements Serializable {
 	}
 	
 	/**
-	 * Saves the map as a file text.
+	 * Reads and load countries from a large file, the [Territories] section being parsed in
+	 * parallel by a TerritoryParser.
+	 * 
+	 * @param mapFilePath path of the file.
+	 * @return true if the countries are valid, false if the file can not be read or a line is
+	 *         not a territory.
 	 * */
-	private void saveMapAsTextFile() {
-		File file = new File(SAVED_MAP_FILE_PATH);
-		HashMap<String, Continent> continents;
-		HashMap<String, Country> countries;
-
-		if (file.exists()) {
-			file.delete();
-		}
+	private Boolean readandLoadCountries(String mapFilePath) {
+		TerritoryParser.Territories territories;
 		try {
-			file.createNewFile();
-			FileWriter writer = new FileWriter(file);
-			writer.write("[Map]\n");
-			writer.write("author=" + map.getMapAuthor() + "\n");
-			writer.write("warn=" + map.warn + "\n");
-
-			writer.write("[Continents]\n");
-			continents = map.getAllContinents();
-			for (String continentName : continents.keySet()) {
-				writer.write(continentName + "=" + continents.get(continentName).getContinentControlValue() + "\n");
-			}
-
-			writer.write("[Territories]\n");
-			countries = map.getAllCountries();
-			for (String countryName : countries.keySet()) {
-				writer.write(countryName + "," + map.getCountry(countryName).getCountryContinentName());
-				HashSet<String> neighbours = map.getAdjacentCountries(countryName);
-				for (String neighbour : neighbours) {
-					writer.write("," + neighbour);
-				}
-				writer.write("\n");
-			}
-
-			writer.flush();
-			writer.close();
+			territories = new TerritoryParser().parse(Files.readAllBytes(Paths.get(mapFilePath)));
+		} catch (IOException e) {
+			System.out.println("\nERROR: " + e.getMessage());
+			return false;
+		}
+		if (territories.getNumberOfLines() == 0) {
+			return false;
+		}
+		territories.loadInto(map);
+		return true;
+	}
 
+	/**
+	 * Saves the map as a file text. The file is written in a deterministic order and replaced
+	 * atomically, see MapWriter.
+	 * */
+	private void saveMapAsTextFile() {
+		try {
+			MapWriter.writeMap(map, SAVED_MAP_FILE_PATH);
 		} catch (IOException e) {
 			System.out.println("\nERROR: Failure in map file creation");
 		}
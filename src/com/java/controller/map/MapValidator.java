@@ -1,10 +1,12 @@
 package com.java.controller.map;
 
+import com.java.controller.instrumentation.MapValidationEvent;
 import com.java.model.map.Continent;
 import com.java.model.map.Country;
 import com.java.model.map.GameMap;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -32,6 +34,8 @@ public class MapValidator implements Serializable {
 	 */
 	public Boolean validateMap(GameMap map) {
 		this.map = map;
+		MapValidationEvent mapValidationEvent = new MapValidationEvent();
+		mapValidationEvent.begin();
 
 		Boolean response = true;
 
@@ -48,6 +52,13 @@ public class MapValidator implements Serializable {
 		} else {
 			System.out.println("Result: Map is Valid");
 		}
+
+		mapValidationEvent.end();
+		if (mapValidationEvent.shouldCommit()) {
+			mapValidationEvent.setContext(map);
+			mapValidationEvent.valid = response;
+			mapValidationEvent.commit();
+		}
 		return response;
 	}
 
@@ -223,7 +234,8 @@ public class MapValidator implements Serializable {
 		String currentLine = null;
 
 		try {
-			mapFileBufferedReader = new BufferedReader(new FileReader(mapFilePath));
+			mapFileBufferedReader = new BufferedReader(
+					new InputStreamReader(new FileInputStream(mapFilePath), StandardCharsets.UTF_8));
 		} catch (FileNotFoundException e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
@@ -0,0 +1,254 @@
+package com.java.controller.map;
+
+import com.java.model.map.Continent;
+import com.java.model.map.GameMap;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * MapWriter streams a .map file section by section: the [Map] meta data, the continents, then
+ * one line per territory. The text goes through large buffers into a temporary file next to
+ * the target, and commit() renames it over the target in one step, so a reader never sees a
+ * half written map and a failure leaves the previous file untouched.
+ *
+ * writeMap(GameMap, String) saves a whole map with the continents, the countries and the
+ * neighbours of every country in sorted order, so saving the same map twice gives the same
+ * bytes whatever the history of its hash maps.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class MapWriter implements Closeable {
+
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	/**
+	 * Sections of a .map file, in the order they are written.
+	 */
+	private enum Section {
+		MAP, CONTINENTS, TERRITORIES
+	}
+
+	private final Path mapFilePath;
+	private final Path temporaryFilePath;
+	private final Writer writer;
+	private Section section;
+	private boolean countryLineOpen;
+	private boolean committed;
+	private boolean closed;
+
+	/**
+	 * Starts writing a .map file. Nothing is visible at the path until commit().
+	 *
+	 * @param mapFilePath path of the file to be written, its directory is created if needed.
+	 * @throws IOException if the temporary file can not be created.
+	 */
+	public MapWriter(String mapFilePath) throws IOException {
+		this.mapFilePath = Paths.get(mapFilePath).toAbsolutePath();
+		Path directory = this.mapFilePath.getParent();
+		Files.createDirectories(directory);
+		temporaryFilePath = Files.createTempFile(directory, "." + this.mapFilePath.getFileName(), ".tmp");
+		try {
+			writer = new BufferedWriter(new OutputStreamWriter(
+					new BufferedOutputStream(Files.newOutputStream(temporaryFilePath), BUFFER_SIZE),
+					StandardCharsets.UTF_8), BUFFER_SIZE / 16);
+		} catch (IOException e) {
+			Files.deleteIfExists(temporaryFilePath);
+			throw e;
+		}
+	}
+
+	/**
+	 * Saves a map as a .map file in a deterministic order.
+	 *
+	 * @param map the map to be saved.
+	 * @param mapFilePath path of the file to be written.
+	 * @throws IOException if the file can not be written, the previous file is then kept.
+	 */
+	public static void writeMap(GameMap map, String mapFilePath) throws IOException {
+		try (MapWriter mapWriter = new MapWriter(mapFilePath)) {
+			mapWriter.writeMapMetaData(map.getMapAuthor(), map.warn);
+
+			HashMap<String, Continent> continents = map.getAllContinents();
+			String[] continentNames = continents.keySet().toArray(new String[0]);
+			Arrays.sort(continentNames);
+			for (String continentName : continentNames) {
+				mapWriter.writeContinent(continentName, continents.get(continentName).getContinentControlValue());
+			}
+
+			String[] countryNames = map.getAllCountries().keySet().toArray(new String[0]);
+			Arrays.sort(countryNames);
+			String[] neighbourNames = new String[0];
+			for (String countryName : countryNames) {
+				mapWriter.writeCountry(countryName, map.getCountry(countryName).getCountryContinentName());
+				HashSet<String> neighbours = map.getAdjacentCountries(countryName);
+				neighbourNames = neighbours.toArray(neighbourNames.length >= neighbours.size() ? neighbourNames
+						: new String[neighbours.size()]);
+				Arrays.sort(neighbourNames, 0, neighbours.size());
+				for (int i = 0; i < neighbours.size(); i++) {
+					mapWriter.writeNeighbour(neighbourNames[i]);
+				}
+			}
+			mapWriter.commit();
+		}
+	}
+
+	/**
+	 * Writes the [Map] section.
+	 *
+	 * @param author the author of the map.
+	 * @param warn the warn setting of the map.
+	 * @throws IOException if the file can not be written.
+	 */
+	public void writeMapMetaData(String author, String warn) throws IOException {
+		enterSection(Section.MAP);
+		writer.write("author=" + author + "\n");
+		writer.write("warn=" + warn + "\n");
+	}
+
+	/**
+	 * Writes a continent, the [Continents] tag is written before the first one.
+	 *
+	 * @param continentName name of the continent.
+	 * @param controlValue bonus armies of the continent.
+	 * @throws IOException if the file can not be written.
+	 */
+	public void writeContinent(String continentName, int controlValue) throws IOException {
+		enterSection(Section.CONTINENTS);
+		writer.write(continentName);
+		writer.write('=');
+		writer.write(Integer.toString(controlValue));
+		writer.write('\n');
+	}
+
+	/**
+	 * Starts the line of a country, the [Territories] tag is written before the first one. The
+	 * line ends when the next country starts or the file is committed.
+	 *
+	 * @param countryName name of the country.
+	 * @param continentName name of the continent of the country.
+	 * @throws IOException if the file can not be written.
+	 */
+	public void writeCountry(String countryName, String continentName) throws IOException {
+		enterSection(Section.TERRITORIES);
+		endCountryLine();
+		writer.write(countryName);
+		writer.write(',');
+		writer.write(continentName);
+		countryLineOpen = true;
+	}
+
+	/**
+	 * Adds a neighbour to the line of the current country.
+	 *
+	 * @param neighbourName name of the neighbour.
+	 * @throws IOException if the file can not be written.
+	 */
+	public void writeNeighbour(String neighbourName) throws IOException {
+		if (!countryLineOpen) {
+			throw new IllegalStateException("No country to add the neighbour " + neighbourName + " to");
+		}
+		writer.write(',');
+		writer.write(neighbourName);
+	}
+
+	/**
+	 * Ends the file and moves it over the target path.
+	 *
+	 * @throws IOException if the file can not be written or moved, the previous file is then
+	 *             kept.
+	 */
+	public void commit() throws IOException {
+		if (closed) {
+			throw new IllegalStateException("The map file is closed");
+		}
+		endCountryLine();
+		closed = true;
+		writer.close();
+		try {
+			Files.move(temporaryFilePath, mapFilePath, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temporaryFilePath, mapFilePath, StandardCopyOption.REPLACE_EXISTING);
+		}
+		committed = true;
+	}
+
+	/**
+	 * Closes the writer. If the file has not been committed the temporary file is deleted and
+	 * the target path is left as it was.
+	 *
+	 * @throws IOException if the temporary file can not be deleted.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (committed) {
+			return;
+		}
+		try {
+			if (!closed) {
+				closed = true;
+				writer.close();
+			}
+		} finally {
+			Files.deleteIfExists(temporaryFilePath);
+		}
+	}
+
+	/**
+	 * Writes the tag of a section the first time it is entered.
+	 */
+	private void enterSection(Section nextSection) throws IOException {
+		if (closed) {
+			throw new IllegalStateException("The map file is closed");
+		}
+		if (section == nextSection) {
+			return;
+		}
+		if (section == null ? nextSection != Section.MAP : section.compareTo(nextSection) > 0) {
+			throw new IllegalStateException(
+					"The sections must be written in the order [Map], [Continents], [Territories]");
+		}
+		if (nextSection == Section.TERRITORIES && section == Section.MAP) {
+			writer.write(sectionTag(Section.CONTINENTS));
+		}
+		section = nextSection;
+		writer.write(sectionTag(nextSection));
+	}
+
+	private static String sectionTag(Section section) {
+		switch (section) {
+		case MAP:
+			return "[Map]\n";
+		case CONTINENTS:
+			return "[Continents]\n";
+		default:
+			return "[Territories]\n";
+		}
+	}
+
+	private void endCountryLine() throws IOException {
+		if (countryLineOpen) {
+			writer.write('\n');
+			countryLineOpen = false;
+		}
+	}
+}
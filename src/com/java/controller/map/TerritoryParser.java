@@ -0,0 +1,595 @@
+package com.java.controller.map;
+
+import com.java.model.map.GameMap;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * TerritoryParser parses the [Territories] section of a large .map file in parallel. The
+ * section is cut at line boundaries into chunks, and the workers of a fork/join pool scan
+ * the bytes of their chunk, without String.split, into lines of (country, continent,
+ * neighbours) whose names are interned in a table of the chunk. The tables are then merged
+ * into dense ids, countries first in the order of their lines, and the adjacency is built in
+ * compressed rows, filled and sorted in parallel.
+ *
+ * The merge is parallel too. Every line and neighbour of the section has a position, and the
+ * chunks keep in a concurrent map the first position of each name, a country line coming
+ * before any neighbour. The chunk holding that first position owns the name: the owners
+ * number their names in the order of the positions, from per chunk bases, and publish the
+ * ids in the map for the other chunks.
+ *
+ * The lines are read like MapLoader reads them: a line ends at '\n' or '\r', it is trimmed,
+ * blank lines are skipped and trailing empty fields are dropped. The file is decoded as
+ * UTF-8.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class TerritoryParser {
+
+	/**
+	 * Size of the files from which MapLoader parses the territories in parallel.
+	 */
+	public static final long PARALLEL_THRESHOLD = 1 << 20;
+
+	private static final int MIN_CHUNK_SIZE = 1 << 16;
+	private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	private static final byte[] TERRITORIES_TAG = "[Territories]".getBytes(StandardCharsets.US_ASCII);
+
+	private final int numberOfChunks;
+
+	/**
+	 * Creates a parser cutting the section into a few chunks per worker.
+	 */
+	public TerritoryParser() {
+		this(POOL.getParallelism() * 4);
+	}
+
+	/**
+	 * Creates a parser.
+	 *
+	 * @param numberOfChunks maximum number of chunks of a section.
+	 */
+	TerritoryParser(int numberOfChunks) {
+		this.numberOfChunks = Math.max(1, numberOfChunks);
+	}
+
+	/**
+	 * Parsed territories: the names by id, the country and continent of every line, and the
+	 * neighbours of every country in compressed rows.
+	 */
+	public static final class Territories {
+		private final String[] names;
+		private final int numberOfCountries;
+		private final int[] lineCountry;
+		private final String[] lineContinent;
+		private final int[] offsets;
+		private final int[] neighbours;
+
+		private Territories(String[] names, int numberOfCountries, int[] lineCountry, String[] lineContinent,
+				int[] offsets, int[] neighbours) {
+			this.names = names;
+			this.numberOfCountries = numberOfCountries;
+			this.lineCountry = lineCountry;
+			this.lineContinent = lineContinent;
+			this.offsets = offsets;
+			this.neighbours = neighbours;
+		}
+
+		/**
+		 * @return number of territory lines.
+		 */
+		public int getNumberOfLines() {
+			return lineCountry.length;
+		}
+
+		/**
+		 * @return number of countries, their ids going from 0 to this number excluded. The
+		 *         neighbours which are not countries have the next ids.
+		 */
+		public int getNumberOfCountries() {
+			return numberOfCountries;
+		}
+
+		public String getName(int id) {
+			return names[id];
+		}
+
+		/**
+		 * Gets the neighbours of a country, sorted by id. Row i goes from offsets[i] to
+		 * offsets[i + 1] excluded.
+		 *
+		 * @return the offsets of the rows.
+		 */
+		public int[] getOffsets() {
+			return offsets;
+		}
+
+		/**
+		 * @return the ids of the neighbours, row by row.
+		 */
+		public int[] getNeighbours() {
+			return neighbours;
+		}
+
+		/**
+		 * Adds the countries and their adjacencies to a map, as MapLoader does for every line.
+		 * An adjacency listed on both sides is only set once.
+		 *
+		 * @param map the map.
+		 */
+		public void loadInto(GameMap map) {
+			for (int line = 0; line < lineCountry.length; line++) {
+				map.addCountry(names[lineCountry[line]], lineContinent[line]);
+			}
+			for (int country = 0; country < numberOfCountries; country++) {
+				for (int i = offsets[country]; i < offsets[country + 1]; i++) {
+					int neighbour = neighbours[i];
+					if (neighbour >= country
+							|| Arrays.binarySearch(neighbours, offsets[neighbour], offsets[neighbour + 1], country) < 0) {
+						map.setAdjacentCountry(names[country], names[neighbour]);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Parses the [Territories] section of the content of a .map file.
+	 *
+	 * @param content bytes of the file.
+	 * @return the territories.
+	 * @throws IOException if the section is missing or a line is not a territory.
+	 */
+	public Territories parse(byte[] content) throws IOException {
+		int from = findSection(content);
+		if (from < 0) {
+			throw new IOException("[Territories] Tag missing");
+		}
+		return parse(content, from, content.length);
+	}
+
+	/**
+	 * Parses territory lines.
+	 *
+	 * @param content bytes of the file.
+	 * @param from start of the first line.
+	 * @param to end of the last line.
+	 * @return the territories.
+	 * @throws IOException if a line is not a territory.
+	 */
+	public Territories parse(byte[] content, int from, int to) throws IOException {
+		int chunkSize = Math.max(MIN_CHUNK_SIZE, (to - from + numberOfChunks - 1) / numberOfChunks);
+		List<Chunk> chunks = new ArrayList<>();
+		int start = from;
+		while (start < to) {
+			int end = Math.min(to, start + chunkSize);
+			while (end < to && content[end - 1] != '\n' && content[end - 1] != '\r') {
+				end++;
+			}
+			chunks.add(new Chunk(content, start, end));
+			start = end;
+		}
+
+		runOnChunks(chunks, Chunk::scan);
+
+		/* Positions: the lines of the section, then its neighbours */
+		int numberOfLines = 0;
+		int numberOfNames = 0;
+		for (Chunk chunk : chunks) {
+			chunk.lineBase = numberOfLines;
+			numberOfLines += chunk.numberOfLines;
+			numberOfNames += chunk.numberOfNames;
+		}
+		int neighbourBase = numberOfLines;
+		for (Chunk chunk : chunks) {
+			chunk.neighbourBase = neighbourBase;
+			neighbourBase += chunk.numberOfNeighbours;
+		}
+		int numberOfLinesInSection = numberOfLines;
+		ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>(numberOfNames, 0.75f,
+				POOL.getParallelism());
+		runOnChunks(chunks, chunk -> chunk.rank(ids));
+		runOnChunks(chunks, chunk -> chunk.claim(ids, numberOfLinesInSection));
+
+		/* Dense ids: the countries in the order of their lines, then the other neighbours */
+		int numberOfCountries = 0;
+		for (Chunk chunk : chunks) {
+			chunk.countryIdBase = numberOfCountries;
+			numberOfCountries += chunk.numberOfOwnedCountries;
+		}
+		int numberOfIds = numberOfCountries;
+		for (Chunk chunk : chunks) {
+			chunk.neighbourIdBase = numberOfIds;
+			numberOfIds += chunk.numberOfOwnedNeighbours;
+		}
+		String[] names = new String[numberOfIds];
+		runOnChunks(chunks, chunk -> chunk.number(ids, names));
+		int[] lineCountry = new int[numberOfLines];
+		String[] lineContinent = new String[numberOfLines];
+		runOnChunks(chunks, chunk -> chunk.resolve(ids, lineCountry, lineContinent));
+
+		/* Rows of the countries, a country on several lines getting the neighbours of all */
+		int[] offsets = new int[numberOfCountries + 1];
+		int line = 0;
+		for (Chunk chunk : chunks) {
+			for (int l = 0; l < chunk.numberOfLines; l++) {
+				offsets[lineCountry[line++] + 1] += chunk.lineDegree(l);
+			}
+		}
+		for (int country = 0; country < numberOfCountries; country++) {
+			offsets[country + 1] += offsets[country];
+		}
+		int[] next = Arrays.copyOf(offsets, numberOfCountries);
+		line = 0;
+		for (Chunk chunk : chunks) {
+			chunk.lineStart = new int[chunk.numberOfLines];
+			for (int l = 0; l < chunk.numberOfLines; l++) {
+				int country = lineCountry[line++];
+				chunk.lineStart[l] = next[country];
+				next[country] += chunk.lineDegree(l);
+			}
+		}
+
+		int[] neighbours = new int[offsets[numberOfCountries]];
+		runOnChunks(chunks, chunk -> chunk.fill(neighbours));
+
+		List<Callable<Void>> sorts = new ArrayList<>();
+		int rowsPerSort = Math.max(1, (numberOfCountries + numberOfChunks - 1) / numberOfChunks);
+		for (int first = 0; first < numberOfCountries; first += rowsPerSort) {
+			int firstRow = first;
+			int lastRow = Math.min(numberOfCountries, first + rowsPerSort);
+			sorts.add(() -> {
+				for (int country = firstRow; country < lastRow; country++) {
+					Arrays.sort(neighbours, offsets[country], offsets[country + 1]);
+				}
+				return null;
+			});
+		}
+		runAll(sorts);
+
+		return new Territories(names, numberOfCountries, lineCountry, lineContinent, offsets,
+				neighbours);
+	}
+
+	/**
+	 * Finds the line after the [Territories] tag.
+	 *
+	 * @return the start of the line, -1 if there is no tag.
+	 */
+	private static int findSection(byte[] content) {
+		int position = 0;
+		while (position < content.length) {
+			int lineEnd = position;
+			while (lineEnd < content.length && content[lineEnd] != '\n' && content[lineEnd] != '\r') {
+				lineEnd++;
+			}
+			int start = position;
+			int end = lineEnd;
+			while (start < end && (content[start] & 0xFF) <= ' ') {
+				start++;
+			}
+			while (end > start && (content[end - 1] & 0xFF) <= ' ') {
+				end--;
+			}
+			if (Arrays.equals(content, start, end, TERRITORIES_TAG, 0, TERRITORIES_TAG.length)) {
+				return Math.min(content.length, lineEnd + 1);
+			}
+			position = lineEnd + 1;
+		}
+		return -1;
+	}
+
+	/**
+	 * Work done on every chunk.
+	 */
+	private interface ChunkTask {
+		void run(Chunk chunk) throws IOException;
+	}
+
+	/**
+	 * Runs a task on every chunk and waits for all of them.
+	 */
+	private static void runOnChunks(List<Chunk> chunks, ChunkTask task) throws IOException {
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (Chunk chunk : chunks) {
+			tasks.add(() -> {
+				task.run(chunk);
+				return null;
+			});
+		}
+		runAll(tasks);
+	}
+
+	/**
+	 * Runs tasks on the pool and waits for all of them.
+	 */
+	private static void runAll(List<Callable<Void>> tasks) throws IOException {
+		try {
+			for (Future<Void> result : POOL.invokeAll(tasks)) {
+				result.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Territory parsing interrupted");
+		} catch (ExecutionException e) {
+			/* The pool wraps the exceptions of the tasks */
+			for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Lines of a chunk of the section, with the names interned in a table of the chunk.
+	 */
+	private static final class Chunk {
+		private final byte[] content;
+		private final int from;
+		private final int to;
+
+		int numberOfLines;
+		int[] lineCountry = new int[64];
+		int[] lineContinent = new int[64];
+		int[] lineEnd = new int[64];
+		int numberOfNeighbours;
+		int[] neighbours = new int[256];
+
+		int numberOfNames;
+		private int[] nameStart = new int[64];
+		private int[] nameEnd = new int[64];
+		private int[] nameHash = new int[64];
+		private int[] slots = new int[128];
+		String[] names;
+
+		int lineBase;
+		int neighbourBase;
+		private int[] firstPosition;
+		private boolean[] isOwner;
+		int numberOfOwnedCountries;
+		int numberOfOwnedNeighbours;
+		int countryIdBase;
+		int neighbourIdBase;
+		int[] globalIds;
+		int[] lineStart;
+
+		Chunk(byte[] content, int from, int to) {
+			this.content = content;
+			this.from = from;
+			this.to = to;
+		}
+
+		int lineDegree(int line) {
+			return lineEnd[line] - (line == 0 ? 0 : lineEnd[line - 1]);
+		}
+
+		/**
+		 * Scans the lines of the chunk and decodes the names of its table.
+		 */
+		void scan() throws IOException {
+			int[] fieldStart = new int[16];
+			int[] fieldEnd = new int[16];
+			int position = from;
+			while (position < to) {
+				int end = position;
+				while (end < to && content[end] != '\n' && content[end] != '\r') {
+					end++;
+				}
+				int start = position;
+				position = end + 1;
+				while (start < end && (content[start] & 0xFF) <= ' ') {
+					start++;
+				}
+				while (end > start && (content[end - 1] & 0xFF) <= ' ') {
+					end--;
+				}
+				if (start == end) {
+					continue;
+				}
+
+				int numberOfFields = 0;
+				int fieldFrom = start;
+				for (int i = start; i <= end; i++) {
+					if (i == end || content[i] == ',') {
+						if (numberOfFields == fieldStart.length) {
+							fieldStart = Arrays.copyOf(fieldStart, numberOfFields * 2);
+							fieldEnd = Arrays.copyOf(fieldEnd, numberOfFields * 2);
+						}
+						fieldStart[numberOfFields] = fieldFrom;
+						fieldEnd[numberOfFields++] = i;
+						fieldFrom = i + 1;
+					}
+				}
+				while (numberOfFields > 0 && fieldStart[numberOfFields - 1] == fieldEnd[numberOfFields - 1]) {
+					numberOfFields--;
+				}
+				if (numberOfFields < 2) {
+					throw new IOException("Territory without continent: "
+							+ new String(content, start, end - start, StandardCharsets.UTF_8));
+				}
+
+				if (numberOfLines == lineCountry.length) {
+					lineCountry = Arrays.copyOf(lineCountry, numberOfLines * 2);
+					lineContinent = Arrays.copyOf(lineContinent, numberOfLines * 2);
+					lineEnd = Arrays.copyOf(lineEnd, numberOfLines * 2);
+				}
+				lineCountry[numberOfLines] = intern(fieldStart[0], fieldEnd[0]);
+				lineContinent[numberOfLines] = intern(fieldStart[1], fieldEnd[1]);
+				for (int field = 2; field < numberOfFields; field++) {
+					if (numberOfNeighbours == neighbours.length) {
+						neighbours = Arrays.copyOf(neighbours, numberOfNeighbours * 2);
+					}
+					neighbours[numberOfNeighbours++] = intern(fieldStart[field], fieldEnd[field]);
+				}
+				lineEnd[numberOfLines++] = numberOfNeighbours;
+			}
+
+			names = new String[numberOfNames];
+			for (int id = 0; id < numberOfNames; id++) {
+				names[id] = new String(content, nameStart[id], nameEnd[id] - nameStart[id], StandardCharsets.UTF_8);
+			}
+			slots = null;
+		}
+
+		/**
+		 * Gets the id of a name in the table of the chunk, adding it if needed.
+		 */
+		private int intern(int start, int end) {
+			int hash = 0;
+			for (int i = start; i < end; i++) {
+				hash = 31 * hash + content[i];
+			}
+			int mask = slots.length - 1;
+			int slot = (hash ^ (hash >>> 16)) & mask;
+			while (slots[slot] != 0) {
+				int id = slots[slot] - 1;
+				if (nameHash[id] == hash
+						&& Arrays.equals(content, nameStart[id], nameEnd[id], content, start, end)) {
+					return id;
+				}
+				slot = (slot + 1) & mask;
+			}
+
+			int id = numberOfNames++;
+			if (id == nameStart.length) {
+				nameStart = Arrays.copyOf(nameStart, id * 2);
+				nameEnd = Arrays.copyOf(nameEnd, id * 2);
+				nameHash = Arrays.copyOf(nameHash, id * 2);
+			}
+			nameStart[id] = start;
+			nameEnd[id] = end;
+			nameHash[id] = hash;
+			slots[slot] = id + 1;
+			if (numberOfNames * 2 > slots.length) {
+				rehash();
+			}
+			return id;
+		}
+
+		private void rehash() {
+			slots = new int[slots.length * 2];
+			int mask = slots.length - 1;
+			for (int id = 0; id < numberOfNames; id++) {
+				int slot = (nameHash[id] ^ (nameHash[id] >>> 16)) & mask;
+				while (slots[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				slots[slot] = id + 1;
+			}
+		}
+
+		/**
+		 * Finds the first position of every country and neighbour of the table in the chunk,
+		 * and keeps the first position of each name in the section.
+		 */
+		void rank(ConcurrentHashMap<String, Integer> positions) {
+			firstPosition = new int[numberOfNames];
+			Arrays.fill(firstPosition, Integer.MAX_VALUE);
+			for (int line = numberOfLines - 1; line >= 0; line--) {
+				firstPosition[lineCountry[line]] = lineBase + line;
+			}
+			for (int i = numberOfNeighbours - 1; i >= 0; i--) {
+				int id = neighbours[i];
+				firstPosition[id] = Math.min(firstPosition[id], neighbourBase + i);
+			}
+			for (int id = 0; id < numberOfNames; id++) {
+				if (firstPosition[id] != Integer.MAX_VALUE) {
+					positions.merge(names[id], firstPosition[id], Math::min);
+				}
+			}
+		}
+
+		/**
+		 * Takes the names whose first position in the section is in the chunk.
+		 */
+		void claim(ConcurrentHashMap<String, Integer> positions, int numberOfLinesInSection) {
+			isOwner = new boolean[numberOfNames];
+			for (int id = 0; id < numberOfNames; id++) {
+				if (firstPosition[id] != Integer.MAX_VALUE && positions.get(names[id]) == firstPosition[id]) {
+					isOwner[id] = true;
+					if (firstPosition[id] < numberOfLinesInSection) {
+						numberOfOwnedCountries++;
+					} else {
+						numberOfOwnedNeighbours++;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Numbers the names owned by the chunk in the order of their first positions, and
+		 * publishes their ids in place of their positions.
+		 */
+		void number(ConcurrentHashMap<String, Integer> ids, String[] allNames) {
+			globalIds = new int[numberOfNames];
+			Arrays.fill(globalIds, -1);
+			int next = countryIdBase;
+			for (int line = 0; line < numberOfLines; line++) {
+				int id = lineCountry[line];
+				if (isOwner[id] && firstPosition[id] == lineBase + line) {
+					globalIds[id] = next;
+					allNames[next++] = names[id];
+				}
+			}
+			next = neighbourIdBase;
+			for (int i = 0; i < numberOfNeighbours; i++) {
+				int id = neighbours[i];
+				if (isOwner[id] && firstPosition[id] == neighbourBase + i) {
+					globalIds[id] = next;
+					allNames[next++] = names[id];
+				}
+			}
+			for (int id = 0; id < numberOfNames; id++) {
+				if (isOwner[id]) {
+					ids.put(names[id], globalIds[id]);
+				}
+			}
+		}
+
+		/**
+		 * Gets the ids of the names owned by other chunks, and writes the countries and
+		 * continents of the lines of the chunk.
+		 */
+		void resolve(ConcurrentHashMap<String, Integer> ids, int[] allLineCountry, String[] allLineContinent) {
+			for (int id = 0; id < numberOfNames; id++) {
+				if (globalIds[id] < 0 && firstPosition[id] != Integer.MAX_VALUE) {
+					globalIds[id] = ids.get(names[id]);
+				}
+			}
+			for (int line = 0; line < numberOfLines; line++) {
+				allLineCountry[lineBase + line] = globalIds[lineCountry[line]];
+				allLineContinent[lineBase + line] = names[lineContinent[line]];
+			}
+		}
+
+		/**
+		 * Copies the dense ids of the neighbours of every line into its place in the rows.
+		 */
+		void fill(int[] rows) {
+			int neighbour = 0;
+			for (int line = 0; line < numberOfLines; line++) {
+				int position = lineStart[line];
+				for (; neighbour < lineEnd[line]; neighbour++) {
+					rows[position++] = globalIds[neighbours[neighbour]];
+				}
+			}
+		}
+	}
+}
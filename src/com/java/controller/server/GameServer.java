@@ -0,0 +1,419 @@
+package com.java.controller.server;
+
+import com.java.model.map.GameMap;
+import com.java.model.player.RemoteMode;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * GameServer hosts many games in one process, so a game no longer pays for the start up and
+ * warm up of its own JVM. Every session is driven by tasks of one turn each, run on a bounded
+ * pool of bot threads: a session schedules its next turn when the previous one ends, so the
+ * running sessions take turns on the pool and a long game cannot starve the others.
+ *
+ * The commands of remote players are applied on the same pool, and the listeners of the
+ * server are told about a game after every turn and command.
+ *
+ * A scheduler evicts the idle sessions: a finished session nobody touched for the idle
+ * timeout is closed, and one waiting for players, paused or waiting for a remote player is
+ * parked. When the memory of the sessions
+ * goes over the budget, the least recently used sessions that are not running are parked
+ * first.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class GameServer implements AutoCloseable {
+
+	/**
+	 * Strategy code of the human players, who cannot join without a console.
+	 * */
+	private static final int HUMAN_STRATEGY = 5;
+
+	/**
+	 * Strategy code of the remote players, who join with joinRemoteSession.
+	 * */
+	static final int REMOTE_STRATEGY = 8;
+
+	/**
+	 * A remote player added to a session: the id it plays under and the secret it presents
+	 * in its HELLO, so that no other client can play its turns.
+	 */
+	public static final class RemoteSeat {
+		private final int playerId;
+		private final long joinToken;
+		private final boolean isStarted;
+
+		RemoteSeat(int playerId, long joinToken, boolean isStarted) {
+			this.playerId = playerId;
+			this.joinToken = joinToken;
+			this.isStarted = isStarted;
+		}
+
+		public int getPlayerId() {
+			return playerId;
+		}
+
+		public long getJoinToken() {
+			return joinToken;
+		}
+
+		/**
+		 * @return true if the game started when the player joined.
+		 */
+		public boolean isStarted() {
+			return isStarted;
+		}
+	}
+
+	private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<>();
+	private final CopyOnWriteArrayList<GameSession.Listener> listeners = new CopyOnWriteArrayList<>();
+	private final SecureRandom joinTokens = new SecureRandom();
+	private final ExecutorService botPool;
+	private final ScheduledExecutorService scheduler;
+	private final int maxSessions;
+	private final Semaphore sessionSlots;
+	private final long idleTimeoutMillis;
+	private final long memoryBudget;
+
+	/**
+	 * Creates a server and starts its eviction scheduler.
+	 *
+	 * @param botThreads the number of threads playing the turns of the bots.
+	 * @param maxSessions the maximum number of sessions hosted at once.
+	 * @param idleTimeoutMillis the time after which an untouched session that is not running
+	 *            is evicted.
+	 * @param memoryBudget the memory of the sessions above which the idle ones are parked,
+	 *            in bytes.
+	 */
+	public GameServer(int botThreads, int maxSessions, long idleTimeoutMillis, long memoryBudget) {
+		if (botThreads < 1 || maxSessions < 1 || idleTimeoutMillis < 1) {
+			throw new IllegalArgumentException("Threads, sessions and idle timeout must be positive");
+		}
+		this.maxSessions = maxSessions;
+		this.sessionSlots = new Semaphore(maxSessions);
+		this.idleTimeoutMillis = idleTimeoutMillis;
+		this.memoryBudget = memoryBudget;
+		this.botPool = Executors.newFixedThreadPool(botThreads, namedThreads("risk-bot-"));
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(namedThreads("risk-eviction-"));
+		long period = Math.max(1, idleTimeoutMillis / 2);
+		this.scheduler.scheduleWithFixedDelay(() -> evictIdleSessions(System.currentTimeMillis()), period, period,
+				TimeUnit.MILLISECONDS);
+	}
+
+	private static ThreadFactory namedThreads(String prefix) {
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * Creates a session waiting for its players.
+	 *
+	 * @param map the map of the game, copied by the session.
+	 * @param numberOfPlayers the number of players starting the game.
+	 * @param maxTurns the number of turns after which the game is a draw, -1 for no limit.
+	 * @param seed the seed of the order of play and of the initial placement.
+	 * @return the session id.
+	 * @throws IllegalStateException if the server is full.
+	 */
+	public long createSession(GameMap map, int numberOfPlayers, int maxTurns, long seed) {
+		if (!sessionSlots.tryAcquire()) {
+			throw new IllegalStateException("The server already hosts " + maxSessions + " sessions");
+		}
+		GameSession session;
+		try {
+			session = new GameSession(map, numberOfPlayers, maxTurns, seed, System.currentTimeMillis());
+		} catch (RuntimeException e) {
+			sessionSlots.release();
+			throw e;
+		}
+		session.setListener(this::sessionChanged);
+		sessions.put(session.getId(), session);
+		return session.getId();
+	}
+
+	/**
+	 * Adds a bot to a session. The game starts when the last player joins.
+	 *
+	 * @param sessionId the session id.
+	 * @param playerName the player name.
+	 * @param strategy the strategy code of StartUpPhase.generatePlayers, console humans and
+	 *            remote players excepted.
+	 * @return true if the game started.
+	 * @throws IllegalArgumentException if the strategy code is unknown or not a bot.
+	 */
+	public boolean joinSession(long sessionId, String playerName, int strategy) {
+		if (strategy < 1 || strategy > REMOTE_STRATEGY) {
+			throw new IllegalArgumentException("Unknown strategy code " + strategy);
+		}
+		if (strategy == HUMAN_STRATEGY) {
+			throw new IllegalArgumentException("Human players join a server session as remote players");
+		}
+		if (strategy == REMOTE_STRATEGY) {
+			throw new IllegalArgumentException("Remote players join with joinRemoteSession");
+		}
+		GameSession session = getSession(sessionId);
+		session.resume(System.currentTimeMillis());
+		boolean isStarted = session.join(playerName, strategy);
+		if (isStarted) {
+			scheduleTurn(session);
+		}
+		return isStarted;
+	}
+
+	/**
+	 * Adds a remote player to a session. The game starts when the last player joins. The
+	 * returned token must be given to the client of the player only: the NetworkServer binds
+	 * a connection to the player when its HELLO presents it.
+	 *
+	 * @param sessionId the session id.
+	 * @param playerName the player name.
+	 * @return the id and the join token of the player.
+	 */
+	public RemoteSeat joinRemoteSession(long sessionId, String playerName) {
+		GameSession session = getSession(sessionId);
+		session.resume(System.currentTimeMillis());
+		long joinToken = joinTokens.nextLong();
+		int playerId;
+		boolean isStarted;
+		synchronized (session) {
+			playerId = session.joinRemote(playerName, joinToken);
+			isStarted = session.getState() != GameSession.State.WAITING_FOR_PLAYERS;
+		}
+		if (isStarted) {
+			scheduleTurn(session);
+		}
+		return new RemoteSeat(playerId, joinToken, isStarted);
+	}
+
+	/**
+	 * Gets a session, marking it as used.
+	 *
+	 * @param sessionId the session id.
+	 * @return the session.
+	 * @throws IllegalArgumentException if there is no such session.
+	 */
+	public GameSession getSession(long sessionId) {
+		GameSession session = sessions.get(sessionId);
+		if (session == null) {
+			throw new IllegalArgumentException("Unknown session: " + sessionId);
+		}
+		session.touch(System.currentTimeMillis());
+		return session;
+	}
+
+	/**
+	 * Stops playing the turns of a session after the one in progress.
+	 *
+	 * @param sessionId the session id.
+	 */
+	public void pauseSession(long sessionId) {
+		getSession(sessionId).pause();
+	}
+
+	/**
+	 * Brings back a parked session and plays its turns again if it was paused.
+	 *
+	 * @param sessionId the session id.
+	 * @return the session.
+	 */
+	public GameSession resumeSession(long sessionId) {
+		GameSession session = getSession(sessionId);
+		if (session.resume(System.currentTimeMillis())) {
+			scheduleTurn(session);
+		}
+		return session;
+	}
+
+	/**
+	 * Applies a command of a remote player on the bot pool, when the session waits for the
+	 * player. The next turn is scheduled if the command ends the turn. A rejected command
+	 * leaves the game unchanged and the listeners are not told about it.
+	 *
+	 * @param sessionId the session id.
+	 * @param playerId the id of the remote player.
+	 * @param command the command, applied to the player.
+	 * @return the completion of the command, failed if the command was rejected.
+	 */
+	public CompletableFuture<Void> submitCommand(long sessionId, int playerId, Consumer<RemoteMode> command) {
+		CompletableFuture<Void> result = new CompletableFuture<>();
+		try {
+			botPool.execute(() -> {
+				try {
+					GameSession session = getSession(sessionId);
+					session.wake(System.currentTimeMillis());
+					RemoteMode player = session.beginCommand(playerId);
+					try {
+						command.accept(player);
+					} catch (RuntimeException | Error e) {
+						session.cancelCommand(System.currentTimeMillis());
+						throw e;
+					}
+					if (session.endCommand(player, System.currentTimeMillis())) {
+						scheduleTurn(session);
+					}
+					result.complete(null);
+				} catch (RuntimeException e) {
+					result.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+
+	/**
+	 * Adds a listener told about every game after its turns and commands, on the thread that
+	 * played them.
+	 *
+	 * @param listener the listener.
+	 */
+	public void addSessionListener(GameSession.Listener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeSessionListener(GameSession.Listener listener) {
+		listeners.remove(listener);
+	}
+
+	private void sessionChanged(GameSession session) {
+		for (GameSession.Listener listener : listeners) {
+			listener.sessionChanged(session);
+		}
+	}
+
+	/**
+	 * Closes a session and forgets it.
+	 *
+	 * @param sessionId the session id.
+	 */
+	public void closeSession(long sessionId) {
+		GameSession session = sessions.remove(sessionId);
+		if (session != null) {
+			sessionSlots.release();
+			session.close();
+		}
+	}
+
+	public int getNumberOfSessions() {
+		return sessions.size();
+	}
+
+	public Collection<GameSession> getSessions() {
+		return sessions.values();
+	}
+
+	/**
+	 * @return the memory of every session at its last measure, in bytes.
+	 */
+	public long getMemoryFootprint() {
+		long footprint = 0;
+		for (GameSession session : sessions.values()) {
+			footprint += session.getMemoryFootprint();
+		}
+		return footprint;
+	}
+
+	private void scheduleTurn(GameSession session) {
+		if (!session.scheduleTurn()) {
+			return;
+		}
+		try {
+			botPool.execute(() -> playTurn(session));
+		} catch (RejectedExecutionException e) {
+			// the server is closing
+		}
+	}
+
+	private void playTurn(GameSession session) {
+		if (!session.beginTurn()) {
+			return;
+		}
+		boolean hasNextTurn;
+		try {
+			hasNextTurn = session.playTurn(System.currentTimeMillis());
+		} catch (RuntimeException e) {
+			System.out.println("Session " + session.getId() + " is closed after an error: " + e);
+			closeSession(session.getId());
+			return;
+		}
+		if (hasNextTurn) {
+			scheduleTurn(session);
+		}
+	}
+
+	/**
+	 * Closes the finished sessions and parks the waiting and paused ones nobody touched for the
+	 * idle timeout, then parks the least recently used ones while the memory is over budget.
+	 *
+	 * @param now the current time in milliseconds.
+	 * @return the number of sessions closed or parked.
+	 */
+	public int evictIdleSessions(long now) {
+		int numberOfEvictions = 0;
+		List<GameSession> candidates = new ArrayList<>();
+		for (GameSession session : sessions.values()) {
+			if (now - session.getLastAccess() < idleTimeoutMillis) {
+				candidates.add(session);
+			} else if (session.getState() == GameSession.State.FINISHED) {
+				closeSession(session.getId());
+				numberOfEvictions++;
+			} else if (session.park() > 0) {
+				numberOfEvictions++;
+			}
+		}
+
+		long footprint = getMemoryFootprint();
+		if (footprint > memoryBudget) {
+			candidates.sort(Comparator.comparingLong(GameSession::getLastAccess));
+			for (GameSession session : candidates) {
+				if (footprint <= memoryBudget) {
+					break;
+				}
+				long before = session.getMemoryFootprint();
+				if (session.park() > 0) {
+					footprint -= before - session.getMemoryFootprint();
+					numberOfEvictions++;
+				}
+			}
+		}
+		return numberOfEvictions;
+	}
+
+	/**
+	 * Stops the pools and closes every session.
+	 */
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+		botPool.shutdownNow();
+		for (Long sessionId : new ArrayList<>(sessions.keySet())) {
+			closeSession(sessionId);
+		}
+	}
+}
@@ -0,0 +1,516 @@
+package com.java.controller.server;
+
+import com.java.controller.instrumentation.GameMetrics;
+import com.java.controller.startup.PlacementPolicy;
+import com.java.controller.startup.StartUpPhase;
+import com.java.model.gamedata.GameData;
+import com.java.model.map.GameMap;
+import com.java.model.player.Player;
+import com.java.model.player.PlayerStrategy;
+import com.java.model.player.RemoteMode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GameSession is one game hosted by a GameServer. Players join it until it is full, then it is
+ * set up like a game of the console driver and played one turn at a time by the bot pool of
+ * the server, so thousands of sessions can share a few threads.
+ *
+ * The turn of a remote player does not hold a thread: the session waits for the player, whose
+ * commands are applied one at a time by the bot pool until the player ends its turn.
+ *
+ * An idle session can be parked: its game is serialized and compressed, and the live objects
+ * are dropped until the session is resumed. The memory of a live session is accounted as the
+ * serialized size of its game, measured when it starts and every few turns, and the memory of
+ * a parked one as the size of its compressed game.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class GameSession {
+
+	/**
+	 * States of a session.
+	 */
+	public enum State {
+		WAITING_FOR_PLAYERS, RUNNING, PAUSED, FINISHED, CLOSED
+	}
+
+	/**
+	 * Listener told about the game of a session after every turn and every command, while the
+	 * game cannot change.
+	 */
+	public interface Listener {
+		void sessionChanged(GameSession session);
+	}
+
+	/**
+	 * Number of turns between two measures of the memory of a running session.
+	 * */
+	static final int MEASURE_INTERVAL = 16;
+
+	/**
+	 * Id of the awaited player when the session does not wait for a remote player.
+	 * */
+	public static final int NO_PLAYER = Integer.MIN_VALUE;
+
+	private final long id;
+	private final int numberOfPlayers;
+	private final int maxTurns;
+	private final long seed;
+	private final ArrayList<String> playerNames = new ArrayList<String>();
+	private final ArrayList<Integer> playerStrategies = new ArrayList<Integer>();
+	private final HashMap<Integer, Long> joinTokens = new HashMap<Integer, Long>();
+
+	private GameData gameData;
+	private byte[] parkedGame;
+	private State state = State.WAITING_FOR_PLAYERS;
+	private boolean turnScheduled;
+	private boolean turnInProgress;
+	private int awaitedPlayerId = NO_PLAYER;
+	private Listener listener;
+	private int nextPosition;
+	private int turnsPlayed;
+	private long memoryFootprint;
+	private volatile long lastAccess;
+
+	/**
+	 * Creates a session on a copy of a map.
+	 *
+	 * @param map the map, copied so that sessions never share it.
+	 * @param numberOfPlayers the number of players starting the game.
+	 * @param maxTurns the number of turns after which the game is a draw, -1 for no limit.
+	 * @param seed the seed of the order of play and of the initial placement.
+	 * @param now the creation time in milliseconds.
+	 */
+	GameSession(GameMap map, int numberOfPlayers, int maxTurns, long seed, long now) {
+		if (numberOfPlayers < GameData.MIN_PLAYERS || numberOfPlayers > GameData.MAX_PLAYERS) {
+			throw new IllegalArgumentException("A game needs between " + GameData.MIN_PLAYERS + " and "
+					+ GameData.MAX_PLAYERS + " players");
+		}
+		this.gameData = new GameData();
+		this.gameData.gameMap = map.clone();
+		this.gameData.setNoOfPlayers(numberOfPlayers);
+		this.id = gameData.getGameId();
+		this.numberOfPlayers = numberOfPlayers;
+		this.maxTurns = maxTurns;
+		this.seed = seed;
+		this.lastAccess = now;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+
+	/**
+	 * @return the game, null while the session is parked.
+	 */
+	public synchronized GameData getGameData() {
+		return gameData;
+	}
+
+	public synchronized int getTurnsPlayed() {
+		return turnsPlayed;
+	}
+
+	public synchronized boolean isParked() {
+		return parkedGame != null;
+	}
+
+	/**
+	 * @return the winner of the game, null while it is played, after a draw or while parked.
+	 */
+	public synchronized Player getWinner() {
+		return gameData == null ? null : gameData.getWinner();
+	}
+
+	/**
+	 * @return the serialized size of the game at its last measure, in bytes.
+	 */
+	public synchronized long getMemoryFootprint() {
+		return memoryFootprint;
+	}
+
+	/**
+	 * @return the id of the remote player whose commands the session waits for, NO_PLAYER if
+	 *         none.
+	 */
+	public synchronized int getAwaitedPlayerId() {
+		return awaitedPlayerId;
+	}
+
+	void setListener(Listener listener) {
+		this.listener = listener;
+	}
+
+	public long getLastAccess() {
+		return lastAccess;
+	}
+
+	void touch(long now) {
+		lastAccess = now;
+	}
+
+	/**
+	 * Adds a player to the session, starting the game once every player has joined.
+	 *
+	 * @param playerName the player name.
+	 * @param strategy the strategy code of StartUpPhase.generatePlayers.
+	 * @return true if the game started.
+	 */
+	synchronized boolean join(String playerName, Integer strategy) {
+		if (state != State.WAITING_FOR_PLAYERS) {
+			throw new IllegalStateException("Session " + id + " is not waiting for players");
+		}
+		playerNames.add(playerName);
+		playerStrategies.add(strategy);
+		if (playerNames.size() < numberOfPlayers) {
+			return false;
+		}
+
+		StartUpPhase startUp = new StartUpPhase(gameData);
+		startUp.generatePlayers(playerNames, playerStrategies);
+		startUp.generateCardsDeck();
+		startUp.generateRoundRobin(seed);
+		startUp.assignCountriesToPlayers();
+		startUp.placeInitialArmies(PlacementPolicy.STRATEGY, new Random(seed));
+		GameMetrics.gameStarted(gameData);
+		memoryFootprint = measure(gameData).length;
+		state = State.RUNNING;
+		return true;
+	}
+
+	/**
+	 * Adds a remote player to the session, starting the game once every player has joined.
+	 *
+	 * @param playerName the player name.
+	 * @param joinToken the secret the player presents to play its turns.
+	 * @return the id of the player in the game.
+	 */
+	synchronized int joinRemote(String playerName, long joinToken) {
+		int playerId = playerNames.size() + 1;
+		join(playerName, GameServer.REMOTE_STRATEGY);
+		joinTokens.put(playerId, joinToken);
+		return playerId;
+	}
+
+	/**
+	 * @param playerId the id of a player.
+	 * @param joinToken the token presented by a client.
+	 * @return true if the player is a remote player that joined with this token.
+	 */
+	public synchronized boolean isJoinToken(int playerId, long joinToken) {
+		Long expected = joinTokens.get(playerId);
+		return expected != null && expected == joinToken;
+	}
+
+	/**
+	 * Marks the next turn as queued on the bot pool, so a session is never queued twice.
+	 *
+	 * @return true if the session is running and its next turn was not queued yet.
+	 */
+	synchronized boolean scheduleTurn() {
+		if (state != State.RUNNING || turnScheduled || parkedGame != null || awaitedPlayerId != NO_PLAYER) {
+			return false;
+		}
+		turnScheduled = true;
+		return true;
+	}
+
+	/**
+	 * Claims the queued turn when the bot pool runs it.
+	 *
+	 * @return true if the session is still running and no turn is in progress.
+	 */
+	synchronized boolean beginTurn() {
+		turnScheduled = false;
+		if (state != State.RUNNING || turnInProgress || parkedGame != null || awaitedPlayerId != NO_PLAYER) {
+			return false;
+		}
+		turnInProgress = true;
+		return true;
+	}
+
+	/**
+	 * Plays the turn claimed by beginTurn, without holding the lock of the session so that
+	 * clients can pause or close it meanwhile. The turn of a remote player only begins: the
+	 * session then waits for its commands.
+	 *
+	 * @return true if another turn should be scheduled.
+	 */
+	boolean playTurn(long now) {
+		GameData game = gameData;
+		Player player = game.getPlayers().get(nextPosition);
+		PlayerStrategy strategy = player.getStrategyType();
+		try {
+			if (game.isPlayerActive(strategy.getPlayerID())) {
+				strategy.setGameData(game);
+				if (strategy instanceof RemoteMode) {
+					((RemoteMode) strategy).beginTurn();
+					synchronized (this) {
+						awaitedPlayerId = strategy.getPlayerID();
+						releaseTurn(now);
+					}
+					return false;
+				}
+				player.startTurn();
+			} else {
+				game.setPlayerStatus(player, false);
+			}
+		} catch (RuntimeException | Error e) {
+			endTurn(game, player, now);
+			throw e;
+		}
+		return endTurn(game, player, now);
+	}
+
+	/**
+	 * Claims the turn of the remote player the session waits for, to apply one of its commands.
+	 *
+	 * @param playerId the id of the player sending the command.
+	 * @return the player.
+	 * @throws IllegalStateException if the session does not wait for this player.
+	 */
+	synchronized RemoteMode beginCommand(int playerId) {
+		if (state != State.RUNNING || parkedGame != null || turnInProgress || awaitedPlayerId != playerId) {
+			throw new IllegalStateException("It is not the turn of player " + playerId + " in session " + id);
+		}
+		turnInProgress = true;
+		return (RemoteMode) gameData.getPlayer(playerId).getStrategyType();
+	}
+
+	/**
+	 * Ends a command claimed by beginCommand, and the turn if the player ended it or won.
+	 *
+	 * @param player the remote player.
+	 * @param now the current time in milliseconds.
+	 * @return true if another turn should be scheduled.
+	 */
+	boolean endCommand(RemoteMode player, long now) {
+		GameData game = gameData;
+		if (player.isTurnOver() || player.getIsWinner()) {
+			return endTurn(game, game.getPlayer(player.getPlayerID()), now);
+		}
+		synchronized (this) {
+			releaseTurn(now);
+		}
+		return false;
+	}
+
+	/**
+	 * Ends a command claimed by beginCommand that was rejected before it changed the game, so
+	 * the listener has nothing to be told.
+	 *
+	 * @param now the current time in milliseconds.
+	 */
+	synchronized void cancelCommand(long now) {
+		lastAccess = now;
+		turnInProgress = false;
+		notifyAll();
+	}
+
+	/**
+	 * Ends the turn of a player, moving to the next one unless the player won or the turns are
+	 * over.
+	 *
+	 * @return true if another turn should be scheduled.
+	 */
+	private boolean endTurn(GameData game, Player player, long now) {
+		boolean isFinished = false;
+		if (game.gameMap.getConqueredCountries(player.getStrategyType().getPlayerID()).size() == game.gameMap
+				.getNumberOfCountries()) {
+			game.setWinner(player);
+			isFinished = true;
+		}
+		synchronized (this) {
+			awaitedPlayerId = NO_PLAYER;
+			nextPosition = (nextPosition + 1) % game.getPlayers().size();
+			turnsPlayed++;
+			if (isFinished || turnsPlayed == maxTurns) {
+				isFinished = true;
+				if (state == State.RUNNING || state == State.PAUSED) {
+					state = State.FINISHED;
+				}
+			}
+			if (isFinished || turnsPlayed % MEASURE_INTERVAL == 0) {
+				memoryFootprint = measure(game).length;
+			}
+			releaseTurn(now);
+		}
+		if (isFinished) {
+			GameMetrics.gameFinished(game);
+		}
+		return !isFinished && getState() == State.RUNNING;
+	}
+
+	/**
+	 * Tells the listener about the game before another turn or command may change it.
+	 */
+	private synchronized void releaseTurn(long now) {
+		lastAccess = now;
+		if (listener != null && gameData != null) {
+			listener.sessionChanged(this);
+		}
+		turnInProgress = false;
+		notifyAll();
+	}
+
+	/**
+	 * Tells a listener about the game now, unless the turn or command in progress will when it
+	 * ends.
+	 *
+	 * @param target the listener, one that just started following the session.
+	 */
+	synchronized void refresh(Listener target) {
+		if (!turnInProgress && gameData != null) {
+			target.sessionChanged(this);
+		}
+	}
+
+	/**
+	 * Stops scheduling turns, the turn in progress is finished.
+	 */
+	synchronized void pause() {
+		if (state == State.RUNNING) {
+			state = State.PAUSED;
+		}
+	}
+
+	/**
+	 * Unparks the game if needed and lets its turns be scheduled again.
+	 *
+	 * @return true if the session is running.
+	 */
+	synchronized boolean resume(long now) {
+		wake(now);
+		if (state == State.PAUSED) {
+			state = State.RUNNING;
+		}
+		return state == State.RUNNING;
+	}
+
+	/**
+	 * Unparks the game if needed, without resuming a paused session.
+	 *
+	 * @param now the current time in milliseconds.
+	 */
+	synchronized void wake(long now) {
+		if (state == State.CLOSED) {
+			throw new IllegalStateException("Session " + id + " is closed");
+		}
+		if (parkedGame != null) {
+			unpark();
+			if (state == State.RUNNING || state == State.PAUSED) {
+				GameMetrics.gameResumed(gameData);
+			}
+		}
+		lastAccess = now;
+	}
+
+	/**
+	 * Serializes the game and drops the live objects, unless a turn is in progress or the
+	 * session is playing the turns of its bots.
+	 *
+	 * @return the size of the parked game in bytes, 0 if the session was not parked.
+	 */
+	synchronized long park() {
+		if (parkedGame != null || turnInProgress || state == State.CLOSED
+				|| (state == State.RUNNING && awaitedPlayerId == NO_PLAYER)) {
+			return 0;
+		}
+		if (state == State.RUNNING || state == State.PAUSED) {
+			GameMetrics.gameSuspended(gameData);
+		}
+		parkedGame = compress(measure(gameData));
+		gameData = null;
+		memoryFootprint = parkedGame.length;
+		return memoryFootprint;
+	}
+
+	private void unpark() {
+		try (ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(parkedGame)))) {
+			gameData = (GameData) in.readObject();
+		} catch (IOException | ClassNotFoundException e) {
+			throw new IllegalStateException("Session " + id + " cannot be unparked", e);
+		}
+		parkedGame = null;
+	}
+
+	/**
+	 * Closes the session, waiting for the turn in progress. A game closed before its end is
+	 * not counted as finished.
+	 */
+	synchronized void close() {
+		if (gameData != null && (state == State.RUNNING || state == State.PAUSED)) {
+			GameMetrics.gameSuspended(gameData);
+		}
+		state = State.CLOSED;
+		while (turnInProgress) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		gameData = null;
+		parkedGame = null;
+		memoryFootprint = 0;
+	}
+
+	/**
+	 * Waits until the game is over or the timeout expires.
+	 *
+	 * @param timeoutMillis the timeout in milliseconds.
+	 * @return true if the game is over.
+	 * @throws InterruptedException if the thread is interrupted.
+	 */
+	public synchronized boolean awaitFinished(long timeoutMillis) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		while (state != State.FINISHED && state != State.CLOSED) {
+			long left = deadline - System.currentTimeMillis();
+			if (left <= 0) {
+				return false;
+			}
+			wait(left);
+		}
+		return true;
+	}
+
+	private byte[] compress(byte[] game) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+			out.write(game);
+		} catch (IOException e) {
+			throw new IllegalStateException("Session " + id + " cannot be parked", e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private byte[] measure(GameData game) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(game);
+		} catch (IOException e) {
+			throw new IllegalStateException("Session " + id + " cannot be serialized", e);
+		}
+		return bytes.toByteArray();
+	}
+}
@@ -0,0 +1,462 @@
+package com.java.controller.server;
+
+import com.java.model.gamedata.GameData;
+import com.java.model.map.GameMapSnapshot;
+import com.java.model.player.RemoteMode;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * NetworkServer lets remote players play the sessions of a GameServer over TCP, with the
+ * frames of Protocol. A single selector thread accepts the connections, reads the commands
+ * and writes the replies without ever blocking, so the threads of the process are this one
+ * and the bot pool however many games are played.
+ *
+ * The commands are applied on the bot pool by GameServer.submitCommand. After every turn and
+ * command, the listener of the server compares the map with the last snapshot sent on each
+ * connection of the session and queues only the countries that changed.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class NetworkServer implements AutoCloseable {
+
+	/**
+	 * Bytes a client may leave unread before it is disconnected.
+	 * */
+	private static final int MAX_PENDING_OUTPUT = 8 << 20;
+
+	private final GameServer gameServer;
+	private final Selector selector;
+	private final ServerSocketChannel serverChannel;
+	private final ConcurrentHashMap<Long, Set<Connection>> connectionsBySession = new ConcurrentHashMap<>();
+	private final ConcurrentLinkedQueue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+	private final GameSession.Listener listener = this::sessionChanged;
+	private final Thread selectorThread;
+	private volatile boolean running = true;
+
+	/**
+	 * Opens the server socket and starts the selector thread.
+	 *
+	 * @param gameServer the server hosting the sessions.
+	 * @param address the address to listen on, port 0 for any free port.
+	 * @throws IOException if the socket cannot be opened.
+	 */
+	public NetworkServer(GameServer gameServer, InetSocketAddress address) throws IOException {
+		this.gameServer = gameServer;
+		this.selector = Selector.open();
+		this.serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(address);
+		serverChannel.configureBlocking(false);
+		serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+		gameServer.addSessionListener(listener);
+		selectorThread = new Thread(this::run, "risk-network");
+		selectorThread.setDaemon(true);
+		selectorThread.start();
+	}
+
+	/**
+	 * @return the port the server listens on.
+	 */
+	public int getPort() {
+		return serverChannel.socket().getLocalPort();
+	}
+
+	private void run() {
+		try {
+			while (running) {
+				selector.select();
+				Connection connection;
+				while ((connection = pendingWrites.poll()) != null) {
+					if (connection.key.isValid()) {
+						connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+					}
+				}
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					if (!key.isValid()) {
+						continue;
+					}
+					if (key.isAcceptable()) {
+						accept();
+						continue;
+					}
+					connection = (Connection) key.attachment();
+					try {
+						if (key.isReadable()) {
+							connection.read();
+						}
+						if (key.isValid() && key.isWritable()) {
+							connection.write();
+						}
+					} catch (IOException | BufferUnderflowException e) {
+						connection.close();
+					}
+				}
+			}
+		} catch (IOException | ClosedSelectorException e) {
+			if (running) {
+				System.out.println("The network server stopped after an error: " + e);
+			}
+		}
+	}
+
+	private void accept() throws IOException {
+		SocketChannel channel = serverChannel.accept();
+		if (channel == null) {
+			return;
+		}
+		channel.configureBlocking(false);
+		Connection connection = new Connection(channel);
+		connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+	}
+
+	/**
+	 * Queues the state of a game for the connections of its session. Called by the session
+	 * while it holds its lock, so the game cannot change meanwhile.
+	 */
+	private void sessionChanged(GameSession session) {
+		Set<Connection> connections = connectionsBySession.get(session.getId());
+		if (connections != null && !connections.isEmpty()) {
+			sendState(session, connections);
+		}
+	}
+
+	private static void sendState(GameSession session, Collection<Connection> connections) {
+		GameData game = session.getGameData();
+		GameMapSnapshot current = game.gameMap.createSnapshot();
+		ByteBuffer status = statusFrame(session, game);
+		for (Connection connection : connections) {
+			connection.sendState(game, current, status);
+		}
+	}
+
+	private static ByteBuffer statusFrame(GameSession session, GameData game) {
+		if (session.getState() == GameSession.State.FINISHED) {
+			int winnerId = game.getWinner() == null ? GameSession.NO_PLAYER
+					: game.getWinner().getStrategyType().getPlayerID();
+			return new Protocol.FrameWriter(Protocol.GAME_OVER).putInt(winnerId).toFrame();
+		}
+		int awaitedPlayerId = session.getAwaitedPlayerId();
+		if (awaitedPlayerId == GameSession.NO_PLAYER) {
+			return null;
+		}
+		RemoteMode player = (RemoteMode) game.getPlayer(awaitedPlayerId).getStrategyType();
+		return new Protocol.FrameWriter(Protocol.TURN).putInt(awaitedPlayerId)
+				.putByte(player.getTurnPhase().ordinal()).putInt(player.getArmiesToPlace())
+				.putInt(session.getTurnsPlayed()).toFrame();
+	}
+
+	/**
+	 * Stops the selector thread and closes every connection.
+	 */
+	@Override
+	public void close() throws IOException {
+		running = false;
+		gameServer.removeSessionListener(listener);
+		selector.wakeup();
+		try {
+			selectorThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		for (SelectionKey key : selector.keys()) {
+			key.channel().close();
+		}
+		selector.close();
+	}
+
+	/**
+	 * A client connection, read and written on the selector thread. Its output is queued by the
+	 * threads playing the games.
+	 */
+	private class Connection {
+		private final SocketChannel channel;
+		private SelectionKey key;
+		private ByteBuffer input = ByteBuffer.allocate(4096);
+		private final ConcurrentLinkedQueue<ByteBuffer> output = new ConcurrentLinkedQueue<>();
+		private long pendingOutput;
+		private long sessionId;
+		private int playerId = GameSession.NO_PLAYER;
+		private boolean isJoined;
+
+		/**
+		 * The map last sent to the client, null before the names of the countries are sent.
+		 * Guarded by the lock of the session.
+		 * */
+		private GameMapSnapshot sentMap;
+		private boolean isGameOverSent;
+
+		Connection(SocketChannel channel) {
+			this.channel = channel;
+		}
+
+		/**
+		 * @return true if the client plays a player of its session, false for a spectator.
+		 */
+		private boolean isPlayer() {
+			return playerId != GameSession.NO_PLAYER;
+		}
+
+		void read() throws IOException {
+			if (channel.read(input) < 0) {
+				close();
+				return;
+			}
+			int length;
+			while ((length = Protocol.getFrameLength(input)) >= 0) {
+				if (input.capacity() < 4 + length) {
+					ByteBuffer larger = ByteBuffer.allocate(4 + length);
+					input.flip();
+					larger.put(input);
+					input = larger;
+					return;
+				}
+				ByteBuffer frame = Protocol.nextFrame(input);
+				if (frame == null) {
+					return;
+				}
+				handle(frame);
+			}
+		}
+
+		private void handle(ByteBuffer frame) throws ProtocolException {
+			byte type = frame.get();
+			if (type == Protocol.HELLO) {
+				hello(frame.getLong(), frame.getInt(), frame.getLong());
+				return;
+			}
+			if (!isJoined) {
+				sendError("HELLO must be the first message");
+				return;
+			}
+			if (!isPlayer()) {
+				sendError("Spectators cannot play");
+				return;
+			}
+			switch (type) {
+			case Protocol.PLACE: {
+				String country = Protocol.getString(frame);
+				int armies = frame.getInt();
+				submit(player -> player.placeArmies(country, armies));
+				break;
+			}
+			case Protocol.TRADE:
+				submit(RemoteMode::tradeCards);
+				break;
+			case Protocol.ATTACK: {
+				String fromCountry = Protocol.getString(frame);
+				String toCountry = Protocol.getString(frame);
+				int diceCount = frame.get();
+				boolean allOut = frame.get() != 0;
+				int armiesToMove = frame.getInt();
+				submit(player -> player.attack(fromCountry, toCountry, diceCount, allOut, armiesToMove));
+				break;
+			}
+			case Protocol.END_ATTACK:
+				submit(RemoteMode::finishAttack);
+				break;
+			case Protocol.FORTIFY: {
+				String fromCountry = Protocol.getString(frame);
+				String toCountry = Protocol.getString(frame);
+				int armies = frame.getInt();
+				submit(player -> player.fortify(fromCountry, toCountry, armies));
+				break;
+			}
+			case Protocol.END_TURN:
+				submit(RemoteMode::endTurn);
+				break;
+			default:
+				throw new ProtocolException("Unknown message type: " + type);
+			}
+		}
+
+		/**
+		 * Joins a session as a spectator, or as one of its remote players if the join token
+		 * of the player is presented and no other connection plays it.
+		 */
+		private void hello(long sessionId, int playerId, long joinToken) {
+			if (isJoined) {
+				sendError("Already in session " + this.sessionId);
+				return;
+			}
+			GameSession session;
+			try {
+				session = gameServer.resumeSession(sessionId);
+			} catch (RuntimeException e) {
+				sendError(e.getMessage());
+				return;
+			}
+			if (playerId != GameSession.NO_PLAYER) {
+				if (!session.isJoinToken(playerId, joinToken)) {
+					sendError("Player " + playerId + " is not a remote player of session " + sessionId
+							+ " with this token");
+					return;
+				}
+				if (isPlayerConnected(sessionId, playerId)) {
+					sendError("Player " + playerId + " is already connected");
+					return;
+				}
+			}
+			this.sessionId = sessionId;
+			this.playerId = playerId;
+			this.isJoined = true;
+			connectionsBySession.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(this);
+			session.refresh(changed -> NetworkServer.sendState(changed, Collections.singleton(this)));
+		}
+
+		private boolean isPlayerConnected(long sessionId, int playerId) {
+			Set<Connection> connections = connectionsBySession.get(sessionId);
+			if (connections != null) {
+				for (Connection connection : connections) {
+					if (connection.playerId == playerId) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		private void submit(Consumer<RemoteMode> command) {
+			CompletableFuture<Void> result = gameServer.submitCommand(sessionId, playerId, command);
+			result.whenComplete((done, error) -> {
+				if (error != null) {
+					sendError(error.getMessage() == null ? error.toString() : error.getMessage());
+				}
+			});
+		}
+
+		/**
+		 * Queues the countries changed since the last update and the status of the game.
+		 */
+		void sendState(GameData game, GameMapSnapshot current, ByteBuffer status) {
+			if (sentMap == null || !sentMap.hasSameLayout(current)) {
+				Protocol.FrameWriter welcome = new Protocol.FrameWriter(Protocol.WELCOME);
+				welcome.putInt(current.getNumberOfCountries());
+				for (int i = 0; i < current.getNumberOfCountries(); i++) {
+					welcome.putString(current.getCountryName(i));
+				}
+				send(welcome.toFrame());
+				send(updateFrame(null, current));
+				sentMap = game.gameMap.createSnapshot();
+			} else {
+				ByteBuffer update = updateFrame(sentMap, current);
+				if (update != null) {
+					send(update);
+				}
+				sentMap.copyFrom(current);
+			}
+			if (status != null && !isGameOverSent) {
+				isGameOverSent = status.get(4) == Protocol.GAME_OVER;
+				send(status.duplicate());
+			}
+		}
+
+		private ByteBuffer updateFrame(GameMapSnapshot sent, GameMapSnapshot current) {
+			int numberOfCountries = current.getNumberOfCountries();
+			int[] changed = new int[numberOfCountries];
+			int numberOfChanges = 0;
+			for (int i = 0; i < numberOfCountries; i++) {
+				if (sent == null || valueOf(sent.getCountryArmies(i)) != valueOf(current.getCountryArmies(i))
+						|| valueOf(sent.getCountryOwner(i)) != valueOf(current.getCountryOwner(i))) {
+					changed[numberOfChanges++] = i;
+				}
+			}
+			if (sent != null && numberOfChanges == 0) {
+				return null;
+			}
+			Protocol.FrameWriter update = new Protocol.FrameWriter(Protocol.UPDATE).putInt(numberOfChanges);
+			for (int i = 0; i < numberOfChanges; i++) {
+				int index = changed[i];
+				update.putInt(index).putInt(valueOf(current.getCountryOwner(index)))
+						.putInt(valueOf(current.getCountryArmies(index)));
+			}
+			return update.toFrame();
+		}
+
+		private int valueOf(Integer value) {
+			return value == null ? GameMapSnapshot.NONE : value;
+		}
+
+		private void sendError(String message) {
+			send(new Protocol.FrameWriter(Protocol.ERROR).putString(message).toFrame());
+		}
+
+		private void send(ByteBuffer frame) {
+			synchronized (output) {
+				if (pendingOutput + frame.remaining() > MAX_PENDING_OUTPUT) {
+					System.out.println("Disconnecting a client that does not read its updates");
+					closeLater();
+					return;
+				}
+				pendingOutput += frame.remaining();
+				output.add(frame);
+			}
+			pendingWrites.add(this);
+			selector.wakeup();
+		}
+
+		void write() throws IOException {
+			ByteBuffer frame;
+			while ((frame = output.peek()) != null) {
+				int written = channel.write(frame);
+				synchronized (output) {
+					pendingOutput -= written;
+				}
+				if (frame.hasRemaining()) {
+					return;
+				}
+				output.poll();
+			}
+			key.interestOps(SelectionKey.OP_READ);
+			if (!output.isEmpty()) {
+				key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+			}
+		}
+
+		private void closeLater() {
+			output.clear();
+			try {
+				channel.close();
+			} catch (IOException e) {
+				// already closed
+			}
+			unbind();
+		}
+
+		void close() {
+			key.cancel();
+			closeLater();
+		}
+
+		private void unbind() {
+			Set<Connection> connections = connectionsBySession.get(sessionId);
+			if (connections != null) {
+				connections.remove(this);
+			}
+		}
+	}
+}
@@ -0,0 +1,218 @@
+package com.java.controller.server;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Protocol defines the binary frames exchanged between a NetworkServer and its remote players.
+ * A frame is a big-endian int giving the length of the rest of the frame, a type byte and the
+ * fields of the message. Strings are an unsigned short length followed by their UTF-8 bytes.
+ *
+ * The client sends HELLO once, to join a session as one of its players or to watch it, then the
+ * decisions of HumanMode as commands. The server answers with the names of the countries once,
+ * then only the countries that changed since the last update, the state of the turn of the
+ * awaited remote player, the rejected commands and the end of the game.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public final class Protocol {
+
+	/**
+	 * Session id (long), player id (int) and join token (long) of the client. A spectator
+	 * sends GameSession.NO_PLAYER and any token.
+	 * */
+	public static final byte HELLO = 1;
+
+	/**
+	 * Country (string) and number of armies (int) of a reinforcement.
+	 * */
+	public static final byte PLACE = 2;
+
+	/**
+	 * Trade of the valid sets of cards, without fields.
+	 * */
+	public static final byte TRADE = 3;
+
+	/**
+	 * Attacking country (string), attacked country (string), dice (byte), all out (boolean)
+	 * and armies moved on conquest (int) of an attack.
+	 * */
+	public static final byte ATTACK = 4;
+
+	/**
+	 * End of the attacks of the turn, without fields.
+	 * */
+	public static final byte END_ATTACK = 5;
+
+	/**
+	 * Source country (string), destination country (string) and number of armies (int) of a
+	 * fortification, which ends the turn.
+	 * */
+	public static final byte FORTIFY = 6;
+
+	/**
+	 * End of the turn without fortification, without fields.
+	 * */
+	public static final byte END_TURN = 7;
+
+	/**
+	 * Number of countries (int) and their names (strings) in the order of the updates.
+	 * */
+	public static final byte WELCOME = 64;
+
+	/**
+	 * Number of changed countries (int), then the index, owner and armies (ints) of each.
+	 * */
+	public static final byte UPDATE = 65;
+
+	/**
+	 * Awaited remote player (int), phase of its turn (byte), armies left to place (int) and
+	 * turns played (int).
+	 * */
+	public static final byte TURN = 66;
+
+	/**
+	 * Reason (string) of a rejected message.
+	 * */
+	public static final byte ERROR = 67;
+
+	/**
+	 * Winner (int), GameSession.NO_PLAYER after a draw.
+	 * */
+	public static final byte GAME_OVER = 68;
+
+	/**
+	 * Longest frame accepted, in bytes.
+	 * */
+	public static final int MAX_FRAME_LENGTH = 1 << 20;
+
+	private Protocol() {
+	}
+
+	/**
+	 * FrameWriter builds a frame in a buffer that grows as fields are added.
+	 */
+	public static final class FrameWriter {
+		private ByteBuffer buffer = ByteBuffer.allocate(64);
+
+		/**
+		 * Starts a frame.
+		 *
+		 * @param type the message type.
+		 */
+		public FrameWriter(byte type) {
+			buffer.putInt(0);
+			buffer.put(type);
+		}
+
+		private void ensureRemaining(int length) {
+			if (buffer.remaining() < length) {
+				ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+				buffer.flip();
+				larger.put(buffer);
+				buffer = larger;
+			}
+		}
+
+		public FrameWriter putByte(int value) {
+			ensureRemaining(1);
+			buffer.put((byte) value);
+			return this;
+		}
+
+		public FrameWriter putBoolean(boolean value) {
+			return putByte(value ? 1 : 0);
+		}
+
+		public FrameWriter putInt(int value) {
+			ensureRemaining(4);
+			buffer.putInt(value);
+			return this;
+		}
+
+		public FrameWriter putLong(long value) {
+			ensureRemaining(8);
+			buffer.putLong(value);
+			return this;
+		}
+
+		public FrameWriter putString(String value) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			if (bytes.length > 0xFFFF) {
+				throw new IllegalArgumentException("String too long for a frame: " + bytes.length + " bytes");
+			}
+			ensureRemaining(2 + bytes.length);
+			buffer.putShort((short) bytes.length);
+			buffer.put(bytes);
+			return this;
+		}
+
+		/**
+		 * Ends the frame.
+		 *
+		 * @return the frame, ready to be written.
+		 */
+		public ByteBuffer toFrame() {
+			buffer.putInt(0, buffer.position() - 4);
+			buffer.flip();
+			return buffer;
+		}
+	}
+
+	/**
+	 * Takes the next complete frame out of a buffer filled by reads, leaving the bytes of the
+	 * following frames in it.
+	 *
+	 * @param input the buffer, in the state left by the reads.
+	 * @return the type and fields of the frame, null if the frame is not complete yet.
+	 * @throws ProtocolException if the length of the frame is invalid.
+	 */
+	public static ByteBuffer nextFrame(ByteBuffer input) throws ProtocolException {
+		int length = getFrameLength(input);
+		if (length < 0 || input.position() < 4 + length) {
+			return null;
+		}
+		byte[] frame = new byte[length];
+		input.flip();
+		input.getInt();
+		input.get(frame);
+		input.compact();
+		return ByteBuffer.wrap(frame);
+	}
+
+	/**
+	 * Gets the length of the frame at the start of a buffer filled by reads.
+	 *
+	 * @param input the buffer, in the state left by the reads.
+	 * @return the length after the length field, -1 if the length is not read yet.
+	 * @throws ProtocolException if the length is invalid.
+	 */
+	public static int getFrameLength(ByteBuffer input) throws ProtocolException {
+		if (input.position() < 4) {
+			return -1;
+		}
+		int length = input.getInt(0);
+		if (length < 1 || length > MAX_FRAME_LENGTH) {
+			throw new ProtocolException("Invalid frame length: " + length);
+		}
+		return length;
+	}
+
+	/**
+	 * Reads a string field.
+	 *
+	 * @param frame the frame being read.
+	 * @return the string.
+	 */
+	public static String getString(ByteBuffer frame) {
+		byte[] bytes = new byte[frame.getShort() & 0xFFFF];
+		frame.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,248 @@
+package com.java.controller.server;
+
+import com.java.model.player.RemoteMode;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+
+/**
+ * RemoteClient plays a remote player of a NetworkServer over a blocking socket. It keeps a
+ * copy of the owners and armies of the countries from the updates of the server, so a user
+ * interface or a test can read the map without asking for it.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class RemoteClient implements AutoCloseable {
+
+	private final Socket socket;
+	private final DataInputStream input;
+	private final OutputStream output;
+	private final int playerId;
+	private String[] countryNames = new String[0];
+	private final HashMap<String, Integer> countryIndexes = new HashMap<>();
+	private int[] countryOwners = new int[0];
+	private int[] countryArmies = new int[0];
+	private int awaitedPlayerId = GameSession.NO_PLAYER;
+	private RemoteMode.TurnPhase turnPhase = RemoteMode.TurnPhase.WAITING;
+	private int armiesToPlace;
+	private int turnsPlayed;
+	private boolean isGameOver;
+	private int winnerId = GameSession.NO_PLAYER;
+	private String lastError;
+
+	/**
+	 * Connects to a server and watches a session without playing.
+	 *
+	 * @param address the address of the server.
+	 * @param sessionId the session id.
+	 * @param timeoutMillis the longest wait for a message of the server.
+	 * @throws IOException if the server cannot be reached.
+	 */
+	public RemoteClient(InetSocketAddress address, long sessionId, int timeoutMillis) throws IOException {
+		this(address, sessionId, GameSession.NO_PLAYER, 0L, timeoutMillis);
+	}
+
+	/**
+	 * Connects to a server and joins a session as one of its players.
+	 *
+	 * @param address the address of the server.
+	 * @param sessionId the session id.
+	 * @param playerId the id of the remote player in the session.
+	 * @param joinToken the token given by GameServer.joinRemoteSession for the player.
+	 * @param timeoutMillis the longest wait for a message of the server.
+	 * @throws IOException if the server cannot be reached.
+	 */
+	public RemoteClient(InetSocketAddress address, long sessionId, int playerId, long joinToken,
+			int timeoutMillis) throws IOException {
+		this.playerId = playerId;
+		this.socket = new Socket();
+		socket.connect(address, timeoutMillis);
+		socket.setSoTimeout(timeoutMillis);
+		socket.setTcpNoDelay(true);
+		this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		this.output = socket.getOutputStream();
+		send(new Protocol.FrameWriter(Protocol.HELLO).putLong(sessionId).putInt(playerId).putLong(joinToken));
+	}
+
+	private void send(Protocol.FrameWriter frame) throws IOException {
+		ByteBuffer buffer = frame.toFrame();
+		output.write(buffer.array(), 0, buffer.limit());
+		output.flush();
+	}
+
+	public void place(String countryName, int numberOfArmies) throws IOException {
+		send(new Protocol.FrameWriter(Protocol.PLACE).putString(countryName).putInt(numberOfArmies));
+	}
+
+	public void trade() throws IOException {
+		send(new Protocol.FrameWriter(Protocol.TRADE));
+	}
+
+	public void attack(String fromCountry, String toCountry, int diceCount, boolean allOut, int armiesToMove)
+			throws IOException {
+		send(new Protocol.FrameWriter(Protocol.ATTACK).putString(fromCountry).putString(toCountry)
+				.putByte(diceCount).putBoolean(allOut).putInt(armiesToMove));
+	}
+
+	public void endAttack() throws IOException {
+		send(new Protocol.FrameWriter(Protocol.END_ATTACK));
+	}
+
+	public void fortify(String fromCountry, String toCountry, int numberOfArmies) throws IOException {
+		send(new Protocol.FrameWriter(Protocol.FORTIFY).putString(fromCountry).putString(toCountry)
+				.putInt(numberOfArmies));
+	}
+
+	public void endTurn() throws IOException {
+		send(new Protocol.FrameWriter(Protocol.END_TURN));
+	}
+
+	/**
+	 * Reads the next message of the server and applies it to the copy of the game.
+	 *
+	 * @return the type of the message.
+	 * @throws IOException if the connection fails, or no message comes before the timeout.
+	 */
+	public byte receive() throws IOException {
+		int length = input.readInt();
+		if (length < 1 || length > Protocol.MAX_FRAME_LENGTH) {
+			throw new ProtocolException("Invalid frame length: " + length);
+		}
+		byte[] bytes = new byte[length];
+		input.readFully(bytes);
+		ByteBuffer frame = ByteBuffer.wrap(bytes);
+		byte type = frame.get();
+		switch (type) {
+		case Protocol.WELCOME:
+			countryNames = new String[frame.getInt()];
+			countryIndexes.clear();
+			for (int i = 0; i < countryNames.length; i++) {
+				countryNames[i] = Protocol.getString(frame);
+				countryIndexes.put(countryNames[i], i);
+			}
+			countryOwners = new int[countryNames.length];
+			countryArmies = new int[countryNames.length];
+			break;
+		case Protocol.UPDATE:
+			for (int i = frame.getInt(); i > 0; i--) {
+				int index = frame.getInt();
+				countryOwners[index] = frame.getInt();
+				countryArmies[index] = frame.getInt();
+			}
+			break;
+		case Protocol.TURN:
+			awaitedPlayerId = frame.getInt();
+			turnPhase = RemoteMode.TurnPhase.values()[frame.get()];
+			armiesToPlace = frame.getInt();
+			turnsPlayed = frame.getInt();
+			break;
+		case Protocol.ERROR:
+			lastError = Protocol.getString(frame);
+			break;
+		case Protocol.GAME_OVER:
+			isGameOver = true;
+			winnerId = frame.getInt();
+			awaitedPlayerId = GameSession.NO_PLAYER;
+			break;
+		default:
+			throw new ProtocolException("Unknown message type: " + type);
+		}
+		return type;
+	}
+
+	/**
+	 * Reads the messages of the server until it waits for this player, rejects a command or
+	 * ends the game.
+	 *
+	 * @return TURN, ERROR or GAME_OVER.
+	 * @throws IOException if the connection fails, or no message comes before the timeout.
+	 */
+	public byte awaitTurn() throws IOException {
+		while (true) {
+			byte type = receive();
+			if (type == Protocol.ERROR || type == Protocol.GAME_OVER
+					|| (type == Protocol.TURN && awaitedPlayerId == playerId)) {
+				return type;
+			}
+		}
+	}
+
+	public String[] getCountryNames() {
+		return countryNames.clone();
+	}
+
+	/**
+	 * @param countryName the country name.
+	 * @return the owner id, GameMapSnapshot.NONE if the country has no owner.
+	 */
+	public int getCountryOwner(String countryName) {
+		return countryOwners[countryIndexes.get(countryName)];
+	}
+
+	/**
+	 * @param countryName the country name.
+	 * @return the army count, GameMapSnapshot.NONE if the country has none set.
+	 */
+	public int getCountryArmies(String countryName) {
+		return countryArmies[countryIndexes.get(countryName)];
+	}
+
+	/**
+	 * @param countryName the country name.
+	 * @return true if the country belongs to this player.
+	 */
+	public boolean isOwnCountry(String countryName) {
+		return getCountryOwner(countryName) == playerId;
+	}
+
+	public int getAwaitedPlayerId() {
+		return awaitedPlayerId;
+	}
+
+	public RemoteMode.TurnPhase getTurnPhase() {
+		return turnPhase;
+	}
+
+	public int getArmiesToPlace() {
+		return armiesToPlace;
+	}
+
+	public int getTurnsPlayed() {
+		return turnsPlayed;
+	}
+
+	public boolean isGameOver() {
+		return isGameOver;
+	}
+
+	/**
+	 * @return the winner id, GameSession.NO_PLAYER while the game is played or after a draw.
+	 */
+	public int getWinnerId() {
+		return winnerId;
+	}
+
+	/**
+	 * @return the reason of the last rejected command, null if none was rejected.
+	 */
+	public String getLastError() {
+		return lastError;
+	}
+
+	@Override
+	public void close() throws IOException {
+		socket.close();
+	}
+}
@@ -0,0 +1,34 @@
+package com.java.controller.startup;
+
+/**
+ * Policies of the initial placement of the armies of the players that do not place them by
+ * hand. Every country of a player always gets one army first, the policy only decides where
+ * the remaining armies go.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public enum PlacementPolicy {
+
+	/**
+	 * The armies are spread evenly on the countries, the remainder going to random ones.
+	 */
+	UNIFORM,
+
+	/**
+	 * The armies are shared in proportion to the enemy neighbours of every country, so interior
+	 * countries get none of them.
+	 */
+	FRONTIER_WEIGHTED,
+
+	/**
+	 * Every strategy places the armies its own way: the aggressive player stacks them on the
+	 * country sharing the most borders, the random player scatters them at random, the cheater
+	 * spreads them evenly and the others weight them by the frontier.
+	 */
+	STRATEGY
+}
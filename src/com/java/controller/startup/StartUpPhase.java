@@ -1,7 +1,6 @@
 
 package com.java.controller.startup;
 
-import com.java.controller.dice.Dice;
 import com.java.model.cards.CardsDeck;
 import com.java.model.gamedata.GameData;
 import com.java.model.map.Country;
@@ -12,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Random;
 
 
 /**
@@ -19,7 +19,7 @@ import java.util.HashMap;
  * it will arrange the players in a round robin fashion, based on the highest number generated by dice.
  * Each country will be assigned randomly to the players in play.
  * The initial army calculation is based on the number of players.
- * provided a sort method to resolve ties between players in order to establish the round robin order.
+ * Ties between players are drawn at random, as rolling again would, to establish the round robin order.
  * 
  * @author Arnav Bhardwaj
  * @author Karan Dhingra
@@ -31,12 +31,10 @@ import java.util.HashMap;
 public class StartUpPhase implements Serializable {
 	
 	/**
-	 * Game Data holds the whole data of the game, here the static variable holds the ids for the players.
-	 * In that way it is possible to identify players even if the have the same name.
+	 * Game Data holds the whole data of the game.
 	 * @see GameData
 	 */
 	public GameData gameData;
-	private static int playerId = 1;
 	
 	/**
 	 * Default constructor receives game data as a parameter. Because this is the set up phase class every data
@@ -45,11 +43,15 @@ public class StartUpPhase implements Serializable {
 	 */
 	public StartUpPhase(GameData gameData) {
 		this.gameData = gameData;
+		if (gameData.gameMap != null) {
+			gameData.gameMap.setGameId(gameData.getGameId());
+		}
 	}
 	
 	/**
 	 * It assigns unique ids to the players by receiving a collection of player names.
-	 * the static variable is incremented by one every time a new player is created.
+	 * The ids start from 1 in every game, so players can be identified even if they have the same name,
+	 * and looked up by id in an array.
 	 * @param playerNames list of names passed based on the console input from user
 	 * @param playerStrategy player strategy.
 	 * @return A list that contains all the players which now have ids assigned.
@@ -60,6 +62,7 @@ public class StartUpPhase implements Serializable {
 		ArrayList<Player> newPlayers = new ArrayList<Player>();
 		
 		// Give every new player a unique id and the name provided by the user.
+		int playerId = 1;
 		for(int i=0; i < playerNames.size(); i++){
 			Integer strategyType = playerStrategy.get(i);
 			PlayerStrategy strategy;
@@ -78,6 +81,15 @@ public class StartUpPhase implements Serializable {
                     break;
                 case 5:
                     strategy = new HumanMode(playerId,playerNames.get(i));
+                    break;
+                case 6:
+                    strategy = new MonteCarloMode(playerId,playerNames.get(i));
+                    break;
+                case 7:
+                    strategy = new ExpectiminimaxMode(playerId,playerNames.get(i));
+                    break;
+                case 8:
+                    strategy = new RemoteMode(playerId,playerNames.get(i));
                     break;
 				default:
 					strategy = new HumanMode(playerId,playerNames.get(i));
@@ -187,114 +199,203 @@ public class StartUpPhase implements Serializable {
 	}
 	
 	/**
-	 * The order of play is given my the max result of the dices after every player roll a dice. If there is
-	 * a tie the player roll again until one has a greter result.
-	 * @return List of all players with proper order in which they will play for the rest of the game
+	 * Places the initial armies of every player that does not place them by hand. The
+	 * placement of all of them is computed in one pass and applied to the map in one bulk
+	 * update, instead of an army at a time.
+	 * 
+	 * @param policy the placement policy.
+	 * @param random the source of the random choices of the placement.
+	 * @return the number of players whose armies were placed.
+	 */
+	public int placeInitialArmies(PlacementPolicy policy, Random random) {
+		int numberOfArmies = initialArmyCalculation(gameData.getNoOfPlayers());
+		int[] deltas = new int[gameData.gameMap.getNumberOfCountries()];
+		int numberOfPlayersPlaced = 0;
+		for (Player player : gameData.getPlayers()) {
+			if (player.getStrategyType() instanceof HumanMode) {
+				continue;
+			}
+			addInitialPlacement(deltas, player, numberOfArmies, policy, random);
+			numberOfPlayersPlaced++;
+		}
+		gameData.gameMap.applyArmyDeltas(deltas);
+		return numberOfPlayersPlaced;
+	}
+
+	/**
+	 * Computes the initial placement of the armies of a player: one army on every country it
+	 * owns, then the rest after the policy.
+	 * 
+	 * @param player the player.
+	 * @param numberOfArmies the initial armies of the player.
+	 * @param policy the placement policy.
+	 * @param random the source of the random choices of the placement.
+	 * @return the armies to add to every country, indexed like GameMap.getCountryIndex.
 	 */
-	public ArrayList<Player> generateRoundRobin(){
+	public int[] computeInitialPlacement(Player player, int numberOfArmies, PlacementPolicy policy, Random random) {
+		int[] deltas = new int[gameData.gameMap.getNumberOfCountries()];
+		addInitialPlacement(deltas, player, numberOfArmies, policy, random);
+		return deltas;
+	}
 
-		// Auxiliary variables to perform the order of player calculation.
-		ArrayList<Player> temp = new ArrayList<Player>();
-		ArrayList<Player> tiePlayers = gameData.getPlayers();
-		Boolean flag = false;
-		
-		// Dice object to get the random numbers from 1 to 6
-		Dice dice = new Dice();
-		int aux = tiePlayers.size();
+	/**
+	 * Adds the initial placement of a player to a vector of army changes.
+	 */
+	private void addInitialPlacement(int[] deltas, Player player, int numberOfArmies, PlacementPolicy policy,
+			Random random) {
+		PlayerStrategy strategy = player.getStrategyType();
+		String[] countries = gameData.gameMap.getConqueredCountries(strategy.getPlayerID()).toArray(new String[0]);
+		if (countries.length == 0) {
+			return;
+		}
 
-		// The following loop will resolve ties based on the die rolled.
-		while(!tiePlayers.isEmpty()) {
+		// every country starts with one army
+		int[] indices = new int[countries.length];
+		int[] enemyNeighbours = new int[countries.length];
+		for (int i = 0; i < countries.length; i++) {
+			indices[i] = gameData.gameMap.getCountryIndex(countries[i]);
+			enemyNeighbours[i] = gameData.gameMap.getAdjacentCountries(countries[i]).size()
+					- gameData.gameMap.getSameOwnerNeighbourCount(countries[i]);
+			deltas[indices[i]]++;
+		}
+		int remainingArmies = numberOfArmies - countries.length;
+		if (remainingArmies <= 0) {
+			return;
+		}
 
-			// Assign the player object to the roll die integer amount
-			for(int k = 0; k < aux; k++){
-				try {
-					tiePlayers.get(k).getStrategyType().setOrderOfPlay(dice.rollDice());
-				} catch(Exception e) {
-					// If something goes wrong with the return.
-					for(Player tie : tiePlayers) {
-						temp.add(tie);
+		if (policy == PlacementPolicy.STRATEGY) {
+			if (strategy instanceof AggresiveMode) {
+				// everything on the country sharing the most borders, which it attacks from
+				int strongest = 0;
+				for (int i = 1; i < countries.length; i++) {
+					if (enemyNeighbours[i] > enemyNeighbours[strongest]) {
+						strongest = i;
 					}
-					break;
 				}
-				//System.out.println("PlayerStrategy " + tiePlayers.get(k).getPlayerName() + " rolled the dice: " + tiePlayers.get(k).getOrderOfPlay());
+				deltas[indices[strongest]] += remainingArmies;
+				return;
+			} else if (strategy instanceof RandomMode) {
+				for (int army = 0; army < remainingArmies; army++) {
+					deltas[indices[random.nextInt(countries.length)]]++;
+				}
+				return;
 			}
+			policy = strategy instanceof CheaterMode ? PlacementPolicy.UNIFORM : PlacementPolicy.FRONTIER_WEIGHTED;
+		}
 
-            // When the player roll the dice the tie has to be resolved by calling custom sort from 0 till the index of tie player.
-			tiePlayers = sort(tiePlayers, 0, aux);
+		if (policy == PlacementPolicy.FRONTIER_WEIGHTED) {
+			apportion(deltas, indices, enemyNeighbours, remainingArmies);
+		} else {
+			spread(deltas, indices, remainingArmies, random);
+		}
+	}
 
-            // To check if the first two players do not have the same number rolled add to temp array
-			if(tiePlayers.size() > 1 && tiePlayers.get(0).getStrategyType().getOrderOfPlay() != tiePlayers.get(1).getStrategyType().getOrderOfPlay()) {
-				temp.add(tiePlayers.get(0));
-				tiePlayers.remove(0);
-			}
-			
-			if(tiePlayers.size() == 1) {
-				temp.add(tiePlayers.get(0));
-				tiePlayers.remove(0);
-			}
-			
-			// Gets the index of tie players.
-			for(int i = 0; i < tiePlayers.size() - 1; i++) {
-				try {
-					if(tiePlayers.get(0).getStrategyType().getOrderOfPlay() == tiePlayers.get(i+1).getStrategyType().getOrderOfPlay()) {
-						aux = i + 1 + 1;
-						flag = true;
+	/**
+	 * Spreads armies evenly on countries, the remainder going to distinct random ones.
+	 */
+	private static void spread(int[] deltas, int[] indices, int numberOfArmies, Random random) {
+		int[] order = indices.clone();
+		for (int i = 0; i < order.length; i++) {
+			deltas[order[i]] += numberOfArmies / order.length;
+		}
+		// a partial shuffle picks the countries of the remainder
+		for (int i = 0; i < numberOfArmies % order.length; i++) {
+			int j = i + random.nextInt(order.length - i);
+			int swap = order[i];
+			order[i] = order[j];
+			order[j] = swap;
+			deltas[order[i]]++;
+		}
+	}
 
-					} else {
-						if(!flag) {
-							aux = 0;
-						}
-						break;
-					}
-				} catch(Exception e) {
-					// If something goes wrong with the return.
-					for(Player tie : tiePlayers) {
-						temp.add(tie);
-					}
-					break;
-				}
-			}
+	/**
+	 * Shares armies between countries in proportion to their weights by the largest remainder
+	 * method, or evenly when no country has weight.
+	 */
+	private static void apportion(int[] deltas, int[] indices, int[] weights, int numberOfArmies) {
+		long totalWeight = 0;
+		for (int weight : weights) {
+			totalWeight += weight;
 		}
-		
-		// Sets the order of play.
-		for(int i = 0; i < temp.size(); i++) {
-			temp.get(i).getStrategyType().setOrderOfPlay(i+1);
+		if (totalWeight == 0) {
+			weights = new int[weights.length];
+			Arrays.fill(weights, 1);
+			totalWeight = weights.length;
+		}
+
+		Integer[] byRemainder = new Integer[indices.length];
+		long[] remainders = new long[indices.length];
+		int placed = 0;
+		for (int i = 0; i < indices.length; i++) {
+			long share = (long) numberOfArmies * weights[i];
+			deltas[indices[i]] += (int) (share / totalWeight);
+			placed += (int) (share / totalWeight);
+			remainders[i] = share % totalWeight;
+			byRemainder[i] = i;
+		}
+		Arrays.sort(byRemainder, (first, second) -> Long.compare(remainders[second], remainders[first]));
+		for (int i = 0; placed < numberOfArmies; i++, placed++) {
+			deltas[indices[byRemainder[i]]]++;
 		}
-		
-		// Sets the player list in order of play.
-		gameData.setPlayers(temp);
-		
-		return gameData.getPlayers();
 	}
 
 	/**
-	 * Custom sorting that allows to sort from a given index to another index of the array
-	 * to be sorted.
+	 * Draws the order of play from a new random seed, see generateRoundRobin(long).
 	 * 
-	 * @param array Array to be sorted.
-	 * @param from index from where to start sorting.
-	 * @param to index from where to end sorting.
-	 * @return List of players with sorted order from given index to end
+	 * @return List of all players with proper order in which they will play for the rest of the game
+	 */
+	public ArrayList<Player> generateRoundRobin() {
+		return generateRoundRobin(new Random().nextLong());
+	}
+
+	/**
+	 * Draws the order of play from a seed: every player rolls a die once, the highest playing
+	 * first, and the players that rolled the same are put in a random order, which is the order
+	 * rolling again between them until every tie is broken gives. The players are grouped by
+	 * their roll, so the draw takes a single pass whatever the ties. The same seed always gives
+	 * the same order of the same players.
 	 * 
+	 * @param seed the seed of the draw.
+	 * @return List of all players with proper order in which they will play for the rest of the game
 	 */
-	private ArrayList<Player> sort(ArrayList<Player> array, int from, int to) {
-		
-		// Each element of the array is compared with the rest of elements.
-		for(int i = from; i < to; i++) {
-			for(int j = from; j < to; j++) {
-				try {
-					if(array.get(i).getStrategyType().getOrderOfPlay() > array.get(j).getStrategyType().getOrderOfPlay() ) {
-						Player temp = array.get(i);
-						array.set(i, array.get(j));
-						array.set(j, temp);
-					}
-				}
-				catch(Exception e) {
-					// If something goes wrong with the return.
-					return array;
-				}
-			}
+	public ArrayList<Player> generateRoundRobin(long seed) {
+		Random random = new Random(seed);
+		ArrayList<ArrayList<Player>> playersPerRoll = new ArrayList<ArrayList<Player>>();
+		for (int roll = 0; roll < 6; roll++) {
+			playersPerRoll.add(new ArrayList<Player>());
+		}
+		for (Player player : gameData.getPlayers()) {
+			playersPerRoll.get(random.nextInt(6)).add(player);
+		}
+
+		// the highest rolls play first, the ties in a random order
+		ArrayList<Player> order = new ArrayList<Player>();
+		for (int roll = 5; roll >= 0; roll--) {
+			int from = order.size();
+			order.addAll(playersPerRoll.get(roll));
+			shuffle(order, from, order.size(), random);
+		}
+		return setOrderOfPlay(order);
+	}
+
+	/**
+	 * Shuffles a range of a list in place by Fisher-Yates.
+	 */
+	private static void shuffle(ArrayList<Player> players, int from, int to, Random random) {
+		for (int i = to - 1; i > from; i--) {
+			Collections.swap(players, i, from + random.nextInt(i - from + 1));
 		}
-		return array;
+	}
+
+	/**
+	 * Numbers the players in their order of play and sets them in that order in the game
+	 * data, the previous list of players being left as it was.
+	 */
+	private ArrayList<Player> setOrderOfPlay(ArrayList<Player> order) {
+		for (int i = 0; i < order.size(); i++) {
+			order.get(i).getStrategyType().setOrderOfPlay(i + 1);
+		}
+		gameData.setPlayers(order);
+		return gameData.getPlayers();
 	}
 }
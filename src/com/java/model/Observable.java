@@ -50,6 +50,15 @@ public abstract class Observable {
        }
     }
     
+    /**
+     * Gets the number of observers. They are notified synchronously, one after the other.
+     * 
+     * @return the number of observers.
+     * */
+    public int getNumberOfObservers(){
+        return listView.size();
+    }
+    
     /**
      * Notify the views
      * */
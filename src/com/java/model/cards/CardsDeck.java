@@ -45,6 +45,14 @@ public class CardsDeck implements Serializable {
         return card;
     }
 
+    /**
+     * Get the number of cards left in the deck.
+     * @return the deck size
+     */
+    public int getDeckSize(){
+        return deck.size();
+    }
+
     /**
      * Return the card to the deck and shuffle the cardsdeck.
      * @param returnCard put the card back to the deck
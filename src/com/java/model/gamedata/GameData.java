@@ -3,9 +3,11 @@ package com.java.model.gamedata;
 import com.java.model.cards.CardsDeck;
 import com.java.model.map.GameMap;
 import com.java.model.player.Player;
+import com.java.model.player.PlayerStrategy;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class hold the whole data that is going to be used during the game. For instance,
@@ -20,6 +22,16 @@ import java.util.ArrayList;
  */
 public class GameData implements Serializable {
 
+	/**
+	 * Source of the game ids, started from the current time so that ids from different runs
+	 * do not collide in the recordings.
+	 * */
+	private static final AtomicLong nextGameId = new AtomicLong(System.currentTimeMillis());
+
+	/**
+	 * The game id, used to correlate the events of one game.
+	 * */
+	private Long gameId = nextGameId.incrementAndGet();
 
 	/**
 	 * The number of players.
@@ -31,6 +43,26 @@ public class GameData implements Serializable {
 	 * */
 	private ArrayList<Player> players;
 
+	/**
+	 * The players indexed by their id, built again when the list of players changes.
+	 * */
+	private transient Player[] playersById;
+
+	/**
+	 * The size of the list of players when the index was built.
+	 * */
+	private transient int indexedNumberOfPlayers;
+
+	/**
+	 * The winner, set when a player of this game is declared winner.
+	 * */
+	private Player winner;
+
+	/**
+	 * The armies given for the next card trade of this game, raised by every trade.
+	 * */
+	private int cardExchangeArmyCount = 5;
+
 	/**
 	 * The minimum number of players is 2.
 	 * */
@@ -45,6 +77,15 @@ public class GameData implements Serializable {
 	 * */
 	public GameMap gameMap;
 	public CardsDeck cardsDeck;
+	/**
+	 * Getter game id.
+	 *
+	 * @return the game id.
+	 * */
+	public Long getGameId() {
+		return gameId;
+	}
+
 	/**
 	 * Getter players.
 	 *
@@ -61,6 +102,7 @@ public class GameData implements Serializable {
 	 * */
 	public void setPlayers(ArrayList<Player> players) {
 		this.players = players;
+		this.playersById = null;
 	}
 	
 	/**
@@ -70,6 +112,19 @@ public class GameData implements Serializable {
 	 * @return player.
 	 * */
 	public Player getPlayer(Integer playerId) {
+		if (playerId == null) {
+			return null;
+		}
+		if (playersById == null || indexedNumberOfPlayers != players.size()) {
+			indexPlayers();
+		}
+		if (playerId >= 0 && playerId < playersById.length) {
+			Player player = playersById[playerId];
+			if (player != null && playerId.equals(player.getStrategyType().getPlayerID())) {
+				return player;
+			}
+		}
+		// the ids are not dense, or the list was changed in place
 		for(Player player : this.players) {
 			if(player.getStrategyType().getPlayerID().equals(playerId)) {
 				return player;
@@ -78,6 +133,28 @@ public class GameData implements Serializable {
 		return null;
 	}
 
+	/**
+	 * Indexes the players by id. Players are given ids from 1 in every game, so the ids that
+	 * do not fit a small array are left to the scan of the list.
+	 * */
+	private void indexPlayers() {
+		int maxPlayerId = 0;
+		for (Player player : this.players) {
+			Integer playerId = player.getStrategyType().getPlayerID();
+			if (playerId != null && playerId >= 0 && playerId <= 4 * this.players.size()) {
+				maxPlayerId = Math.max(maxPlayerId, playerId);
+			}
+		}
+		playersById = new Player[maxPlayerId + 1];
+		for (Player player : this.players) {
+			Integer playerId = player.getStrategyType().getPlayerID();
+			if (playerId != null && playerId >= 0 && playerId <= maxPlayerId) {
+				playersById[playerId] = player;
+			}
+		}
+		indexedNumberOfPlayers = this.players.size();
+	}
+
 	/**
 	 * Remove one player of the main collection of players.
 	 *
@@ -85,6 +162,7 @@ public class GameData implements Serializable {
 	 * */
 	public void removePlayers(Player player){
 		this.players.remove(player);
+		this.playersById = null;
 	}
 
 	/**
@@ -105,6 +183,25 @@ public class GameData implements Serializable {
 		this.noOfPlayers = noOfPlayers;
 	}
 	
+	/**
+	 * Checks if a player still owns a country, from the ownership kept by the map.
+	 * 
+	 * @param playerId the player id.
+	 * @return true if the player owns at least one country.
+	 */
+	public boolean isPlayerActive(Integer playerId) {
+		return !gameMap.getConqueredCountries(playerId).isEmpty();
+	}
+
+	/**
+	 * Gets the number of players still owning a country, kept by the map.
+	 * 
+	 * @return the number of players in the game.
+	 */
+	public int getNumberOfActivePlayers() {
+		return gameMap.getNumberOfPlayersWithCountries();
+	}
+
 	/**
 	 * Get player's status
 	 * @param player player id
@@ -129,12 +226,59 @@ public class GameData implements Serializable {
 	 * @return returns winner of the game; return null if game ended with a draw
 	 */
 	public Player getWinner() {
-		for (Player player : this.players) {
-			if (player.getStrategyType().getIsWinner() == true) {
-				return player;
+		return winner;
+	}
+
+	/**
+	 * Getter card exchange army count.
+	 *
+	 * @return the armies given for the next card trade.
+	 * */
+	public int getCardExchangeArmyCount() {
+		return cardExchangeArmyCount;
+	}
+
+	/**
+	 * Setter card exchange army count.
+	 *
+	 * @param cardExchangeArmyCount the armies given for the next card trade.
+	 * */
+	public void setCardExchangeArmyCount(int cardExchangeArmyCount) {
+		this.cardExchangeArmyCount = cardExchangeArmyCount;
+	}
+
+	/**
+	 * Raises the armies given for the next card trade, after a trade.
+	 * */
+	public void increaseCardExchangeArmyCount() {
+		cardExchangeArmyCount += 5;
+	}
+
+	/**
+	 * Declares the winner of the game.
+	 * 
+	 * @param player the winner.
+	 */
+	public void setWinner(Player player) {
+		player.getStrategyType().setIsWinner(true);
+		this.winner = player;
+	}
+
+	/**
+	 * Follows the win status of a strategy of this game, called by the strategy when its
+	 * status changes.
+	 * 
+	 * @param strategy the strategy whose status changed.
+	 */
+	public void updateWinner(PlayerStrategy strategy) {
+		if (strategy.getIsWinner()) {
+			Player player = getPlayer(strategy.getPlayerID());
+			if (player != null) {
+				this.winner = player;
 			}
+		} else if (winner != null && winner.getStrategyType() == strategy) {
+			this.winner = null;
 		}
-		return null;
 	}
 
 
@@ -14,6 +14,11 @@ import java.io.Serializable;
  * @version 1.0.0
  * */
 public class Country implements Serializable {
+
+	/**
+	 * Conqueror id of a country nobody owns, the same value a GameMapSnapshot uses.
+	 * */
+	public static final int NO_CONQUEROR = GameMapSnapshot.NONE;
 	
 	/**
 	 * The country name.
@@ -26,14 +31,24 @@ public class Country implements Serializable {
 	private String countryContinentName;
 	
 	/**
-	 * Conqueror player id.
+	 * Conqueror player id, NO_CONQUEROR if nobody owns the country.
 	 * */
-	private Integer countryConquerorID;
+	private int countryConquerorID = NO_CONQUEROR;
 	
 	/**
 	 * The number of armies placed in the country.
 	 */
-	private Integer armyCount;
+	private int armyCount;
+
+	/**
+	 * Base key of the country in the Zobrist hash of the map, computed from the name on first use.
+	 * */
+	private transient long zobristKey;
+
+	/**
+	 * Number of neighbours owned by the conqueror of the country, kept by the GameMap.
+	 * */
+	private int sameOwnerNeighbourCount;
 
 	public Country(){
 	}
@@ -66,6 +81,19 @@ public class Country implements Serializable {
 	 * */
 	public void updateCountryName(String countryName) {
 		this.countryName = countryName;
+		this.zobristKey = 0;
+	}
+
+	/**
+	 * Gets the base key of the country in the Zobrist hash of the map.
+	 * 
+	 * @return the key derived from the country name.
+	 * */
+	public long getZobristKey() {
+		if (this.zobristKey == 0) {
+			this.zobristKey = Zobrist.countryKey(this.countryName);
+		}
+		return this.zobristKey;
 	}
 	
 	/**
@@ -92,17 +120,64 @@ public class Country implements Serializable {
 	 * @param countryConquerorID the player id
 	 * */
 	public void setConquerorID(Integer countryConquerorID) {
-		this.countryConquerorID = countryConquerorID;
+		this.countryConquerorID = countryConquerorID == null ? NO_CONQUEROR : countryConquerorID;
 	}
 	
 	/**
 	 * Getter conqueror player id.
 	 * 
-	 * @return the conqueror player id
+	 * @return the conqueror player id, null if nobody owns the country.
 	 * */
 	public Integer getCountryConquerorID() {
+		return this.countryConquerorID == NO_CONQUEROR ? null : this.countryConquerorID;
+	}
+
+	/**
+	 * Gets the conqueror player id without boxing it.
+	 * 
+	 * @return the conqueror player id, NO_CONQUEROR if nobody owns the country.
+	 * */
+	public int getConquerorId() {
 		return this.countryConquerorID;
 	}
+
+	/**
+	 * Checks the conqueror of the country by value, whatever the size of the id.
+	 * 
+	 * @param playerId the player id.
+	 * @return true if the player owns the country.
+	 * */
+	public boolean isConqueredBy(Integer playerId) {
+		return playerId != null && this.countryConquerorID == playerId.intValue();
+	}
+
+	/**
+	 * Checks whether two countries have the same conqueror.
+	 * 
+	 * @param country the other country.
+	 * @return true if somebody owns both countries.
+	 * */
+	public boolean hasSameConqueror(Country country) {
+		return this.countryConquerorID != NO_CONQUEROR && this.countryConquerorID == country.countryConquerorID;
+	}
+
+	/**
+	 * Gets the number of neighbours owned by the conqueror of the country.
+	 * 
+	 * @return the number of neighbours of the same owner.
+	 * */
+	public int getSameOwnerNeighbourCount() {
+		return this.sameOwnerNeighbourCount;
+	}
+
+	/**
+	 * Sets the number of neighbours owned by the conqueror of the country.
+	 * 
+	 * @param sameOwnerNeighbourCount the number of neighbours of the same owner.
+	 * */
+	void setSameOwnerNeighbourCount(int sameOwnerNeighbourCount) {
+		this.sameOwnerNeighbourCount = sameOwnerNeighbourCount;
+	}
 	
 	/**
 	 * Getter the number of countries placed on the country.
@@ -112,14 +187,23 @@ public class Country implements Serializable {
 	public Integer getCountryArmyCount() {
 		return this.armyCount;
 	}
+
+	/**
+	 * Gets the number of armies placed on the country without boxing it.
+	 * 
+	 * @return the number of armies placed on the country.
+	 * */
+	public int getArmies() {
+		return this.armyCount;
+	}
 	
 	/**
 	 * Set the amount of army.
 	 * 
-	 * @param armyCount the amount of army.
+	 * @param armyCount the amount of army, null for none.
 	 * */
 	public void setArmyCount(Integer armyCount) {
-		this.armyCount = armyCount;
+		this.armyCount = armyCount == null ? 0 : armyCount;
 	}
 	
 	/**
@@ -128,7 +212,7 @@ public class Country implements Serializable {
 	 * @param armyCount the army count.
 	 * @return the new value of army after adding army.
 	 * */
-	public Integer addArmy(Integer armyCount) {
+	public int addArmy(int armyCount) {
 		this.armyCount += armyCount;
 		return this.armyCount;
 	}
@@ -139,7 +223,7 @@ public class Country implements Serializable {
 	 * @param armyCount the army count.
 	 * @return the new value of army after subtracting army.
 	 * */
-	public Integer deductArmy(Integer armyCount) {
+	public int deductArmy(int armyCount) {
 		if(this.armyCount >= armyCount) {
 			this.armyCount -= armyCount;
 		}
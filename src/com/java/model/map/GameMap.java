@@ -1,12 +1,18 @@
 package com.java.model.map;
 
+import com.java.controller.instrumentation.ConquestEvent;
 import com.java.model.Observable;
 import com.java.model.player.Player;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * This class models the game map
@@ -27,8 +33,24 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	private HashMap<String, HashSet<String>> adjacentCountries;
 	private HashMap<String, HashSet<String>> continentCountries;
 
-	private HashMap<Integer, HashSet<String>> conqueredCountriesPerPlayer;
-	private HashMap<Integer, HashSet<String>> conqueredContinentsPerPlayer;
+	/**
+	 * Countries and continents owned by every player, as bitsets over the dense ids of the
+	 * indices.
+	 * */
+	private NameIndex countryIndex;
+	private NameIndex continentIndex;
+	private HashMap<Integer, OwnershipSet> conqueredCountriesPerPlayer;
+	private HashMap<Integer, OwnershipSet> conqueredContinentsPerPlayer;
+
+	/**
+	 * Number of players owning at least one country.
+	 * */
+	private int numberOfPlayersWithCountries;
+
+	/**
+	 * Bitsets of the countries of every continent, rebuilt when the countries change.
+	 * */
+	private transient HashMap<String, long[]> continentMasks;
 
 	private String mapAuthor;
 	public  String warn;
@@ -36,6 +58,39 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	private HashMap<String,Double> ownershipPercentage;
 	private HashMap<String,Integer> numberOfArmiesPerPlayer;
 	private ArrayList<Player> playersInfo;
+	private Long gameId = 0L;
+
+	/**
+	 * Zobrist hash of the owners and armies of the countries, the current player and the phase,
+	 * kept up to date by the methods of the map that change them.
+	 * */
+	private long stateHash = 0L;
+	private Integer currentPlayerId;
+	private Zobrist.Phase currentPhase;
+
+	/**
+	 * Countries and continents in the order of the snapshots, rebuilt when they change.
+	 * */
+	private transient Layout layout;
+	private transient MapJournal journal;
+
+	/**
+	 * Order of the countries and continents in the arrays of a snapshot, sorted by name.
+	 */
+	static final class Layout {
+		final Country[] countries;
+		final Continent[] continents;
+		final HashMap<String, Integer> countryIndices;
+
+		private Layout(Country[] countries, Continent[] continents) {
+			this.countries = countries;
+			this.continents = continents;
+			this.countryIndices = new HashMap<>();
+			for (int i = 0; i < countries.length; i++) {
+				countryIndices.put(countries[i].getCountryName(), i);
+			}
+		}
+	}
 
 	/**
 	 * Creates a default map by created instances of every map.
@@ -47,12 +102,15 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 		adjacentCountries = new HashMap<>();
 		continentObjects = new HashMap<>();
 		continentCountries = new HashMap<>();
+		countryIndex = new NameIndex();
+		continentIndex = new NameIndex();
 		conqueredCountriesPerPlayer = new HashMap<>();
 		conqueredContinentsPerPlayer = new HashMap<>();
 	}
 	
 	/**
-	 * Clones a game creating new objects.
+	 * Clones a game creating new objects, the countries, continents and their conquerors
+	 * included, so the clone can be played without changing this map.
 	 * 
 	 */
 	@Override
@@ -60,8 +118,32 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 		GameMap gameMap = null;
 		try {
 			gameMap = (GameMap) super.clone();
-			gameMap.countryObjects = new HashMap<>(countryObjects);
-			gameMap.continentObjects = new HashMap<>(continentObjects);
+			gameMap.layout = null;
+			gameMap.journal = null;
+			gameMap.continentMasks = null;
+
+			HashMap<String, Country> newCountryObjects = new HashMap<>();
+			for (Country country : countryObjects.values()) {
+				Country newCountry = new Country(country.getCountryName(), country.getCountryContinentName());
+				newCountry.setConquerorID(country.getCountryConquerorID());
+				newCountry.setArmyCount(country.getCountryArmyCount());
+				newCountry.setSameOwnerNeighbourCount(country.getSameOwnerNeighbourCount());
+				newCountryObjects.put(newCountry.getCountryName(), newCountry);
+			}
+			gameMap.countryObjects = newCountryObjects;
+
+			HashMap<String, Continent> newContinentObjects = new HashMap<>();
+			for (Continent continent : continentObjects.values()) {
+				Continent newContinent = new Continent(continent.getContinentName(), continent.getContinentControlValue());
+				newContinent.setContinentConquerorID(continent.getContinentConquerorID());
+				newContinentObjects.put(newContinent.getContinentName(), newContinent);
+			}
+			gameMap.continentObjects = newContinentObjects;
+
+			gameMap.countryIndex = countryIndex.copy();
+			gameMap.continentIndex = continentIndex.copy();
+			gameMap.conqueredCountriesPerPlayer = copySets(conqueredCountriesPerPlayer, gameMap.countryIndex);
+			gameMap.conqueredContinentsPerPlayer = copySets(conqueredContinentsPerPlayer, gameMap.continentIndex);
 			
 			HashMap<String, HashSet<String>> newAdjacentCountriesObject = new HashMap<>();
 			for(String countryName : this.adjacentCountries.keySet()) {
@@ -81,6 +163,239 @@ public class GameMap extends Observable implements Cloneable, Serializable {
  
         return gameMap;        // return deep copy
     }
+
+	/**
+	 * Copies the sets of the players onto a copy of their index.
+	 */
+	private static HashMap<Integer, OwnershipSet> copySets(HashMap<Integer, OwnershipSet> sets, NameIndex index) {
+		HashMap<Integer, OwnershipSet> copy = new HashMap<>();
+		for (Integer playerId : sets.keySet()) {
+			copy.put(playerId, new OwnershipSet(sets.get(playerId), index));
+		}
+		return copy;
+	}
+
+	/**
+	 * Gets the set of the countries of a player, created empty the first time.
+	 */
+	private OwnershipSet countriesOf(Integer playerId) {
+		return this.conqueredCountriesPerPlayer.computeIfAbsent(playerId, player -> new OwnershipSet(countryIndex));
+	}
+
+	/**
+	 * Gets the set of the continents of a player, created empty the first time.
+	 */
+	private OwnershipSet continentsOf(Integer playerId) {
+		return this.conqueredContinentsPerPlayer.computeIfAbsent(playerId, player -> new OwnershipSet(continentIndex));
+	}
+
+	/**
+	 * Gets the bitset of the countries of a continent.
+	 */
+	private long[] getContinentMask(String continentName) {
+		if (continentMasks == null) {
+			continentMasks = new HashMap<>();
+		}
+		long[] mask = continentMasks.get(continentName);
+		if (mask == null) {
+			mask = new long[Math.max(1, (countryIndex.size() + 63) >>> 6)];
+			for (String countryName : getContinentCountries(continentName)) {
+				int id = countryIndex.idOf(countryName);
+				if (id >= 0) {
+					mask[id >>> 6] |= 1L << id;
+				}
+			}
+			continentMasks.put(continentName, mask);
+		}
+		return mask;
+	}
+
+	/**
+	 * Moves a country from the set of its old owner to the set of the new one. The conqueror
+	 * of the country object is not changed.
+	 */
+	private void moveCountryOwnership(String countryName, Integer oldConquererPlayerId,
+			Integer newConquererPlayerId) {
+		int id = countryIndex.idOf(countryName);
+		updateNeighbourCounts(this.countryObjects.get(countryName), oldConquererPlayerId, newConquererPlayerId);
+		if (oldConquererPlayerId != null && !oldConquererPlayerId.equals(newConquererPlayerId)) {
+			excludeCountry(oldConquererPlayerId, id);
+		}
+		if (newConquererPlayerId != null) {
+			includeCountry(newConquererPlayerId, id);
+		}
+	}
+
+	/**
+	 * Updates the count of the neighbours owned by the same player of a country whose owner
+	 * changes, and of its neighbours.
+	 */
+	private void updateNeighbourCounts(Country country, Integer oldConquererPlayerId, Integer newConquererPlayerId) {
+		if (country == null || equal(oldConquererPlayerId, newConquererPlayerId)) {
+			return;
+		}
+		int sameOwnerNeighbours = 0;
+		for (String neighbourName : getAdjacentCountries(country.getCountryName())) {
+			Country neighbour = this.countryObjects.get(neighbourName);
+			if (neighbour == null || neighbour == country) {
+				continue;
+			}
+			if (neighbour.isConqueredBy(oldConquererPlayerId)) {
+				neighbour.setSameOwnerNeighbourCount(neighbour.getSameOwnerNeighbourCount() - 1);
+			} else if (neighbour.isConqueredBy(newConquererPlayerId)) {
+				neighbour.setSameOwnerNeighbourCount(neighbour.getSameOwnerNeighbourCount() + 1);
+				sameOwnerNeighbours++;
+			}
+		}
+		country.setSameOwnerNeighbourCount(newConquererPlayerId == null ? 0 : sameOwnerNeighbours);
+	}
+
+	/**
+	 * Counts again the neighbours owned by the same player of every country, after the owners
+	 * or the adjacencies were replaced.
+	 */
+	private void countNeighbours() {
+		for (Country country : this.countryObjects.values()) {
+			int sameOwnerNeighbours = 0;
+			if (country.getConquerorId() != Country.NO_CONQUEROR) {
+				for (String neighbourName : getAdjacentCountries(country.getCountryName())) {
+					Country neighbour = this.countryObjects.get(neighbourName);
+					if (neighbour != null && neighbour != country && country.hasSameConqueror(neighbour)) {
+						sameOwnerNeighbours++;
+					}
+				}
+			}
+			country.setSameOwnerNeighbourCount(sameOwnerNeighbours);
+		}
+	}
+
+	/**
+	 * Gets the number of neighbours of a country owned by the player owning it, kept up to
+	 * date as countries change owner.
+	 *
+	 * @param countryName the country name.
+	 * @return the number of neighbours of the same owner, 0 if the country has no owner.
+	 */
+	public int getSameOwnerNeighbourCount(String countryName) {
+		Country country = this.countryObjects.get(countryName);
+		return country == null ? 0 : country.getSameOwnerNeighbourCount();
+	}
+
+	/**
+	 * Checks if an owned country has only neighbours of its owner, so it cannot be attacked.
+	 *
+	 * @param countryName the country name.
+	 * @return true if every neighbour of the country belongs to its owner.
+	 */
+	public boolean isInteriorCountry(String countryName) {
+		Country country = this.countryObjects.get(countryName);
+		return country != null && country.getConquerorId() != Country.NO_CONQUEROR
+				&& country.getSameOwnerNeighbourCount() == getAdjacentCountries(countryName).size();
+	}
+
+	/**
+	 * Checks if an owned country has at least one neighbour of another player.
+	 *
+	 * @param countryName the country name.
+	 * @return true if the country borders an enemy.
+	 */
+	public boolean isFrontierCountry(String countryName) {
+		Country country = this.countryObjects.get(countryName);
+		return country != null && country.getConquerorId() != Country.NO_CONQUEROR
+				&& country.getSameOwnerNeighbourCount() < getAdjacentCountries(countryName).size();
+	}
+
+	/**
+	 * Checks if an owned country has no neighbour of its owner.
+	 *
+	 * @param countryName the country name.
+	 * @return true if no neighbour of the country belongs to its owner.
+	 */
+	public boolean isSurroundedCountry(String countryName) {
+		Country country = this.countryObjects.get(countryName);
+		return country != null && country.getConquerorId() != Country.NO_CONQUEROR && country.getSameOwnerNeighbourCount() == 0;
+	}
+
+	/**
+	 * Adds a country to the set of a player, counting the player if it had none.
+	 */
+	private void includeCountry(Integer playerId, int id) {
+		OwnershipSet countries = countriesOf(playerId);
+		if (countries.include(id) && countries.size() == 1) {
+			numberOfPlayersWithCountries++;
+		}
+	}
+
+	/**
+	 * Removes a country from the set of a player, no longer counting the player if it has none
+	 * left.
+	 */
+	private void excludeCountry(Integer playerId, int id) {
+		OwnershipSet countries = countriesOf(playerId);
+		if (countries.exclude(id) && countries.isEmpty()) {
+			numberOfPlayersWithCountries--;
+		}
+	}
+
+	/**
+	 * Counts again the players owning countries, after the sets were changed in bulk.
+	 */
+	private void countPlayersWithCountries() {
+		numberOfPlayersWithCountries = 0;
+		for (OwnershipSet countries : conqueredCountriesPerPlayer.values()) {
+			if (!countries.isEmpty()) {
+				numberOfPlayersWithCountries++;
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of players still owning at least one country, kept as countries change
+	 * owner.
+	 * 
+	 * @return the number of players with countries.
+	 */
+	public int getNumberOfPlayersWithCountries() {
+		return numberOfPlayersWithCountries;
+	}
+
+	/**
+	 * Checks if a player owns all the countries of a continent.
+	 */
+	private boolean ownsContinent(Integer playerId, String continentName) {
+		return playerId != null && countriesOf(playerId).containsAllIds(getContinentMask(continentName));
+	}
+
+	/**
+	 * Builds again the indices and the sets of the players from the countries and continents,
+	 * after they were replaced.
+	 */
+	private void rebuildOwnership() {
+		countryIndex.clear();
+		for (String countryName : countryObjects.keySet()) {
+			countryIndex.add(countryName);
+		}
+		continentIndex.clear();
+		for (String continentName : continentObjects.keySet()) {
+			continentIndex.add(continentName);
+		}
+		conqueredCountriesPerPlayer.clear();
+		for (Country country : countryObjects.values()) {
+			if (country.getCountryConquerorID() != null) {
+				countriesOf(country.getCountryConquerorID()).include(countryIndex.idOf(country.getCountryName()));
+			}
+		}
+		conqueredContinentsPerPlayer.clear();
+		for (Continent continent : continentObjects.values()) {
+			if (continent.getContinentConquerorID() != null) {
+				continentsOf(continent.getContinentConquerorID()).include(continentIndex.idOf(continent.getContinentName()));
+			}
+		}
+		continentMasks = null;
+		layout = null;
+		countNeighbours();
+		countPlayersWithCountries();
+	}
 	
 	/**
 	 * Adds the country to the map.
@@ -91,6 +406,9 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	public void addCountry(String countryName, String countryContinentName) {
 		Country country = new Country(countryName, countryContinentName);
 		this.countryObjects.put(country.getCountryName(), country);
+		this.countryIndex.add(country.getCountryName());
+		this.layout = null;
+		this.continentMasks = null;
 		if(!this.continentCountries.containsKey(country.getCountryContinentName())) {
 			this.continentCountries.put(country.getCountryContinentName(), new HashSet<>());
 		}
@@ -99,6 +417,7 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 
 	/**
 	 * Removes country from the map. Only to be used by MapEditor, before Startup Phase.
+	 * Adjacencies are set both ways, so only the neighbours of the country are visited.
 	 * 
 	 * @param countryName name of the country to be removed
 	 */
@@ -106,10 +425,16 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 		Country country = this.countryObjects.get(countryName);
 
 		/* Removes country name from adjacentCountries */
-		this.adjacentCountries.remove(countryName);
-		for(String fromCountryKey : adjacentCountries.keySet()) {
-			if(this.adjacentCountries.get(fromCountryKey).contains(countryName)) {
-				this.adjacentCountries.get(fromCountryKey).remove(countryName);
+		HashSet<String> neighbours = this.adjacentCountries.remove(countryName);
+		if (neighbours != null) {
+			for (String neighbourName : neighbours) {
+				HashSet<String> neighbourAdjacency = this.adjacentCountries.get(neighbourName);
+				if (neighbourAdjacency != null && neighbourAdjacency.remove(countryName)) {
+					Country neighbour = this.countryObjects.get(neighbourName);
+					if (neighbour != null && neighbour != country && country.hasSameConqueror(neighbour)) {
+						neighbour.setSameOwnerNeighbourCount(neighbour.getSameOwnerNeighbourCount() - 1);
+					}
+				}
 			}
 		}
 
@@ -117,7 +442,21 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 		this.continentCountries.get(country.getCountryContinentName()).remove(countryName);
 
 		/* Removes country object from countryObjects */
+		this.stateHash ^= Zobrist.countryStateKey(country);
 		this.countryObjects.remove(countryName);
+		this.layout = null;
+		this.continentMasks = null;
+
+		/* Removes the country from the sets, the last country taking its id */
+		int lastId = countryIndex.size() - 1;
+		int id = countryIndex.remove(countryName);
+		if (id >= 0) {
+			for (OwnershipSet countries : conqueredCountriesPerPlayer.values()) {
+				countries.exclude(id);
+				countries.move(lastId, id);
+			}
+			countPlayersWithCountries();
+		}
 	}
 	
 	/**
@@ -160,6 +499,8 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	public void addContinent(String continentName, Integer controlValue) {
 		Continent continent = new Continent(continentName, controlValue);
 		this.continentObjects.put(continent.getContinentName(), continent);
+		this.continentIndex.add(continent.getContinentName());
+		this.layout = null;
 	}
 
 	/**
@@ -169,11 +510,23 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	 * */
 	public void removeContinent(String continentName) {
 		this.continentObjects.remove(continentName);
+		this.layout = null;
 		Object[] continentCountriesSet = getContinentCountries(continentName).toArray();
 		for(Object continentCountry : continentCountriesSet) {
 			removeCountry(continentCountry.toString());
 		}
 		continentCountries.remove(continentName);
+
+		/* Removes the continent from the sets, the last continent taking its id */
+		int lastId = continentIndex.size() - 1;
+		int id = continentIndex.remove(continentName);
+		if (id >= 0) {
+			for (OwnershipSet continents : conqueredContinentsPerPlayer.values()) {
+				continents.exclude(id);
+				continents.move(lastId, id);
+			}
+		}
+		this.continentMasks = null;
 	}
 	
 	/**
@@ -219,7 +572,13 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 		if (!this.adjacentCountries.containsKey(fromCountry)) {
 			this.adjacentCountries.put(fromCountry, new HashSet<>());
 		}
-		this.adjacentCountries.get(fromCountry).add(toCountry);
+		if (this.adjacentCountries.get(fromCountry).add(toCountry)) {
+			Country from = this.countryObjects.get(fromCountry);
+			Country to = this.countryObjects.get(toCountry);
+			if (from != null && to != null && from != to && from.hasSameConqueror(to)) {
+				from.setSameOwnerNeighbourCount(from.getSameOwnerNeighbourCount() + 1);
+			}
+		}
 	}
 	
 	/**
@@ -267,6 +626,11 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 		if (this.adjacentCountries.containsKey(countryName)
 				&& this.adjacentCountries.get(countryName).contains(adjacentCountryName)) {
 			this.adjacentCountries.get(countryName).remove(adjacentCountryName);
+			Country from = this.countryObjects.get(countryName);
+			Country to = this.countryObjects.get(adjacentCountryName);
+			if (from != null && to != null && from != to && from.hasSameConqueror(to)) {
+				from.setSameOwnerNeighbourCount(from.getSameOwnerNeighbourCount() - 1);
+			}
 			return true;
 		}
 		return false;
@@ -293,17 +657,16 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	 * */
 	public void setCountryConquerer(String countryName, Integer playerId) {
 
-		if(!this.conqueredCountriesPerPlayer.containsKey(playerId)) {
-			this.conqueredCountriesPerPlayer.put(playerId, new HashSet<>());
-		}
-		this.conqueredCountriesPerPlayer.get(playerId).add(countryName);
-
 		Country country= this.getCountry(countryName);
+		recordCountry(country);
+		moveCountryOwnership(countryName, country.getCountryConquerorID(), playerId);
+		this.stateHash ^= Zobrist.ownerKey(country.getZobristKey(), country.getCountryConquerorID())
+				^ Zobrist.ownerKey(country.getZobristKey(), playerId);
 		country.setConquerorID(playerId);
 		
 		// continent domiancy check
 		String countryContinent = country.getCountryContinentName();
-		if (this.conqueredCountriesPerPlayer.get(playerId).containsAll(this.continentCountries.get(countryContinent))) {
+		if (ownsContinent(playerId, countryContinent)) {
 			this.setContinentConquerer(countryContinent, playerId);
 		}
 		
@@ -317,46 +680,49 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	 * @param playerId the player id.
 	 * */
 	public void setContinentConquerer(String continentName, Integer playerId) {
-		if(!this.conqueredContinentsPerPlayer.containsKey(playerId)) {
-			this.conqueredContinentsPerPlayer.put(playerId, new HashSet<>());
-		}
-		
-		for (Integer player : this.conqueredContinentsPerPlayer.keySet()) {
-			if (this.conqueredContinentsPerPlayer.get(player).contains(continentName)) {
-				this.conqueredContinentsPerPlayer.get(player).remove(continentName);
+		assignContinentConquerer(continentName, playerId);
+		notifyView();
+	}
+
+	/**
+	 * Sets the continent conqueror without notifying the observers.
+	 * 
+	 * @param continentName the continent name.
+	 * @param playerId the player id.
+	 * */
+	private void assignContinentConquerer(String continentName, Integer playerId) {
+		int id = continentIndex.idOf(continentName);
+		for (OwnershipSet continents : this.conqueredContinentsPerPlayer.values()) {
+			if (continents.exclude(id)) {
 				break;
 			}
 		}
-		this.conqueredContinentsPerPlayer.get(playerId).add(continentName);
+		continentsOf(playerId).include(id);
 		Continent continent = this.getContinent(continentName);
+		if (journal != null) {
+			journal.recordContinent(continent);
+		}
 		continent.setContinentConquerorID(playerId);
-		notifyView();
 	}
 	
 	/**
 	 * Gets the conquered countries per player.
 	 * 
 	 * @param playerId the player id.
-	 * @return the set of countries owned by a player.
+	 * @return a read-only view of the countries owned by a player, that follows the changes.
 	 * */
-	public  HashSet<String> getConqueredCountries(Integer playerId){
-		if(!this.conqueredCountriesPerPlayer.containsKey(playerId)) {
-			return new HashSet<>();
-		}
-		return this.conqueredCountriesPerPlayer.get(playerId);
+	public Set<String> getConqueredCountries(Integer playerId){
+		return countriesOf(playerId);
 	}
 	
 	/**
 	 * Gets the conquered continents per player.
 	 * 
 	 * @param playerId the player id.
-	 * @return the set of continents owned by a player.
+	 * @return a read-only view of the continents owned by a player, that follows the changes.
 	 * */
-	public  HashSet<String> getConqueredContinentsPerPlayer(Integer playerId){
-		if(!this.conqueredContinentsPerPlayer.containsKey(playerId)) {
-			return new HashSet<>();
-		}
-		return this.conqueredContinentsPerPlayer.get(playerId);
+	public Set<String> getConqueredContinentsPerPlayer(Integer playerId){
+		return continentsOf(playerId);
 	}
 
 	/**
@@ -367,22 +733,397 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	 * @param newConquererPlayerId the new coqueror id.
 	 * */
 	public void updateCountryConquerer(String countryName, Integer oldConquererPlayerId, Integer newConquererPlayerId) {
-		if(this.conqueredCountriesPerPlayer.get(oldConquererPlayerId).contains(countryName)) {
-			this.conqueredCountriesPerPlayer.get(oldConquererPlayerId).remove(countryName);
-		}
-		this.conqueredCountriesPerPlayer.get(newConquererPlayerId).add(countryName);
-
 		Country country= this.getCountry(countryName);
+		recordCountry(country);
+		moveCountryOwnership(countryName, oldConquererPlayerId, newConquererPlayerId);
+
+		commitConquestEvent(countryName, oldConquererPlayerId, newConquererPlayerId);
+
+		this.stateHash ^= Zobrist.ownerKey(country.getZobristKey(), country.getCountryConquerorID())
+				^ Zobrist.ownerKey(country.getZobristKey(), newConquererPlayerId);
 		country.setConquerorID(newConquererPlayerId);
 		
 		//continent domiancy check
 		String countryContinent = country.getCountryContinentName();
-		if(this.conqueredCountriesPerPlayer.get(newConquererPlayerId).containsAll(this.continentCountries.get(countryContinent))) {
+		if(ownsContinent(newConquererPlayerId, countryContinent)) {
 			this.setContinentConquerer(countryContinent, newConquererPlayerId);
 		}
 		calculateOwnershipPercentage();
 	}
 	
+	/**
+	 * Transfers the ownership of many countries at once. Every country moves from its current
+	 * owner to its new one as with updateCountryConquerer, but the continent control is only
+	 * checked once for every continent touched, the statistics per player are computed once
+	 * and the observers are notified once.
+	 * 
+	 * @param newConquerors the new conqueror of every country, by country name.
+	 * @return the number of countries that changed owner.
+	 * @throws IllegalArgumentException if a country is unknown or has no new conqueror, the
+	 *             map is then left unchanged.
+	 * */
+	public int transferCountries(Map<String, Integer> newConquerors) {
+		for (Map.Entry<String, Integer> transfer : newConquerors.entrySet()) {
+			if (this.getCountry(transfer.getKey()) == null) {
+				throw new IllegalArgumentException("Unknown country: " + transfer.getKey());
+			}
+			if (transfer.getValue() == null) {
+				throw new IllegalArgumentException("No new conqueror for " + transfer.getKey());
+			}
+		}
+
+		HashMap<String, HashSet<Integer>> receiversPerContinent = new HashMap<>();
+		int numberOfTransfers = 0;
+		for (Map.Entry<String, Integer> transfer : newConquerors.entrySet()) {
+			String countryName = transfer.getKey();
+			Integer newConquererPlayerId = transfer.getValue();
+			Country country = this.getCountry(countryName);
+			Integer oldConquererPlayerId = country.getCountryConquerorID();
+			if (newConquererPlayerId.equals(oldConquererPlayerId)) {
+				continue;
+			}
+			recordCountry(country);
+			moveCountryOwnership(countryName, oldConquererPlayerId, newConquererPlayerId);
+			commitConquestEvent(countryName, oldConquererPlayerId, newConquererPlayerId);
+
+			this.stateHash ^= Zobrist.ownerKey(country.getZobristKey(), oldConquererPlayerId)
+					^ Zobrist.ownerKey(country.getZobristKey(), newConquererPlayerId);
+			country.setConquerorID(newConquererPlayerId);
+			receiversPerContinent.computeIfAbsent(country.getCountryContinentName(), name -> new HashSet<>())
+					.add(newConquererPlayerId);
+			numberOfTransfers++;
+		}
+		if (numberOfTransfers == 0) {
+			return 0;
+		}
+
+		// continent domiancy check, once per continent touched, for the players receiving its countries
+		for (Map.Entry<String, HashSet<Integer>> receivers : receiversPerContinent.entrySet()) {
+			for (Integer receiverId : receivers.getValue()) {
+				if (ownsContinent(receiverId, receivers.getKey())) {
+					assignContinentConquerer(receivers.getKey(), receiverId);
+					break;
+				}
+			}
+		}
+		refreshPlayerStatistics();
+		return numberOfTransfers;
+	}
+
+	/**
+	 * Records the conquest of a country, if the event is enabled.
+	 * 
+	 * @param countryName the country name.
+	 * @param oldConquererPlayerId the old conqueror id.
+	 * @param newConquererPlayerId the new coqueror id.
+	 * */
+	private void commitConquestEvent(String countryName, Integer oldConquererPlayerId, Integer newConquererPlayerId) {
+		ConquestEvent conquestEvent = new ConquestEvent();
+		if (conquestEvent.isEnabled()) {
+			conquestEvent.setContext(this);
+			conquestEvent.country = countryName;
+			conquestEvent.previousPlayerId = oldConquererPlayerId == null ? 0 : oldConquererPlayerId;
+			conquestEvent.playerId = newConquererPlayerId;
+			conquestEvent.strategy = getPlayerStrategyName(newConquererPlayerId);
+			conquestEvent.commit();
+		}
+	}
+
+	/**
+	 * Gets the strategy name of a player, for the recorded events.
+	 * 
+	 * @param playerId the player id.
+	 * @return the simple class name of the strategy, null if the player is unknown.
+	 * */
+	private String getPlayerStrategyName(Integer playerId) {
+		if (playersInfo != null) {
+			for (Player player : playersInfo) {
+				if (player.getStrategyType().getPlayerID().equals(playerId)) {
+					return player.getStrategyType().getClass().getSimpleName();
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Sets the id of the game played on this map.
+	 * 
+	 * @param gameId the game id.
+	 * */
+	public void setGameId(Long gameId) {
+		this.gameId = gameId;
+	}
+
+	/**
+	 * Gets the id of the game played on this map.
+	 * 
+	 * @return the game id, 0 if no game was started on it.
+	 * */
+	public Long getGameId() {
+		return this.gameId;
+	}
+
+	/**
+	 * Sets the player whose turn it is and the phase of the turn, both part of the state hash.
+	 * 
+	 * @param playerId the player id.
+	 * @param phase the phase of the turn.
+	 * */
+	public void setCurrentTurn(Integer playerId, Zobrist.Phase phase) {
+		this.stateHash ^= Zobrist.playerKey(this.currentPlayerId) ^ Zobrist.phaseKey(this.currentPhase)
+				^ Zobrist.playerKey(playerId) ^ Zobrist.phaseKey(phase);
+		this.currentPlayerId = playerId;
+		this.currentPhase = phase;
+	}
+
+	/**
+	 * Gets the player whose turn it is.
+	 * 
+	 * @return the player id, null before the first turn.
+	 * */
+	public Integer getCurrentPlayerId() {
+		return this.currentPlayerId;
+	}
+
+	/**
+	 * Gets the phase of the current turn.
+	 * 
+	 * @return the phase, null before the first turn.
+	 * */
+	public Zobrist.Phase getCurrentPhase() {
+		return this.currentPhase;
+	}
+
+	/**
+	 * Gets the Zobrist hash of the owners and armies of the countries, the current player and
+	 * the phase. It is maintained incrementally, changes made on the Country objects directly
+	 * instead of through the map are not seen.
+	 * 
+	 * @return the state hash.
+	 * */
+	public long getStateHash() {
+		return this.stateHash;
+	}
+
+	/**
+	 * Computes the state hash from scratch.
+	 * 
+	 * @return the hash of the current state.
+	 * */
+	public long computeStateHash() {
+		long hash = Zobrist.playerKey(this.currentPlayerId) ^ Zobrist.phaseKey(this.currentPhase);
+		for (Country country : this.countryObjects.values()) {
+			hash ^= Zobrist.countryStateKey(country);
+		}
+		return hash;
+	}
+
+	/**
+	 * Gets the order of the countries and continents in the snapshots, built again after the
+	 * countries or continents of the map changed.
+	 * 
+	 * @return the layout.
+	 * */
+	Layout getLayout() {
+		if (layout == null || layout.countries.length != countryObjects.size()
+				|| layout.continents.length != continentObjects.size()) {
+			Country[] countries = countryObjects.values().toArray(new Country[0]);
+			Arrays.sort(countries, Comparator.comparing(Country::getCountryName));
+			Continent[] continents = continentObjects.values().toArray(new Continent[0]);
+			Arrays.sort(continents, Comparator.comparing(Continent::getContinentName));
+			layout = new Layout(countries, continents);
+		}
+		return layout;
+	}
+
+	/**
+	 * Takes a snapshot of the owners and armies of the countries, the conquerors of the
+	 * continents and the turn.
+	 * 
+	 * @return the snapshot.
+	 * */
+	public GameMapSnapshot createSnapshot() {
+		GameMapSnapshot snapshot = new GameMapSnapshot(getLayout());
+		captureSnapshot(snapshot);
+		return snapshot;
+	}
+
+	/**
+	 * Takes a snapshot into an existing one, without allocating.
+	 * 
+	 * @param snapshot a snapshot of this map, taken since its countries and continents last changed.
+	 * */
+	public void captureSnapshot(GameMapSnapshot snapshot) {
+		Layout currentLayout = getLayout();
+		if (snapshot.layout != currentLayout) {
+			throw new IllegalArgumentException("The snapshot was not taken on the current countries of this map");
+		}
+		for (int i = 0; i < currentLayout.countries.length; i++) {
+			snapshot.countryOwners[i] = currentLayout.countries[i].getConquerorId();
+			snapshot.countryArmies[i] = currentLayout.countries[i].getArmies();
+		}
+		for (int i = 0; i < currentLayout.continents.length; i++) {
+			snapshot.continentOwners[i] = GameMapSnapshot.encode(currentLayout.continents[i].getContinentConquerorID());
+		}
+		snapshot.stateHash = this.stateHash;
+		snapshot.currentPlayerId = this.currentPlayerId;
+		snapshot.currentPhase = this.currentPhase;
+	}
+
+	/**
+	 * Puts the map back in the state of a snapshot. The countries that change are recorded
+	 * in the journal if it is open, and the observers are notified once.
+	 * 
+	 * @param snapshot a snapshot of this map, taken since its countries and continents last changed.
+	 * */
+	public void restoreSnapshot(GameMapSnapshot snapshot) {
+		Layout currentLayout = getLayout();
+		if (snapshot.layout != currentLayout) {
+			throw new IllegalArgumentException("The snapshot was not taken on the current countries of this map");
+		}
+		for (OwnershipSet countries : conqueredCountriesPerPlayer.values()) {
+			countries.clearAll();
+		}
+		for (int i = 0; i < currentLayout.countries.length; i++) {
+			Country country = currentLayout.countries[i];
+			Integer owner = GameMapSnapshot.decode(snapshot.countryOwners[i]);
+			Integer armies = GameMapSnapshot.decode(snapshot.countryArmies[i]);
+			if (journal != null && (snapshot.countryOwners[i] != country.getConquerorId()
+					|| snapshot.countryArmies[i] != country.getArmies())) {
+				journal.recordCountry(country);
+			}
+			country.setConquerorID(owner);
+			country.setArmyCount(armies);
+			if (owner != null) {
+				countriesOf(owner).include(countryIndex.idOf(country.getCountryName()));
+			}
+		}
+		for (OwnershipSet continents : conqueredContinentsPerPlayer.values()) {
+			continents.clearAll();
+		}
+		for (int i = 0; i < currentLayout.continents.length; i++) {
+			Continent continent = currentLayout.continents[i];
+			Integer owner = GameMapSnapshot.decode(snapshot.continentOwners[i]);
+			if (journal != null && !equal(owner, continent.getContinentConquerorID())) {
+				journal.recordContinent(continent);
+			}
+			continent.setContinentConquerorID(owner);
+			if (owner != null) {
+				continentsOf(owner).include(continentIndex.idOf(continent.getContinentName()));
+			}
+		}
+		this.stateHash = snapshot.stateHash;
+		this.currentPlayerId = snapshot.currentPlayerId;
+		this.currentPhase = snapshot.currentPhase;
+		countNeighbours();
+		countPlayersWithCountries();
+		refreshPlayerStatistics();
+	}
+
+	private static boolean equal(Integer first, Integer second) {
+		return first == null ? second == null : first.equals(second);
+	}
+
+	/**
+	 * Computes again the armies and ownership per player after the state was changed in bulk,
+	 * which notifies the observers.
+	 * */
+	private void refreshPlayerStatistics() {
+		if (playersInfo != null) {
+			calculateNumberOfArmiesPerPlayer();
+			calculateOwnershipPercentage();
+		} else {
+			notifyView();
+		}
+	}
+
+	/**
+	 * Records a country in the journal, if it is open, before it changes.
+	 * 
+	 * @param country the country.
+	 * */
+	private void recordCountry(Country country) {
+		if (journal != null) {
+			journal.recordCountry(country);
+		}
+	}
+
+	/**
+	 * Opens the journal: from now on the map records every change of the owners and armies of
+	 * the countries and of the conquerors of the continents, so they can be undone.
+	 * */
+	public void startJournal() {
+		if (journal == null) {
+			journal = new MapJournal();
+		}
+	}
+
+	/**
+	 * Closes the journal, forgetting the changes it recorded.
+	 * */
+	public void stopJournal() {
+		journal = null;
+	}
+
+	/**
+	 * Gets a mark of the current state, to be given to undoTo.
+	 * 
+	 * @return the mark.
+	 * */
+	public int getJournalMark() {
+		if (journal == null) {
+			throw new IllegalStateException("The journal is not open");
+		}
+		return journal.size();
+	}
+
+	/**
+	 * Undoes the changes recorded since a mark, the last one first, and notifies the observers
+	 * once.
+	 * 
+	 * @param mark a mark from getJournalMark.
+	 * */
+	public void undoTo(int mark) {
+		if (journal == null || mark < 0 || mark > journal.size()) {
+			throw new IllegalStateException("Invalid journal mark: " + mark);
+		}
+		while (journal.size() > mark) {
+			Object target = journal.pop();
+			Integer previousOwner = journal.getPoppedOwner();
+			if (target instanceof Country) {
+				Country country = (Country) target;
+				Integer previousArmies = journal.getPoppedArmies();
+				Integer owner = country.getCountryConquerorID();
+				long key = country.getZobristKey();
+				this.stateHash ^= Zobrist.ownerKey(key, owner) ^ Zobrist.ownerKey(key, previousOwner)
+						^ Zobrist.armyKey(key, country.getCountryArmyCount()) ^ Zobrist.armyKey(key, previousArmies);
+				int id = countryIndex.idOf(country.getCountryName());
+				if (owner != null && !owner.equals(previousOwner)) {
+					excludeCountry(owner, id);
+				}
+				if (previousOwner != null) {
+					includeCountry(previousOwner, id);
+				}
+				updateNeighbourCounts(country, owner, previousOwner);
+				country.setConquerorID(previousOwner);
+				country.setArmyCount(previousArmies);
+			} else {
+				Continent continent = (Continent) target;
+				Integer owner = continent.getContinentConquerorID();
+				int id = continentIndex.idOf(continent.getContinentName());
+				if (owner != null) {
+					continentsOf(owner).exclude(id);
+				}
+				if (previousOwner != null) {
+					continentsOf(previousOwner).include(id);
+				}
+				continent.setContinentConquerorID(previousOwner);
+			}
+		}
+		refreshPlayerStatistics();
+	}
+
 	/**
 	 * Sets the map author.
 	 * 
@@ -428,7 +1169,10 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	public void addArmyToCountry(String country, Integer armyCount) {
 		
 		Country countryObject = countryObjects.get(country);
+		recordCountry(countryObject);
+		this.stateHash ^= Zobrist.armyKey(countryObject.getZobristKey(), countryObject.getArmies());
 		countryObject.addArmy(armyCount);
+		this.stateHash ^= Zobrist.armyKey(countryObject.getZobristKey(), countryObject.getArmies());
 		countryObjects.put(country, countryObject);
 		
 		calculateNumberOfArmiesPerPlayer();
@@ -444,12 +1188,90 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	public void deductArmyToCountry(String country, Integer armyCount) {
 		
 		Country countryObject = countryObjects.get(country);
+		recordCountry(countryObject);
+		this.stateHash ^= Zobrist.armyKey(countryObject.getZobristKey(), countryObject.getArmies());
 		countryObject.deductArmy(armyCount);
+		this.stateHash ^= Zobrist.armyKey(countryObject.getZobristKey(), countryObject.getArmies());
 		countryObjects.put(country, countryObject);
 		
 		calculateNumberOfArmiesPerPlayer();
 		notifyView();
 	}
+
+	/**
+	 * Gets the index of a country in the army vectors and the snapshots of this map, which
+	 * follow the order of the country names until a country is added or removed.
+	 * 
+	 * @param countryName the country name.
+	 * @return the index of the country.
+	 * */
+	public int getCountryIndex(String countryName) {
+		Integer index = getLayout().countryIndices.get(countryName);
+		if (index == null) {
+			throw new IllegalArgumentException("Unknown country: " + countryName);
+		}
+		return index;
+	}
+
+	/**
+	 * Gets the armies of every country, indexed like getCountryIndex.
+	 * 
+	 * @return a new vector of the army counts, a country without armies counting 0.
+	 * */
+	public int[] getArmyVector() {
+		Layout currentLayout = getLayout();
+		int[] armies = new int[currentLayout.countries.length];
+		for (int i = 0; i < armies.length; i++) {
+			armies[i] = currentLayout.countries[i].getArmies();
+		}
+		return armies;
+	}
+
+	/**
+	 * Adds a vector of army changes to the countries in one pass. The whole vector is checked
+	 * before any country changes, the changes are journaled and hashed like single ones, and the
+	 * armies per player are computed and the observers notified once.
+	 * 
+	 * @param deltas the change of the armies of every country, indexed like getCountryIndex.
+	 * @return the number of countries changed.
+	 * @throws IllegalArgumentException if the vector does not have one change per country or
+	 *         a country would be left with a negative number of armies.
+	 * */
+	public int applyArmyDeltas(int[] deltas) {
+		Layout currentLayout = getLayout();
+		if (deltas.length != currentLayout.countries.length) {
+			throw new IllegalArgumentException("Expected " + currentLayout.countries.length + " army changes, got " + deltas.length);
+		}
+		for (int i = 0; i < deltas.length; i++) {
+			long newArmyCount = (long) currentLayout.countries[i].getArmies() + deltas[i];
+			if (newArmyCount < 0 || newArmyCount > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("Invalid army count " + newArmyCount + " for country "
+						+ currentLayout.countries[i].getCountryName());
+			}
+		}
+
+		int numberOfChanges = 0;
+		for (int i = 0; i < deltas.length; i++) {
+			if (deltas[i] == 0) {
+				continue;
+			}
+			Country country = currentLayout.countries[i];
+			int armyCount = country.getArmies();
+			recordCountry(country);
+			this.stateHash ^= Zobrist.armyKey(country.getZobristKey(), armyCount);
+			country.setArmyCount(armyCount + deltas[i]);
+			this.stateHash ^= Zobrist.armyKey(country.getZobristKey(), armyCount + deltas[i]);
+			numberOfChanges++;
+		}
+
+		if (numberOfChanges > 0) {
+			if (playersInfo != null) {
+				calculateNumberOfArmiesPerPlayer();
+			}
+			notifyView();
+		}
+		return numberOfChanges;
+	}
 	
 	/**
     *Calculates the number of armies per player.
@@ -458,7 +1280,7 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	public void calculateNumberOfArmiesPerPlayer() {
 		
 		HashMap<String, Country> countries = getAllCountries();
-		HashSet<String> countriesPerPlayer;
+		Set<String> countriesPerPlayer;
 		numberOfArmiesPerPlayer = new HashMap<String,Integer>();
 		Integer numberOfArmies;
 		Integer armyCount;
@@ -495,7 +1317,7 @@ public class GameMap extends Observable implements Cloneable, Serializable {
         Double percentageOfOwnership = 0.0;
 
         for(Player eachPlayer : playersInfo){
-           HashSet<String> countiresOwned= conqueredCountriesPerPlayer.get(eachPlayer.getStrategyType().getPlayerID());
+           OwnershipSet countiresOwned= conqueredCountriesPerPlayer.get(eachPlayer.getStrategyType().getPlayerID());
            
            if(countiresOwned == null) {
         	   counteriesOwnedPlayer = 0;
@@ -534,10 +1356,10 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	/**
 	 * Getter of Conquered countries per player object
 	 * 
-	 * @return the map of conquered countries per player.
+	 * @return a read-only view of the map of conquered countries per player.
 	 * */
-	public HashMap<Integer, HashSet<String>> getConqueredCountriesPerPlayerObject() {
-		return conqueredCountriesPerPlayer;
+	public Map<Integer, Set<String>> getConqueredCountriesPerPlayerObject() {
+		return Collections.<Integer, Set<String>>unmodifiableMap(conqueredCountriesPerPlayer);
 	}
 	
 	/**
@@ -545,8 +1367,14 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	 * 
 	 * @param conqueredContinentsPerPlayer the map of conquered continents per player.
 	 * */
-	public void setConqueredContinentsPerPlayer(HashMap<Integer, HashSet<String>> conqueredContinentsPerPlayer) {
-		this.conqueredContinentsPerPlayer = conqueredContinentsPerPlayer;
+	public void setConqueredContinentsPerPlayer(Map<Integer, ? extends Set<String>> conqueredContinentsPerPlayer) {
+		this.conqueredContinentsPerPlayer.clear();
+		for (Integer playerId : conqueredContinentsPerPlayer.keySet()) {
+			OwnershipSet continents = continentsOf(playerId);
+			for (String continentName : conqueredContinentsPerPlayer.get(playerId)) {
+				continents.include(continentIndex.add(continentName));
+			}
+		}
 	}
 	
 	/**
@@ -556,6 +1384,8 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	 * */
 	public void setCountryObjects(HashMap<String, Country> countryObjects) {
 		this.countryObjects = countryObjects;
+		this.stateHash = computeStateHash();
+		rebuildOwnership();
 	}
 
 	public HashMap<String, Continent> getContinentObjects() {
@@ -569,6 +1399,7 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	 * */
 	public void setContinentObjects(HashMap<String, Continent> continentObjects) {
 		this.continentObjects = continentObjects;
+		rebuildOwnership();
 	}
 	
 	/**
@@ -587,6 +1418,7 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	 * */
 	public void setAdjacentCountries(HashMap<String, HashSet<String>> adjacentCountries) {
 		this.adjacentCountries = adjacentCountries;
+		countNeighbours();
 	}
 	
 	/**
@@ -605,15 +1437,16 @@ public class GameMap extends Observable implements Cloneable, Serializable {
 	 * */
 	public void setContinentCountries(HashMap<String, HashSet<String>> continentCountries) {
 		this.continentCountries = continentCountries;
+		this.continentMasks = null;
 	}
 	
 	/**
 	 * Gets the conquered continents per player.
 	 * 
-	 * @return map of the conquered continents per player. 
+	 * @return a read-only view of the map of the conquered continents per player. 
 	 * */
-	public HashMap<Integer, HashSet<String>> getConqueredContinentsPerPlayer() {
-		return this.conqueredContinentsPerPlayer;
+	public Map<Integer, Set<String>> getConqueredContinentsPerPlayer() {
+		return Collections.<Integer, Set<String>>unmodifiableMap(this.conqueredContinentsPerPlayer);
 	}
 	
 	/**
@@ -0,0 +1,111 @@
+package com.java.model.map;
+
+/**
+ * GameMapSnapshot holds the owners and armies of the countries of a GameMap, the conquerors of
+ * its continents and its turn, in primitive arrays indexed like the layout of the map.
+ *
+ * A snapshot is taken with GameMap.createSnapshot or GameMap.captureSnapshot, and given back to
+ * GameMap.restoreSnapshot to put the map back in the captured state. Snapshots of the same map
+ * share its layout, so copying one into another is a few array copies.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public final class GameMapSnapshot {
+
+	/**
+	 * Value of an owner or an army count that is null.
+	 * */
+	public static final int NONE = Integer.MIN_VALUE;
+
+	final GameMap.Layout layout;
+	final int[] countryOwners;
+	final int[] countryArmies;
+	final int[] continentOwners;
+	long stateHash;
+	Integer currentPlayerId;
+	Zobrist.Phase currentPhase;
+
+	GameMapSnapshot(GameMap.Layout layout) {
+		this.layout = layout;
+		this.countryOwners = new int[layout.countries.length];
+		this.countryArmies = new int[layout.countries.length];
+		this.continentOwners = new int[layout.continents.length];
+	}
+
+	static int encode(Integer value) {
+		return value == null ? NONE : value;
+	}
+
+	static Integer decode(int value) {
+		return value == NONE ? null : value;
+	}
+
+	/**
+	 * Overwrites this snapshot with another one of the same map, without allocating.
+	 *
+	 * @param other the snapshot to be copied.
+	 */
+	public void copyFrom(GameMapSnapshot other) {
+		if (other.layout != layout) {
+			throw new IllegalArgumentException("Snapshots of different map layouts");
+		}
+		System.arraycopy(other.countryOwners, 0, countryOwners, 0, countryOwners.length);
+		System.arraycopy(other.countryArmies, 0, countryArmies, 0, countryArmies.length);
+		System.arraycopy(other.continentOwners, 0, continentOwners, 0, continentOwners.length);
+		stateHash = other.stateHash;
+		currentPlayerId = other.currentPlayerId;
+		currentPhase = other.currentPhase;
+	}
+
+	/**
+	 * @param other another snapshot.
+	 * @return true if both snapshots were taken on the same countries of the same map, so one
+	 *         can be copied into the other.
+	 */
+	public boolean hasSameLayout(GameMapSnapshot other) {
+		return other.layout == layout;
+	}
+
+	/**
+	 * @return the number of countries of the snapshot.
+	 */
+	public int getNumberOfCountries() {
+		return countryOwners.length;
+	}
+
+	/**
+	 * @param index the index of the country in the snapshot.
+	 * @return the name of the country.
+	 */
+	public String getCountryName(int index) {
+		return layout.countries[index].getCountryName();
+	}
+
+	/**
+	 * @param index the index of the country in the snapshot.
+	 * @return the owner id, null if the country has no owner.
+	 */
+	public Integer getCountryOwner(int index) {
+		return decode(countryOwners[index]);
+	}
+
+	/**
+	 * @param index the index of the country in the snapshot.
+	 * @return the army count, null if the country has none set.
+	 */
+	public Integer getCountryArmies(int index) {
+		return decode(countryArmies[index]);
+	}
+
+	/**
+	 * @return the state hash of the map when the snapshot was taken.
+	 */
+	public long getStateHash() {
+		return stateHash;
+	}
+}
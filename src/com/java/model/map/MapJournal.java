@@ -0,0 +1,82 @@
+package com.java.model.map;
+
+import java.util.Arrays;
+
+/**
+ * MapJournal is the undo stack of a GameMap: while it is open, the map records the previous
+ * owner and army count of every country and the previous conqueror of every continent before
+ * changing them, so a search can play moves on the map and take them back to any mark.
+ *
+ * Entries are kept in parallel arrays that grow as needed and are reused after an undo.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+final class MapJournal {
+
+	private Object[] targets = new Object[64];
+	private int[] owners = new int[64];
+	private int[] armies = new int[64];
+	private int size = 0;
+
+	int size() {
+		return size;
+	}
+
+	private void push(Object target, int owner, int armyCount) {
+		if (size == targets.length) {
+			int capacity = size * 2;
+			targets = Arrays.copyOf(targets, capacity);
+			owners = Arrays.copyOf(owners, capacity);
+			armies = Arrays.copyOf(armies, capacity);
+		}
+		targets[size] = target;
+		owners[size] = owner;
+		armies[size] = armyCount;
+		size++;
+	}
+
+	/**
+	 * Records a country before it changes.
+	 */
+	void recordCountry(Country country) {
+		push(country, country.getConquerorId(), country.getArmies());
+	}
+
+	/**
+	 * Records a continent before its conqueror changes.
+	 */
+	void recordContinent(Continent continent) {
+		push(continent, GameMapSnapshot.encode(continent.getContinentConquerorID()), GameMapSnapshot.NONE);
+	}
+
+	/**
+	 * Removes the last entry.
+	 *
+	 * @return the country or continent of the entry.
+	 */
+	Object pop() {
+		size--;
+		Object target = targets[size];
+		targets[size] = null;
+		return target;
+	}
+
+	/**
+	 * @return the previous owner of the entry just popped.
+	 */
+	Integer getPoppedOwner() {
+		return GameMapSnapshot.decode(owners[size]);
+	}
+
+	/**
+	 * @return the previous army count of the entry just popped.
+	 */
+	Integer getPoppedArmies() {
+		return GameMapSnapshot.decode(armies[size]);
+	}
+}
@@ -0,0 +1,95 @@
+package com.java.model.map;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * NameIndex gives dense ids, from 0 to the number of names, to the countries or continents of
+ * a map, so their sets can be held as bitsets. Removing a name gives its id to the last name,
+ * the ids staying dense.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+final class NameIndex implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final ArrayList<String> names = new ArrayList<>();
+	private final HashMap<String, Integer> ids = new HashMap<>();
+
+	int size() {
+		return names.size();
+	}
+
+	/**
+	 * @param name the name.
+	 * @return the id of the name, -1 if it has none.
+	 */
+	int idOf(Object name) {
+		Integer id = ids.get(name);
+		return id == null ? -1 : id;
+	}
+
+	String nameOf(int id) {
+		return names.get(id);
+	}
+
+	/**
+	 * Gives an id to a name, unless it already has one.
+	 *
+	 * @param name the name.
+	 * @return the id of the name.
+	 */
+	int add(String name) {
+		Integer id = ids.get(name);
+		if (id != null) {
+			return id;
+		}
+		ids.put(name, names.size());
+		names.add(name);
+		return names.size() - 1;
+	}
+
+	/**
+	 * Removes a name, the last name taking its id.
+	 *
+	 * @param name the name.
+	 * @return the id the name had, -1 if it had none.
+	 */
+	int remove(String name) {
+		Integer id = ids.remove(name);
+		if (id == null) {
+			return -1;
+		}
+		String last = names.remove(names.size() - 1);
+		if (id < names.size()) {
+			names.set(id, last);
+			ids.put(last, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Removes every name.
+	 */
+	void clear() {
+		names.clear();
+		ids.clear();
+	}
+
+	/**
+	 * @return an independent copy of the index.
+	 */
+	NameIndex copy() {
+		NameIndex copy = new NameIndex();
+		copy.names.addAll(names);
+		copy.ids.putAll(ids);
+		return copy;
+	}
+}
@@ -0,0 +1,168 @@
+package com.java.model.map;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * OwnershipSet is the set of the countries or continents owned by a player, held as a bitset
+ * over the dense ids of the map. It is a read-only view for the callers of GameMap, which is
+ * the only one to change it, and it follows the changes: an iteration sees the ownership at
+ * the time every id is reached.
+ *
+ * The size is counted as bits are set and cleared, and the subset checks of the continents are
+ * a word-wise AND with the bitset of their countries.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public final class OwnershipSet extends AbstractSet<String> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final NameIndex index;
+	private long[] words;
+	private int size = 0;
+
+	OwnershipSet(NameIndex index) {
+		this.index = index;
+		this.words = new long[Math.max(1, (index.size() + 63) >>> 6)];
+	}
+
+	/**
+	 * Copies a set onto another index holding the same ids.
+	 */
+	OwnershipSet(OwnershipSet other, NameIndex index) {
+		this.index = index;
+		this.words = other.words.clone();
+		this.size = other.size;
+	}
+
+	boolean containsId(int id) {
+		int word = id >>> 6;
+		return word < words.length && (words[word] & (1L << id)) != 0;
+	}
+
+	/**
+	 * Adds an id.
+	 *
+	 * @return true if the id was not in the set.
+	 */
+	boolean include(int id) {
+		int word = id >>> 6;
+		if (word >= words.length) {
+			words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+		}
+		if ((words[word] & (1L << id)) != 0) {
+			return false;
+		}
+		words[word] |= 1L << id;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Removes an id.
+	 *
+	 * @return true if the id was in the set.
+	 */
+	boolean exclude(int id) {
+		if (!containsId(id)) {
+			return false;
+		}
+		words[id >>> 6] &= ~(1L << id);
+		size--;
+		return true;
+	}
+
+	/**
+	 * Gives the membership of an id to another one, after a removal gave the id of the last
+	 * name to the removed one.
+	 */
+	void move(int fromId, int toId) {
+		exclude(toId);
+		if (exclude(fromId)) {
+			include(toId);
+		}
+	}
+
+	void clearAll() {
+		Arrays.fill(words, 0);
+		size = 0;
+	}
+
+	/**
+	 * @param mask a bitset of ids.
+	 * @return true if every id of the mask is in the set.
+	 */
+	boolean containsAllIds(long[] mask) {
+		for (int word = 0; word < mask.length; word++) {
+			long owned = word < words.length ? words[word] : 0;
+			if ((owned & mask[word]) != mask[word]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param mask a bitset of ids.
+	 * @return the number of ids of the mask in the set.
+	 */
+	int countIn(long[] mask) {
+		int count = 0;
+		for (int word = 0; word < mask.length && word < words.length; word++) {
+			count += Long.bitCount(words[word] & mask[word]);
+		}
+		return count;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean contains(Object name) {
+		int id = index.idOf(name);
+		return id >= 0 && containsId(id);
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		return new Iterator<String>() {
+			private int next = nextId(0);
+
+			private int nextId(int from) {
+				for (int word = from >>> 6; word < words.length; word++) {
+					long bits = word == from >>> 6 ? words[word] & (-1L << from) : words[word];
+					if (bits != 0) {
+						return (word << 6) + Long.numberOfTrailingZeros(bits);
+					}
+				}
+				return -1;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return next >= 0;
+			}
+
+			@Override
+			public String next() {
+				if (next < 0) {
+					throw new NoSuchElementException();
+				}
+				String name = index.nameOf(next);
+				next = nextId(next + 1);
+				return name;
+			}
+		};
+	}
+}
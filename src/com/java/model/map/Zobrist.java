@@ -0,0 +1,154 @@
+package com.java.model.map;
+
+/**
+ * Zobrist holds the keys of the Zobrist hash of a game state: the owner and the army count of
+ * every country, the player whose turn it is and the phase of the turn. The hash of a state is
+ * the exclusive or of the keys of its parts, so a change of one part is applied by removing its
+ * old key and adding its new key with two exclusive ors.
+ *
+ * Keys are derived from the country names with a 64 bit mixing function instead of random
+ * tables, so they do not depend on the number of armies a table could hold and they are the
+ * same in every run, for saved games as well. An empty country (no owner, no army) has a key
+ * of 0, so adding a country to a map does not change its hash.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public final class Zobrist {
+
+	/**
+	 * Phase of the turn, part of the hash.
+	 * */
+	public enum Phase {
+		STARTUP, REINFORCEMENT, ATTACK, FORTIFICATION
+	}
+
+	private static final long OWNER_SALT = 0x9E3779B97F4A7C15L;
+	private static final long ARMY_SALT = 0xC2B2AE3D27D4EB4FL;
+	private static final long PLAYER_SALT = 0x165667B19E3779F9L;
+	private static final long PHASE_SALT = 0xD6E8FEB86659FD93L;
+
+	private Zobrist() {
+	}
+
+	/**
+	 * Finalizer of SplitMix64, spreads every input bit over the whole output.
+	 *
+	 * @param value the value to be mixed.
+	 * @return the mixed value.
+	 */
+	public static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+		return value ^ (value >>> 31);
+	}
+
+	/**
+	 * Gets the base key of a country, the FNV-1a hash of its name mixed.
+	 *
+	 * @param countryName the country name.
+	 * @return the base key of the country.
+	 */
+	public static long countryKey(String countryName) {
+		long hash = 0xCBF29CE484222325L;
+		for (int i = 0; i < countryName.length(); i++) {
+			hash ^= countryName.charAt(i);
+			hash *= 0x100000001B3L;
+		}
+		return mix(hash);
+	}
+
+	/**
+	 * Gets the key of the owner of a country.
+	 *
+	 * @param countryKey the base key of the country.
+	 * @param playerId the owner, null if the country has none.
+	 * @return the key, 0 without owner.
+	 */
+	public static long ownerKey(long countryKey, Integer playerId) {
+		if (playerId == null) {
+			return 0;
+		}
+		return ownerKey(countryKey, playerId.intValue());
+	}
+
+	/**
+	 * Gets the key of the owner of a country without boxing the id.
+	 *
+	 * @param countryKey the base key of the country.
+	 * @param playerId the owner, Country.NO_CONQUEROR if the country has none.
+	 * @return the key, 0 without owner.
+	 */
+	public static long ownerKey(long countryKey, int playerId) {
+		if (playerId == Country.NO_CONQUEROR) {
+			return 0;
+		}
+		return mix(countryKey ^ (OWNER_SALT * (playerId + 1L)));
+	}
+
+	/**
+	 * Gets the key of the army count of a country.
+	 *
+	 * @param countryKey the base key of the country.
+	 * @param armyCount the army count.
+	 * @return the key, 0 without army.
+	 */
+	public static long armyKey(long countryKey, Integer armyCount) {
+		return armyCount == null ? 0 : armyKey(countryKey, armyCount.intValue());
+	}
+
+	/**
+	 * Gets the key of the army count of a country without boxing the count.
+	 *
+	 * @param countryKey the base key of the country.
+	 * @param armyCount the army count.
+	 * @return the key, 0 without army.
+	 */
+	public static long armyKey(long countryKey, int armyCount) {
+		if (armyCount == 0) {
+			return 0;
+		}
+		return mix(countryKey + ARMY_SALT * armyCount);
+	}
+
+	/**
+	 * Gets the key of the player whose turn it is.
+	 *
+	 * @param playerId the player id, null before the game starts.
+	 * @return the key, 0 without player.
+	 */
+	public static long playerKey(Integer playerId) {
+		if (playerId == null) {
+			return 0;
+		}
+		return mix(PLAYER_SALT * (playerId + 1L));
+	}
+
+	/**
+	 * Gets the key of the phase of the turn.
+	 *
+	 * @param phase the phase, null before the game starts.
+	 * @return the key, 0 without phase.
+	 */
+	public static long phaseKey(Phase phase) {
+		if (phase == null) {
+			return 0;
+		}
+		return mix(PHASE_SALT * (phase.ordinal() + 1L));
+	}
+
+	/**
+	 * Gets the key of a country with its owner and armies.
+	 *
+	 * @param country the country.
+	 * @return the key of the country state.
+	 */
+	public static long countryStateKey(Country country) {
+		long countryKey = country.getZobristKey();
+		return ownerKey(countryKey, country.getCountryConquerorID()) ^ armyKey(countryKey, country.getCountryArmyCount());
+	}
+}
@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import com.java.model.cards.Card;
 
@@ -67,7 +68,7 @@ public class AggresiveMode extends PlayerStrategy {
     public void placeArmy(Integer reinforcementArmy) {
 
         Integer currentPlayerID = playerID;
-        HashSet<String> conqueredCountryByThisPlayer = gameData.gameMap.getConqueredCountries(currentPlayerID);
+        Set<String> conqueredCountryByThisPlayer = gameData.gameMap.getConqueredCountries(currentPlayerID);
 
         System.out.println();
         System.out.println("**** Reinforcement Phase Begins for player " + this.playerName + "..****\n");
@@ -82,7 +83,7 @@ public class AggresiveMode extends PlayerStrategy {
                 strongestCountryArmyCount = currentCountryArmyCount;
             }
         }
-        gameData.gameMap.getCountry(strongestCountry).addArmy(reinforcementArmy);
+        gameData.gameMap.addArmyToCountry(strongestCountry, reinforcementArmy);
         System.out.println("\nReinforcement is done for player "+playerName+". Here is an overview. \n");
         for(String country: conqueredCountryByThisPlayer){
             System.out.println("Country: "+country+", Army Count: "+gameData.gameMap.getCountry(country).getCountryArmyCount());
@@ -222,7 +223,7 @@ public class AggresiveMode extends PlayerStrategy {
 		   	}
 		}   
 	    
-	    HashSet<String> conqueredCountryByThisPlayer = gameData.gameMap.getConqueredCountries(playerID);
+	    Set<String> conqueredCountryByThisPlayer = gameData.gameMap.getConqueredCountries(playerID);
         System.out.println("\nOverview of army counts: \n");
         for(String country: conqueredCountryByThisPlayer){
             System.out.println("Country: "+country+", Army Count: "+gameData.gameMap.getCountry(country).getCountryArmyCount());
@@ -243,12 +244,8 @@ public class AggresiveMode extends PlayerStrategy {
 		Integer maxNeighbours = Integer.MIN_VALUE;
 		
 		for(String country : countriesConquered) {
-			Integer enemyNeighbours = 0;
-			for(String adjacentCountry : this.gameData.gameMap.getAdjacentCountries(country)) {
-				if(this.gameData.gameMap.getCountry(adjacentCountry).getCountryConquerorID() != this.playerID) {
-					enemyNeighbours++;
-				}
-			}
+			Integer enemyNeighbours = this.gameData.gameMap.getAdjacentCountries(country).size()
+					- this.gameData.gameMap.getSameOwnerNeighbourCount(country);
 			
 			if(enemyNeighbours > maxNeighbours) {
 				maxNeighbours = enemyNeighbours;
@@ -316,8 +313,8 @@ public class AggresiveMode extends PlayerStrategy {
         Integer maxNoOfArmiesToMove = gameData.gameMap.getCountry(secondStrongestCountry).getCountryArmyCount() - 1;
 
         // move armies based on determined source - destination countries per startegy logic
-        gameData.gameMap.getCountry(secondStrongestCountry).deductArmy(maxNoOfArmiesToMove);
-        gameData.gameMap.getCountry(strongestCountry).addArmy(maxNoOfArmiesToMove);
+        gameData.gameMap.deductArmyToCountry(secondStrongestCountry, maxNoOfArmiesToMove);
+        gameData.gameMap.addArmyToCountry(strongestCountry, maxNoOfArmiesToMove);
         
         fortificationPhase.setFromCountry(secondStrongestCountry);
         fortificationPhase.setToCountry(strongestCountry);
@@ -327,7 +324,7 @@ public class AggresiveMode extends PlayerStrategy {
 
         notifyView();
         
-        HashSet<String> conqueredCountryByThisPlayer = gameData.gameMap.getConqueredCountries(playerID);
+        Set<String> conqueredCountryByThisPlayer = gameData.gameMap.getConqueredCountries(playerID);
         System.out.println("Moved "+maxNoOfArmiesToMove+" armies from "+secondStrongestCountry+" to "+strongestCountry);
         System.out.println("\nAn overview after Fortification.\n");
         for(String country: conqueredCountryByThisPlayer){
@@ -3,6 +3,7 @@ package com.java.model.player;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Set;
 
 /**
  * This class is a player strategy that is created in startuphase.java and
@@ -60,33 +61,44 @@ public class BenevolentMode extends PlayerStrategy {
     public void placeArmy(Integer reinforcementArmy) {
 
         Integer currentPlayerID = playerID;
-        HashSet<String> conqueredCountryByThisPlayer = gameData.gameMap.getConqueredCountries(currentPlayerID);
+        Set<String> conqueredCountryByThisPlayer = gameData.gameMap.getConqueredCountries(currentPlayerID);
 
         System.out.println();
         System.out.println("**** Reinforcement Phase Begins for player " + this.playerName + "..****\n");
 
-        while (reinforcementArmy > 0) {
-             String weakestCountry = "";
-             Integer weakestArmyCount = Integer.MIN_VALUE;
-             for(String country: conqueredCountryByThisPlayer){
+        // the threat on every country is the enemy armies around it minus its own armies
+        String[] countries = conqueredCountryByThisPlayer.toArray(new String[0]);
+        int[] threats = new int[countries.length];
+        for(int i = 0; i < countries.length; i++){
 
-                Integer currentCountryArmyCount = gameData.gameMap.getCountry(country).getCountryArmyCount();
+            Integer currentCountryArmyCount = gameData.gameMap.getCountry(countries[i]).getCountryArmyCount();
 
-                HashSet<String> adjacentCountries = gameData.gameMap.getAdjacentCountries(country);
-                Integer enemyArmyCount = 0;
-                for(String adjCountry : adjacentCountries){
-                    if(gameData.gameMap.getCountry(adjCountry).getCountryConquerorID() != currentPlayerID){
-                        enemyArmyCount += gameData.gameMap.getCountry(adjCountry).getCountryArmyCount();
+            Integer enemyArmyCount = 0;
+            // an interior country has no enemy army around it
+            if(gameData.gameMap.isFrontierCountry(countries[i])){
+                for(String adjCountry : gameData.gameMap.getAdjacentCountries(countries[i])){
+                    if(!gameData.gameMap.getCountry(adjCountry).isConqueredBy(currentPlayerID)){
+                        enemyArmyCount += gameData.gameMap.getCountry(adjCountry).getArmies();
                     }
                 }
-                 if(weakestArmyCount < (enemyArmyCount - currentCountryArmyCount)){
-                     weakestArmyCount = (enemyArmyCount - currentCountryArmyCount);
-                     weakestCountry = country;
+            }
+            threats[i] = enemyArmyCount - currentCountryArmyCount;
+        }
+
+        // place one army at a time on the most threatened country, then apply them all at once
+        int[] armyDeltas = new int[gameData.gameMap.getNumberOfCountries()];
+        while (reinforcementArmy > 0 && countries.length > 0) {
+             int weakestCountry = 0;
+             for(int i = 1; i < countries.length; i++){
+                 if(threats[weakestCountry] < threats[i]){
+                     weakestCountry = i;
                  }
             }
-             gameData.gameMap.getCountry(weakestCountry).addArmy(1);
+             armyDeltas[gameData.gameMap.getCountryIndex(countries[weakestCountry])] += 1;
+             threats[weakestCountry] -= 1;
              reinforcementArmy -= 1;
         }
+        gameData.gameMap.applyArmyDeltas(armyDeltas);
         System.out.println("\nReinforcement is done for player "+playerName+". Here is an overview. \n");
         for(String country: conqueredCountryByThisPlayer){
             System.out.println("Country: "+country+", Army Count: "+gameData.gameMap.getCountry(country).getCountryArmyCount());
@@ -156,11 +168,12 @@ public class BenevolentMode extends PlayerStrategy {
             for(String country : potentialCountriesToBeFortified){
                 Integer currentCountryArmyCount = gameData.gameMap.getCountry(country).getCountryArmyCount();
 
-                HashSet<String> adjacentCountries = gameData.gameMap.getAdjacentCountries(country);
                 Integer enemyArmyCount = 0;
-                for(String adjCountry : adjacentCountries){
-                    if(gameData.gameMap.getCountry(adjCountry).getCountryConquerorID() != currentPlayerID){
-                        enemyArmyCount += gameData.gameMap.getCountry(adjCountry).getCountryArmyCount();
+                if(gameData.gameMap.isFrontierCountry(country)){
+                    for(String adjCountry : gameData.gameMap.getAdjacentCountries(country)){
+                        if(!gameData.gameMap.getCountry(adjCountry).isConqueredBy(currentPlayerID)){
+                            enemyArmyCount += gameData.gameMap.getCountry(adjCountry).getArmies();
+                        }
                     }
                 }
                 if(weakerCountryArmyCount < (enemyArmyCount - currentCountryArmyCount)){
@@ -185,8 +198,8 @@ public class BenevolentMode extends PlayerStrategy {
                     armySupplier = country;
                 }
             }
-            gameData.gameMap.getCountry(armySupplier).deductArmy(maximumArmy);
-            gameData.gameMap.getCountry(weakestCountry).addArmy(maximumArmy);
+            gameData.gameMap.deductArmyToCountry(armySupplier, maximumArmy);
+            gameData.gameMap.addArmyToCountry(weakestCountry, maximumArmy);
             fortificationPhase = new FortificationPhaseState();
             fortificationPhase.setFromCountry(armySupplier);
             fortificationPhase.setToCountry(weakestCountry);
@@ -195,7 +208,7 @@ public class BenevolentMode extends PlayerStrategy {
             fortificationPhaseState.add(fortificationPhase);
 
             notifyView();
-            HashSet<String> conqueredCountryByThisPlayer = gameData.gameMap.getConqueredCountries(currentPlayerID);
+            Set<String> conqueredCountryByThisPlayer = gameData.gameMap.getConqueredCountries(currentPlayerID);
             System.out.println("Moved " + maximumArmy + " armies from " + armySupplier + " to " + weakestCountry);
             System.out.println("\nAn overview after Fortification.\n");
             for (String country : conqueredCountryByThisPlayer) {
@@ -3,7 +3,9 @@ package com.java.model.player;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 import com.java.model.cards.Card;
 import com.java.model.map.Country;
@@ -60,7 +62,7 @@ public class CheaterMode extends PlayerStrategy{
     	
     	Integer currentPlayerID = playerID;
     	
-        HashSet<String> countriesOwned = this.gameData.gameMap.getConqueredCountries(currentPlayerID);
+        Set<String> countriesOwned = this.gameData.gameMap.getConqueredCountries(currentPlayerID);
 
         System.out.println();
         System.out.println("**** Reinforcement Phase Begins for player " + this.playerName + "..****\n");
@@ -76,9 +78,12 @@ public class CheaterMode extends PlayerStrategy{
             if (adjCountries.isEmpty()){
             	System.out.println("No neighboring enemy country for country " + countries);
             }
+            if (!this.gameData.gameMap.isFrontierCountry(countries)) {
+            	continue;
+            }
 
             for (String enemyCountries : adjCountries) {
-            	if (this.gameData.gameMap.getCountry(enemyCountries).getCountryConquerorID() != currentPlayerID) {
+            	if (!this.gameData.gameMap.getCountry(enemyCountries).isConqueredBy(currentPlayerID)) {
             		System.out.println("Neighboring Enemy country name: " + enemyCountries + " & Army Count: " + this.gameData.gameMap.getCountry(enemyCountries).getCountryArmyCount());
             	}
             }
@@ -87,12 +92,14 @@ public class CheaterMode extends PlayerStrategy{
         Country country;
         Integer numberOfArmiesToBePlaced;
         ReinforcementPhaseState reinforcementPhase;
+        // the armies of every country are doubled in one change of the map
+        int[] armyDeltas = new int[this.gameData.gameMap.getNumberOfCountries()];
             
         for (String countries : countriesOwned) {
         	
         	country = gameData.gameMap.getCountry(countries);
         	numberOfArmiesToBePlaced = country.getCountryArmyCount();
-            this.gameData.gameMap.addArmyToCountry(countries, numberOfArmiesToBePlaced);
+        	armyDeltas[this.gameData.gameMap.getCountryIndex(countries)] = numberOfArmiesToBePlaced;
             
             reinforcementPhase = new ReinforcementPhaseState();
             reinforcementPhase.setToCountry(countries);
@@ -100,6 +107,7 @@ public class CheaterMode extends PlayerStrategy{
             reinforcementPhaseState.add(reinforcementPhase);
             notifyView();
         }
+        this.gameData.gameMap.applyArmyDeltas(armyDeltas);
         
         /* End of reinforcement phase, Print the final overview. */
         System.out.println("\nReinforcement Phase is now complete. Here's an overview: \n\n");
@@ -139,8 +147,8 @@ public class CheaterMode extends PlayerStrategy{
 		// show PlayerStrategy all the options they have
 		showAllAttackScenarios(attackScenarios);
 		System.out.println("\nCheater is getting all countries");
-		// TODO Now chose the country to attack from and in a loop conqure all the
-		// nebiours
+		// collect every neighbour to be conquered, then transfer them all at once
+		LinkedHashMap<String, Integer> conquests = new LinkedHashMap<String, Integer>();
 		for (Map.Entry<String, ArrayList<String>> currCountry : attackScenarios.entrySet()) {
 
 			// get the arraylist here for that player at "i"
@@ -151,28 +159,23 @@ public class CheaterMode extends PlayerStrategy{
 
 				// get the country object
 				Country countryObject = gameData.gameMap.getCountry(eachattackingCountry);
-
-				String defendingPlayerName = gameData.getPlayer(countryObject.getCountryConquerorID()).getStrategyType()
-						.getPlayerName();
-
-				attackPhaseState.setDefendingPlayer(defendingPlayerName);
-				this.notifyView();
-
-				attackPhaseState.setAttackingCountry(countryObject.getCountryName());
-				this.notifyView();
-
-				// change the country conqurer to the current player's lit of countries owned
 				Integer oldConquererPlayerId = countryObject.getCountryConquerorID();
-				Integer newConquererPlayerId = this.playerID;
-				
-				if(oldConquererPlayerId != newConquererPlayerId) {
-					this.gameData.gameMap.updateCountryConquerer(eachattackingCountry, oldConquererPlayerId,newConquererPlayerId);
-					this.gameData.gameMap.calculateNumberOfArmiesPerPlayer();
+
+				if (!this.playerID.equals(oldConquererPlayerId) && !conquests.containsKey(eachattackingCountry)) {
+					String defendingPlayerName = gameData.getPlayer(oldConquererPlayerId).getStrategyType()
+							.getPlayerName();
+					attackPhaseState.setDefendingPlayer(defendingPlayerName);
+					attackPhaseState.setAttackingCountry(countryObject.getCountryName());
+					conquests.put(eachattackingCountry, this.playerID);
 					System.out.println("\nCheater " + getPlayerName() + " is conquering " + eachattackingCountry + "  from " + defendingPlayerName);
 				}
 			}
 		}
 
+		// change the country conqurer of all the neighbours to the current player in one pass
+		this.gameData.gameMap.transferCountries(conquests);
+		this.notifyView();
+
 		checkIfPlayerHasConqueredTheWorld();
 
         if (hasConnqueredAtleastOneCountry) {
@@ -202,35 +205,17 @@ public class CheaterMode extends PlayerStrategy{
         System.out.println("\n" + "I am a Cheater! , Going to double all my arimies where I dont own any neighbour countries " + this.playerName + "...\n");
 
         //get list of countries owned by player
-        HashSet<String> countriesOwned = gameData.gameMap.getConqueredCountries(playerID);
-
-        HashSet<String> adacentCountries;
-
-        boolean isCountryBelongsToMe;
+        Set<String> countriesOwned = gameData.gameMap.getConqueredCountries(playerID);
+        int[] armyDeltas = new int[gameData.gameMap.getNumberOfCountries()];
 
         for(String entry : countriesOwned) {
-        	isCountryBelongsToMe = false;
-            Country belongsToPlayer = new Country();
-            // then check if thoes countries nebouires are nont owned by me
-             adacentCountries = gameData.gameMap.getAdjacentCountries(entry);
-
-             for(String adjEntry: adacentCountries){
-                 // check if the countries are not owned by me the player
-                  belongsToPlayer = gameData.gameMap.getCountry(adjEntry);
-
-                 if(belongsToPlayer.getCountryConquerorID() == playerID){
-                     isCountryBelongsToMe = true;
-                     break;
-                 }
-             }
-
-             // when it is not in the list I own just double the army amount.
-             if(isCountryBelongsToMe == false){
+             // the map counts the neighbours I own, so no neighbour has to be looked at
+             if(gameData.gameMap.isSurroundedCountry(entry)){
             	 Integer numberOfCheatedArmies = gameData.gameMap.getCountry(entry).getCountryArmyCount();
-                 gameData.gameMap.addArmyToCountry(entry,numberOfCheatedArmies);
+            	 armyDeltas[gameData.gameMap.getCountryIndex(entry)] = numberOfCheatedArmies;
                  
                  fortificationPhase = new FortificationPhaseState();
-                 fortificationPhase.setFromCountry(belongsToPlayer.getCountryName());
+                 fortificationPhase.setFromCountry(entry);
                  fortificationPhase.setToCountry(" I am Cheating, :) ");
                  fortificationPhase.setNumberOfArmiesMoved(numberOfCheatedArmies);
 
@@ -240,6 +225,7 @@ public class CheaterMode extends PlayerStrategy{
              }
 
         }
+        gameData.gameMap.applyArmyDeltas(armyDeltas);
 
         System.out.println("\n****Fortification Phase Ends for player " + this.playerName + "..****\n");
 
@@ -0,0 +1,305 @@
+package com.java.model.player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Set;
+
+import com.java.model.cards.Card;
+import com.java.model.simulation.BoardState;
+import com.java.model.simulation.ExpectiminimaxSearch;
+import com.java.model.simulation.PositionEvaluator;
+import com.java.model.simulation.TranspositionTable;
+import com.java.model.simulation.TurnDecision;
+
+/**
+ * This class is a player strategy that is created in startuphase.java and
+ * is a subclass of player strategy, all the methods are called from player(context class)
+ * the methods called are
+ *
+ * reinforce - place armies in the country chosen by an expectiminimax search.
+ * attack - attack all out the countries chosen by the search, until it decides to stop.
+ * fortify - move armies as chosen by the search.
+ *
+ * Every decision is given a fixed time budget and a maximum depth. The player keeps its
+ * evaluator between decisions and only applies to it the countries changed since the last
+ * one, and keeps the values of the positions it searched.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class ExpectiminimaxMode extends PlayerStrategy {
+
+	/**
+	 * Default time budget of a decision in milliseconds.
+	 * */
+	public static final long DEFAULT_TIME_BUDGET_MILLIS = 100;
+
+	/**
+	 * Maximum number of attacks of a turn.
+	 * */
+	private static final int MAX_ATTACKS_PER_TURN = 32;
+
+	/**
+	 * Number of positions kept by the transposition table of a player.
+	 * */
+	private static final int TRANSPOSITION_TABLE_CAPACITY = 1 << 16;
+
+	private long timeBudgetMillis;
+	private int maxDepth;
+	private transient BoardState boardState;
+	private transient PositionEvaluator evaluator;
+	private transient TranspositionTable transpositionTable;
+
+	/**
+	 * Creates a new expectiminimax player with the default budget.
+	 *
+	 * @param playerID the player id.
+	 * @param playerName the player name.
+	 */
+	public ExpectiminimaxMode(Integer playerID, String playerName) {
+		this(playerID, playerName, DEFAULT_TIME_BUDGET_MILLIS, ExpectiminimaxSearch.DEFAULT_MAX_DEPTH);
+	}
+
+	/**
+	 * Creates a new expectiminimax player.
+	 *
+	 * @param playerID the player id.
+	 * @param playerName the player name.
+	 * @param timeBudgetMillis the time given to every decision.
+	 * @param maxDepth the maximum depth of every decision in plies.
+	 */
+	public ExpectiminimaxMode(Integer playerID, String playerName, long timeBudgetMillis, int maxDepth) {
+		super(playerID, playerName);
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.maxDepth = maxDepth;
+	}
+
+	/**
+	 * Brings the board of the player up to date with the game, the evaluator being only
+	 * given the countries that changed since the last decision.
+	 */
+	private void updateBoardState() {
+		if (boardState == null) {
+			ArrayList<Integer> playerIds = new ArrayList<Integer>();
+			for (Player player : gameData.getPlayers()) {
+				playerIds.add(player.getStrategyType().getPlayerID());
+			}
+			boardState = new BoardState(gameData.gameMap, playerIds);
+			evaluator = new PositionEvaluator(boardState);
+			transpositionTable = new TranspositionTable(TRANSPOSITION_TABLE_CAPACITY);
+			return;
+		}
+		boardState.refresh(gameData.gameMap);
+		evaluator.synchronize(boardState);
+	}
+
+	/**
+	 * Searches a decision of the turn.
+	 *
+	 * @param stage the stage of the decision.
+	 * @param reinforcement the armies to be placed, for the reinforcement.
+	 * @return the decision.
+	 */
+	private long searchDecision(TurnDecision.Stage stage, int reinforcement) {
+		updateBoardState();
+		ArrayList<Player> players = gameData.getPlayers();
+		int[] turnOrder = new int[players.size()];
+		for (int i = 0; i < players.size(); i++) {
+			turnOrder[i] = boardState.getPlayerIndex(players.get(i).getStrategyType().getPlayerID());
+		}
+		ExpectiminimaxSearch search = new ExpectiminimaxSearch(evaluator, boardState.getPlayerIndex(playerID), turnOrder,
+				maxDepth, timeBudgetMillis);
+		search.setTranspositionTable(transpositionTable);
+		long decision = search.search(stage, reinforcement);
+		System.out.println("Expectiminimax search reached depth " + search.getLastDepth() + " in "
+				+ search.getLastNumberOfNodes() + " nodes");
+		return decision;
+	}
+
+	/**
+	 * Executes reinforcement, placing the armies in the country chosen by the search.
+	 */
+	@Override
+	public void executeReinforcement() {
+		notifyView();
+
+		Integer getReinforcementCountFromCards = getReinforcementCountFromValidCardsAI();
+		Integer totalReinforcementArmyCount = getReinforcementCountFromCards + calculateReinforcementArmy();
+		ReinforcementPhaseState reinforcementPhase = new ReinforcementPhaseState();
+		reinforcementPhase.setNumberOfArmiesReceived(totalReinforcementArmyCount);
+
+		reinforcementPhaseState.add(reinforcementPhase);
+
+		notifyView();
+		placeArmy(totalReinforcementArmyCount);
+	}
+
+	/**
+	 * Method to place armies.
+	 *
+	 * @param reinforcementArmy the number of armies to be reinforced
+	 */
+	@Override
+	public void placeArmy(Integer reinforcementArmy) {
+
+		System.out.println();
+		System.out.println("**** Reinforcement Phase Begins for player " + this.playerName + "..****\n");
+
+		Set<String> conqueredCountryByThisPlayer = gameData.gameMap.getConqueredCountries(playerID);
+		if (conqueredCountryByThisPlayer.isEmpty()) {
+			return;
+		}
+
+		long decision = searchDecision(TurnDecision.Stage.REINFORCEMENT, reinforcementArmy);
+		String country = boardState.getCountryName(TurnDecision.getTargetCountry(decision));
+		gameData.gameMap.addArmyToCountry(country, reinforcementArmy);
+
+		ReinforcementPhaseState reinforcementPhase = new ReinforcementPhaseState();
+		reinforcementPhase.setToCountry(country);
+		reinforcementPhase.setNumberOfArmiesPlaced(reinforcementArmy);
+		reinforcementPhaseState.add(reinforcementPhase);
+		notifyView();
+
+		System.out.println("\nReinforcement is done for player " + playerName + ". Here is an overview. \n");
+		for (String conqueredCountry : conqueredCountryByThisPlayer) {
+			System.out.println("Country: " + conqueredCountry + ", Army Count: "
+					+ gameData.gameMap.getCountry(conqueredCountry).getCountryArmyCount());
+		}
+	}
+
+	/**
+	 * Executes attack, attacks all out the countries chosen by the search until the search
+	 * decides to stop.
+	 */
+	@Override
+	public void executeAttack() {
+
+		System.out.println();
+		System.out.println("**** Attack Phase Begins for player " + this.playerName + "..****\n");
+
+		boolean hasConnqueredAtleastOneCountry = false;
+
+		for (int attack = 0; attack < MAX_ATTACKS_PER_TURN && !checkIfPlayerHasConqueredTheWorld(); attack++) {
+			HashMap<String, ArrayList<String>> potentialAttackScenarios = getPotentialAttackScenarios();
+			if (potentialAttackScenarios.isEmpty()) {
+				break;
+			}
+
+			long decision = searchDecision(TurnDecision.Stage.ATTACK, 0);
+			if (decision == TurnDecision.PASS) {
+				break;
+			}
+			String attackingCountry = boardState.getCountryName(TurnDecision.getSourceCountry(decision));
+			String enemyCountryToAttack = boardState.getCountryName(TurnDecision.getTargetCountry(decision));
+
+			AttackPhaseState attackPhase = new AttackPhaseState();
+			attackPhase.setAttackingPlayer(this.playerName);
+			attackPhaseState.add(attackPhase);
+			attackPhase.setAttackingCountry(attackingCountry);
+			attackPhase.setDefendingCountry(enemyCountryToAttack);
+			attackPhase.setDefendingPlayer(gameData
+					.getPlayer(this.gameData.gameMap.getCountry(enemyCountryToAttack).getCountryConquerorID())
+					.getStrategyType().getPlayerName());
+			notifyView();
+
+			// fight in all out mode until the country is conquered or the attacker runs out of armies
+			while (!attackPhase.getBattleOutcomeFlag()
+					&& this.gameData.gameMap.getCountry(attackingCountry).getCountryArmyCount() > 1) {
+				attackPhase.setAttackerDiceCount(getActualMaxAllowedDiceCountForAction("attack", attackingCountry, 3));
+				attackPhase.setDefenderDiceCount(getActualMaxAllowedDiceCountForAction("defend", enemyCountryToAttack, 2));
+				rollDiceBattle(attackPhase);
+				hasConnqueredAtleastOneCountry = fight(attackPhase) || hasConnqueredAtleastOneCountry;
+			}
+		}
+
+		checkIfPlayerHasConqueredTheWorld();
+
+		if (hasConnqueredAtleastOneCountry) {
+			Card card = gameData.cardsDeck.getCard();
+
+			if (card == null) {
+				System.out.println("No more cards left in the deck");
+			} else {
+				this.cardList.add(card);
+				System.out.println("PlayerStrategy received 1 card => Army Type: " + card.getArmyType() + ", Country: " + card.getCountry().getCountryName());
+				System.out.println("Total cards : " + this.cardList.size());
+			}
+		}
+
+		endAttack();
+	}
+
+	/**
+	 * Executes fortification, moving the armies chosen by the search.
+	 */
+	@Override
+	public void executeFortification() {
+
+		System.out.println();
+		System.out.println("**** Fortification Phase Begins for player " + this.playerName + "..****\n");
+		FortificationPhaseState fortificationPhase = new FortificationPhaseState();
+		fortificationPhaseState.add(fortificationPhase);
+		notifyView();
+
+		if (gameData.gameMap.getConqueredCountries(playerID).isEmpty()) {
+			return;
+		}
+
+		long decision = searchDecision(TurnDecision.Stage.FORTIFICATION, 0);
+		if (decision == TurnDecision.PASS) {
+			System.out.println("No fortification chosen for player " + this.playerName + "\n");
+			System.out.println("\n****Fortification Phase Ends for player " + this.playerName + "..****\n");
+			return;
+		}
+
+		String fromCountry = boardState.getCountryName(TurnDecision.getSourceCountry(decision));
+		String toCountry = boardState.getCountryName(TurnDecision.getTargetCountry(decision));
+		Integer numberOfArmiesToMove = gameData.gameMap.getCountry(fromCountry).getCountryArmyCount() - 1;
+		gameData.gameMap.deductArmyToCountry(fromCountry, numberOfArmiesToMove);
+		gameData.gameMap.addArmyToCountry(toCountry, numberOfArmiesToMove);
+
+		fortificationPhase.setFromCountry(fromCountry);
+		fortificationPhase.setToCountry(toCountry);
+		fortificationPhase.setNumberOfArmiesMoved(numberOfArmiesToMove);
+		notifyView();
+
+		System.out.println("Moved " + numberOfArmiesToMove + " armies from " + fromCountry + " to " + toCountry);
+		System.out.println("\n****Fortification Phase Ends for player " + this.playerName + "..****\n");
+	}
+
+	/**
+	 * Since this is a bot strategy there is no input from the user.
+	 */
+	@Override
+	public String getCountryToAttackFrom(HashMap<String, ArrayList<String>> attackScenarios) {
+		return null;
+	}
+
+	/**
+	 * Since this is a bot strategy there is no input from the user.
+	 */
+	@Override
+	public String getEnemyCountryToAttack(String selectedSourceCountry, HashMap<String, ArrayList<String>> attackScenarios) {
+		return null;
+	}
+
+	/**
+	 * Since this is a bot strategy there is no input from the user.
+	 */
+	@Override
+	public Integer getDesiredDiceCountFromPlayer(String player, String country, String action) {
+		return null;
+	}
+
+	/**
+	 * Moves every army but one into the conquered country, as the search expects.
+	 */
+	@Override
+	public Integer getNumberofArmiesAttackerWantsToMove(String selectedSourceCountry) {
+		return gameData.gameMap.getCountry(selectedSourceCountry).getCountryArmyCount() - 1;
+	}
+}
@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Scanner;
+import java.util.Set;
 
 /**
  * This class is a player strategy that is created startuphase.java and 
@@ -296,7 +297,7 @@ public class HumanMode extends PlayerStrategy implements Serializable {
     public void placeArmy(Integer reinforcementArmy) {
 
         Integer currentPlayerID = playerID;
-        HashSet<String> countriesOwned = this.gameData.gameMap.getConqueredCountries(currentPlayerID);
+        Set<String> countriesOwned = this.gameData.gameMap.getConqueredCountries(currentPlayerID);
 
         System.out.println();
         System.out.println("**** Reinforcement Phase Begins for player " + this.playerName + "..****\n");
@@ -319,7 +320,7 @@ public class HumanMode extends PlayerStrategy implements Serializable {
                 }
 
                 for (String enemyCountries : adjCountries) {
-                    if (this.gameData.gameMap.getCountry(enemyCountries).getCountryConquerorID() != currentPlayerID) {
+                    if (!this.gameData.gameMap.getCountry(enemyCountries).isConqueredBy(currentPlayerID)) {
                         System.out.println("Neighboring Enemy country name: " + enemyCountries + " & Army Count: "
                                 + this.gameData.gameMap.getCountry(enemyCountries).getCountryArmyCount());
                     }
@@ -344,7 +345,7 @@ public class HumanMode extends PlayerStrategy implements Serializable {
              * Check for a valid country name, but the country belonging to a different
              * player.
              */
-            if (this.gameData.gameMap.getCountry(countryNameByUser).getCountryConquerorID() != currentPlayerID) {
+            if (!this.gameData.gameMap.getCountry(countryNameByUser).isConqueredBy(currentPlayerID)) {
                 System.out.println("'" + countryNameByUser
                         + "' does not belong to you yet!!. Please verify your countries owned from the list below.\n\n");
                 continue;
@@ -637,7 +638,7 @@ public class HumanMode extends PlayerStrategy implements Serializable {
 
         // At this stage all that's left to do really is adjust the army counts in the
         // respective countries to reflect they player's fortification move
-        this.gameData.gameMap.getCountry(fromCountry).deductArmy(Integer.parseInt(noOfArmiesToMove));
+        this.gameData.gameMap.deductArmyToCountry(fromCountry, Integer.parseInt(noOfArmiesToMove));
         this.gameData.gameMap.addArmyToCountry(toCountry, Integer.parseInt(noOfArmiesToMove));
 
         System.out.println(
@@ -0,0 +1,346 @@
+package com.java.model.player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Set;
+
+import com.java.model.cards.Card;
+import com.java.model.gamedata.GameData;
+import com.java.model.map.Zobrist;
+import com.java.model.simulation.BoardState;
+import com.java.model.simulation.MonteCarloTreeSearch;
+import com.java.model.simulation.RolloutPolicy;
+import com.java.model.simulation.TranspositionTable;
+import com.java.model.simulation.TurnDecision;
+
+/**
+ * This class is a player strategy that is created in startuphase.java and
+ * is a subclass of player strategy, all the methods are called from player(context class)
+ * the methods called are
+ *
+ * reinforce - place armies in the country chosen by a Monte Carlo tree search.
+ * attack - attack all out the countries chosen by the search, until it decides to stop.
+ * fortify - move armies as chosen by the search.
+ *
+ * Every decision is given a fixed time budget, the rollouts of the search play the other
+ * players with the policies of their bot strategies.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class MonteCarloMode extends PlayerStrategy {
+
+	/**
+	 * Default time budget of a decision in milliseconds.
+	 * */
+	public static final long DEFAULT_TIME_BUDGET_MILLIS = 200;
+
+	/**
+	 * Default maximum number of iterations of a decision.
+	 * */
+	public static final int DEFAULT_MAX_ITERATIONS = 20000;
+
+	/**
+	 * Number of rounds of every player played by a rollout after the turn.
+	 * */
+	public static final int ROLLOUT_ROUNDS = 2;
+
+	/**
+	 * Maximum number of attacks of a turn.
+	 * */
+	private static final int MAX_ATTACKS_PER_TURN = 32;
+
+	/**
+	 * Number of decisions kept by the transposition table of a player.
+	 * */
+	private static final int TRANSPOSITION_TABLE_CAPACITY = 1 << 16;
+
+	private long timeBudgetMillis;
+	private int maxIterations;
+	private long seed;
+	private long numberOfDecisions = 0;
+
+	/**
+	 * Decisions already searched by this player, by position. The key only holds the board,
+	 * the player and the stage, so the table is dropped when the player is given another game.
+	 * */
+	private transient TranspositionTable transpositionTable;
+	private transient GameData transpositionTableGame;
+
+	/**
+	 * Creates a new Monte Carlo player with the default budget.
+	 *
+	 * @param playerID the player id.
+	 * @param playerName the player name.
+	 */
+	public MonteCarloMode(Integer playerID, String playerName) {
+		this(playerID, playerName, DEFAULT_TIME_BUDGET_MILLIS, DEFAULT_MAX_ITERATIONS, System.nanoTime());
+	}
+
+	/**
+	 * Creates a new Monte Carlo player.
+	 *
+	 * @param playerID the player id.
+	 * @param playerName the player name.
+	 * @param timeBudgetMillis the time given to every decision.
+	 * @param maxIterations the maximum number of iterations of every decision.
+	 * @param seed the seed of the searches.
+	 */
+	public MonteCarloMode(Integer playerID, String playerName, long timeBudgetMillis, int maxIterations, long seed) {
+		super(playerID, playerName);
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.maxIterations = maxIterations;
+		this.seed = seed;
+	}
+
+	/**
+	 * Creates the search of the current game, the players being simulated in their order of
+	 * play.
+	 *
+	 * @param state the board of the game.
+	 * @return the search.
+	 */
+	private MonteCarloTreeSearch createSearch(BoardState state) {
+		ArrayList<Player> players = gameData.getPlayers();
+		int[] turnOrder = new int[players.size()];
+		RolloutPolicy[] policies = new RolloutPolicy[players.size()];
+		for (int i = 0; i < players.size(); i++) {
+			PlayerStrategy strategy = players.get(i).getStrategyType();
+			int index = state.getPlayerIndex(strategy.getPlayerID());
+			turnOrder[i] = index;
+			policies[index] = RolloutPolicy.forStrategy(strategy);
+		}
+		return new MonteCarloTreeSearch(state.getPlayerIndex(playerID), turnOrder, policies, timeBudgetMillis,
+				maxIterations, Runtime.getRuntime().availableProcessors(), ROLLOUT_ROUNDS);
+	}
+
+	/**
+	 * Creates the board of the current game.
+	 *
+	 * @return the board.
+	 */
+	private BoardState createBoardState() {
+		ArrayList<Integer> playerIds = new ArrayList<Integer>();
+		for (Player player : gameData.getPlayers()) {
+			playerIds.add(player.getStrategyType().getPlayerID());
+		}
+		return new BoardState(gameData.gameMap, playerIds);
+	}
+
+	/**
+	 * Searches a decision of the turn.
+	 *
+	 * @param state the board of the game.
+	 * @param stage the stage of the decision.
+	 * @param reinforcement the armies to be placed, for the reinforcement.
+	 * @return the decision.
+	 */
+	private long searchDecision(BoardState state, TurnDecision.Stage stage, int reinforcement) {
+		MonteCarloTreeSearch search = createSearch(state);
+		if (transpositionTable == null || transpositionTableGame != gameData) {
+			transpositionTable = new TranspositionTable(TRANSPOSITION_TABLE_CAPACITY);
+			transpositionTableGame = gameData;
+		}
+		search.setTranspositionTable(transpositionTable);
+		long positionKey = Zobrist.mix(gameData.gameMap.getStateHash()
+				+ Zobrist.mix(((long) playerID << 40) + ((long) stage.ordinal() << 32) + reinforcement));
+		long decision = search.search(state, stage, reinforcement, seed + numberOfDecisions++, positionKey);
+		if (search.getLastNumberOfIterations() == 0 && !Double.isNaN(search.getLastValue())) {
+			System.out.println("Monte Carlo decision reused for a known position");
+		} else {
+			System.out.println("Monte Carlo search ran " + search.getLastNumberOfIterations() + " simulations");
+		}
+		return decision;
+	}
+
+	/**
+	 * Executes reinforcement, placing the armies in the country chosen by the search.
+	 */
+	@Override
+	public void executeReinforcement() {
+		notifyView();
+
+		Integer getReinforcementCountFromCards = getReinforcementCountFromValidCardsAI();
+		Integer totalReinforcementArmyCount = getReinforcementCountFromCards + calculateReinforcementArmy();
+		ReinforcementPhaseState reinforcementPhase = new ReinforcementPhaseState();
+		reinforcementPhase.setNumberOfArmiesReceived(totalReinforcementArmyCount);
+
+		reinforcementPhaseState.add(reinforcementPhase);
+
+		notifyView();
+		placeArmy(totalReinforcementArmyCount);
+	}
+
+	/**
+	 * Method to place armies.
+	 *
+	 * @param reinforcementArmy the number of armies to be reinforced
+	 */
+	@Override
+	public void placeArmy(Integer reinforcementArmy) {
+
+		System.out.println();
+		System.out.println("**** Reinforcement Phase Begins for player " + this.playerName + "..****\n");
+
+		Set<String> conqueredCountryByThisPlayer = gameData.gameMap.getConqueredCountries(playerID);
+		if (conqueredCountryByThisPlayer.isEmpty()) {
+			return;
+		}
+
+		BoardState state = createBoardState();
+		long decision = searchDecision(state, TurnDecision.Stage.REINFORCEMENT, reinforcementArmy);
+		String country = state.getCountryName(TurnDecision.getTargetCountry(decision));
+		gameData.gameMap.addArmyToCountry(country, reinforcementArmy);
+
+		ReinforcementPhaseState reinforcementPhase = new ReinforcementPhaseState();
+		reinforcementPhase.setToCountry(country);
+		reinforcementPhase.setNumberOfArmiesPlaced(reinforcementArmy);
+		reinforcementPhaseState.add(reinforcementPhase);
+		notifyView();
+
+		System.out.println("\nReinforcement is done for player " + playerName + ". Here is an overview. \n");
+		for (String conqueredCountry : conqueredCountryByThisPlayer) {
+			System.out.println("Country: " + conqueredCountry + ", Army Count: "
+					+ gameData.gameMap.getCountry(conqueredCountry).getCountryArmyCount());
+		}
+	}
+
+	/**
+	 * Executes attack, attacks all out the countries chosen by the search until the search
+	 * decides to stop.
+	 */
+	@Override
+	public void executeAttack() {
+
+		System.out.println();
+		System.out.println("**** Attack Phase Begins for player " + this.playerName + "..****\n");
+
+		boolean hasConnqueredAtleastOneCountry = false;
+
+		for (int attack = 0; attack < MAX_ATTACKS_PER_TURN && !checkIfPlayerHasConqueredTheWorld(); attack++) {
+			HashMap<String, ArrayList<String>> potentialAttackScenarios = getPotentialAttackScenarios();
+			if (potentialAttackScenarios.isEmpty()) {
+				break;
+			}
+
+			BoardState state = createBoardState();
+			long decision = searchDecision(state, TurnDecision.Stage.ATTACK, 0);
+			if (decision == TurnDecision.PASS) {
+				break;
+			}
+			String attackingCountry = state.getCountryName(TurnDecision.getSourceCountry(decision));
+			String enemyCountryToAttack = state.getCountryName(TurnDecision.getTargetCountry(decision));
+
+			AttackPhaseState attackPhase = new AttackPhaseState();
+			attackPhase.setAttackingPlayer(this.playerName);
+			attackPhaseState.add(attackPhase);
+			attackPhase.setAttackingCountry(attackingCountry);
+			attackPhase.setDefendingCountry(enemyCountryToAttack);
+			attackPhase.setDefendingPlayer(gameData
+					.getPlayer(this.gameData.gameMap.getCountry(enemyCountryToAttack).getCountryConquerorID())
+					.getStrategyType().getPlayerName());
+			notifyView();
+
+			// fight in all out mode until the country is conquered or the attacker runs out of armies
+			while (!attackPhase.getBattleOutcomeFlag()
+					&& this.gameData.gameMap.getCountry(attackingCountry).getCountryArmyCount() > 1) {
+				attackPhase.setAttackerDiceCount(getActualMaxAllowedDiceCountForAction("attack", attackingCountry, 3));
+				attackPhase.setDefenderDiceCount(getActualMaxAllowedDiceCountForAction("defend", enemyCountryToAttack, 2));
+				rollDiceBattle(attackPhase);
+				hasConnqueredAtleastOneCountry = fight(attackPhase) || hasConnqueredAtleastOneCountry;
+			}
+		}
+
+		checkIfPlayerHasConqueredTheWorld();
+
+		if (hasConnqueredAtleastOneCountry) {
+			Card card = gameData.cardsDeck.getCard();
+
+			if (card == null) {
+				System.out.println("No more cards left in the deck");
+			} else {
+				this.cardList.add(card);
+				System.out.println("PlayerStrategy received 1 card => Army Type: " + card.getArmyType() + ", Country: " + card.getCountry().getCountryName());
+				System.out.println("Total cards : " + this.cardList.size());
+			}
+		}
+
+		endAttack();
+	}
+
+	/**
+	 * Executes fortification, moving the armies chosen by the search.
+	 */
+	@Override
+	public void executeFortification() {
+
+		System.out.println();
+		System.out.println("**** Fortification Phase Begins for player " + this.playerName + "..****\n");
+		FortificationPhaseState fortificationPhase = new FortificationPhaseState();
+		fortificationPhaseState.add(fortificationPhase);
+		notifyView();
+
+		if (gameData.gameMap.getConqueredCountries(playerID).isEmpty()) {
+			return;
+		}
+
+		BoardState state = createBoardState();
+		long decision = searchDecision(state, TurnDecision.Stage.FORTIFICATION, 0);
+		if (decision == TurnDecision.PASS) {
+			System.out.println("No fortification chosen for player " + this.playerName + "\n");
+			System.out.println("\n****Fortification Phase Ends for player " + this.playerName + "..****\n");
+			return;
+		}
+
+		String fromCountry = state.getCountryName(TurnDecision.getSourceCountry(decision));
+		String toCountry = state.getCountryName(TurnDecision.getTargetCountry(decision));
+		Integer numberOfArmiesToMove = gameData.gameMap.getCountry(fromCountry).getCountryArmyCount() - 1;
+		gameData.gameMap.deductArmyToCountry(fromCountry, numberOfArmiesToMove);
+		gameData.gameMap.addArmyToCountry(toCountry, numberOfArmiesToMove);
+
+		fortificationPhase.setFromCountry(fromCountry);
+		fortificationPhase.setToCountry(toCountry);
+		fortificationPhase.setNumberOfArmiesMoved(numberOfArmiesToMove);
+		notifyView();
+
+		System.out.println("Moved " + numberOfArmiesToMove + " armies from " + fromCountry + " to " + toCountry);
+		System.out.println("\n****Fortification Phase Ends for player " + this.playerName + "..****\n");
+	}
+
+	/**
+	 * Since this is a bot strategy there is no input from the user.
+	 */
+	@Override
+	public String getCountryToAttackFrom(HashMap<String, ArrayList<String>> attackScenarios) {
+		return null;
+	}
+
+	/**
+	 * Since this is a bot strategy there is no input from the user.
+	 */
+	@Override
+	public String getEnemyCountryToAttack(String selectedSourceCountry, HashMap<String, ArrayList<String>> attackScenarios) {
+		return null;
+	}
+
+	/**
+	 * Since this is a bot strategy there is no input from the user.
+	 */
+	@Override
+	public Integer getDesiredDiceCountFromPlayer(String player, String country, String action) {
+		return null;
+	}
+
+	/**
+	 * Moves every army but one into the conquered country, the search favours attacks that
+	 * keep going.
+	 */
+	@Override
+	public Integer getNumberofArmiesAttackerWantsToMove(String selectedSourceCountry) {
+		return gameData.gameMap.getCountry(selectedSourceCountry).getCountryArmyCount() - 1;
+	}
+}
@@ -1,5 +1,11 @@
 package com.java.model.player;
 
+import com.java.controller.instrumentation.FortificationEvent;
+import com.java.controller.instrumentation.GameMetrics;
+import com.java.controller.instrumentation.TurnEvent;
+import com.java.controller.instrumentation.TurnInstrumentation;
+import com.java.model.map.Zobrist;
+
 import java.io.Serializable;
 
 /**
@@ -36,8 +42,21 @@ public class Player implements Serializable {
 
     /**
      * The startTurn() method organizes the flow of the game by ordering phase-execution.
+     * The whole turn and each phase are measured by TurnInstrumentation, the turn is also
+     * recorded as a flight recorder event.
+     * A remote player is not played by this method: its turn is taken one command at a time
+     * by a GameServer.
+     *
+     * @throws IllegalStateException if the player is a remote player.
      */
     public void startTurn() {
+        if (strategyType instanceof RemoteMode) {
+            throw new IllegalStateException(
+                    strategyType.getPlayerName() + " is a remote player, its turns are played through a GameServer");
+        }
+        TurnInstrumentation.Probe probe = TurnInstrumentation.start();
+        TurnEvent turnEvent = new TurnEvent();
+        turnEvent.begin();
         boolean isWinner = false;
         startReinforcement();
         startAttack();
@@ -46,27 +65,62 @@ public class Player implements Serializable {
         if (!isWinner) {
             startFortification();
         }
+        TurnInstrumentation.stop(strategyType.getClass(), TurnInstrumentation.Phase.TURN, probe);
+        GameMetrics.turnPlayed();
+
+        turnEvent.end();
+        if (turnEvent.shouldCommit()) {
+            turnEvent.setContext(strategyType.gameData, strategyType);
+            turnEvent.countriesOwned = strategyType.gameData.gameMap.getConqueredCountries(strategyType.getPlayerID()).size();
+            turnEvent.winner = isWinner;
+            turnEvent.commit();
+        }
     }
     
     /**
      * Method to start Reinforcement, it calls the method from the strategy.
      */
     public void startReinforcement() {
-       strategyType.executeReinforcement();
+        TurnInstrumentation.Probe probe = TurnInstrumentation.start();
+        strategyType.gameData.gameMap.setCurrentTurn(strategyType.getPlayerID(), Zobrist.Phase.REINFORCEMENT);
+        strategyType.executeReinforcement();
+        TurnInstrumentation.stop(strategyType.getClass(), TurnInstrumentation.Phase.REINFORCEMENT, probe);
     }
     
     /**
      * Method to start Attack, it calls the method from the strategy.
      */
     public void startAttack() {
+        TurnInstrumentation.Probe probe = TurnInstrumentation.start();
+        strategyType.gameData.gameMap.setCurrentTurn(strategyType.getPlayerID(), Zobrist.Phase.ATTACK);
         strategyType.executeAttack();
+        TurnInstrumentation.stop(strategyType.getClass(), TurnInstrumentation.Phase.ATTACK, probe);
     }
     
     /**
      * Method to start Fortification, it calls the method from the strategy.
      */
     public void startFortification() {
+        TurnInstrumentation.Probe probe = TurnInstrumentation.start();
+        FortificationEvent fortificationEvent = new FortificationEvent();
+        fortificationEvent.begin();
+        strategyType.gameData.gameMap.setCurrentTurn(strategyType.getPlayerID(), Zobrist.Phase.FORTIFICATION);
         strategyType.executeFortification();
+        TurnInstrumentation.stop(strategyType.getClass(), TurnInstrumentation.Phase.FORTIFICATION, probe);
+
+        fortificationEvent.end();
+        if (fortificationEvent.shouldCommit() && !strategyType.getFortificationPhaseState().isEmpty()) {
+            FortificationPhaseState fortificationPhase = strategyType.getFortificationPhaseState()
+                    .get(strategyType.getFortificationPhaseState().size() - 1);
+            // only the phases where armies were actually moved are recorded
+            if (fortificationPhase.getNumberOfArmiesMoved() != null) {
+                fortificationEvent.setContext(strategyType.gameData, strategyType);
+                fortificationEvent.fromCountry = fortificationPhase.getFromCountry();
+                fortificationEvent.toCountry = fortificationPhase.getToCountry();
+                fortificationEvent.armiesMoved = fortificationPhase.getNumberOfArmiesMoved();
+                fortificationEvent.commit();
+            }
+        }
     }
     
     /**
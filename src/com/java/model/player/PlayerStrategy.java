@@ -2,6 +2,9 @@
 package com.java.model.player;
 
 import com.java.controller.dice.Dice;
+import com.java.controller.instrumentation.BattleRoundEvent;
+import com.java.controller.instrumentation.CardTradeEvent;
+import com.java.controller.instrumentation.GameMetrics;
 import com.java.model.Observable;
 import com.java.model.cards.ArmyType;
 import com.java.model.cards.Card;
@@ -11,6 +14,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Set;
 
 /**
  * This class models the player strategy, it holds the id, the name, and the order to
@@ -29,7 +33,6 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 	protected String playerName;
 	protected Integer orderOfPlay;
 	protected ArrayList<Card> cardList;
-	protected static int cardExchangeArmyCount = 5;
 
 	protected Boolean isWinner = false;
 
@@ -83,12 +86,15 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 	}
 
 	/**
-	 * set true if player won the game
+	 * set true if player won the game, the game data of the player keeping its winner
 	 *
 	 * @param isWinner true if the player won the game.
 	 */
 	public void setIsWinner(Boolean isWinner) {
 		this.isWinner = isWinner;
+		if (gameData != null) {
+			gameData.updateWinner(this);
+		}
 	}
 
 
@@ -139,7 +145,7 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 		 * Count the total number of continents owned by the player and retrieve the
 		 * continent's control value.
 		 */
-		HashSet<String> conqueredContinentsPerPlayer = this.gameData.gameMap
+		Set<String> conqueredContinentsPerPlayer = this.gameData.gameMap
 				.getConqueredContinentsPerPlayer(currentPlayerID);
 
 		for (String continent : conqueredContinentsPerPlayer) {
@@ -183,8 +189,8 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 				if (extraTerritoryMatchArmy == true) {
 					countReinforcementFromCardExchange += 2;
 				}
-				countReinforcementFromCardExchange += PlayerStrategy.getCardExchangeArmyCount();
-				PlayerStrategy.setCardExchangeArmyCount();
+				countReinforcementFromCardExchange += getCardExchangeArmyCount();
+				setCardExchangeArmyCount();
 			}
 			for (Card card : playerExchangeCards) {
 				removeFromPlayerCardList(card);
@@ -204,7 +210,7 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 		boolean extraTerritoryMatchArmy = false;
 
 		for (Card card : playerExchangeCards) {
-			if (playerID == card.getCountry().getCountryConquerorID()) {
+			if (card.getCountry().isConqueredBy(playerID)) {
 				extraTerritoryMatchArmy = true;
 				break;
 			}
@@ -237,6 +243,10 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 	 * @return the number of traded armies.
 	 */
 	public int tradeCardsAI(ArrayList<Card> playerCardList){
+		CardTradeEvent cardTradeEvent = new CardTradeEvent();
+		cardTradeEvent.begin();
+		int numberOfCardsBeforeTrade = playerCardList.size();
+
 		HashMap<Enum,Integer> playerDeck = new HashMap<>();
 		Integer reinforcementAICount = 0;
 		Integer infantryCount = 0;
@@ -268,7 +278,7 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 			boolean isArtillery = false;
 			for(Card card:playerCardList){
 				if((card.getArmyType().equals(ArmyType.INFANTRY)) && (!isInfantry)){
-					if(card.getCountry().getCountryConquerorID() == playerID){
+					if(card.getCountry().isConqueredBy(playerID)){
 						isExtraTerritoryMatch = true;
 					}
 					playerDeck.put(ArmyType.INFANTRY,--infantryCount);
@@ -276,7 +286,7 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 					isInfantry = true;
 				}
 				if((card.getArmyType().equals(ArmyType.CAVALRY)) && (!isCavalry)){
-					if(card.getCountry().getCountryConquerorID() == playerID){
+					if(card.getCountry().isConqueredBy(playerID)){
 						isExtraTerritoryMatch = true;
 					}
 					toBeRemoved.add(card);
@@ -284,7 +294,7 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 					isCavalry = true;
 				}
 				if((card.getArmyType().equals(ArmyType.ARTILLERY)) && (!isArtillery)){
-					if(card.getCountry().getCountryConquerorID() == playerID){
+					if(card.getCountry().isConqueredBy(playerID)){
 						isExtraTerritoryMatch = true;
 					}
 					playerDeck.put(ArmyType.ARTILLERY,--artilleryCount);
@@ -314,7 +324,7 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 				int count = 0;
 				for(Card card : playerCardList){
 					if((card.getArmyType().equals(key)) && (count < 3)){
-						if(card.getCountry().getCountryConquerorID() == playerID){
+						if(card.getCountry().isConqueredBy(playerID)){
 							isExtraTerritoryMatch = true;
 						}
 						toBeRemoved.add(card);
@@ -336,6 +346,14 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 		if(isExtraTerritoryMatch == true){
 			reinforcementAICount += 2;
 		}
+
+		cardTradeEvent.end();
+		if (cardTradeEvent.shouldCommit()) {
+			cardTradeEvent.setContext(this.gameData, this);
+			cardTradeEvent.cardsTraded = numberOfCardsBeforeTrade - playerCardList.size();
+			cardTradeEvent.armiesReceived = reinforcementAICount;
+			cardTradeEvent.commit();
+		}
 		return reinforcementAICount;
 	}
 
@@ -391,12 +409,13 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 
 		HashMap<String, ArrayList<String>> attackScenarios = new HashMap<String, ArrayList<String>>();
 		// source countries which PlayerStrategy could attack FROM
-		HashSet<String> poolOfPotentialSourceCountries = this.gameData.gameMap.getConqueredCountries(playerID);
+		Set<String> poolOfPotentialSourceCountries = this.gameData.gameMap.getConqueredCountries(playerID);
 
 
 		for (String potentialSourceCountry : poolOfPotentialSourceCountries) {
-			// eliminate countries with only a single army count
-			if (this.gameData.gameMap.getCountry(potentialSourceCountry).getCountryArmyCount() < 2) {
+			// eliminate countries with only a single army count, and interior ones which have nothing to attack
+			if (this.gameData.gameMap.getCountry(potentialSourceCountry).getCountryArmyCount() < 2
+					|| !this.gameData.gameMap.isFrontierCountry(potentialSourceCountry)) {
 				continue;
 			}
 			HashSet<String> adjacentCountries = new HashSet<String>();
@@ -404,7 +423,7 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 			for (String adjacentCountry : adjacentCountries) {
 
 				// ensure adjacent country not owned by same player
-				if (this.gameData.gameMap.getCountry(adjacentCountry).getCountryConquerorID() != playerID) {
+				if (!this.gameData.gameMap.getCountry(adjacentCountry).isConqueredBy(playerID)) {
 
 					attackScenarios.putIfAbsent(potentialSourceCountry, new ArrayList<String>());
 					attackScenarios.get(potentialSourceCountry).add(adjacentCountry);
@@ -508,6 +527,10 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 
 	public Boolean fight(AttackPhaseState attackPhase) {
 
+		long battleStartTime = System.nanoTime();
+		BattleRoundEvent battleRoundEvent = new BattleRoundEvent();
+		battleRoundEvent.begin();
+
 		String selectedSourceCountry = attackPhase.getAttackingCountry();
 		String selectedDestinationCountry = attackPhase.getDefendingCountry();
 
@@ -540,7 +563,7 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 			}
 
 			// if attacker wins
-			if (this.gameData.gameMap.getCountry(selectedDestinationCountry).getCountryArmyCount() == 0) {
+			if (this.gameData.gameMap.getCountry(selectedDestinationCountry).getArmies() == 0) {
 				// declare new winner
 				Integer defenderPlayerId = this.gameData.gameMap.getCountry(selectedDestinationCountry).getCountryConquerorID();
 
@@ -588,6 +611,20 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 		System.out.println("Army count for " + selectedDestinationCountry + " is now: "
 				+ this.gameData.gameMap.getCountry(selectedDestinationCountry).getCountryArmyCount());
 
+		battleRoundEvent.end();
+		if (battleRoundEvent.shouldCommit()) {
+			battleRoundEvent.setContext(this.gameData, this);
+			battleRoundEvent.attackingCountry = selectedSourceCountry;
+			battleRoundEvent.defendingCountry = selectedDestinationCountry;
+			battleRoundEvent.attackerDice = attackPhase.getAttackerDiceCount();
+			battleRoundEvent.defenderDice = selectedDefenderDiceCount;
+			battleRoundEvent.attackerLosses = attackerLostArmyCount;
+			battleRoundEvent.defenderLosses = defenderLostArmyCount;
+			battleRoundEvent.conquered = battleOutcomeFlag;
+			battleRoundEvent.commit();
+		}
+		GameMetrics.battleFought(System.nanoTime() - battleStartTime);
+
 		return battleOutcomeFlag;
 	}
 
@@ -609,11 +646,11 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 	public boolean checkIfPlayerHasConqueredTheWorld() {
 
 		// boolean isWinner = false;
-		HashSet<String> allConqueredCountries = new HashSet<String>();
+		Set<String> allConqueredCountries = new HashSet<String>();
 		allConqueredCountries = this.gameData.gameMap.getConqueredCountries(this.playerID);
 
 		if (allConqueredCountries.size() == this.gameData.gameMap.getNumberOfCountries()) {
-			isWinner = true;
+			setIsWinner(true);
 			gameOn = false;
 		}
 		return isWinner;
@@ -626,10 +663,11 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 	 */
 	private boolean checkIfPlayerLostTheGame(Integer playerId) {
 
-		HashSet<String> allConqueredCountries = new HashSet<String>();
-		allConqueredCountries = this.gameData.gameMap.getConqueredCountries(playerId);
-
-		if(allConqueredCountries.size() == 0) {
+		if(!this.gameData.isPlayerActive(playerId)) {
+			Player player = this.gameData.getPlayer(playerId);
+			if (player != null) {
+				this.gameData.setPlayerStatus(player, false);
+			}
 			return true;
 		}
 
@@ -656,7 +694,7 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 
 		// Step 1: get the comprehensive list of all countries currently conquered by
 		// the player
-		HashSet<String> poolOfPotentialCountries = new HashSet<String>();
+		Set<String> poolOfPotentialCountries = new HashSet<String>();
 		poolOfPotentialCountries = this.gameData.gameMap.getConqueredCountries(playerID);
 
 		// Step 2: draw preliminary paths - irrespective of army counts & extended
@@ -749,7 +787,7 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 		for (String adjacentCountry : adjacentCountries) {
 			// ensure adjacent country also owned by same player - otherwise no path
 			// to/through it
-			if (this.gameData.gameMap.getCountry(adjacentCountry).getCountryConquerorID() == playerID
+			if (this.gameData.gameMap.getCountry(adjacentCountry).isConqueredBy(playerID)
 					&& !longestConqueredPathFromRoot.contains(adjacentCountry)) {
 				longestConqueredPathFromRoot.add(adjacentCountry);
 				traverseNeighbouringCountries(longestConqueredPathFromRoot, adjacentCountry);
@@ -794,19 +832,19 @@ public abstract class PlayerStrategy extends Observable implements Serializable
 	}
 
 	/**
-	 * Setter for card exchange army count.
+	 * Setter for card exchange army count, raising the count of the game after a trade.
 	 */
-	public static void setCardExchangeArmyCount() {
-		PlayerStrategy.cardExchangeArmyCount += 5;
+	public void setCardExchangeArmyCount() {
+		gameData.increaseCardExchangeArmyCount();
 	}
 
 	/**
-	 * Getter for cardExchangeArmyCount which holds the card exchange army count.
+	 * Getter for the card exchange army count of the game.
 	 *
 	 * @return the card exchange army count.
 	 */
-	public static int getCardExchangeArmyCount() {
-		return cardExchangeArmyCount;
+	public int getCardExchangeArmyCount() {
+		return gameData.getCardExchangeArmyCount();
 	}
 
 	/**
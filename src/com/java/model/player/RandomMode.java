@@ -26,7 +26,7 @@ public class RandomMode extends PlayerStrategy {
 	
 	public Random random;
 	
-	public static Integer seed = 0;
+	private final Integer seed;
 	
 	/**
 	 * Creates a new random strategy player.
@@ -73,9 +73,11 @@ public class RandomMode extends PlayerStrategy {
 	public void placeArmy(Integer reinforcementArmy) {
 
 		Integer currentPlayerID = playerID;
-		HashSet<String> countriesOwned = this.gameData.gameMap.getConqueredCountries(currentPlayerID);
+		Set<String> countriesOwned = this.gameData.gameMap.getConqueredCountries(currentPlayerID);
 
 		ArrayList<String> countriesOwnedList = new ArrayList<>(countriesOwned);
+		// the placements are gathered and applied to the map at once
+		int[] armyDeltas = new int[this.gameData.gameMap.getNumberOfCountries()];
 
 		System.out.println();
 		System.out.println("**** Reinforcement Phase Begins for player " + this.playerName + "..****\n");
@@ -97,7 +99,7 @@ public class RandomMode extends PlayerStrategy {
 			System.out.println("Successful...Country chosen " + randomCountry + " ,Number of armies placed: "
 					+ randomReinforcementCount + "\n\n");
 
-			this.gameData.gameMap.addArmyToCountry(randomCountry, randomReinforcementCount);
+			armyDeltas[this.gameData.gameMap.getCountryIndex(randomCountry)] += randomReinforcementCount;
 			reinforcementArmy -= randomReinforcementCount;
 
 			ReinforcementPhaseState reinforcementPhase = new ReinforcementPhaseState();
@@ -106,6 +108,8 @@ public class RandomMode extends PlayerStrategy {
 			reinforcementPhaseState.add(reinforcementPhase);
 			notifyView();
 		}
+		this.gameData.gameMap.applyArmyDeltas(armyDeltas);
+
 		/* End of reinforcement phase, Print the final overview. */
 		System.out.println("Reinforcement Phase is now complete. Here's an overview: \n\n");
 		for (String countries : countriesOwned) {
@@ -0,0 +1,301 @@
+package com.java.model.player;
+
+import com.java.model.cards.Card;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * This class is a player strategy for a human playing from another process. Instead of
+ * reading the console like HumanMode, it takes the same decisions one command at a time from
+ * a GameServer: the turn begins with the reinforcement armies computed, then the commands
+ * place them, attack, end the attack, fortify and end the turn. Every command is checked
+ * against the rules and the phase of the turn before it changes the map.
+ *
+ * The defender always rolls as many dice as it can, and cards are traded automatically.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class RemoteMode extends PlayerStrategy {
+
+	/**
+	 * Phases of the turn of a remote player.
+	 */
+	public enum TurnPhase {
+		WAITING, REINFORCEMENT, ATTACK, FORTIFICATION
+	}
+
+	private TurnPhase turnPhase = TurnPhase.WAITING;
+	private int armiesToPlace;
+	private int armiesToMoveOnConquest = 1;
+	private boolean hasConqueredAtLeastOneCountry;
+
+	/**
+	 * Creates a new remote player.
+	 *
+	 * @param playerID the player id.
+	 * @param playerName the player name.
+	 */
+	public RemoteMode(Integer playerID, String playerName) {
+		super(playerID, playerName);
+	}
+
+	public TurnPhase getTurnPhase() {
+		return turnPhase;
+	}
+
+	public int getArmiesToPlace() {
+		return armiesToPlace;
+	}
+
+	/**
+	 * @return true if the player is not in the middle of its turn.
+	 */
+	public boolean isTurnOver() {
+		return turnPhase == TurnPhase.WAITING;
+	}
+
+	/**
+	 * Starts the turn with the reinforcement armies of the player, trading its cards first if it
+	 * holds more than four of them.
+	 */
+	public void beginTurn() {
+		armiesToPlace = calculateTotalReinforcement(new ArrayList<Card>());
+		if (cardList.size() > 4) {
+			armiesToPlace += tradeCardsAI(cardList);
+		}
+		hasConqueredAtLeastOneCountry = false;
+		turnPhase = armiesToPlace > 0 ? TurnPhase.REINFORCEMENT : TurnPhase.ATTACK;
+		notifyView();
+	}
+
+	/**
+	 * Trades the valid sets of cards of the player for armies.
+	 *
+	 * @return the number of armies received.
+	 */
+	public int tradeCards() {
+		requirePhase(TurnPhase.REINFORCEMENT);
+		int armies = tradeCardsAI(cardList);
+		armiesToPlace += armies;
+		return armies;
+	}
+
+	/**
+	 * Places reinforcement armies on a country of the player.
+	 *
+	 * @param countryName the country name.
+	 * @param numberOfArmies the number of armies, at most the armies left to place.
+	 */
+	public void placeArmies(String countryName, int numberOfArmies) {
+		requirePhase(TurnPhase.REINFORCEMENT);
+		requireOwnCountry(countryName);
+		if (numberOfArmies < 1 || numberOfArmies > armiesToPlace) {
+			throw new IllegalArgumentException("Between 1 and " + armiesToPlace + " armies can be placed");
+		}
+		this.gameData.gameMap.addArmyToCountry(countryName, numberOfArmies);
+		armiesToPlace -= numberOfArmies;
+
+		ReinforcementPhaseState reinforcementPhase = new ReinforcementPhaseState();
+		reinforcementPhase.setToCountry(countryName);
+		reinforcementPhase.setNumberOfArmiesPlaced(numberOfArmies);
+		reinforcementPhaseState.add(reinforcementPhase);
+		notifyView();
+
+		if (armiesToPlace == 0) {
+			reinforcementPhaseState.clear();
+			turnPhase = TurnPhase.ATTACK;
+		}
+	}
+
+	/**
+	 * Attacks an enemy country once, or until it is conquered or the attacker cannot attack
+	 * anymore in all-out mode.
+	 *
+	 * @param fromCountry the country of the player attacking.
+	 * @param toCountry the enemy country attacked.
+	 * @param diceCount the number of dice of the attacker, ignored in all-out mode.
+	 * @param allOut true to attack with the maximum number of dice until the end.
+	 * @param armiesToMove the number of armies moved into the country if it is conquered.
+	 * @return true if the country was conquered.
+	 */
+	public boolean attack(String fromCountry, String toCountry, int diceCount, boolean allOut, int armiesToMove) {
+		requirePhase(TurnPhase.ATTACK);
+		HashMap<String, ArrayList<String>> attackScenarios = getPotentialAttackScenarios();
+		if (!attackScenarios.containsKey(fromCountry) || !attackScenarios.get(fromCountry).contains(toCountry)) {
+			throw new IllegalArgumentException(fromCountry + " cannot attack " + toCountry);
+		}
+		int maxDiceCount = getActualMaxAllowedDiceCountForAction("attack", fromCountry, 3);
+		if (!allOut && (diceCount < 1 || diceCount > maxDiceCount)) {
+			throw new IllegalArgumentException("Between 1 and " + maxDiceCount + " dice can be rolled");
+		}
+		armiesToMoveOnConquest = armiesToMove;
+
+		AttackPhaseState attackPhase = new AttackPhaseState();
+		attackPhase.setAttackingPlayer(this.playerName);
+		attackPhase.setAttackingCountry(fromCountry);
+		attackPhase.setDefendingCountry(toCountry);
+		attackPhase.setDefendingPlayer(gameData
+				.getPlayer(this.gameData.gameMap.getCountry(toCountry).getCountryConquerorID())
+				.getStrategyType().getPlayerName());
+		attackPhaseState.add(attackPhase);
+		notifyView();
+
+		do {
+			attackPhase.setAttackerDiceCount(allOut ? maxDiceCount : diceCount);
+			attackPhase.setDefenderDiceCount(getActualMaxAllowedDiceCountForAction("defend", toCountry, 2));
+			rollDiceBattle(attackPhase);
+			hasConqueredAtLeastOneCountry = fight(attackPhase) || hasConqueredAtLeastOneCountry;
+			maxDiceCount = getActualMaxAllowedDiceCountForAction("attack", fromCountry, 3);
+		} while (allOut && !attackPhase.getBattleOutcomeFlag()
+				&& this.gameData.gameMap.getCountry(fromCountry).getArmies() > 1);
+
+		attackPhaseState.clear();
+		checkIfPlayerHasConqueredTheWorld();
+		return attackPhase.getBattleOutcomeFlag();
+	}
+
+	/**
+	 * Ends the attacks of the turn, drawing a card if a country was conquered.
+	 */
+	public void finishAttack() {
+		requirePhase(TurnPhase.ATTACK);
+		if (hasConqueredAtLeastOneCountry) {
+			Card card = gameData.cardsDeck.getCard();
+			if (card == null) {
+				System.out.println("No more cards left in the deck");
+			} else {
+				this.cardList.add(card);
+			}
+		}
+		endAttack();
+		turnPhase = TurnPhase.FORTIFICATION;
+	}
+
+	/**
+	 * Moves armies between two connected countries of the player, which ends the turn.
+	 *
+	 * @param fromCountry the country the armies leave.
+	 * @param toCountry the country the armies join.
+	 * @param numberOfArmies the number of armies, leaving at least one behind.
+	 */
+	public void fortify(String fromCountry, String toCountry, int numberOfArmies) {
+		if (turnPhase == TurnPhase.ATTACK) {
+			finishAttack();
+		}
+		requirePhase(TurnPhase.FORTIFICATION);
+		HashMap<String, ArrayList<String>> fortificationScenarios = getFortificationScenarios();
+		if (fortificationScenarios == null || !fortificationScenarios.containsKey(fromCountry)
+				|| !fortificationScenarios.get(fromCountry).contains(toCountry)) {
+			throw new IllegalArgumentException("Armies cannot move from " + fromCountry + " to " + toCountry);
+		}
+		int maxNumberOfArmies = this.gameData.gameMap.getCountry(fromCountry).getArmies() - 1;
+		if (numberOfArmies < 0 || numberOfArmies > maxNumberOfArmies) {
+			throw new IllegalArgumentException("Between 0 and " + maxNumberOfArmies + " armies can be moved");
+		}
+		this.gameData.gameMap.deductArmyToCountry(fromCountry, numberOfArmies);
+		this.gameData.gameMap.addArmyToCountry(toCountry, numberOfArmies);
+		turnPhase = TurnPhase.WAITING;
+	}
+
+	/**
+	 * Ends the turn, skipping the fortification.
+	 */
+	public void endTurn() {
+		if (turnPhase == TurnPhase.ATTACK) {
+			finishAttack();
+		}
+		requirePhase(TurnPhase.FORTIFICATION);
+		turnPhase = TurnPhase.WAITING;
+	}
+
+	private void requirePhase(TurnPhase phase) {
+		if (turnPhase != phase) {
+			throw new IllegalStateException(playerName + " is in the " + turnPhase + " phase, not " + phase);
+		}
+	}
+
+	private void requireOwnCountry(String countryName) {
+		if (this.gameData.gameMap.getCountry(countryName) == null
+				|| !this.gameData.gameMap.getCountry(countryName).isConqueredBy(playerID)) {
+			throw new IllegalArgumentException("'" + countryName + "' does not belong to " + playerName);
+		}
+	}
+
+	/**
+	 * Not used: Player.startTurn refuses remote players, whose turns are played through a
+	 * GameServer.
+	 */
+	@Override
+	public void executeReinforcement() {
+		throw new UnsupportedOperationException("A remote player plays through a GameServer");
+	}
+
+	/**
+	 * Not used: Player.startTurn refuses remote players, whose turns are played through a
+	 * GameServer.
+	 */
+	@Override
+	public void placeArmy(Integer reinforcementArmy) {
+		throw new UnsupportedOperationException("A remote player plays through a GameServer");
+	}
+
+	/**
+	 * Not used: Player.startTurn refuses remote players, whose turns are played through a
+	 * GameServer.
+	 */
+	@Override
+	public void executeAttack() {
+		throw new UnsupportedOperationException("A remote player plays through a GameServer");
+	}
+
+	/**
+	 * Not used: Player.startTurn refuses remote players, whose turns are played through a
+	 * GameServer.
+	 */
+	@Override
+	public void executeFortification() {
+		throw new UnsupportedOperationException("A remote player plays through a GameServer");
+	}
+
+	/**
+	 * Not used: Player.startTurn refuses remote players, whose turns are played through a
+	 * GameServer.
+	 */
+	@Override
+	public String getCountryToAttackFrom(HashMap<String, ArrayList<String>> attackScenarios) {
+		throw new UnsupportedOperationException("A remote player plays through a GameServer");
+	}
+
+	/**
+	 * Not used: Player.startTurn refuses remote players, whose turns are played through a
+	 * GameServer.
+	 */
+	@Override
+	public String getEnemyCountryToAttack(String selectedSourceCountry,
+			HashMap<String, ArrayList<String>> attackScenarios) {
+		throw new UnsupportedOperationException("A remote player plays through a GameServer");
+	}
+
+	/**
+	 * A remote player defends with as many dice as it can.
+	 */
+	@Override
+	public Integer getDesiredDiceCountFromPlayer(String player, String country, String action) {
+		return getActualMaxAllowedDiceCountForAction(action, country, action.equals("attack") ? 3 : 2);
+	}
+
+	/**
+	 * Gets the number of armies of the attack command, within the armies of the country.
+	 */
+	@Override
+	public Integer getNumberofArmiesAttackerWantsToMove(String selectedSourceCountry) {
+		int maxNumberOfArmies = this.gameData.gameMap.getCountry(selectedSourceCountry).getArmies() - 1;
+		return Math.max(1, Math.min(armiesToMoveOnConquest, maxNumberOfArmies));
+	}
+}
@@ -0,0 +1,82 @@
+package com.java.model.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * AggressiveRolloutPolicy reproduces AggresiveMode: reinforces its strongest country, attacks
+ * all out from it the weakest neighbours first, then moves the armies of its strongest
+ * neighbour into the strongest country.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class AggressiveRolloutPolicy implements RolloutPolicy {
+
+	public static final AggressiveRolloutPolicy INSTANCE = new AggressiveRolloutPolicy();
+
+	/**
+	 * Gets the strongest country of a player, preferring the countries that have an enemy
+	 * neighbour.
+	 *
+	 * @param state the state.
+	 * @param player the player.
+	 * @return the country, -1 if the player owns none.
+	 */
+	static int getStrongestCountry(BoardState state, int player) {
+		int strongestCountry = -1;
+		boolean strongestIsFrontier = false;
+		for (int country = 0; country < state.getNumberOfCountries(); country++) {
+			if (state.getOwner(country) != player) {
+				continue;
+			}
+			boolean isFrontier = state.isFrontier(country);
+			if (strongestCountry == -1 || (isFrontier && !strongestIsFrontier)
+					|| (isFrontier == strongestIsFrontier && state.getArmies(country) > state.getArmies(strongestCountry))) {
+				strongestCountry = country;
+				strongestIsFrontier = isFrontier;
+			}
+		}
+		return strongestCountry;
+	}
+
+	@Override
+	public void playTurn(BoardState state, int player, SplittableRandom random) {
+		int strongestCountry = getStrongestCountry(state, player);
+		if (strongestCountry == -1) {
+			return;
+		}
+		state.addArmies(strongestCountry, state.getReinforcement(player));
+
+		boolean attacking = true;
+		while (attacking && state.getArmies(strongestCountry) > 1) {
+			int weakestEnemy = -1;
+			for (int position = state.getNeighboursStart(strongestCountry); position < state.getNeighboursEnd(strongestCountry); position++) {
+				int neighbour = state.getNeighbour(position);
+				if (state.getOwner(neighbour) != player
+						&& (weakestEnemy == -1 || state.getArmies(neighbour) < state.getArmies(weakestEnemy))) {
+					weakestEnemy = neighbour;
+				}
+			}
+			attacking = weakestEnemy != -1 && state.attackAllOut(strongestCountry, weakestEnemy, random);
+			if (attacking && state.isFrontier(weakestEnemy)) {
+				strongestCountry = weakestEnemy;
+			}
+		}
+
+		int supplier = -1;
+		for (int position = state.getNeighboursStart(strongestCountry); position < state.getNeighboursEnd(strongestCountry); position++) {
+			int neighbour = state.getNeighbour(position);
+			if (state.getOwner(neighbour) == player && state.getArmies(neighbour) > 1
+					&& (supplier == -1 || state.getArmies(neighbour) > state.getArmies(supplier))) {
+				supplier = neighbour;
+			}
+		}
+		if (supplier != -1) {
+			state.moveArmies(supplier, strongestCountry, state.getArmies(supplier) - 1);
+		}
+	}
+}
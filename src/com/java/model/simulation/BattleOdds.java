@@ -0,0 +1,123 @@
+package com.java.model.simulation;
+
+/**
+ * BattleOdds holds the exact outcome of an all-out attack: rounds of dice with the maximum dice
+ * on both sides until the defender is wiped out or the attacker has a single army left. The
+ * outcomes are computed once by dynamic programming over the numbers of attacking and
+ * defending armies, with the round probabilities of DiceOdds.
+ *
+ * Battles larger than the table are scaled down to it, keeping the ratio of the armies.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public final class BattleOdds {
+
+	/**
+	 * Largest number of attacking or defending armies held by the table.
+	 * */
+	public static final int MAX_ARMIES = 200;
+
+	private static final int SIZE = MAX_ARMIES + 1;
+
+	/**
+	 * Indexed by attacking units (the armies that may die, one army always stays behind) times
+	 * SIZE plus defending armies.
+	 * */
+	private static final double[] WIN_PROBABILITY = new double[SIZE * SIZE];
+	private static final double[] SURVIVORS_IF_WON = new double[SIZE * SIZE];
+	private static final double[] DEFENDERS_IF_LOST = new double[SIZE * SIZE];
+
+	static {
+		for (int units = 0; units < SIZE; units++) {
+			for (int defenders = 0; defenders < SIZE; defenders++) {
+				int index = units * SIZE + defenders;
+				if (defenders == 0) {
+					WIN_PROBABILITY[index] = 1;
+					SURVIVORS_IF_WON[index] = units;
+					continue;
+				}
+				if (units == 0) {
+					DEFENDERS_IF_LOST[index] = defenders;
+					continue;
+				}
+				int attackerDice = Math.min(3, units);
+				int defenderDice = Math.min(2, defenders);
+				int comparedDice = Math.min(attackerDice, defenderDice);
+				double winProbability = 0;
+				double survivorsIfWon = 0;
+				double defendersIfLost = 0;
+				for (int attackerLosses = 0; attackerLosses <= comparedDice; attackerLosses++) {
+					double probability = DiceOdds.getAttackerLossProbability(attackerDice, defenderDice, attackerLosses);
+					int next = (units - attackerLosses) * SIZE + defenders - (comparedDice - attackerLosses);
+					winProbability += probability * WIN_PROBABILITY[next];
+					survivorsIfWon += probability * WIN_PROBABILITY[next] * SURVIVORS_IF_WON[next];
+					defendersIfLost += probability * (1 - WIN_PROBABILITY[next]) * DEFENDERS_IF_LOST[next];
+				}
+				WIN_PROBABILITY[index] = winProbability;
+				SURVIVORS_IF_WON[index] = winProbability > 0 ? survivorsIfWon / winProbability : 0;
+				DEFENDERS_IF_LOST[index] = winProbability < 1 ? defendersIfLost / (1 - winProbability) : 0;
+			}
+		}
+	}
+
+	private BattleOdds() {
+	}
+
+	/**
+	 * Gets the index of a battle in the tables, scaled down when it is too large.
+	 *
+	 * @param attackingArmies armies of the attacking country, including the one staying behind.
+	 * @param defendingArmies armies of the defending country.
+	 * @return the index.
+	 */
+	private static int indexOf(int attackingArmies, int defendingArmies) {
+		int units = Math.max(0, attackingArmies - 1);
+		int defenders = Math.max(0, defendingArmies);
+		int largest = Math.max(units, defenders);
+		if (largest > MAX_ARMIES) {
+			units = (int) ((long) units * MAX_ARMIES / largest);
+			defenders = (int) ((long) defenders * MAX_ARMIES / largest);
+		}
+		return units * SIZE + defenders;
+	}
+
+	/**
+	 * Gets the factor applied to the numbers of armies of a battle scaled down to the table.
+	 */
+	private static double scaleOf(int attackingArmies, int defendingArmies) {
+		int largest = Math.max(attackingArmies - 1, defendingArmies);
+		return largest > MAX_ARMIES ? (double) largest / MAX_ARMIES : 1;
+	}
+
+	/**
+	 * @param attackingArmies armies of the attacking country, including the one staying behind.
+	 * @param defendingArmies armies of the defending country.
+	 * @return the probability that the attack conquers the country.
+	 */
+	public static double getWinProbability(int attackingArmies, int defendingArmies) {
+		return WIN_PROBABILITY[indexOf(attackingArmies, defendingArmies)];
+	}
+
+	/**
+	 * @param attackingArmies armies of the attacking country, including the one staying behind.
+	 * @param defendingArmies armies of the defending country.
+	 * @return the expected number of armies moving into the country when it is conquered.
+	 */
+	public static double getExpectedSurvivorsIfWon(int attackingArmies, int defendingArmies) {
+		return SURVIVORS_IF_WON[indexOf(attackingArmies, defendingArmies)] * scaleOf(attackingArmies, defendingArmies);
+	}
+
+	/**
+	 * @param attackingArmies armies of the attacking country, including the one staying behind.
+	 * @param defendingArmies armies of the defending country.
+	 * @return the expected number of armies left to the defender when the attack fails.
+	 */
+	public static double getExpectedDefendersIfLost(int attackingArmies, int defendingArmies) {
+		return DEFENDERS_IF_LOST[indexOf(attackingArmies, defendingArmies)] * scaleOf(attackingArmies, defendingArmies);
+	}
+}
@@ -0,0 +1,67 @@
+package com.java.model.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * BenevolentRolloutPolicy reproduces BenevolentMode: reinforces one army at a time the country
+ * most outnumbered by its enemy neighbours, never attacks and moves armies from its strongest
+ * neighbour to its weakest country.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class BenevolentRolloutPolicy implements RolloutPolicy {
+
+	public static final BenevolentRolloutPolicy INSTANCE = new BenevolentRolloutPolicy();
+
+	/**
+	 * Gets the country of a player most outnumbered by its enemy neighbours.
+	 *
+	 * @param state the state.
+	 * @param player the player.
+	 * @return the country, -1 if the player owns none.
+	 */
+	private static int getWeakestCountry(BoardState state, int player) {
+		int weakestCountry = -1;
+		int weakestThreat = Integer.MIN_VALUE;
+		for (int country = 0; country < state.getNumberOfCountries(); country++) {
+			if (state.getOwner(country) == player) {
+				int threat = state.getEnemyArmiesAround(country) - state.getArmies(country);
+				if (threat > weakestThreat) {
+					weakestThreat = threat;
+					weakestCountry = country;
+				}
+			}
+		}
+		return weakestCountry;
+	}
+
+	@Override
+	public void playTurn(BoardState state, int player, SplittableRandom random) {
+		int reinforcement = state.getReinforcement(player);
+		for (int army = 0; army < reinforcement; army++) {
+			int weakestCountry = getWeakestCountry(state, player);
+			if (weakestCountry == -1) {
+				return;
+			}
+			state.addArmies(weakestCountry, 1);
+		}
+
+		int weakestCountry = getWeakestCountry(state, player);
+		int supplier = -1;
+		for (int position = state.getNeighboursStart(weakestCountry); position < state.getNeighboursEnd(weakestCountry); position++) {
+			int neighbour = state.getNeighbour(position);
+			if (state.getOwner(neighbour) == player && state.getArmies(neighbour) > 1
+					&& (supplier == -1 || state.getArmies(neighbour) > state.getArmies(supplier))) {
+				supplier = neighbour;
+			}
+		}
+		if (supplier != -1) {
+			state.moveArmies(supplier, weakestCountry, (state.getArmies(supplier) - 1) / 2);
+		}
+	}
+}
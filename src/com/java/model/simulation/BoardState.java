@@ -0,0 +1,451 @@
+package com.java.model.simulation;
+
+import com.java.model.map.Continent;
+import com.java.model.map.Country;
+import com.java.model.map.GameMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * BoardState is a compact copy of the ownership and army state of a GameMap, made for the
+ * simulations of the AI strategies. Countries, continents and players are dense indices, the
+ * adjacency is kept in compressed sparse row arrays and the mutable state is two int arrays,
+ * so copying a state for a rollout is two array copies.
+ *
+ * The topology (names, adjacency, continents) is immutable and shared between the copies of
+ * a state, only the owners and the armies are copied.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class BoardState {
+
+	/**
+	 * Owner of a country that belongs to none of the players of the state.
+	 * */
+	public static final int NO_OWNER = -1;
+
+	private final String[] countryNames;
+	private final HashMap<String, Integer> countryIndices;
+	private final int[] adjacencyOffsets;
+	private final int[] adjacency;
+	private final int[] continentOfCountry;
+	private final int[] continentControlValues;
+	private final int[] continentSizes;
+	private final int[] playerIds;
+
+	private final int[] owners;
+	private final int[] armies;
+	private final int[] numberOfCountriesOwned;
+
+	/**
+	 * Creates the state of a map.
+	 *
+	 * @param map the game map.
+	 * @param playerIds the ids of the players, their position is their index in the state.
+	 */
+	public BoardState(GameMap map, List<Integer> playerIds) {
+		ArrayList<String> names = new ArrayList<>(map.getAllCountries().keySet());
+		Collections.sort(names);
+		int numberOfCountries = names.size();
+
+		countryNames = names.toArray(new String[0]);
+		countryIndices = new HashMap<>(numberOfCountries * 2);
+		for (int country = 0; country < numberOfCountries; country++) {
+			countryIndices.put(countryNames[country], country);
+		}
+
+		this.playerIds = new int[playerIds.size()];
+		for (int player = 0; player < this.playerIds.length; player++) {
+			this.playerIds[player] = playerIds.get(player);
+		}
+
+		adjacencyOffsets = new int[numberOfCountries + 1];
+		for (int country = 0; country < numberOfCountries; country++) {
+			int degree = 0;
+			for (String neighbour : map.getAdjacentCountries(countryNames[country])) {
+				if (countryIndices.containsKey(neighbour)) {
+					degree++;
+				}
+			}
+			adjacencyOffsets[country + 1] = adjacencyOffsets[country] + degree;
+		}
+		adjacency = new int[adjacencyOffsets[numberOfCountries]];
+		for (int country = 0; country < numberOfCountries; country++) {
+			int position = adjacencyOffsets[country];
+			for (String neighbour : map.getAdjacentCountries(countryNames[country])) {
+				Integer neighbourIndex = countryIndices.get(neighbour);
+				if (neighbourIndex != null) {
+					adjacency[position++] = neighbourIndex;
+				}
+			}
+		}
+
+		ArrayList<String> continentNames = new ArrayList<>();
+		HashMap<String, Integer> continentIndices = new HashMap<>();
+		continentOfCountry = new int[numberOfCountries];
+		for (int country = 0; country < numberOfCountries; country++) {
+			String continentName = map.getCountry(countryNames[country]).getCountryContinentName();
+			Integer continent = continentIndices.get(continentName);
+			if (continent == null) {
+				continent = continentNames.size();
+				continentIndices.put(continentName, continent);
+				continentNames.add(continentName);
+			}
+			continentOfCountry[country] = continent;
+		}
+		continentControlValues = new int[continentNames.size()];
+		continentSizes = new int[continentNames.size()];
+		for (int continent = 0; continent < continentNames.size(); continent++) {
+			Continent continentObject = map.getContinent(continentNames.get(continent));
+			continentControlValues[continent] = continentObject == null ? 0 : continentObject.getContinentControlValue();
+		}
+		for (int country = 0; country < numberOfCountries; country++) {
+			continentSizes[continentOfCountry[country]]++;
+		}
+
+		owners = new int[numberOfCountries];
+		armies = new int[numberOfCountries];
+		numberOfCountriesOwned = new int[this.playerIds.length];
+		refresh(map);
+	}
+
+	/**
+	 * Copy constructor, the topology is shared.
+	 *
+	 * @param other the state to be copied.
+	 */
+	private BoardState(BoardState other) {
+		countryNames = other.countryNames;
+		countryIndices = other.countryIndices;
+		adjacencyOffsets = other.adjacencyOffsets;
+		adjacency = other.adjacency;
+		continentOfCountry = other.continentOfCountry;
+		continentControlValues = other.continentControlValues;
+		continentSizes = other.continentSizes;
+		playerIds = other.playerIds;
+		owners = other.owners.clone();
+		armies = other.armies.clone();
+		numberOfCountriesOwned = other.numberOfCountriesOwned.clone();
+	}
+
+	/**
+	 * Reads again the owners and armies of the map, the topology must not have changed.
+	 *
+	 * @param map the game map this state was created from.
+	 */
+	public void refresh(GameMap map) {
+		HashMap<Integer, Integer> playerIndices = new HashMap<>();
+		for (int player = 0; player < playerIds.length; player++) {
+			playerIndices.put(playerIds[player], player);
+		}
+		for (int player = 0; player < playerIds.length; player++) {
+			numberOfCountriesOwned[player] = 0;
+		}
+		for (int country = 0; country < countryNames.length; country++) {
+			Country countryObject = map.getCountry(countryNames[country]);
+			Integer owner = countryObject.getCountryConquerorID() == null ? null
+					: playerIndices.get(countryObject.getCountryConquerorID());
+			owners[country] = owner == null ? NO_OWNER : owner;
+			armies[country] = countryObject.getArmies();
+			if (owner != null) {
+				numberOfCountriesOwned[owner]++;
+			}
+		}
+	}
+
+	/**
+	 * Creates an independent copy of the owners and armies.
+	 *
+	 * @return the copy.
+	 */
+	public BoardState copy() {
+		return new BoardState(this);
+	}
+
+	/**
+	 * Overwrites the owners and armies with the ones of another state of the same map, without
+	 * allocating.
+	 *
+	 * @param other the state to be copied.
+	 */
+	public void copyFrom(BoardState other) {
+		System.arraycopy(other.owners, 0, owners, 0, owners.length);
+		System.arraycopy(other.armies, 0, armies, 0, armies.length);
+		System.arraycopy(other.numberOfCountriesOwned, 0, numberOfCountriesOwned, 0, numberOfCountriesOwned.length);
+	}
+
+	public int getNumberOfCountries() {
+		return countryNames.length;
+	}
+
+	public int getNumberOfPlayers() {
+		return playerIds.length;
+	}
+
+	public String getCountryName(int country) {
+		return countryNames[country];
+	}
+
+	/**
+	 * Gets the index of a country.
+	 *
+	 * @param countryName the country name.
+	 * @return the index, -1 if the country is unknown.
+	 */
+	public int getCountryIndex(String countryName) {
+		Integer country = countryIndices.get(countryName);
+		return country == null ? -1 : country;
+	}
+
+	public int getPlayerId(int player) {
+		return playerIds[player];
+	}
+
+	/**
+	 * Gets the index of a player.
+	 *
+	 * @param playerId the player id.
+	 * @return the index, -1 if the player is not part of the state.
+	 */
+	public int getPlayerIndex(Integer playerId) {
+		for (int player = 0; player < playerIds.length; player++) {
+			if (playerId != null && playerIds[player] == playerId.intValue()) {
+				return player;
+			}
+		}
+		return -1;
+	}
+
+	public int getOwner(int country) {
+		return owners[country];
+	}
+
+	public int getArmies(int country) {
+		return armies[country];
+	}
+
+	public int getNumberOfCountriesOwned(int player) {
+		return numberOfCountriesOwned[player];
+	}
+
+	public int getContinent(int country) {
+		return continentOfCountry[country];
+	}
+
+	public int getNumberOfContinents() {
+		return continentSizes.length;
+	}
+
+	public int getContinentControlValue(int continent) {
+		return continentControlValues[continent];
+	}
+
+	public int getContinentSize(int continent) {
+		return continentSizes[continent];
+	}
+
+	/**
+	 * Neighbours of a country are getNeighbour(getNeighboursStart(c)) to
+	 * getNeighbour(getNeighboursEnd(c) - 1).
+	 *
+	 * @param country the country.
+	 * @return the first position of its neighbours.
+	 */
+	public int getNeighboursStart(int country) {
+		return adjacencyOffsets[country];
+	}
+
+	public int getNeighboursEnd(int country) {
+		return adjacencyOffsets[country + 1];
+	}
+
+	public int getNeighbour(int position) {
+		return adjacency[position];
+	}
+
+	/**
+	 * @param player the player.
+	 * @return true if the player still owns a country.
+	 */
+	public boolean isAlive(int player) {
+		return numberOfCountriesOwned[player] > 0;
+	}
+
+	/**
+	 * @return the winner, -1 if no player owns every country.
+	 */
+	public int getWinner() {
+		for (int player = 0; player < playerIds.length; player++) {
+			if (numberOfCountriesOwned[player] == countryNames.length) {
+				return player;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param player the player.
+	 * @return the total number of armies of a player.
+	 */
+	public int getTotalArmies(int player) {
+		int total = 0;
+		for (int country = 0; country < countryNames.length; country++) {
+			if (owners[country] == player) {
+				total += armies[country];
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * @param country the country.
+	 * @return true if one of the neighbours belongs to another player.
+	 */
+	public boolean isFrontier(int country) {
+		int owner = owners[country];
+		for (int position = adjacencyOffsets[country]; position < adjacencyOffsets[country + 1]; position++) {
+			if (owners[adjacency[position]] != owner) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param country the country.
+	 * @return the sum of the armies of the neighbours owned by other players.
+	 */
+	public int getEnemyArmiesAround(int country) {
+		int owner = owners[country];
+		int enemyArmies = 0;
+		for (int position = adjacencyOffsets[country]; position < adjacencyOffsets[country + 1]; position++) {
+			if (owners[adjacency[position]] != owner) {
+				enemyArmies += armies[adjacency[position]];
+			}
+		}
+		return enemyArmies;
+	}
+
+	/**
+	 * Reinforcement of a player with the rules of PlayerStrategy.calculateReinforcementArmy:
+	 * countries owned divided by 3 with a minimum of 3, plus the control value of the
+	 * continents entirely owned. Cards are not simulated.
+	 *
+	 * @param player the player.
+	 * @return the number of reinforcement armies.
+	 */
+	public int getReinforcement(int player) {
+		int reinforcement = Math.max(3, numberOfCountriesOwned[player] / 3);
+		int[] ownedPerContinent = new int[continentSizes.length];
+		for (int country = 0; country < countryNames.length; country++) {
+			if (owners[country] == player) {
+				ownedPerContinent[continentOfCountry[country]]++;
+			}
+		}
+		for (int continent = 0; continent < continentSizes.length; continent++) {
+			if (ownedPerContinent[continent] == continentSizes[continent]) {
+				reinforcement += continentControlValues[continent];
+			}
+		}
+		return reinforcement;
+	}
+
+	/**
+	 * Adds armies to a country.
+	 *
+	 * @param country the country.
+	 * @param numberOfArmies the number of armies, may be negative.
+	 */
+	public void addArmies(int country, int numberOfArmies) {
+		armies[country] += numberOfArmies;
+	}
+
+	/**
+	 * Moves armies between two countries.
+	 *
+	 * @param fromCountry the source.
+	 * @param toCountry the destination.
+	 * @param numberOfArmies the number of armies moved.
+	 */
+	public void moveArmies(int fromCountry, int toCountry, int numberOfArmies) {
+		armies[fromCountry] -= numberOfArmies;
+		armies[toCountry] += numberOfArmies;
+	}
+
+	/**
+	 * Changes the owner of a country.
+	 *
+	 * @param country the country.
+	 * @param player the new owner.
+	 */
+	public void setOwner(int country, int player) {
+		if (owners[country] != NO_OWNER) {
+			numberOfCountriesOwned[owners[country]]--;
+		}
+		owners[country] = player;
+		if (player != NO_OWNER) {
+			numberOfCountriesOwned[player]++;
+		}
+	}
+
+	/**
+	 * Attacks in all-out mode: rounds of dice with the maximum dice on both sides until the
+	 * defender is wiped out or the attacker has a single army left. A conquered country
+	 * receives all the attacking armies but one.
+	 *
+	 * @param fromCountry the attacking country.
+	 * @param toCountry the defending country.
+	 * @param random random generator.
+	 * @return true if the country was conquered.
+	 */
+	public boolean attackAllOut(int fromCountry, int toCountry, SplittableRandom random) {
+		while (armies[fromCountry] > 1) {
+			if (attackOnce(fromCountry, toCountry, random)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Plays one round of dice with the maximum dice on both sides, and moves all the attacking
+	 * armies but one if the defender is wiped out.
+	 *
+	 * @param fromCountry the attacking country, with at least 2 armies.
+	 * @param toCountry the defending country.
+	 * @param random random generator.
+	 * @return true if the country was conquered.
+	 */
+	public boolean attackOnce(int fromCountry, int toCountry, SplittableRandom random) {
+		int attackerDice = Math.min(3, armies[fromCountry] - 1);
+		int defenderDice = Math.min(2, armies[toCountry]);
+		if (defenderDice == 0) {
+			conquer(fromCountry, toCountry);
+			return true;
+		}
+		int attackerLosses = DiceOdds.sampleAttackerLosses(attackerDice, defenderDice, random);
+		armies[fromCountry] -= attackerLosses;
+		armies[toCountry] -= Math.min(attackerDice, defenderDice) - attackerLosses;
+		if (armies[toCountry] == 0) {
+			conquer(fromCountry, toCountry);
+			return true;
+		}
+		return false;
+	}
+
+	private void conquer(int fromCountry, int toCountry) {
+		setOwner(toCountry, owners[fromCountry]);
+		int movedArmies = armies[fromCountry] - 1;
+		armies[fromCountry] = 1;
+		armies[toCountry] = movedArmies;
+	}
+}
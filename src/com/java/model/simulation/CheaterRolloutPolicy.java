@@ -0,0 +1,60 @@
+package com.java.model.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * CheaterRolloutPolicy reproduces CheaterMode: doubles the armies of its countries, takes
+ * every enemy neighbour of its countries that have more than one army, then doubles the
+ * armies of its countries that have no neighbour of its own.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class CheaterRolloutPolicy implements RolloutPolicy {
+
+	public static final CheaterRolloutPolicy INSTANCE = new CheaterRolloutPolicy();
+
+	@Override
+	public void playTurn(BoardState state, int player, SplittableRandom random) {
+		int numberOfCountries = state.getNumberOfCountries();
+		boolean[] attackers = new boolean[numberOfCountries];
+		for (int country = 0; country < numberOfCountries; country++) {
+			if (state.getOwner(country) == player) {
+				state.addArmies(country, state.getArmies(country));
+				attackers[country] = state.getArmies(country) > 1;
+			}
+		}
+
+		for (int country = 0; country < numberOfCountries; country++) {
+			if (!attackers[country]) {
+				continue;
+			}
+			for (int position = state.getNeighboursStart(country); position < state.getNeighboursEnd(country); position++) {
+				int neighbour = state.getNeighbour(position);
+				if (state.getOwner(neighbour) != player) {
+					state.setOwner(neighbour, player);
+				}
+			}
+		}
+
+		for (int country = 0; country < numberOfCountries; country++) {
+			if (state.getOwner(country) != player) {
+				continue;
+			}
+			boolean hasOwnNeighbour = false;
+			for (int position = state.getNeighboursStart(country); position < state.getNeighboursEnd(country); position++) {
+				if (state.getOwner(state.getNeighbour(position)) == player) {
+					hasOwnNeighbour = true;
+					break;
+				}
+			}
+			if (!hasOwnNeighbour) {
+				state.addArmies(country, state.getArmies(country));
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.java.model.simulation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * DiceOdds holds the exact probabilities of one round of dice between an attacker rolling 1
+ * to 3 dice and a defender rolling 1 or 2 dice, the highest dice being compared pairwise and
+ * ties going to the defender. Simulations sample a whole round with a single random number
+ * instead of rolling and sorting the dice.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public final class DiceOdds {
+
+	/**
+	 * LOSS_PROBABILITIES[attackerDice][defenderDice][k] is the probability that the attacker
+	 * loses k armies in the round, the defender losing min(attackerDice, defenderDice) - k.
+	 * */
+	private static final double[][][] LOSS_PROBABILITIES = new double[4][3][];
+
+	static {
+		for (int attackerDice = 1; attackerDice <= 3; attackerDice++) {
+			for (int defenderDice = 1; defenderDice <= 2; defenderDice++) {
+				LOSS_PROBABILITIES[attackerDice][defenderDice] = enumerate(attackerDice, defenderDice);
+			}
+		}
+	}
+
+	private DiceOdds() {
+	}
+
+	/**
+	 * Enumerates every outcome of the dice to compute the loss probabilities.
+	 *
+	 * @param attackerDice number of dice of the attacker.
+	 * @param defenderDice number of dice of the defender.
+	 * @return the probability of each number of armies lost by the attacker.
+	 */
+	private static double[] enumerate(int attackerDice, int defenderDice) {
+		int comparedDice = Math.min(attackerDice, defenderDice);
+		long[] outcomes = new long[comparedDice + 1];
+		int numberOfDice = attackerDice + defenderDice;
+		int total = 1;
+		for (int i = 0; i < numberOfDice; i++) {
+			total *= 6;
+		}
+		int[] attackerRoll = new int[attackerDice];
+		int[] defenderRoll = new int[defenderDice];
+		for (int outcome = 0; outcome < total; outcome++) {
+			int code = outcome;
+			for (int i = 0; i < attackerDice; i++) {
+				attackerRoll[i] = code % 6;
+				code /= 6;
+			}
+			for (int i = 0; i < defenderDice; i++) {
+				defenderRoll[i] = code % 6;
+				code /= 6;
+			}
+			Arrays.sort(attackerRoll);
+			Arrays.sort(defenderRoll);
+			int attackerLosses = 0;
+			for (int i = 1; i <= comparedDice; i++) {
+				if (defenderRoll[defenderDice - i] >= attackerRoll[attackerDice - i]) {
+					attackerLosses++;
+				}
+			}
+			outcomes[attackerLosses]++;
+		}
+		double[] probabilities = new double[comparedDice + 1];
+		for (int k = 0; k <= comparedDice; k++) {
+			probabilities[k] = (double) outcomes[k] / total;
+		}
+		return probabilities;
+	}
+
+	/**
+	 * Gets the probability that the attacker loses a number of armies in one round.
+	 *
+	 * @param attackerDice number of dice of the attacker, 1 to 3.
+	 * @param defenderDice number of dice of the defender, 1 or 2.
+	 * @param attackerLosses number of armies lost by the attacker.
+	 * @return the probability.
+	 */
+	public static double getAttackerLossProbability(int attackerDice, int defenderDice, int attackerLosses) {
+		double[] probabilities = LOSS_PROBABILITIES[attackerDice][defenderDice];
+		return attackerLosses < probabilities.length ? probabilities[attackerLosses] : 0;
+	}
+
+	/**
+	 * Samples the number of armies lost by the attacker in one round.
+	 *
+	 * @param attackerDice number of dice of the attacker, 1 to 3.
+	 * @param defenderDice number of dice of the defender, 1 or 2.
+	 * @param random random generator.
+	 * @return the armies lost by the attacker.
+	 */
+	public static int sampleAttackerLosses(int attackerDice, int defenderDice, SplittableRandom random) {
+		double[] probabilities = LOSS_PROBABILITIES[attackerDice][defenderDice];
+		double sample = random.nextDouble();
+		int attackerLosses = 0;
+		while (attackerLosses < probabilities.length - 1 && sample >= probabilities[attackerLosses]) {
+			sample -= probabilities[attackerLosses];
+			attackerLosses++;
+		}
+		return attackerLosses;
+	}
+}
@@ -0,0 +1,417 @@
+package com.java.model.simulation;
+
+import com.java.model.map.Zobrist;
+
+/**
+ * ExpectiminimaxSearch chooses the decisions of a turn with a depth limited expectiminimax
+ * search. A ply is one decision of a player: a placement of its reinforcement, an all-out
+ * attack, the end of its attacks or a fortification. The
+ * player searching maximizes the evaluation of PositionEvaluator, the other players minimize
+ * it, and every attack is a chance node with the two outcomes of an all-out battle weighted by
+ * their exact probabilities from BattleOdds, the armies left being the expected survivors of
+ * the outcome.
+ *
+ * The board is changed and restored in place through the evaluator, so every node costs an
+ * incremental update instead of a rescan, and the values of the nodes are memoized in a
+ * TranspositionTable keyed by the hash of the board and the player to move, an entry being
+ * reused by nodes no deeper than the one that stored it. The search deepens iteratively until
+ * the maximum depth or the time budget is reached, and returns the decision of the deepest
+ * search completed.
+ *
+ * Reinforcements of the other players and cards are not modelled.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class ExpectiminimaxSearch {
+
+	/**
+	 * Default maximum depth of the search in plies.
+	 * */
+	public static final int DEFAULT_MAX_DEPTH = 5;
+
+	/**
+	 * Attacks searched in the first two plies, and deeper.
+	 * */
+	private static final int SHALLOW_BRANCHING = 5;
+	private static final int DEEP_BRANCHING = 3;
+
+	/**
+	 * Candidates searched at the root for the reinforcement and the fortification.
+	 * */
+	private static final int ROOT_BRANCHING = 6;
+
+	/**
+	 * Outcomes of a battle less likely than this are not searched.
+	 * */
+	private static final double NEGLIGIBLE_PROBABILITY = 0.001;
+
+	private static final int NODES_BETWEEN_CLOCK_CHECKS = 256;
+
+	private static final long SALT_MOVER = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * Thrown to unwind a search out of time, preallocated as it carries no stack trace.
+	 */
+	private static final class SearchTimeout extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		private SearchTimeout() {
+			super(null, null, false, false);
+		}
+	}
+
+	private static final SearchTimeout TIMEOUT = new SearchTimeout();
+
+	private final PositionEvaluator evaluator;
+	private final BoardState state;
+	private final int player;
+	private final int[] nextInTurnOrder;
+	private final int maxDepth;
+	private final long timeBudgetMillis;
+	private TranspositionTable transpositionTable;
+
+	private int iterationDepth;
+	private long deadline;
+	private boolean clockRunning;
+	private long numberOfNodes;
+	private int lastDepth;
+	private double lastValue;
+
+	/**
+	 * Candidate buffers of every ply, so the search does not allocate.
+	 * */
+	private final long[][] candidateBuffers;
+	private final double[][] scoreBuffers;
+
+	/**
+	 * Creates a search.
+	 *
+	 * @param evaluator the evaluator holding the board to be searched.
+	 * @param player the index of the player searching.
+	 * @param turnOrder the indices of the players in their order of play.
+	 * @param maxDepth the maximum depth in plies.
+	 * @param timeBudgetMillis the time given to a search.
+	 */
+	public ExpectiminimaxSearch(PositionEvaluator evaluator, int player, int[] turnOrder, int maxDepth,
+			long timeBudgetMillis) {
+		this.evaluator = evaluator;
+		this.state = evaluator.getState();
+		this.player = player;
+		this.maxDepth = maxDepth;
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.nextInTurnOrder = new int[state.getNumberOfPlayers()];
+		for (int i = 0; i < turnOrder.length; i++) {
+			nextInTurnOrder[turnOrder[i]] = turnOrder[(i + 1) % turnOrder.length];
+		}
+		int width = Math.max(SHALLOW_BRANCHING, ROOT_BRANCHING) + 1;
+		candidateBuffers = new long[maxDepth + 2][width];
+		scoreBuffers = new double[maxDepth + 2][width];
+	}
+
+	/**
+	 * Sets the table the values of the nodes are memoized in.
+	 *
+	 * @param transpositionTable the table, null to memoize nothing.
+	 */
+	public void setTranspositionTable(TranspositionTable transpositionTable) {
+		this.transpositionTable = transpositionTable;
+	}
+
+	/**
+	 * @return the number of nodes visited by the last search.
+	 */
+	public long getLastNumberOfNodes() {
+		return numberOfNodes;
+	}
+
+	/**
+	 * @return the depth of the deepest iteration completed by the last search.
+	 */
+	public int getLastDepth() {
+		return lastDepth;
+	}
+
+	/**
+	 * @return the value of the decision of the last search.
+	 */
+	public double getLastValue() {
+		return lastValue;
+	}
+
+	/**
+	 * Searches the best decision of a stage of the turn of the player.
+	 *
+	 * @param stage the stage, REINFORCEMENT, ATTACK or FORTIFICATION.
+	 * @param reinforcement the armies to be placed, for the reinforcement.
+	 * @return the decision, TurnDecision.PASS if there is nothing better to do.
+	 */
+	public long search(TurnDecision.Stage stage, int reinforcement) {
+		numberOfNodes = 0;
+		lastDepth = 0;
+		lastValue = Double.NaN;
+		clockRunning = false;
+		deadline = System.nanoTime() + timeBudgetMillis * 1000000L;
+
+		BoardState snapshot = state.copy();
+		long bestDecision = TurnDecision.PASS;
+		for (int depth = 1; depth <= maxDepth; depth++) {
+			try {
+				iterationDepth = depth;
+				double[] value = new double[1];
+				long decision = searchRoot(stage, reinforcement, depth, value);
+				bestDecision = decision;
+				lastValue = value[0];
+				lastDepth = depth;
+			} catch (SearchTimeout timeout) {
+				// the search was unwound in the middle of moves, put the board back
+				evaluator.synchronize(snapshot);
+				break;
+			}
+			// the first iteration always completes, so there is a decision to return
+			clockRunning = true;
+			if (System.nanoTime() > deadline) {
+				break;
+			}
+		}
+		return bestDecision;
+	}
+
+	/**
+	 * Searches the decisions of the root.
+	 */
+	private long searchRoot(TurnDecision.Stage stage, int reinforcement, int depth, double[] value) {
+		long[] candidates = candidateBuffers[0];
+		double[] scores = scoreBuffers[0];
+		int numberOfCandidates;
+		if (stage == TurnDecision.Stage.REINFORCEMENT) {
+			numberOfCandidates = getPlacements(candidates, scores);
+		} else if (stage == TurnDecision.Stage.ATTACK) {
+			numberOfCandidates = getAttacks(player, SHALLOW_BRANCHING, candidates, scores);
+		} else {
+			numberOfCandidates = getFortifications(candidates, scores);
+		}
+
+		long bestDecision = TurnDecision.PASS;
+		double bestValue = Double.NEGATIVE_INFINITY;
+		if (stage != TurnDecision.Stage.REINFORCEMENT) {
+			bestValue = endTurn(player, depth - 1);
+		}
+		for (int i = 0; i < numberOfCandidates; i++) {
+			long decision = candidates[i];
+			int fromCountry = TurnDecision.getSourceCountry(decision);
+			int toCountry = TurnDecision.getTargetCountry(decision);
+			double decisionValue;
+			if (stage == TurnDecision.Stage.REINFORCEMENT) {
+				int armies = state.getArmies(toCountry);
+				evaluator.setArmies(toCountry, armies + reinforcement);
+				decisionValue = node(player, depth - 1);
+				evaluator.setArmies(toCountry, armies);
+			} else if (stage == TurnDecision.Stage.ATTACK) {
+				decisionValue = chance(player, fromCountry, toCountry, depth - 1);
+			} else {
+				int fromArmies = state.getArmies(fromCountry);
+				int toArmies = state.getArmies(toCountry);
+				evaluator.setArmies(fromCountry, 1);
+				evaluator.setArmies(toCountry, toArmies + fromArmies - 1);
+				decisionValue = endTurn(player, depth - 1);
+				evaluator.setArmies(toCountry, toArmies);
+				evaluator.setArmies(fromCountry, fromArmies);
+			}
+			if (decisionValue > bestValue) {
+				bestValue = decisionValue;
+				bestDecision = decision;
+			}
+		}
+		value[0] = bestValue;
+		return bestDecision;
+	}
+
+	/**
+	 * Value of the end of the attacks of a player: the next player still alive moves.
+	 */
+	private double endTurn(int mover, int depth) {
+		int next = nextInTurnOrder[mover];
+		while (!state.isAlive(next) && next != mover) {
+			next = nextInTurnOrder[next];
+		}
+		return node(next, depth);
+	}
+
+	/**
+	 * Value of a position where a player chooses between its attacks and the end of its
+	 * attacks, maximizing if it is the player searching and minimizing otherwise.
+	 */
+	private double node(int mover, int depth) {
+		if (++numberOfNodes % NODES_BETWEEN_CLOCK_CHECKS == 0 && clockRunning && System.nanoTime() > deadline) {
+			throw TIMEOUT;
+		}
+		if (depth <= 0 || !state.isAlive(player) || state.getNumberOfCountriesOwned(player) == state.getNumberOfCountries()) {
+			return evaluator.evaluate(player);
+		}
+
+		long key = 0;
+		if (transpositionTable != null) {
+			key = Zobrist.mix(evaluator.getHash() ^ Zobrist.mix(SALT_MOVER * (mover + 1) + player));
+			TranspositionTable.Entry entry = transpositionTable.probe(key);
+			if (entry != null && entry.getIterations() >= depth) {
+				return entry.getValue();
+			}
+		}
+
+		int ply = iterationDepth - depth + 1;
+		long[] candidates = candidateBuffers[ply];
+		int numberOfCandidates = getAttacks(mover, ply <= 2 ? SHALLOW_BRANCHING : DEEP_BRANCHING, candidates,
+				scoreBuffers[ply]);
+		boolean maximizing = mover == player;
+		double bestValue = endTurn(mover, depth - 1);
+		long bestDecision = TurnDecision.PASS;
+		for (int i = 0; i < numberOfCandidates; i++) {
+			long decision = candidates[i];
+			double value = chance(mover, TurnDecision.getSourceCountry(decision), TurnDecision.getTargetCountry(decision),
+					depth - 1);
+			if (maximizing ? value > bestValue : value < bestValue) {
+				bestValue = value;
+				bestDecision = decision;
+			}
+		}
+
+		if (transpositionTable != null) {
+			transpositionTable.store(key, bestValue, depth, bestDecision);
+		}
+		return bestValue;
+	}
+
+	/**
+	 * Expected value of an all-out attack, the mover keeping the move after it.
+	 */
+	private double chance(int mover, int fromCountry, int toCountry, int depth) {
+		int fromArmies = state.getArmies(fromCountry);
+		int toArmies = state.getArmies(toCountry);
+		int defender = state.getOwner(toCountry);
+		double winProbability = BattleOdds.getWinProbability(fromArmies, toArmies);
+
+		double value = 0;
+		evaluator.setArmies(fromCountry, 1);
+		if (winProbability > NEGLIGIBLE_PROBABILITY) {
+			int survivors = (int) Math.max(1, Math.round(BattleOdds.getExpectedSurvivorsIfWon(fromArmies, toArmies)));
+			evaluator.setOwner(toCountry, mover);
+			evaluator.setArmies(toCountry, survivors);
+			double winValue = node(mover, depth);
+			evaluator.setArmies(toCountry, toArmies);
+			evaluator.setOwner(toCountry, defender);
+			if (winProbability >= 1 - NEGLIGIBLE_PROBABILITY) {
+				evaluator.setArmies(fromCountry, fromArmies);
+				return winValue;
+			}
+			value += winProbability * winValue;
+		}
+		int defenders = (int) Math.max(1, Math.round(BattleOdds.getExpectedDefendersIfLost(fromArmies, toArmies)));
+		evaluator.setArmies(toCountry, defenders);
+		double lossValue = node(mover, depth);
+		evaluator.setArmies(toCountry, toArmies);
+		evaluator.setArmies(fromCountry, fromArmies);
+		if (winProbability <= NEGLIGIBLE_PROBABILITY) {
+			return lossValue;
+		}
+		return value + (1 - winProbability) * lossValue;
+	}
+
+	/**
+	 * Keeps the best candidates in buffers sorted by decreasing score.
+	 *
+	 * @return the new number of candidates.
+	 */
+	private static int insert(long decision, double score, long[] candidates, double[] scores, int count, int limit) {
+		if (count == limit && score <= scores[count - 1]) {
+			return count;
+		}
+		int position = count == limit ? count - 1 : count;
+		while (position > 0 && scores[position - 1] < score) {
+			candidates[position] = candidates[position - 1];
+			scores[position] = scores[position - 1];
+			position--;
+		}
+		candidates[position] = decision;
+		scores[position] = score;
+		return count == limit ? count : count + 1;
+	}
+
+	/**
+	 * Gets the attacks of a player most likely to conquer.
+	 *
+	 * @return the number of attacks.
+	 */
+	private int getAttacks(int mover, int limit, long[] candidates, double[] scores) {
+		int count = 0;
+		for (int country = 0; country < state.getNumberOfCountries(); country++) {
+			if (state.getOwner(country) != mover || state.getArmies(country) < 2) {
+				continue;
+			}
+			for (int position = state.getNeighboursStart(country); position < state.getNeighboursEnd(country); position++) {
+				int neighbour = state.getNeighbour(position);
+				if (state.getOwner(neighbour) != mover) {
+					double score = BattleOdds.getWinProbability(state.getArmies(country), state.getArmies(neighbour));
+					count = insert(TurnDecision.encode(country, neighbour), score, candidates, scores, count, limit);
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the frontier countries of the player with the most armies compared to their enemy
+	 * neighbours.
+	 *
+	 * @return the number of placements.
+	 */
+	private int getPlacements(long[] candidates, double[] scores) {
+		int count = 0;
+		int anyCountry = -1;
+		for (int country = 0; country < state.getNumberOfCountries(); country++) {
+			if (state.getOwner(country) != player) {
+				continue;
+			}
+			anyCountry = country;
+			if (state.isFrontier(country)) {
+				double score = state.getArmies(country) - state.getEnemyArmiesAround(country) / 2.0;
+				count = insert(TurnDecision.encode(country, country), score, candidates, scores, count, ROOT_BRANCHING);
+			}
+		}
+		if (count == 0 && anyCountry >= 0) {
+			candidates[count++] = TurnDecision.encode(anyCountry, anyCountry);
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the moves of armies of the player from its countries into its neighbouring frontier
+	 * countries that gain the most.
+	 *
+	 * @return the number of moves.
+	 */
+	private int getFortifications(long[] candidates, double[] scores) {
+		int count = 0;
+		for (int country = 0; country < state.getNumberOfCountries(); country++) {
+			if (state.getOwner(country) != player || state.getArmies(country) < 2) {
+				continue;
+			}
+			boolean fromFrontier = state.isFrontier(country);
+			for (int position = state.getNeighboursStart(country); position < state.getNeighboursEnd(country); position++) {
+				int neighbour = state.getNeighbour(position);
+				if (neighbour != country && state.getOwner(neighbour) == player && state.isFrontier(neighbour)) {
+					double score = fromFrontier ? state.getEnemyArmiesAround(neighbour) - state.getEnemyArmiesAround(country)
+							: state.getArmies(country) - 1;
+					if (score > 0) {
+						count = insert(TurnDecision.encode(country, neighbour), score, candidates, scores, count, ROOT_BRANCHING);
+					}
+				}
+			}
+		}
+		return count;
+	}
+}
@@ -0,0 +1,501 @@
+package com.java.model.simulation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * MonteCarloTreeSearch chooses the decisions of a player's turn with an open loop UCT search:
+ * the tree holds the sequence of decisions of the turn (where to reinforce, which attacks to
+ * make, which fortification to do) and every iteration replays it on a copy of the board with
+ * new dice, finishes the turn, then plays a few rounds of every player with their rollout
+ * policies before scoring the board.
+ *
+ * Searches are parallelized at the root: every worker of a shared fork/join pool grows its own
+ * tree with its own random generator until the time budget or the iteration budget is spent,
+ * and the visit counts of the root decisions are summed to pick the most visited one.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class MonteCarloTreeSearch {
+
+	/**
+	 * Number of attacks of a turn that the tree decides, the others are played by the rollout.
+	 * */
+	public static final int MAX_ATTACKS_IN_TREE = 6;
+
+	private static final int MAX_REINFORCEMENT_CANDIDATES = 6;
+	private static final int MAX_ATTACK_CANDIDATES = 8;
+	private static final int MAX_FORTIFICATION_CANDIDATES = 4;
+	private static final int MAX_ROLLOUT_ATTACKS = 16;
+	private static final double EXPLORATION = 0.7;
+	private static final double WIN_DISCOUNT_PER_TURN = 0.02;
+
+	private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+	private final int player;
+	private final int[] turnOrder;
+	private final RolloutPolicy[] policies;
+	private final long timeBudgetNanos;
+	private final int maxIterations;
+	private final int parallelism;
+	private final int rolloutRounds;
+
+	private TranspositionTable transpositionTable;
+	private int lastNumberOfIterations;
+	private double lastValue = Double.NaN;
+
+	/**
+	 * Node of a search tree, the statistics of a decision given the decisions above it.
+	 */
+	private static final class Node {
+		private final HashMap<Long, Node> children = new HashMap<>();
+		private int visits;
+		private double totalValue;
+	}
+
+	/**
+	 * Creates a search.
+	 *
+	 * @param player index of the searching player in the states.
+	 * @param turnOrder indices of the players in their order of play.
+	 * @param policies rollout policy of every player, by index.
+	 * @param timeBudgetMillis time given to a search.
+	 * @param maxIterations maximum number of iterations of a search, for all workers.
+	 * @param parallelism number of trees grown in parallel.
+	 * @param rolloutRounds number of rounds of every player played after the turn.
+	 */
+	public MonteCarloTreeSearch(int player, int[] turnOrder, RolloutPolicy[] policies, long timeBudgetMillis,
+			int maxIterations, int parallelism, int rolloutRounds) {
+		this.player = player;
+		this.turnOrder = turnOrder.clone();
+		this.policies = policies.clone();
+		this.timeBudgetNanos = timeBudgetMillis * 1000000L;
+		this.maxIterations = maxIterations;
+		this.parallelism = Math.max(1, parallelism);
+		this.rolloutRounds = rolloutRounds;
+	}
+
+	/**
+	 * Sets the table where the decisions searched are stored and looked up by position.
+	 *
+	 * @param transpositionTable the table, null to search every position.
+	 */
+	public void setTranspositionTable(TranspositionTable transpositionTable) {
+		this.transpositionTable = transpositionTable;
+	}
+
+	/**
+	 * @return the number of iterations of the last search, for all workers.
+	 */
+	public int getLastNumberOfIterations() {
+		return lastNumberOfIterations;
+	}
+
+	/**
+	 * @return the mean value of the decision of the last search, NaN if it was not searched.
+	 */
+	public double getLastValue() {
+		return lastValue;
+	}
+
+	/**
+	 * Searches the best decision of a stage of the turn.
+	 *
+	 * @param state the current board, it is not modified.
+	 * @param stage the stage of the decision.
+	 * @param reinforcement armies to be placed, for the reinforcement stage.
+	 * @param seed seed of the random generators of the workers.
+	 * @return the most visited decision, TurnDecision.PASS if there is nothing better to do.
+	 */
+	public long search(BoardState state, TurnDecision.Stage stage, int reinforcement, long seed) {
+		return search(state, stage, reinforcement, seed, 0);
+	}
+
+	/**
+	 * Searches the best decision of a stage of the turn, reusing the decision stored in the
+	 * transposition table when the position was already searched.
+	 *
+	 * @param state the current board, it is not modified.
+	 * @param stage the stage of the decision.
+	 * @param reinforcement armies to be placed, for the reinforcement stage.
+	 * @param seed seed of the random generators of the workers.
+	 * @param positionKey hash of the position, stage and reinforcement, 0 to skip the table.
+	 * @return the most visited decision, TurnDecision.PASS if there is nothing better to do.
+	 */
+	public long search(BoardState state, TurnDecision.Stage stage, int reinforcement, long seed, long positionKey) {
+		long[] candidates = getCandidates(state, stage, reinforcement);
+		if (candidates.length == 1) {
+			lastNumberOfIterations = 0;
+			lastValue = Double.NaN;
+			return candidates[0];
+		}
+
+		boolean useTable = transpositionTable != null && positionKey != 0;
+		if (useTable) {
+			TranspositionTable.Entry entry = transpositionTable.probe(positionKey);
+			if (entry != null) {
+				for (long candidate : candidates) {
+					// a hash collision could bring a decision of another position, it must be valid here
+					if (candidate == entry.getDecision()) {
+						lastNumberOfIterations = 0;
+						lastValue = entry.getValue();
+						return candidate;
+					}
+				}
+			}
+		}
+
+		long deadline = System.nanoTime() + timeBudgetNanos;
+		int iterationsPerWorker = Math.max(1, maxIterations / parallelism);
+		SplittableRandom seeds = new SplittableRandom(seed);
+		List<Callable<Node>> workers = new ArrayList<>();
+		for (int worker = 0; worker < parallelism; worker++) {
+			SplittableRandom random = seeds.split();
+			workers.add(() -> grow(state, stage, reinforcement, random, deadline, iterationsPerWorker));
+		}
+
+		HashMap<Long, Integer> visits = new HashMap<>();
+		HashMap<Long, Double> values = new HashMap<>();
+		int numberOfIterations = 0;
+		try {
+			for (Future<Node> result : POOL.invokeAll(workers)) {
+				Node root = result.get();
+				numberOfIterations += root.visits;
+				for (Map.Entry<Long, Node> child : root.children.entrySet()) {
+					visits.merge(child.getKey(), child.getValue().visits, Integer::sum);
+					values.merge(child.getKey(), child.getValue().totalValue, Double::sum);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+		lastNumberOfIterations = numberOfIterations;
+
+		long bestDecision = candidates[0];
+		int bestVisits = -1;
+		for (long candidate : candidates) {
+			int candidateVisits = visits.getOrDefault(candidate, 0);
+			if (candidateVisits > bestVisits) {
+				bestDecision = candidate;
+				bestVisits = candidateVisits;
+			}
+		}
+		lastValue = bestVisits > 0 ? values.get(bestDecision) / bestVisits : Double.NaN;
+		if (useTable && bestVisits > 0) {
+			transpositionTable.store(positionKey, lastValue, numberOfIterations, bestDecision);
+		}
+		return bestDecision;
+	}
+
+	/**
+	 * Grows one tree until the deadline or the iteration budget.
+	 *
+	 * @return the root of the tree.
+	 */
+	private Node grow(BoardState state, TurnDecision.Stage stage, int reinforcement, SplittableRandom random, long deadline,
+			int iterations) {
+		Node root = new Node();
+		BoardState scratch = state.copy();
+		ArrayList<Node> path = new ArrayList<>();
+		for (int iteration = 0; iteration < iterations && System.nanoTime() < deadline; iteration++) {
+			scratch.copyFrom(state);
+			path.clear();
+			path.add(root);
+			Node node = root;
+			TurnDecision.Stage currentStage = stage;
+			int attacks = 0;
+			boolean expanded = false;
+
+			while (currentStage != TurnDecision.Stage.DONE && !expanded) {
+				long[] candidates = getCandidates(scratch, currentStage, reinforcement);
+				long decision = select(node, candidates, random);
+				Node child = node.children.get(decision);
+				if (child == null) {
+					child = new Node();
+					node.children.put(decision, child);
+					expanded = true;
+				}
+				node = child;
+				path.add(node);
+
+				if (currentStage == TurnDecision.Stage.REINFORCEMENT) {
+					scratch.addArmies(TurnDecision.getTargetCountry(decision), reinforcement);
+					currentStage = TurnDecision.Stage.ATTACK;
+				} else if (currentStage == TurnDecision.Stage.ATTACK) {
+					if (decision == TurnDecision.PASS) {
+						currentStage = TurnDecision.Stage.FORTIFICATION;
+					} else {
+						scratch.attackAllOut(TurnDecision.getSourceCountry(decision), TurnDecision.getTargetCountry(decision), random);
+						attacks++;
+						if (scratch.getWinner() != -1) {
+							currentStage = TurnDecision.Stage.DONE;
+						} else if (attacks >= MAX_ATTACKS_IN_TREE) {
+							currentStage = TurnDecision.Stage.FORTIFICATION;
+						}
+					}
+				} else {
+					if (decision != TurnDecision.PASS) {
+						int fromCountry = TurnDecision.getSourceCountry(decision);
+						scratch.moveArmies(fromCountry, TurnDecision.getTargetCountry(decision), scratch.getArmies(fromCountry) - 1);
+					}
+					currentStage = TurnDecision.Stage.DONE;
+				}
+			}
+
+			finishTurn(scratch, currentStage, reinforcement, random);
+			int turns = playRounds(scratch, random);
+			double value = evaluate(scratch, turns);
+			for (Node visited : path) {
+				visited.visits++;
+				visited.totalValue += value;
+			}
+		}
+		return root;
+	}
+
+	/**
+	 * Selects a decision among the candidates, the unvisited ones first and then by UCT.
+	 */
+	private static long select(Node node, long[] candidates, SplittableRandom random) {
+		int unvisited = 0;
+		for (long candidate : candidates) {
+			if (!node.children.containsKey(candidate)) {
+				unvisited++;
+			}
+		}
+		if (unvisited > 0) {
+			int selected = random.nextInt(unvisited);
+			for (long candidate : candidates) {
+				if (!node.children.containsKey(candidate) && selected-- == 0) {
+					return candidate;
+				}
+			}
+		}
+
+		double logVisits = Math.log(Math.max(1, node.visits));
+		long bestDecision = candidates[0];
+		double bestScore = Double.NEGATIVE_INFINITY;
+		for (long candidate : candidates) {
+			Node child = node.children.get(candidate);
+			double score = child.totalValue / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+			if (score > bestScore) {
+				bestScore = score;
+				bestDecision = candidate;
+			}
+		}
+		return bestDecision;
+	}
+
+	/**
+	 * Gets the decisions worth searching at a stage: the frontier countries that are the
+	 * strongest or the most threatened for the reinforcement, the attacks with the best army
+	 * ratios, and the moves of interior armies to the frontier for the fortification.
+	 *
+	 * @param state the board.
+	 * @param stage the stage.
+	 * @param reinforcement armies to be placed, for the reinforcement stage.
+	 * @return the candidate decisions, never empty.
+	 */
+	long[] getCandidates(BoardState state, TurnDecision.Stage stage, int reinforcement) {
+		ArrayList<long[]> scored = new ArrayList<>();
+		int numberOfCountries = state.getNumberOfCountries();
+
+		if (stage == TurnDecision.Stage.REINFORCEMENT) {
+			ArrayList<long[]> threatened = new ArrayList<>();
+			for (int country = 0; country < numberOfCountries; country++) {
+				if (state.getOwner(country) != player || !state.isFrontier(country)) {
+					continue;
+				}
+				int weakestEnemy = Integer.MAX_VALUE;
+				for (int position = state.getNeighboursStart(country); position < state.getNeighboursEnd(country); position++) {
+					int neighbour = state.getNeighbour(position);
+					if (state.getOwner(neighbour) != player) {
+						weakestEnemy = Math.min(weakestEnemy, state.getArmies(neighbour));
+					}
+				}
+				scored.add(new long[] {TurnDecision.encode(country, country), state.getArmies(country) - weakestEnemy});
+				threatened.add(new long[] {TurnDecision.encode(country, country), state.getEnemyArmiesAround(country) - state.getArmies(country)});
+			}
+			long[] strongest = getBest(scored, MAX_REINFORCEMENT_CANDIDATES / 2, false);
+			long[] mostThreatened = getBest(threatened, MAX_REINFORCEMENT_CANDIDATES / 2, false);
+			long[] candidates = new long[strongest.length + mostThreatened.length];
+			int numberOfCandidates = 0;
+			for (long candidate : strongest) {
+				candidates[numberOfCandidates++] = candidate;
+			}
+			for (long candidate : mostThreatened) {
+				boolean duplicate = false;
+				for (int i = 0; i < numberOfCandidates; i++) {
+					duplicate |= candidates[i] == candidate;
+				}
+				if (!duplicate) {
+					candidates[numberOfCandidates++] = candidate;
+				}
+			}
+			if (numberOfCandidates == 0) {
+				int country = AggressiveRolloutPolicy.getStrongestCountry(state, player);
+				return new long[] {TurnDecision.encode(Math.max(country, 0), Math.max(country, 0))};
+			}
+			long[] result = new long[numberOfCandidates];
+			System.arraycopy(candidates, 0, result, 0, numberOfCandidates);
+			return result;
+		}
+
+		if (stage == TurnDecision.Stage.ATTACK) {
+			for (int country = 0; country < numberOfCountries; country++) {
+				if (state.getOwner(country) != player || state.getArmies(country) < 2) {
+					continue;
+				}
+				for (int position = state.getNeighboursStart(country); position < state.getNeighboursEnd(country); position++) {
+					int neighbour = state.getNeighbour(position);
+					if (state.getOwner(neighbour) != player && state.getArmies(country) - 1 >= state.getArmies(neighbour)) {
+						scored.add(new long[] {TurnDecision.encode(country, neighbour), state.getArmies(country) - state.getArmies(neighbour)});
+					}
+				}
+			}
+			return withPass(getBest(scored, MAX_ATTACK_CANDIDATES, false));
+		}
+
+		if (stage == TurnDecision.Stage.FORTIFICATION) {
+			for (int country = 0; country < numberOfCountries; country++) {
+				if (state.getOwner(country) != player || state.getArmies(country) < 2) {
+					continue;
+				}
+				boolean fromFrontier = state.isFrontier(country);
+				for (int position = state.getNeighboursStart(country); position < state.getNeighboursEnd(country); position++) {
+					int neighbour = state.getNeighbour(position);
+					if (state.getOwner(neighbour) == player && state.isFrontier(neighbour)) {
+						int gain = state.getArmies(country) - 1 + (fromFrontier ? -state.getEnemyArmiesAround(country) : 0);
+						scored.add(new long[] {TurnDecision.encode(country, neighbour), gain});
+					}
+				}
+			}
+			return withPass(getBest(scored, MAX_FORTIFICATION_CANDIDATES, true));
+		}
+
+		return new long[] {TurnDecision.PASS};
+	}
+
+	/**
+	 * Gets the decisions with the highest scores.
+	 */
+	private static long[] getBest(ArrayList<long[]> scored, int limit, boolean positiveOnly) {
+		scored.sort((first, second) -> Long.compare(second[1], first[1]));
+		int size = 0;
+		while (size < scored.size() && size < limit && (!positiveOnly || scored.get(size)[1] > 0)) {
+			size++;
+		}
+		long[] best = new long[size];
+		for (int i = 0; i < size; i++) {
+			best[i] = scored.get(i)[0];
+		}
+		return best;
+	}
+
+	private static long[] withPass(long[] decisions) {
+		long[] candidates = new long[decisions.length + 1];
+		candidates[0] = TurnDecision.PASS;
+		System.arraycopy(decisions, 0, candidates, 1, decisions.length);
+		return candidates;
+	}
+
+	/**
+	 * Plays the rest of the turn after the decisions of the tree: the reinforcement on the
+	 * strongest country and the attacks with a winning ratio.
+	 */
+	private void finishTurn(BoardState state, TurnDecision.Stage stage, int reinforcement, SplittableRandom random) {
+		if (stage == TurnDecision.Stage.REINFORCEMENT) {
+			int country = AggressiveRolloutPolicy.getStrongestCountry(state, player);
+			if (country != -1) {
+				state.addArmies(country, reinforcement);
+			}
+			stage = TurnDecision.Stage.ATTACK;
+		}
+		if (stage == TurnDecision.Stage.ATTACK) {
+			for (int attack = 0; attack < MAX_ROLLOUT_ATTACKS; attack++) {
+				long[] candidates = getCandidates(state, TurnDecision.Stage.ATTACK, 0);
+				if (candidates.length == 1) {
+					return;
+				}
+				long decision = candidates[1];
+				int fromCountry = TurnDecision.getSourceCountry(decision);
+				int toCountry = TurnDecision.getTargetCountry(decision);
+				if (state.getArmies(fromCountry) - 1 <= state.getArmies(toCountry)) {
+					return;
+				}
+				state.attackAllOut(fromCountry, toCountry, random);
+				if (state.getWinner() != -1) {
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Plays the turns of every player after the searching player, for the rollout rounds.
+	 *
+	 * @return the number of turns played before the game ended or the rounds were over.
+	 */
+	private int playRounds(BoardState state, SplittableRandom random) {
+		int position = 0;
+		while (turnOrder[position] != player) {
+			position++;
+		}
+		int turn = 1;
+		for (; turn <= rolloutRounds * turnOrder.length; turn++) {
+			if (state.getWinner() != -1 || !state.isAlive(player)) {
+				return turn - 1;
+			}
+			int currentPlayer = turnOrder[(position + turn) % turnOrder.length];
+			if (state.isAlive(currentPlayer)) {
+				policies[currentPlayer].playTurn(state, currentPlayer, random);
+			}
+		}
+		return turn - 1;
+	}
+
+	/**
+	 * Scores a board for the searching player: 1 for a win during the turn, a little less for
+	 * every later turn it took so the search does not delay a certain win, 0 when eliminated,
+	 * otherwise a mix of the shares of countries, armies and reinforcements that stays below the
+	 * value of a win.
+	 *
+	 * @param state the board.
+	 * @param turns the number of turns played after the turn of the searching player.
+	 * @return the value, between 0 and 1.
+	 */
+	double evaluate(BoardState state, int turns) {
+		if (!state.isAlive(player)) {
+			return 0;
+		}
+		if (state.getWinner() == player) {
+			return 1 - WIN_DISCOUNT_PER_TURN * turns;
+		}
+		double totalArmies = 0;
+		double totalReinforcement = 0;
+		for (int other = 0; other < state.getNumberOfPlayers(); other++) {
+			if (state.isAlive(other)) {
+				totalArmies += state.getTotalArmies(other);
+				totalReinforcement += state.getReinforcement(other);
+			}
+		}
+		double countryShare = (double) state.getNumberOfCountriesOwned(player) / state.getNumberOfCountries();
+		double armyShare = totalArmies == 0 ? 0 : state.getTotalArmies(player) / totalArmies;
+		double reinforcementShare = totalReinforcement == 0 ? 0 : state.getReinforcement(player) / totalReinforcement;
+		return 0.36 * countryShare + 0.27 * armyShare + 0.27 * reinforcementShare;
+	}
+}
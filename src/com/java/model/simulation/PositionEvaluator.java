@@ -0,0 +1,294 @@
+package com.java.model.simulation;
+
+import com.java.model.map.Zobrist;
+
+import java.util.Arrays;
+
+/**
+ * PositionEvaluator scores a board for a player from features it maintains incrementally:
+ * the countries and armies of every player, the continents they entirely own, and their
+ * exposure, the armies of the enemy neighbours that outnumber their frontier countries.
+ *
+ * The evaluator owns its copy of the board, every change goes through setOwner and setArmies
+ * which update the features of the country and of its incident borders only, so a search can
+ * make and unmake moves without ever rescanning the board. The evaluator also maintains the
+ * Zobrist hash of the board, and memoizes the scores by hash.
+ *
+ * The evaluator is not thread safe, every search uses its own.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class PositionEvaluator {
+
+	/**
+	 * Score of a position won by the player, the opposite being the score of a lost position.
+	 * */
+	public static final double WIN_VALUE = 1000000;
+
+	private static final double INCOME_WEIGHT = 1.0;
+	private static final double ARMY_WEIGHT = 0.25;
+	private static final double EXPOSURE_WEIGHT = 0.1;
+
+	private static final int CACHE_SIZE = 1 << 12;
+
+	private final BoardState state;
+	private final long[] countryKeys;
+	private final int[] incomingOffsets;
+	private final int[] incoming;
+
+	private final int[][] ownedPerContinent;
+	private final int[] continentBonus;
+	private final int[] totalArmies;
+	private final int[] exposure;
+	private long hash;
+
+	private final long[] cacheKeys = new long[CACHE_SIZE];
+	private final double[] cacheValues = new double[CACHE_SIZE];
+	private long cacheHits = 0;
+
+	/**
+	 * Creates an evaluator of a copy of a board.
+	 *
+	 * @param source the board, left unchanged.
+	 */
+	public PositionEvaluator(BoardState source) {
+		this.state = source.copy();
+		int numberOfCountries = state.getNumberOfCountries();
+		int numberOfPlayers = state.getNumberOfPlayers();
+
+		countryKeys = new long[numberOfCountries];
+		for (int country = 0; country < numberOfCountries; country++) {
+			countryKeys[country] = Zobrist.countryKey(state.getCountryName(country));
+		}
+
+		// reverse adjacency, the countries that can attack a country
+		incomingOffsets = new int[numberOfCountries + 1];
+		for (int country = 0; country < numberOfCountries; country++) {
+			for (int position = state.getNeighboursStart(country); position < state.getNeighboursEnd(country); position++) {
+				incomingOffsets[state.getNeighbour(position) + 1]++;
+			}
+		}
+		for (int country = 0; country < numberOfCountries; country++) {
+			incomingOffsets[country + 1] += incomingOffsets[country];
+		}
+		incoming = new int[incomingOffsets[numberOfCountries]];
+		int[] filled = new int[numberOfCountries];
+		for (int country = 0; country < numberOfCountries; country++) {
+			for (int position = state.getNeighboursStart(country); position < state.getNeighboursEnd(country); position++) {
+				int neighbour = state.getNeighbour(position);
+				incoming[incomingOffsets[neighbour] + filled[neighbour]++] = country;
+			}
+		}
+
+		ownedPerContinent = new int[numberOfPlayers][state.getNumberOfContinents()];
+		continentBonus = new int[numberOfPlayers];
+		totalArmies = new int[numberOfPlayers];
+		exposure = new int[numberOfPlayers];
+		recompute();
+	}
+
+	/**
+	 * Computes every feature from scratch.
+	 */
+	private void recompute() {
+		for (int player = 0; player < state.getNumberOfPlayers(); player++) {
+			Arrays.fill(ownedPerContinent[player], 0);
+			continentBonus[player] = 0;
+			totalArmies[player] = 0;
+			exposure[player] = 0;
+		}
+		hash = 0;
+		for (int country = 0; country < state.getNumberOfCountries(); country++) {
+			addCountry(country, 1);
+			for (int position = state.getNeighboursStart(country); position < state.getNeighboursEnd(country); position++) {
+				addBorder(country, state.getNeighbour(position), 1);
+			}
+		}
+	}
+
+	/**
+	 * Synchronizes the evaluator with a board of the same map, updating only the countries
+	 * that changed.
+	 *
+	 * @param source the board.
+	 */
+	public void synchronize(BoardState source) {
+		for (int country = 0; country < state.getNumberOfCountries(); country++) {
+			if (state.getOwner(country) != source.getOwner(country)) {
+				setOwner(country, source.getOwner(country));
+			}
+			if (state.getArmies(country) != source.getArmies(country)) {
+				setArmies(country, source.getArmies(country));
+			}
+		}
+	}
+
+	/**
+	 * Adds or removes the part of the features that depends on a country alone.
+	 */
+	private void addCountry(int country, int sign) {
+		int owner = state.getOwner(country);
+		int armies = state.getArmies(country);
+		hash ^= Zobrist.ownerKey(countryKeys[country], owner == BoardState.NO_OWNER ? null : state.getPlayerId(owner));
+		hash ^= Zobrist.armyKey(countryKeys[country], armies);
+		if (owner == BoardState.NO_OWNER) {
+			return;
+		}
+		totalArmies[owner] += sign * armies;
+		int continent = state.getContinent(country);
+		if (continent < 0) {
+			return;
+		}
+		boolean wasOwned = ownedPerContinent[owner][continent] == state.getContinentSize(continent);
+		ownedPerContinent[owner][continent] += sign;
+		boolean isOwned = ownedPerContinent[owner][continent] == state.getContinentSize(continent);
+		if (wasOwned != isOwned) {
+			continentBonus[owner] += (isOwned ? 1 : -1) * state.getContinentControlValue(continent);
+		}
+	}
+
+	/**
+	 * Adds or removes the threat of an attack from a country on an enemy neighbour.
+	 */
+	private void addBorder(int fromCountry, int toCountry, int sign) {
+		int attacker = state.getOwner(fromCountry);
+		int defender = state.getOwner(toCountry);
+		if (attacker == defender || attacker == BoardState.NO_OWNER || defender == BoardState.NO_OWNER) {
+			return;
+		}
+		int threat = state.getArmies(fromCountry) - 1 - state.getArmies(toCountry);
+		if (threat > 0) {
+			exposure[defender] += sign * threat;
+		}
+	}
+
+	/**
+	 * Adds or removes every feature touching a country.
+	 */
+	private void addIncident(int country, int sign) {
+		addCountry(country, sign);
+		for (int position = state.getNeighboursStart(country); position < state.getNeighboursEnd(country); position++) {
+			int neighbour = state.getNeighbour(position);
+			if (neighbour != country) {
+				addBorder(country, neighbour, sign);
+			}
+		}
+		for (int position = incomingOffsets[country]; position < incomingOffsets[country + 1]; position++) {
+			if (incoming[position] != country) {
+				addBorder(incoming[position], country, sign);
+			}
+		}
+	}
+
+	/**
+	 * Changes the number of armies of a country.
+	 *
+	 * @param country the country.
+	 * @param armies the new number of armies.
+	 */
+	public void setArmies(int country, int armies) {
+		addIncident(country, -1);
+		state.addArmies(country, armies - state.getArmies(country));
+		addIncident(country, 1);
+	}
+
+	/**
+	 * Changes the owner of a country.
+	 *
+	 * @param country the country.
+	 * @param player the new owner.
+	 */
+	public void setOwner(int country, int player) {
+		addIncident(country, -1);
+		state.setOwner(country, player);
+		addIncident(country, 1);
+	}
+
+	/**
+	 * Gets the board, which must only be changed through the evaluator.
+	 *
+	 * @return the board.
+	 */
+	public BoardState getState() {
+		return state;
+	}
+
+	/**
+	 * @return the Zobrist hash of the owners and armies of the board.
+	 */
+	public long getHash() {
+		return hash;
+	}
+
+	public int getTotalArmies(int player) {
+		return totalArmies[player];
+	}
+
+	public int getContinentBonus(int player) {
+		return continentBonus[player];
+	}
+
+	public int getExposure(int player) {
+		return exposure[player];
+	}
+
+	/**
+	 * @param player the player.
+	 * @return the reinforcement of the player without cards.
+	 */
+	public int getIncome(int player) {
+		return Math.max(3, state.getNumberOfCountriesOwned(player) / 3) + continentBonus[player];
+	}
+
+	public long getCacheHits() {
+		return cacheHits;
+	}
+
+	/**
+	 * Scores a player alone.
+	 */
+	private double score(int player) {
+		return INCOME_WEIGHT * getIncome(player) + ARMY_WEIGHT * totalArmies[player] - EXPOSURE_WEIGHT * exposure[player];
+	}
+
+	/**
+	 * Evaluates the board for a player: the score of the player minus the best score of the
+	 * other players still alive, the score being the income, the armies and the exposure
+	 * weighted.
+	 *
+	 * @param player the player.
+	 * @return the evaluation, WIN_VALUE if the player owns every country, -WIN_VALUE if it owns
+	 *         none.
+	 */
+	public double evaluate(int player) {
+		int numberOfCountriesOwned = state.getNumberOfCountriesOwned(player);
+		if (numberOfCountriesOwned == 0) {
+			return -WIN_VALUE;
+		}
+		if (numberOfCountriesOwned == state.getNumberOfCountries()) {
+			return WIN_VALUE;
+		}
+		long key = Zobrist.mix(hash + player);
+		int slot = (int) key & (CACHE_SIZE - 1);
+		if (cacheKeys[slot] == key) {
+			cacheHits++;
+			return cacheValues[slot];
+		}
+
+		double bestOpponent = Double.NEGATIVE_INFINITY;
+		for (int opponent = 0; opponent < state.getNumberOfPlayers(); opponent++) {
+			if (opponent != player && state.isAlive(opponent)) {
+				bestOpponent = Math.max(bestOpponent, score(opponent));
+			}
+		}
+		double value = score(player) - (bestOpponent == Double.NEGATIVE_INFINITY ? 0 : bestOpponent);
+		cacheKeys[slot] = key;
+		cacheValues[slot] = value;
+		return value;
+	}
+}
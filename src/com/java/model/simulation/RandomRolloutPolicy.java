@@ -0,0 +1,77 @@
+package com.java.model.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * RandomRolloutPolicy reproduces RandomMode: reinforces random countries, attacks a random
+ * number of times from random countries and fortifies a random neighbour.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class RandomRolloutPolicy implements RolloutPolicy {
+
+	public static final RandomRolloutPolicy INSTANCE = new RandomRolloutPolicy();
+
+	/**
+	 * Gets a random country of a player.
+	 *
+	 * @param state the state.
+	 * @param player the player.
+	 * @param random random generator.
+	 * @return the country, -1 if the player owns none.
+	 */
+	private static int getRandomCountry(BoardState state, int player, SplittableRandom random) {
+		int numberOfCountriesOwned = state.getNumberOfCountriesOwned(player);
+		if (numberOfCountriesOwned == 0) {
+			return -1;
+		}
+		int selected = random.nextInt(numberOfCountriesOwned);
+		for (int country = 0; country < state.getNumberOfCountries(); country++) {
+			if (state.getOwner(country) == player && selected-- == 0) {
+				return country;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public void playTurn(BoardState state, int player, SplittableRandom random) {
+		int reinforcement = state.getReinforcement(player);
+		while (reinforcement > 0) {
+			int country = getRandomCountry(state, player, random);
+			if (country == -1) {
+				return;
+			}
+			int placed = 1 + random.nextInt(reinforcement);
+			state.addArmies(country, placed);
+			reinforcement -= placed;
+		}
+
+		int numberOfAttacks = random.nextInt(state.getNumberOfCountriesOwned(player) + 1);
+		for (int attack = 0; attack < numberOfAttacks; attack++) {
+			int country = getRandomCountry(state, player, random);
+			int degree = state.getNeighboursEnd(country) - state.getNeighboursStart(country);
+			if (state.getArmies(country) < 2 || degree == 0) {
+				continue;
+			}
+			int target = state.getNeighbour(state.getNeighboursStart(country) + random.nextInt(degree));
+			if (state.getOwner(target) != player) {
+				state.attackOnce(country, target, random);
+			}
+		}
+
+		int country = getRandomCountry(state, player, random);
+		int degree = country == -1 ? 0 : state.getNeighboursEnd(country) - state.getNeighboursStart(country);
+		if (degree > 0 && state.getArmies(country) > 1) {
+			int destination = state.getNeighbour(state.getNeighboursStart(country) + random.nextInt(degree));
+			if (state.getOwner(destination) == player) {
+				state.moveArmies(country, destination, 1 + random.nextInt(state.getArmies(country) - 1));
+			}
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package com.java.model.simulation;
+
+import com.java.model.player.BenevolentMode;
+import com.java.model.player.CheaterMode;
+import com.java.model.player.PlayerStrategy;
+import com.java.model.player.RandomMode;
+
+import java.util.SplittableRandom;
+
+/**
+ * RolloutPolicy plays the turn of a player on a BoardState during a simulation. The policies
+ * reproduce the heuristics of the bot strategies on the compact state, without cards, prints
+ * or observers.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public interface RolloutPolicy {
+
+	/**
+	 * Plays the reinforcement, attack and fortification of a player.
+	 *
+	 * @param state the state to be played on.
+	 * @param player the index of the player in the state.
+	 * @param random random generator of the simulation.
+	 */
+	void playTurn(BoardState state, int player, SplittableRandom random);
+
+	/**
+	 * Gets the policy reproducing a strategy. Human players and the strategies without a
+	 * policy of their own are simulated as aggressive players.
+	 *
+	 * @param strategy the strategy of the player.
+	 * @return the rollout policy.
+	 */
+	static RolloutPolicy forStrategy(PlayerStrategy strategy) {
+		if (strategy instanceof BenevolentMode) {
+			return BenevolentRolloutPolicy.INSTANCE;
+		} else if (strategy instanceof RandomMode) {
+			return RandomRolloutPolicy.INSTANCE;
+		} else if (strategy instanceof CheaterMode) {
+			return CheaterRolloutPolicy.INSTANCE;
+		}
+		return AggressiveRolloutPolicy.INSTANCE;
+	}
+}
@@ -0,0 +1,153 @@
+package com.java.model.simulation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TranspositionTable is a fixed size table of position evaluations keyed by the Zobrist hash
+ * of the position, so a search that meets a position again can reuse its evaluation.
+ *
+ * The table is lock free: every slot is three longs (check, value, decision) in an atomic
+ * array, the check being the exclusive or of the key with the two others. Writers store the
+ * value and the decision before the check, and a reader only trusts a slot whose check matches
+ * the key with the value and decision it read, so a slot torn by concurrent writers is seen as
+ * a miss instead of a wrong evaluation.
+ *
+ * A slot is replaced by another position unless it holds the same position evaluated with
+ * more iterations.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class TranspositionTable {
+
+	private static final int LONGS_PER_SLOT = 3;
+
+	private final AtomicLongArray slots;
+	private final int mask;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Evaluation of a position read from the table.
+	 */
+	public static final class Entry {
+		private final double value;
+		private final int iterations;
+		private final long decision;
+
+		private Entry(double value, int iterations, long decision) {
+			this.value = value;
+			this.iterations = iterations;
+			this.decision = decision;
+		}
+
+		public double getValue() {
+			return value;
+		}
+
+		public int getIterations() {
+			return iterations;
+		}
+
+		public long getDecision() {
+			return decision;
+		}
+	}
+
+	/**
+	 * Creates a table.
+	 *
+	 * @param capacity number of positions, rounded up to a power of two.
+	 */
+	public TranspositionTable(int capacity) {
+		if (capacity < 1 || capacity > (1 << 26)) {
+			throw new IllegalArgumentException("Capacity must be between 1 and 2^26: " + capacity);
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.slots = new AtomicLongArray(size * LONGS_PER_SLOT);
+		this.mask = size - 1;
+	}
+
+	/**
+	 * @return the number of positions the table holds.
+	 */
+	public int getCapacity() {
+		return mask + 1;
+	}
+
+	private int slotOf(long key) {
+		return (int) (key ^ (key >>> 32)) & mask;
+	}
+
+	private static long pack(double value, int iterations) {
+		return ((long) Float.floatToRawIntBits((float) value) << 32) | (iterations & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Looks a position up.
+	 *
+	 * @param key the hash of the position.
+	 * @return the evaluation, null if the position is not in the table.
+	 */
+	public Entry probe(long key) {
+		int base = slotOf(key) * LONGS_PER_SLOT;
+		long check = slots.get(base);
+		long data = slots.get(base + 1);
+		long decision = slots.get(base + 2);
+		if (data == 0 || (check ^ data ^ decision) != key) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return new Entry(Float.intBitsToFloat((int) (data >>> 32)), (int) data, decision);
+	}
+
+	/**
+	 * Stores the evaluation of a position.
+	 *
+	 * @param key the hash of the position.
+	 * @param value the value of the position.
+	 * @param iterations the number of simulations behind the value, at least 1.
+	 * @param decision the best decision found in the position.
+	 */
+	public void store(long key, double value, int iterations, long decision) {
+		int base = slotOf(key) * LONGS_PER_SLOT;
+		long oldData = slots.get(base + 1);
+		long oldDecision = slots.get(base + 2);
+		boolean samePosition = (slots.get(base) ^ oldData ^ oldDecision) == key;
+		if (samePosition && (int) oldData > iterations) {
+			return;
+		}
+		long data = pack(value, Math.max(1, iterations));
+		slots.set(base + 1, data);
+		slots.set(base + 2, decision);
+		slots.set(base, key ^ data ^ decision);
+	}
+
+	/**
+	 * Empties the table.
+	 */
+	public void clear() {
+		for (int i = 0; i < slots.length(); i++) {
+			slots.set(i, 0);
+		}
+		hits.reset();
+		misses.reset();
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+}
@@ -0,0 +1,50 @@
+package com.java.model.simulation;
+
+/**
+ * TurnDecision holds the stages of a turn searched by the AI strategies and the encoding of
+ * their decisions as longs: the source country in the high bits and the target country in the
+ * low bits, a reinforcement having the same source and target.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public final class TurnDecision {
+
+	/**
+	 * Phase of the turn a decision belongs to.
+	 * */
+	public enum Stage {
+		REINFORCEMENT, ATTACK, FORTIFICATION, DONE
+	}
+
+	/**
+	 * Decision to stop attacking, or to skip the fortification.
+	 * */
+	public static final long PASS = -1;
+
+	private TurnDecision() {
+	}
+
+	/**
+	 * Encodes a decision.
+	 *
+	 * @param fromCountry the source country.
+	 * @param toCountry the target country.
+	 * @return the decision.
+	 */
+	public static long encode(int fromCountry, int toCountry) {
+		return ((long) fromCountry << 32) | toCountry;
+	}
+
+	public static int getSourceCountry(long decision) {
+		return (int) (decision >>> 32);
+	}
+
+	public static int getTargetCountry(long decision) {
+		return (int) decision;
+	}
+}
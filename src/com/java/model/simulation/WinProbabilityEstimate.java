@@ -0,0 +1,131 @@
+package com.java.model.simulation;
+
+/**
+ * WinProbabilityEstimate is the result of a WinProbabilityEstimator: for every player the
+ * share of the simulations it won with its Wilson score interval, and the same for the
+ * simulations no player won within the turn limit.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class WinProbabilityEstimate {
+
+	private final int[] playerIds;
+	private final int[] wins;
+	private final int noWinner;
+	private final int numberOfSimulations;
+	private final double z;
+	private final boolean converged;
+
+	/**
+	 * Creates an estimate.
+	 *
+	 * @param playerIds the ids of the players.
+	 * @param wins the number of simulations won by every player, in the order of the ids.
+	 * @param noWinner the number of simulations without winner.
+	 * @param z the quantile of the normal distribution of the confidence level.
+	 * @param converged true if the simulations stopped because the intervals were tight.
+	 */
+	WinProbabilityEstimate(int[] playerIds, int[] wins, int noWinner, double z, boolean converged) {
+		this.playerIds = playerIds.clone();
+		this.wins = wins.clone();
+		this.noWinner = noWinner;
+		int total = noWinner;
+		for (int win : wins) {
+			total += win;
+		}
+		this.numberOfSimulations = total;
+		this.z = z;
+		this.converged = converged;
+	}
+
+	/**
+	 * Gets the Wilson score interval of a proportion.
+	 *
+	 * @param successes the number of successes.
+	 * @param trials the number of trials.
+	 * @param z the quantile of the normal distribution of the confidence level.
+	 * @return the lower and upper bounds.
+	 */
+	static double[] wilsonInterval(int successes, int trials, double z) {
+		if (trials == 0) {
+			return new double[] {0, 1};
+		}
+		double proportion = (double) successes / trials;
+		double z2 = z * z;
+		double denominator = 1 + z2 / trials;
+		double center = (proportion + z2 / (2.0 * trials)) / denominator;
+		double halfWidth = z * Math.sqrt(proportion * (1 - proportion) / trials + z2 / (4.0 * trials * trials)) / denominator;
+		// the bounds of the extreme proportions are exact, without the rounding of the formula
+		double lower = successes == 0 ? 0 : Math.max(0, center - halfWidth);
+		double upper = successes == trials ? 1 : Math.min(1, center + halfWidth);
+		return new double[] {lower, upper};
+	}
+
+	private int indexOf(Integer playerId) {
+		for (int i = 0; i < playerIds.length; i++) {
+			if (playerId != null && playerIds[i] == playerId.intValue()) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Unknown player: " + playerId);
+	}
+
+	public int getNumberOfSimulations() {
+		return numberOfSimulations;
+	}
+
+	/**
+	 * @return true if the simulations stopped early because every interval was tight enough.
+	 */
+	public boolean isConverged() {
+		return converged;
+	}
+
+	/**
+	 * @param playerId the player id.
+	 * @return the share of the simulations won by the player.
+	 */
+	public double getWinProbability(Integer playerId) {
+		return numberOfSimulations == 0 ? 0 : (double) wins[indexOf(playerId)] / numberOfSimulations;
+	}
+
+	/**
+	 * @param playerId the player id.
+	 * @return the lower and upper bounds of the win probability of the player.
+	 */
+	public double[] getConfidenceInterval(Integer playerId) {
+		return wilsonInterval(wins[indexOf(playerId)], numberOfSimulations, z);
+	}
+
+	/**
+	 * @return the share of the simulations no player won within the turn limit.
+	 */
+	public double getNoWinnerProbability() {
+		return numberOfSimulations == 0 ? 0 : (double) noWinner / numberOfSimulations;
+	}
+
+	/**
+	 * @return the lower and upper bounds of the probability that no player wins.
+	 */
+	public double[] getNoWinnerConfidenceInterval() {
+		return wilsonInterval(noWinner, numberOfSimulations, z);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < playerIds.length; i++) {
+			double[] interval = getConfidenceInterval(playerIds[i]);
+			builder.append(String.format("Player %d: %.1f%% [%.1f%%, %.1f%%]%n", playerIds[i],
+					100.0 * getWinProbability(playerIds[i]), 100 * interval[0], 100 * interval[1]));
+		}
+		builder.append(String.format("No winner: %.1f%% (%d simulations)", 100.0 * getNoWinnerProbability(),
+				numberOfSimulations));
+		return builder.toString();
+	}
+}
@@ -0,0 +1,234 @@
+package com.java.model.simulation;
+
+import com.java.model.gamedata.GameData;
+import com.java.model.map.Zobrist;
+import com.java.model.player.Player;
+import com.java.model.player.PlayerStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * WinProbabilityEstimator estimates the probability of every player to win a game within a
+ * number of rounds, by playing the game to the end many times from its current position on a
+ * BoardState, every player being played by the rollout policy of its strategy. Simulations
+ * print nothing and do not touch the game.
+ *
+ * Simulations run in batches split between the workers of a pool. Every simulation draws its
+ * dice from a generator seeded by the seed of the estimator and its own number, so an estimate
+ * only depends on the seed, whatever the number of workers. After every batch the Wilson score
+ * intervals of the outcomes are computed, and the simulations stop as soon as the widest one
+ * is tight enough. If the calling thread is interrupted the simulations stop too, and the
+ * estimate is made of the batches that finished.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class WinProbabilityEstimator {
+
+	/**
+	 * Quantile of the normal distribution of a 95% confidence level.
+	 * */
+	public static final double Z_95 = 1.959963984540054;
+
+	/**
+	 * Number of simulations between two checks of the intervals.
+	 * */
+	public static final int BATCH_SIZE = 512;
+
+	private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+	private final int maxRounds;
+	private final int maxSimulations;
+	private final double targetHalfWidth;
+	private final int parallelism;
+	private final long seed;
+
+	/**
+	 * Creates an estimator at a 95% confidence level.
+	 *
+	 * @param maxRounds the number of rounds of every player after which a game has no winner.
+	 * @param maxSimulations the maximum number of simulations of an estimate.
+	 * @param targetHalfWidth the half width of the intervals at which the simulations stop, 0
+	 *            to always run the maximum number.
+	 * @param parallelism the number of workers.
+	 * @param seed the seed of the simulations.
+	 */
+	public WinProbabilityEstimator(int maxRounds, int maxSimulations, double targetHalfWidth, int parallelism,
+			long seed) {
+		if (maxRounds < 1 || maxSimulations < 1 || parallelism < 1) {
+			throw new IllegalArgumentException("Rounds, simulations and parallelism must be positive");
+		}
+		this.maxRounds = maxRounds;
+		this.maxSimulations = maxSimulations;
+		this.targetHalfWidth = targetHalfWidth;
+		this.parallelism = parallelism;
+		this.seed = seed;
+	}
+
+	/**
+	 * Estimates the win probabilities of the players of a game from its current position. The
+	 * player whose turn it is plays first, unless it is past its reinforcement in which case
+	 * the next player does.
+	 *
+	 * @param gameData the game.
+	 * @return the estimate.
+	 */
+	public WinProbabilityEstimate estimate(GameData gameData) {
+		ArrayList<Integer> playerIds = new ArrayList<Integer>();
+		for (Player player : gameData.getPlayers()) {
+			playerIds.add(player.getStrategyType().getPlayerID());
+		}
+		BoardState state = new BoardState(gameData.gameMap, playerIds);
+
+		int[] turnOrder = new int[playerIds.size()];
+		RolloutPolicy[] policies = new RolloutPolicy[playerIds.size()];
+		int firstPosition = 0;
+		Integer currentPlayerId = gameData.gameMap.getCurrentPlayerId();
+		for (int i = 0; i < playerIds.size(); i++) {
+			PlayerStrategy strategy = gameData.getPlayers().get(i).getStrategyType();
+			turnOrder[i] = state.getPlayerIndex(strategy.getPlayerID());
+			policies[turnOrder[i]] = RolloutPolicy.forStrategy(strategy);
+			if (strategy.getPlayerID().equals(currentPlayerId)) {
+				firstPosition = i;
+				if (gameData.gameMap.getCurrentPhase() == Zobrist.Phase.ATTACK
+						|| gameData.gameMap.getCurrentPhase() == Zobrist.Phase.FORTIFICATION) {
+					firstPosition = (i + 1) % playerIds.size();
+				}
+			}
+		}
+		return estimate(state, turnOrder, policies, firstPosition);
+	}
+
+	/**
+	 * Estimates the win probabilities of the players of a board.
+	 *
+	 * @param state the board, left unchanged.
+	 * @param turnOrder the indices of the players in their order of play.
+	 * @param policies the policy of every player, by index.
+	 * @param firstPosition the position in the turn order of the player playing first.
+	 * @return the estimate.
+	 */
+	public WinProbabilityEstimate estimate(BoardState state, int[] turnOrder, RolloutPolicy[] policies,
+			int firstPosition) {
+		int numberOfPlayers = state.getNumberOfPlayers();
+		int[] playerIds = new int[numberOfPlayers];
+		for (int player = 0; player < numberOfPlayers; player++) {
+			playerIds[player] = state.getPlayerId(player);
+		}
+
+		// outcomes by player index, the last one counting the games without winner
+		int[] outcomes = new int[numberOfPlayers + 1];
+		int numberOfSimulations = 0;
+		boolean converged = false;
+		while (numberOfSimulations < maxSimulations && !converged && !Thread.currentThread().isInterrupted()) {
+			int batchEnd = Math.min(maxSimulations, numberOfSimulations + BATCH_SIZE);
+			int[] batch = runBatch(state, turnOrder, policies, firstPosition, numberOfSimulations, batchEnd);
+			if (batch == null) {
+				// the batch did not finish, its simulations are not counted
+				break;
+			}
+			for (int outcome = 0; outcome < outcomes.length; outcome++) {
+				outcomes[outcome] += batch[outcome];
+			}
+			numberOfSimulations = batchEnd;
+			converged = targetHalfWidth > 0 && getWidestHalfWidth(outcomes, numberOfSimulations) <= targetHalfWidth;
+		}
+
+		int[] wins = new int[numberOfPlayers];
+		System.arraycopy(outcomes, 0, wins, 0, numberOfPlayers);
+		return new WinProbabilityEstimate(playerIds, wins, outcomes[numberOfPlayers], Z_95, converged);
+	}
+
+	/**
+	 * Gets the half width of the widest interval of the outcomes.
+	 */
+	private static double getWidestHalfWidth(int[] outcomes, int numberOfSimulations) {
+		double widest = 0;
+		for (int outcome : outcomes) {
+			double[] interval = WinProbabilityEstimate.wilsonInterval(outcome, numberOfSimulations, Z_95);
+			widest = Math.max(widest, (interval[1] - interval[0]) / 2);
+		}
+		return widest;
+	}
+
+	/**
+	 * Runs the simulations of a range split between the workers.
+	 *
+	 * @return the outcomes of the simulations, null if the thread was interrupted before they
+	 *         all finished.
+	 */
+	private int[] runBatch(BoardState state, int[] turnOrder, RolloutPolicy[] policies, int firstPosition,
+			int fromSimulation, int toSimulation) {
+		int chunk = (toSimulation - fromSimulation + parallelism - 1) / parallelism;
+		List<Callable<int[]>> workers = new ArrayList<>();
+		for (int start = fromSimulation; start < toSimulation; start += chunk) {
+			int end = Math.min(toSimulation, start + chunk);
+			int first = start;
+			workers.add(() -> simulate(state, turnOrder, policies, firstPosition, first, end));
+		}
+
+		int[] outcomes = new int[state.getNumberOfPlayers() + 1];
+		try {
+			for (Future<int[]> result : POOL.invokeAll(workers)) {
+				int[] workerOutcomes = result.get();
+				for (int outcome = 0; outcome < outcomes.length; outcome++) {
+					outcomes[outcome] += workerOutcomes[outcome];
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+		return outcomes;
+	}
+
+	/**
+	 * Plays the simulations of a range on a copy of the board.
+	 *
+	 * @return the outcomes of the simulations.
+	 */
+	private int[] simulate(BoardState state, int[] turnOrder, RolloutPolicy[] policies, int firstPosition,
+			int fromSimulation, int toSimulation) {
+		BoardState scratch = state.copy();
+		int[] outcomes = new int[state.getNumberOfPlayers() + 1];
+		for (int simulation = fromSimulation; simulation < toSimulation; simulation++) {
+			scratch.copyFrom(state);
+			SplittableRandom random = new SplittableRandom(Zobrist.mix(seed + simulation));
+			int winner = play(scratch, turnOrder, policies, firstPosition, random);
+			outcomes[winner == -1 ? outcomes.length - 1 : winner]++;
+		}
+		return outcomes;
+	}
+
+	/**
+	 * Plays a game until a player owns every country or the rounds are over.
+	 *
+	 * @return the index of the winner, -1 without winner.
+	 */
+	private int play(BoardState state, int[] turnOrder, RolloutPolicy[] policies, int firstPosition,
+			SplittableRandom random) {
+		for (int turn = 0; turn < maxRounds * turnOrder.length; turn++) {
+			int winner = state.getWinner();
+			if (winner != -1) {
+				return winner;
+			}
+			int player = turnOrder[(firstPosition + turn) % turnOrder.length];
+			if (state.isAlive(player)) {
+				policies[player].playTurn(state, player, random);
+			}
+		}
+		return state.getWinner();
+	}
+}
@@ -5,8 +5,9 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import com.java.model.Observable;
 import com.java.model.map.GameMap;
@@ -71,10 +72,10 @@ public class PlayersWorldDominationView implements GameView {
             	setUpFile();
             	
             	HashMap<String,Double> ownershipPercentage = ((GameMap) observable).getOwnershipPercentage();
-            	HashMap<Integer, HashSet<String>> conqueredContinentsPerPlayer = ((GameMap) observable).getConqueredContinentsPerPlayer();
+            	Map<Integer, Set<String>> conqueredContinentsPerPlayer = ((GameMap) observable).getConqueredContinentsPerPlayer();
             	HashMap<String,Integer> numberOfArmiesPerPlayer = ((GameMap) observable).getNumberOfArmiesPerPlayer();
             	ArrayList<Player> playersInfo = ((GameMap) observable).getPlayersInfo();
-            	HashSet<String> continentsPerPlayer;
+            	Set<String> continentsPerPlayer;
             	
                 editView.write("\nPercentage of the map controlled by every player:\n");
                 
@@ -1,7 +1,9 @@
 package com.java.view;
 
-import com.java.controller.dice.Dice;
+import com.java.controller.instrumentation.GameMetrics;
+import com.java.controller.instrumentation.TurnInstrumentation;
 import com.java.controller.map.MapLoader;
+import com.java.controller.startup.PlacementPolicy;
 import com.java.controller.startup.StartUpPhase;
 import com.java.model.gamedata.GameData;
 import com.java.model.map.Country;
@@ -41,6 +43,16 @@ public class RiskGameDriver extends TournamentModeHelper{
      * It would assign the parsed values from the map and store it in gameData object to use.
      */
 	public RiskGameDriver() {
+		this(getSeedFromSystemProperties());
+	}
+
+	/**
+	 * Creates a driver whose games draw their order of play and initial placement from a seed.
+	 *
+	 * @param seed the seed of the games, the same seed replaying the same draws.
+	 */
+	public RiskGameDriver(long seed) {
+		super(seed);
 		input = new Scanner(System.in);
 		gameData = new GameData();
 		// using this will load the map
@@ -53,6 +65,7 @@ public class RiskGameDriver extends TournamentModeHelper{
 	public void startGame() {
 
 		Integer userChoice = setAndGetGameModeFromUser();
+		System.out.println("\nSeed of the games: " + seed + " (replay them with -Drisk.seed=" + seed + ")");
 		
 		if (RiskGameDriver.IS_TOURNAMENT_MODE) {
 			getTournamentModeDetailsFromUser();
@@ -70,6 +83,7 @@ public class RiskGameDriver extends TournamentModeHelper{
 			}
 			
 			printTournamentModeResults();
+			TurnInstrumentation.printSummary();
 			
 		}
 		else if(userChoice == 3){
@@ -108,6 +122,7 @@ public class RiskGameDriver extends TournamentModeHelper{
 				isValidFileName = true;
 				this.gameData = gameData_load;
 				startTurn();
+				TurnInstrumentation.printSummary();
 			}
 		}
 		else {
@@ -118,6 +133,7 @@ public class RiskGameDriver extends TournamentModeHelper{
 			ramdomAssignationOfCountries();
 			initialArmyPlacement();
 			startTurn();
+			TurnInstrumentation.printSummary();
 		}
 	}
 
@@ -212,16 +228,16 @@ public class RiskGameDriver extends TournamentModeHelper{
 				System.out.println("Enter your name: ");
 				playerNameInput = input.nextLine().trim();
 			}
-			//first check if it is a number then check if it is inside the range of 1 to 5
+			//first check if it is a number then check if it is inside the range of 1 to 7
 			do {
 				do {
 					System.out.println("\nChoose your Player Strategy (BASED ON NUMBER): ");
-					System.out.println("\n(1) Aggressive \n(2) Benevolent \n(3) Random \n(4) Cheater \n(5) Human");
+					System.out.println("\n(1) Aggressive \n(2) Benevolent \n(3) Random \n(4) Cheater \n(5) Human \n(6) Monte Carlo \n(7) Expectiminimax");
 
 					playerStrategyInput = input.nextLine().trim();
 				} while (isNaN(playerStrategyInput));
 			}
-			while(!(Integer.parseInt(playerStrategyInput) > 0 && Integer.parseInt(playerStrategyInput) <6));// check to make sure it is between 1 and 5 else keep asking
+			while(!(Integer.parseInt(playerStrategyInput) > 0 && Integer.parseInt(playerStrategyInput) <8));// check to make sure it is between 1 and 7 else keep asking
 
 			playerNames.add(playerNameInput.trim());
 			playerStrategy.add(Integer.parseInt(playerStrategyInput)); // parse it and store it as integer
@@ -245,11 +261,23 @@ public class RiskGameDriver extends TournamentModeHelper{
 		// Gets all countries from game map.
 		HashMap<String, Country> countryObjects = gameData.gameMap.getAllCountries();
 
+		// The bots do not pick countries one by one: their whole placement is computed and applied at once.
+		startUp.placeInitialArmies(PlacementPolicy.STRATEGY, new Random(gameSeeds.nextLong()));
+
 		for (Player player : gameData.getPlayers()) {
 
+			if (!(player.getStrategyType() instanceof HumanMode)) {
+				System.out.println(" ");
+				System.out.println("Player: " + player.getStrategyType().getPlayerName() + " placed its armies: ");
+				for (String countryName : gameData.gameMap.getConqueredCountries(player.getStrategyType().getPlayerID())) {
+					System.out.println("\t " + countryName + " has " + countryObjects.get(countryName).getCountryArmyCount() + " armies placed.");
+				}
+				continue;
+			}
+
 			// Gets all countries from game map.
 			Boolean firstTime = true;
-			HashSet<String> countriesPerPlayer = gameData.gameMap.getConqueredCountries(player.getStrategyType().getPlayerID());
+			Set<String> countriesPerPlayer = gameData.gameMap.getConqueredCountries(player.getStrategyType().getPlayerID());
 			String[] countriesPerPlayerArray = Arrays.copyOf(countriesPerPlayer.toArray(), countriesPerPlayer.size(),String[].class);
 			numberOfArmiesAvailablePerPlayer = startUp.initialArmyCalculation(gameData.getNoOfPlayers());
 			
@@ -281,20 +309,11 @@ public class RiskGameDriver extends TournamentModeHelper{
 
 				String chosedCountryByUser = "";
 				
-				Dice newDice = new Dice();
-				Integer randomNumberOfArmiesToPlace;
-				Integer randomChoosedCountry;
-				
 				do {
 					System.out.println("\nYou have " + numberOfArmiesAvailablePerPlayer + " armies left.");
 					System.out.println("Please pick the number associated with the country in order to place your armies: ");
 					
-					if(player.getStrategyType() instanceof HumanMode) {
-						chosedCountryByUser = input.nextLine();
-					} else {
-						randomChoosedCountry = newDice.rollDice(0,countriesPerPlayerArray.length - 1);
-						chosedCountryByUser =  Integer.toString(randomChoosedCountry);
-					}
+					chosedCountryByUser = input.nextLine();
 					
 					System.out.println("You picked: " + chosedCountryByUser);
 					
@@ -314,12 +333,7 @@ public class RiskGameDriver extends TournamentModeHelper{
 					System.out.println("Player: " + player.getStrategyType().getPlayerName() + " How many armies do you want to place in "
 							+ countryName + "?");
 					
-					if(player.getStrategyType() instanceof HumanMode) {
-						numberOfArmiesByUser = input.nextLine();
-					} else {
-						randomNumberOfArmiesToPlace = newDice.rollDice(0,numberOfArmiesAvailablePerPlayer);
-						numberOfArmiesByUser =  Integer.toString(randomNumberOfArmiesToPlace);
-					}
+					numberOfArmiesByUser = input.nextLine();
 					
 					System.out.println("You picked: " + numberOfArmiesByUser);
 					
@@ -346,7 +360,7 @@ public class RiskGameDriver extends TournamentModeHelper{
 		System.out.println(" ");
 		System.out.println("The following list has the order of the players in round robin fashion: ");
 		System.out.println("The results are based on the higher number of dice a player rolled ");
-		ArrayList<Player> results = startUp.generateRoundRobin();
+		ArrayList<Player> results = startUp.generateRoundRobin(gameSeeds.nextLong());
 		for(int i = 0; i < results.size(); i++) {
 			System.out.println((i+1) + " " + results.get(i).getStrategyType().getPlayerName());
 		}
@@ -379,9 +393,21 @@ public class RiskGameDriver extends TournamentModeHelper{
 	 * There will be another round if the number of players is greater than one.
 	 */
 	/**
-	 * Loop through player list circularly until one of the player wins
+	 * Plays the game and records it in the game metrics while it is in progress.
 	 */
 	private void startTurn() {
+		GameMetrics.gameStarted(this.gameData);
+		try {
+			playTurns();
+		} finally {
+			GameMetrics.gameFinished(this.gameData);
+		}
+	}
+
+	/**
+	 * Loop through player list circularly until one of the player wins
+	 */
+	private void playTurns() {
 		ArrayList<Player> playerList = this.gameData.getPlayers();
 		PlayerStrategy currentPlayer; // first player that will start the game
 		String choiceToSave = "";
@@ -467,12 +493,12 @@ public class RiskGameDriver extends TournamentModeHelper{
 	private boolean getIsWinner(PlayerStrategy player) {
 		
 		boolean isWinner = false;
-		HashSet<String> allConqueredCountries = new HashSet<String>();
+		Set<String> allConqueredCountries = new HashSet<String>();
 		allConqueredCountries = this.gameData.gameMap.getConqueredCountries(player.getPlayerID());
 
 		if(allConqueredCountries.size() == this.gameData.gameMap.getNumberOfCountries()) {
 			isWinner = true;
-			player.setIsWinner(isWinner);
+			this.gameData.setWinner(this.gameData.getPlayer(player.getPlayerID()));
 			System.out.println("\n ****" + player.getPlayerName() + " HAS CONQUERED THE WORLD !****");
 			System.out.println("\n ******************************* \n");
 			System.out.println("\n ********** GAME OVER ********** \n");
@@ -489,13 +515,8 @@ public class RiskGameDriver extends TournamentModeHelper{
 	 */
 	private boolean getIsActive(PlayerStrategy player) {
 		
-		boolean isActive = true;
-		HashSet<String> allConqueredCountries = new HashSet<String>();
-		allConqueredCountries = this.gameData.gameMap.getConqueredCountries(player.getPlayerID());
-
-		if(allConqueredCountries.size() == 0) {
-			isActive = false;
-		}
+		boolean isActive = this.gameData.isPlayerActive(player.getPlayerID());
+		this.gameData.setPlayerStatus(this.gameData.getPlayer(player.getPlayerID()), isActive);
 		
 		return isActive;
 	}
@@ -1,5 +1,6 @@
 package com.java.view;
 
+import com.java.controller.map.MapCache;
 import com.java.controller.map.MapLoader;
 import com.java.controller.startup.StartUpPhase;
 import com.java.model.gamedata.GameData;
@@ -7,6 +8,7 @@ import com.java.model.player.*;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.Random;
 import java.util.Scanner;
 
 
@@ -42,9 +44,37 @@ public class TournamentModeHelper {
 	protected static final Integer TM_MIN_NUMBER_OF_TURNS = 10;
 	protected static final Integer TM_MAX_NUMBER_OF_TURNS = 50;
 
+	/**
+	 * Seed of the games, set by the risk.seed system property or drawn at random.
+	 * */
+	protected final long seed;
+
+	/**
+	 * Seeds of the order of play and of the initial placement of the games, drawn in the
+	 * order the games are set up.
+	 * */
+	protected final Random gameSeeds;
+
 	public TournamentModeHelper() {
+		this(getSeedFromSystemProperties());
+	}
+
+	/**
+	 * @param seed the seed of the games, the same seed replaying the same draws.
+	 */
+	public TournamentModeHelper(long seed) {
 		scanner = new Scanner(System.in);
 		tournamentModeGameData = new LinkedHashMap<>();
+		this.seed = seed;
+		this.gameSeeds = new Random(seed);
+	}
+
+	/**
+	 * @return the seed given by the risk.seed system property, a random seed if it is not set.
+	 */
+	protected static long getSeedFromSystemProperties() {
+		String seed = System.getProperty("risk.seed");
+		return seed == null ? new Random().nextLong() : Long.parseLong(seed.trim());
 	}
 
 	/**
@@ -93,16 +123,17 @@ public class TournamentModeHelper {
 				System.out.println("Enter your name: ");
 				playerNameInput = scanner.nextLine().trim();
 			}
-			// first check if it is a number then check if it is inside the range of 1 to 5
+			// first check if it is a number then check if it is one of the bot strategies
 			do {
 				do {
 					System.out.println("\nChoose your PlayerStrategy Strategy (BASED ON NUMBER): ");
-					System.out.println("\n(1) Aggressive \n(2) Benevolent \n(3) Random \n(4) Cheater");
+					System.out.println("\n(1) Aggressive \n(2) Benevolent \n(3) Random \n(4) Cheater \n(6) Monte Carlo \n(7) Expectiminimax");
 
 					playerStrategyInput = scanner.nextLine().trim();
 				} while (isNaN(playerStrategyInput));
-				// check to make sure it is between 1 and 5 else keep asking
-			} while (!(Integer.parseInt(playerStrategyInput) > 0 && Integer.parseInt(playerStrategyInput) < 5));
+				// check to make sure it is between 1 and 4 or 6 and 7 (human players can not play tournaments) else keep asking
+			} while (!((Integer.parseInt(playerStrategyInput) > 0 && Integer.parseInt(playerStrategyInput) < 5)
+					|| Integer.parseInt(playerStrategyInput) == 6 || Integer.parseInt(playerStrategyInput) == 7));
 
 			playerNames.add(playerNameInput.trim());
 			playerStrategy.add(Integer.parseInt(playerStrategyInput)); // parse it and store it as integer
@@ -118,7 +149,8 @@ public class TournamentModeHelper {
 	}
 
 	/**
-	 * Load the number of maps specified by the user
+	 * Load the number of maps specified by the user. The games of a map load it through the
+	 * shared map cache, so it is parsed and validated once per content.
 	 */
 	private void loadGameMaps() {
 		
@@ -128,9 +160,7 @@ public class TournamentModeHelper {
 			MapLoader maploader = new MapLoader();
 			maploader.loadMap();
 			for (GameData gameData : tournamentModeGameData.get(key)) {
-				maploader = new MapLoader();
-				maploader.loadMapFromFile(MapLoader.SAVED_MAP_FILE_PATH);
-				gameData.gameMap = maploader.map;
+				gameData.gameMap = MapCache.getSharedCache().loadMap(MapLoader.SAVED_MAP_FILE_PATH);
 			}
 		}
 		
@@ -241,6 +271,10 @@ public class TournamentModeHelper {
 						result = winnerPlayer.getStrategyType().getPlayerName() + "(Cheater)";
 					} else if (winnerPlayer.getStrategyType() instanceof BenevolentMode) {
 						result = winnerPlayer.getStrategyType().getPlayerName() + "(Benevolent)";
+					} else if (winnerPlayer.getStrategyType() instanceof MonteCarloMode) {
+						result = winnerPlayer.getStrategyType().getPlayerName() + "(Monte Carlo)";
+					} else if (winnerPlayer.getStrategyType() instanceof ExpectiminimaxMode) {
+						result = winnerPlayer.getStrategyType().getPlayerName() + "(Expectiminimax)";
 					}
 				}
 				
@@ -1,13 +1,18 @@
 package com.main;
 
+import com.java.controller.instrumentation.MetricsExporter;
 import com.java.view.RiskGameDriver;
 
 public class RiskGameApplication {
 
 	public static void main(String[] args) {
 		System.out.println("\n################ Game Begins ################\n");
+		MetricsExporter metricsExporter = MetricsExporter.startFromSystemProperties();
 		RiskGameDriver driver = new RiskGameDriver();
 		driver.startGame();
 		System.out.println("\n################ Game Ends ################\n");
+		if (metricsExporter != null) {
+			metricsExporter.stop();
+		}
     }
 }
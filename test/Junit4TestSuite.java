@@ -1,9 +1,13 @@
 import com.java.controller.gameplay.GameplayTestSuite;
+import com.java.controller.instrumentation.InstrumentationTestSuite;
 import com.java.controller.map.MapTestSuite;
+import com.java.controller.server.ServerTestSuite;
 import com.java.controller.startup.StartUpPhaseTestSuite;
+import com.java.model.gamedata.GameDataTestSuite;
 import com.java.model.map.GameMapTestSuite;
 import com.java.model.player.PlayerTestSuite;
 import com.java.model.player.RandomModeTest;
+import com.java.model.simulation.SimulationTestSuite;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -12,7 +16,8 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 
 @SuiteClasses({ GameplayTestSuite.class, MapTestSuite.class, StartUpPhaseTestSuite.class, GameMapTestSuite.class,
-		PlayerTestSuite.class})
+		PlayerTestSuite.class, InstrumentationTestSuite.class, SimulationTestSuite.class, GameDataTestSuite.class,
+		ServerTestSuite.class})
 
 /**
  * This class is the suit to run the test cases of every test class.
@@ -0,0 +1,151 @@
+package com.java.controller.instrumentation;
+
+import com.java.controller.map.MapLoader;
+import com.java.model.gamedata.GameData;
+import com.java.model.map.GameMap;
+import com.java.model.player.AggresiveMode;
+import com.java.model.player.AttackPhaseState;
+import com.java.model.player.Player;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * GameEventsTest class tests that the flight recorder events of the game are committed with
+ * their fields when a recording enables them.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class GameEventsTest {
+
+	/**
+	 * Records the given action with the given events enabled and returns the recorded events.
+	 *
+	 * @param action the action to be recorded.
+	 * @param eventNames the names of the events to be enabled.
+	 * @return the recorded events.
+	 */
+	private static List<RecordedEvent> record(Runnable action, String... eventNames) throws Exception {
+		File recordingFile = File.createTempFile("risk-events", ".jfr");
+		recordingFile.deleteOnExit();
+		try (Recording recording = new Recording()) {
+			for (String eventName : eventNames) {
+				recording.enable(eventName).withoutThreshold();
+			}
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(recordingFile.toPath());
+		}
+		return RecordingFile.readAllEvents(recordingFile.toPath());
+	}
+
+	/**
+	 * Tests that loading a map records the load and the validation with the map size.
+	 */
+	@Test
+	public void testMapLoadAndValidationEvents() throws Exception {
+		List<RecordedEvent> events = record(() -> new MapLoader().loadMapFromFile("./map/Manhattan.map"),
+				"risk.MapLoad", "risk.MapValidation");
+
+		int numberOfLoadEvents = 0;
+		int numberOfValidationEvents = 0;
+		for (RecordedEvent event : events) {
+			if (event.getEventType().getName().equals("risk.MapLoad")) {
+				numberOfLoadEvents++;
+				assertEquals("./map/Manhattan.map", event.getString("path"));
+				assertTrue(event.getBoolean("loaded"));
+				assertTrue(event.getInt("mapSize") > 0);
+			} else if (event.getEventType().getName().equals("risk.MapValidation")) {
+				numberOfValidationEvents++;
+				assertTrue(event.getBoolean("valid"));
+			}
+		}
+		assertEquals(1, numberOfLoadEvents);
+		assertEquals(1, numberOfValidationEvents);
+	}
+
+	/**
+	 * Tests that a won battle records the battle round and the conquest with the game, player
+	 * and strategy of the attacker.
+	 */
+	@Test
+	public void testBattleAndConquestEvents() throws Exception {
+		GameData gameData = new GameData();
+		gameData.gameMap = new GameMap();
+
+		ArrayList<Player> players = new ArrayList<Player>();
+		Player playerOne = new Player();
+		playerOne.setStrategyType(new AggresiveMode(1, "P1"));
+		Player playerTwo = new Player();
+		playerTwo.setStrategyType(new AggresiveMode(2, "P2"));
+		players.add(playerOne);
+		players.add(playerTwo);
+		gameData.setPlayers(players);
+		gameData.gameMap.setupPlayerNames(players);
+		gameData.gameMap.setGameId(gameData.getGameId());
+
+		gameData.gameMap.addContinent("Continent1", 3);
+		gameData.gameMap.addCountry("C1", "Continent1");
+		gameData.gameMap.addCountry("C2", "Continent1");
+		gameData.gameMap.addCountry("C3", "Continent1");
+		gameData.gameMap.setAdjacentCountry("C1", "C2");
+		gameData.gameMap.setAdjacentCountry("C2", "C3");
+		gameData.gameMap.setCountryConquerer("C1", 1);
+		gameData.gameMap.setCountryConquerer("C2", 2);
+		gameData.gameMap.setCountryConquerer("C3", 2);
+		gameData.gameMap.addArmyToCountry("C1", 5);
+		gameData.gameMap.addArmyToCountry("C2", 1);
+		gameData.gameMap.addArmyToCountry("C3", 1);
+		playerOne.getStrategyType().setGameData(gameData);
+		playerTwo.getStrategyType().setGameData(gameData);
+
+		AttackPhaseState attackPhase = new AttackPhaseState();
+		attackPhase.setAttackingPlayer("P1");
+		attackPhase.setDefendingPlayer("P2");
+		attackPhase.setAttackingCountry("C1");
+		attackPhase.setDefendingCountry("C2");
+		attackPhase.setAttackerDiceCount(2);
+		attackPhase.setDefenderDiceCount(1);
+		attackPhase.setAttackerDiceRollResults(new ArrayList<Integer>(Arrays.asList(6, 5)));
+		attackPhase.setDefenderDiceRollResults(new ArrayList<Integer>(Arrays.asList(1)));
+
+		List<RecordedEvent> events = record(() -> playerOne.getStrategyType().fight(attackPhase),
+				"risk.BattleRound", "risk.Conquest");
+
+		int numberOfBattleEvents = 0;
+		int numberOfConquestEvents = 0;
+		for (RecordedEvent event : events) {
+			assertEquals((long) gameData.getGameId(), event.getLong("gameId"));
+			assertEquals(1, event.getInt("playerId"));
+			assertEquals("AggresiveMode", event.getString("strategy"));
+			assertEquals(3, event.getInt("mapSize"));
+			if (event.getEventType().getName().equals("risk.BattleRound")) {
+				numberOfBattleEvents++;
+				assertEquals("C2", event.getString("defendingCountry"));
+				assertEquals(1, event.getInt("defenderLosses"));
+				assertTrue(event.getBoolean("conquered"));
+			} else {
+				numberOfConquestEvents++;
+				assertEquals("C2", event.getString("country"));
+				assertEquals(2, event.getInt("previousPlayerId"));
+			}
+		}
+		assertEquals(1, numberOfBattleEvents);
+		assertEquals(1, numberOfConquestEvents);
+	}
+}
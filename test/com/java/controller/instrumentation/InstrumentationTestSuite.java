@@ -0,0 +1,21 @@
+package com.java.controller.instrumentation;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+
+@Suite.SuiteClasses({TurnInstrumentationTest.class, GameEventsTest.class, MetricsTest.class})
+
+/**
+ * This class is the suit to run the test cases of every test class.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ * */
+public class InstrumentationTestSuite {
+}
@@ -0,0 +1,158 @@
+package com.java.controller.instrumentation;
+
+import com.java.model.gamedata.GameData;
+import com.java.model.map.GameMap;
+import com.java.model.player.AggresiveMode;
+import com.java.model.player.BenevolentMode;
+import com.java.model.player.Player;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * MetricsTest class tests the metrics registry text format, its HTTP and file exports and
+ * the game metrics.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class MetricsTest {
+
+	/**
+	 * Gets the value of a sample in a scrape.
+	 *
+	 * @param scrape the metrics text.
+	 * @param sample the sample name with its labels.
+	 * @return the value.
+	 */
+	private static double getSampleValue(String scrape, String sample) {
+		for (String line : scrape.split("\n")) {
+			if (line.startsWith(sample + " ")) {
+				return Double.parseDouble(line.substring(sample.length() + 1));
+			}
+		}
+		throw new AssertionError("Sample " + sample + " not found in\n" + scrape);
+	}
+
+	/**
+	 * Gets the value of a sample in a scrape, or 0 if the sample has not been created yet.
+	 *
+	 * @param scrape the metrics text.
+	 * @param sample the sample name with its labels.
+	 * @return the value.
+	 */
+	private static double getSampleValueOrZero(String scrape, String sample) {
+		return scrape.contains("\n" + sample + " ") ? getSampleValue(scrape, sample) : 0;
+	}
+
+	/**
+	 * Tests the text format of counters, labelled counters and gauges.
+	 */
+	@Test
+	public void testRegistryTextFormat() {
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.counter("test_events_total", "Events").add(3);
+		registry.counter("test_wins_total", "Wins", "strategy", "AggresiveMode").increment();
+		registry.counter("test_wins_total", "Wins", "strategy", "AggresiveMode").increment();
+		registry.gauge("test_ratio", "Ratio", () -> 0.25);
+
+		String expected = "# HELP test_events_total Events\n"
+				+ "# TYPE test_events_total counter\n"
+				+ "test_events_total 3\n"
+				+ "# HELP test_ratio Ratio\n"
+				+ "# TYPE test_ratio gauge\n"
+				+ "test_ratio 0.25\n"
+				+ "# HELP test_wins_total Wins\n"
+				+ "# TYPE test_wins_total counter\n"
+				+ "test_wins_total{strategy=\"AggresiveMode\"} 2\n";
+		assertEquals(expected, registry.scrape());
+	}
+
+	/**
+	 * Tests that the HTTP endpoint and the file export serve the registry text.
+	 */
+	@Test
+	public void testHttpAndFileExport() throws Exception {
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.counter("test_exported_total", "Exported").add(7);
+		MetricsExporter exporter = new MetricsExporter(registry);
+		try {
+			int port = exporter.startHttpEndpoint(0);
+			HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + port + "/metrics")
+					.openConnection();
+			assertEquals(200, connection.getResponseCode());
+			assertEquals(MetricsExporter.CONTENT_TYPE, connection.getContentType());
+			try (InputStream body = connection.getInputStream()) {
+				assertEquals(registry.scrape(), new String(body.readAllBytes(), StandardCharsets.UTF_8));
+			}
+
+			File metricsFile = File.createTempFile("risk-metrics", ".prom");
+			metricsFile.deleteOnExit();
+			exporter.writeFile(metricsFile.getPath());
+			assertEquals(registry.scrape(), new String(Files.readAllBytes(metricsFile.toPath()), StandardCharsets.UTF_8));
+		} finally {
+			exporter.stop();
+		}
+	}
+
+	/**
+	 * Tests the games in progress gauge and the per strategy win rates. The default registry
+	 * is shared with the other tests which play games, so only the changes are checked.
+	 */
+	@Test
+	public void testGameMetrics() {
+		GameData gameData = new GameData();
+		gameData.gameMap = new GameMap();
+		ArrayList<Player> players = new ArrayList<Player>();
+		Player playerOne = new Player();
+		playerOne.setStrategyType(new AggresiveMode(1, "P1"));
+		Player playerTwo = new Player();
+		playerTwo.setStrategyType(new BenevolentMode(2, "P2"));
+		players.add(playerOne);
+		players.add(playerTwo);
+		gameData.setPlayers(players);
+
+		MetricsRegistry registry = MetricsRegistry.getDefault();
+		String before = registry.scrape();
+		double aggressivePlayed = getSampleValueOrZero(before, "risk_games_played_total{strategy=\"AggresiveMode\"}");
+		double aggressiveWon = getSampleValueOrZero(before, "risk_games_won_total{strategy=\"AggresiveMode\"}");
+		double benevolentPlayed = getSampleValueOrZero(before, "risk_games_played_total{strategy=\"BenevolentMode\"}");
+		double benevolentWon = getSampleValueOrZero(before, "risk_games_won_total{strategy=\"BenevolentMode\"}");
+
+		GameMetrics.gameStarted(gameData);
+		double gamesInProgress = getSampleValue(registry.scrape(), "risk_games_in_progress");
+		assertTrue(gamesInProgress >= 1);
+
+		gameData.setWinner(playerOne);
+		GameMetrics.gameFinished(gameData);
+		GameMetrics.gameFinished(gameData);
+
+		String scrape = registry.scrape();
+		assertEquals(gamesInProgress - 1, getSampleValue(scrape, "risk_games_in_progress"), 0);
+		assertEquals(aggressivePlayed + 1, getSampleValue(scrape, "risk_games_played_total{strategy=\"AggresiveMode\"}"), 0);
+		assertEquals(aggressiveWon + 1, getSampleValue(scrape, "risk_games_won_total{strategy=\"AggresiveMode\"}"), 0);
+		assertEquals(benevolentPlayed + 1, getSampleValue(scrape, "risk_games_played_total{strategy=\"BenevolentMode\"}"), 0);
+		assertEquals(benevolentWon, getSampleValue(scrape, "risk_games_won_total{strategy=\"BenevolentMode\"}"), 0);
+		assertEquals((aggressiveWon + 1) / (aggressivePlayed + 1),
+				getSampleValue(scrape, "risk_win_rate{strategy=\"AggresiveMode\"}"), 1e-9);
+		assertEquals(benevolentWon / (benevolentPlayed + 1),
+				getSampleValue(scrape, "risk_win_rate{strategy=\"BenevolentMode\"}"), 1e-9);
+
+		double battles = getSampleValue(scrape, "risk_battles_total");
+		GameMetrics.battleFought(2000);
+		assertEquals(battles + 1, getSampleValue(registry.scrape(), "risk_battles_total"), 0);
+	}
+}
@@ -0,0 +1,150 @@
+package com.java.controller.instrumentation;
+
+import com.java.model.cards.CardsDeck;
+import com.java.model.gamedata.GameData;
+import com.java.model.map.Country;
+import com.java.model.map.GameMap;
+import com.java.model.player.AggresiveMode;
+import com.java.model.player.BenevolentMode;
+import com.java.model.player.Player;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * TurnInstrumentationTest class tests the latency histogram and the recording of the turn
+ * phases per strategy.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class TurnInstrumentationTest {
+
+	private static GameData gameData;
+	private static Player playerOne, playerTwo;
+
+	/**
+	 * Sets up a map of four countries shared by an aggressive and a benevolent player.
+	 */
+	@BeforeClass
+	static public void setUp() {
+		gameData = new GameData();
+		gameData.gameMap = new GameMap();
+
+		ArrayList<Player> players = new ArrayList<Player>();
+		playerOne = new Player();
+		playerOne.setStrategyType(new AggresiveMode(1, "P1"));
+		playerTwo = new Player();
+		playerTwo.setStrategyType(new BenevolentMode(2, "P2"));
+		players.add(playerOne);
+		players.add(playerTwo);
+
+		gameData.gameMap.setupPlayerNames(players);
+		gameData.gameMap.addContinent("Continent1", 3);
+		gameData.gameMap.addCountry("C1", "Continent1");
+		gameData.gameMap.addCountry("C2", "Continent1");
+		gameData.gameMap.addCountry("C3", "Continent1");
+		gameData.gameMap.addCountry("C4", "Continent1");
+		gameData.gameMap.setAdjacentCountry("C1", "C2");
+		gameData.gameMap.setAdjacentCountry("C2", "C3");
+		gameData.gameMap.setAdjacentCountry("C3", "C4");
+		gameData.gameMap.setCountryConquerer("C1", 1);
+		gameData.gameMap.setCountryConquerer("C2", 1);
+		gameData.gameMap.setCountryConquerer("C3", 2);
+		gameData.gameMap.setCountryConquerer("C4", 2);
+		gameData.gameMap.addArmyToCountry("C1", 2);
+		gameData.gameMap.addArmyToCountry("C2", 2);
+		gameData.gameMap.addArmyToCountry("C3", 2);
+		gameData.gameMap.addArmyToCountry("C4", 2);
+
+		ArrayList<Country> countryList = new ArrayList<Country>();
+		for (String country : gameData.gameMap.getAllCountries().keySet()) {
+			countryList.add(gameData.gameMap.getCountry(country));
+		}
+		gameData.cardsDeck = new CardsDeck(countryList);
+
+		gameData.setPlayers(players);
+		playerOne.getStrategyType().setGameData(gameData);
+		playerTwo.getStrategyType().setGameData(gameData);
+	}
+
+	/**
+	 * Tests the count, mean, extremes and percentiles of the histogram.
+	 */
+	@Test
+	public void testHistogramPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long value = 1; value <= 1000; value++) {
+			histogram.record(value * 1000);
+		}
+
+		assertEquals(1000, histogram.getTotalCount());
+		assertEquals(500500.0, histogram.getMean(), 0.001);
+		assertEquals(1000, histogram.getMin());
+		assertEquals(1000000, histogram.getMax());
+		assertEquals(500000, histogram.getValueAtPercentile(50), 500000 * 0.04);
+		assertEquals(990000, histogram.getValueAtPercentile(99), 990000 * 0.04);
+		assertEquals(1000000, histogram.getValueAtPercentile(100));
+
+		histogram.reset();
+		assertEquals(0, histogram.getTotalCount());
+		assertEquals(0, histogram.getValueAtPercentile(50));
+	}
+
+	/**
+	 * Tests that every bucket boundary is reported within the histogram precision.
+	 */
+	@Test
+	public void testHistogramBucketPrecision() {
+		for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+			long highest = LatencyHistogram.highestValueInBucket(LatencyHistogram.bucketIndex(value));
+			assertTrue(highest >= value);
+			assertTrue(highest - value <= value / 32);
+		}
+	}
+
+	/**
+	 * Tests that a turn records one sample for the turn and one per phase, under the strategy
+	 * class that played.
+	 */
+	@Test
+	public void testTurnIsRecordedPerStrategyAndPhase() {
+		TurnInstrumentation.reset();
+		TurnInstrumentation.setEnabled(true);
+
+		playerOne.startTurn();
+		playerTwo.startReinforcement();
+
+		for (TurnInstrumentation.Phase phase : TurnInstrumentation.Phase.values()) {
+			TurnInstrumentation.PhaseStatistics statistics = TurnInstrumentation.getStatistics("AggresiveMode", phase);
+			assertNotNull(statistics);
+			assertTrue(statistics.getWallTime().getTotalCount() <= 1);
+		}
+		assertEquals(1, TurnInstrumentation.getStatistics("AggresiveMode", TurnInstrumentation.Phase.TURN)
+				.getWallTime().getTotalCount());
+		assertEquals(1, TurnInstrumentation.getStatistics("AggresiveMode", TurnInstrumentation.Phase.REINFORCEMENT)
+				.getCpuTime().getTotalCount());
+		assertEquals(1, TurnInstrumentation.getStatistics("BenevolentMode", TurnInstrumentation.Phase.REINFORCEMENT)
+				.getAllocatedBytes().getTotalCount());
+		assertEquals(0, TurnInstrumentation.getStatistics("BenevolentMode", TurnInstrumentation.Phase.TURN)
+				.getWallTime().getTotalCount());
+		assertNull(TurnInstrumentation.getStatistics("CheaterMode", TurnInstrumentation.Phase.TURN));
+
+		TurnInstrumentation.setEnabled(false);
+		playerTwo.startReinforcement();
+		assertEquals(1, TurnInstrumentation.getStatistics("BenevolentMode", TurnInstrumentation.Phase.REINFORCEMENT)
+				.getWallTime().getTotalCount());
+		TurnInstrumentation.setEnabled(true);
+		TurnInstrumentation.reset();
+	}
+}
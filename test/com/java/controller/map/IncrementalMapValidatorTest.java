@@ -0,0 +1,139 @@
+package com.java.controller.map;
+
+import com.java.model.map.GameMap;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * IncrementalMapValidatorTest class tests that the verdict kept up to date by the edits is the
+ * verdict of a validation from scratch.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class IncrementalMapValidatorTest {
+
+	private GameMap map;
+	private MapEditEngine engine;
+	private IncrementalMapValidator validator;
+
+	@Before
+	public void beforeEach() {
+		map = new MapGenerator(60, 4, MapGenerator.Topology.PLANAR_GRID, 9L).generateMap();
+		engine = new MapEditEngine(map);
+		validator = IncrementalMapValidator.attach(engine);
+	}
+
+	private void assertSameVerdict() {
+		IncrementalMapValidator fromScratch = new IncrementalMapValidator(map);
+		assertEquals(fromScratch.isValid(), validator.isValid());
+		assertEquals(fromScratch.getNumberOfComponents(), validator.getNumberOfComponents());
+		assertEquals(new HashSet<>(fromScratch.getErrors()), new HashSet<>(validator.getErrors()));
+	}
+
+	/**
+	 * Tests that cutting every adjacency around a country disconnects the map, and that one
+	 * adjacency connects it again.
+	 */
+	@Test
+	public void testConnectivity() {
+		assertTrue(validator.isValid());
+		assertTrue(new MapValidator().validateMap(map));
+
+		String countryName = MapGenerator.countryName(20);
+		ArrayList<String> neighbours = new ArrayList<>(map.getAdjacentCountries(countryName));
+		for (int i = 1; i < neighbours.size(); i++) {
+			engine.apply(MapEdit.removeAdjacency(countryName, neighbours.get(i)));
+			assertTrue(validator.isValid());
+		}
+		engine.apply(MapEdit.removeAdjacency(countryName, neighbours.get(0)));
+		assertFalse(validator.isValid());
+		assertEquals(2, validator.getNumberOfComponents());
+		assertTrue(validator.getErrors().contains("Map disconnected"));
+		assertFalse(new MapValidator().validateMap(map));
+
+		engine.undo();
+		assertTrue(validator.isValid());
+		engine.apply(MapEdit.removeCountry(neighbours.get(0)));
+		assertEquals(2, validator.getNumberOfComponents());
+		engine.apply(MapEdit.addAdjacency(countryName, MapGenerator.countryName(0)));
+		assertEquals(1, validator.getNumberOfComponents());
+		assertSameVerdict();
+	}
+
+	/**
+	 * Tests that the verdict follows random edits, undos and redos.
+	 */
+	@Test
+	public void testRandomEdits() {
+		Random random = new Random(11L);
+		ArrayList<String> continentNames = new ArrayList<>(map.getAllContinents().keySet());
+		int numberOfAddedCountries = 0;
+		int numberOfDisconnectedSteps = 0;
+		for (int step = 0; step < 400; step++) {
+			ArrayList<String> countryNames = new ArrayList<>(map.getAllCountries().keySet());
+			String countryName = countryNames.get(random.nextInt(countryNames.size()));
+			String otherCountryName = countryNames.get(random.nextInt(countryNames.size()));
+			ArrayList<String> neighbours = new ArrayList<>(map.getAdjacentCountries(countryName));
+			switch (random.nextInt(8)) {
+			case 0:
+			case 1:
+				if (!neighbours.isEmpty()) {
+					String neighbourName = neighbours.get(random.nextInt(neighbours.size()));
+					engine.apply(MapEdit.removeAdjacency(countryName, neighbourName));
+				}
+				break;
+			case 2:
+				if (!countryName.equals(otherCountryName)) {
+					engine.apply(MapEdit.addAdjacency(countryName, otherCountryName));
+				}
+				break;
+			case 3:
+				if (countryNames.size() > 10) {
+					engine.apply(MapEdit.removeCountry(countryName));
+				}
+				break;
+			case 4:
+				String newCountryName = "New" + numberOfAddedCountries++;
+				String continentName = continentNames.get(random.nextInt(continentNames.size()));
+				if (map.getContinent(continentName) != null) {
+					engine.apply(MapEdit.addCountry(newCountryName, continentName));
+					engine.apply(MapEdit.addAdjacency(newCountryName, countryName));
+				}
+				break;
+			case 5:
+				engine.undo();
+				break;
+			case 6:
+				engine.redo();
+				break;
+			default:
+				if (step % 50 == 7) {
+					engine.apply(MapEdit.removeContinent(map.getCountry(countryName).getCountryContinentName()));
+				}
+				break;
+			}
+			assertSameVerdict();
+			if (validator.getNumberOfComponents() > 1) {
+				numberOfDisconnectedSteps++;
+			}
+		}
+		assertTrue(numberOfDisconnectedSteps > 0);
+		engine.undoAll();
+		assertTrue(validator.isValid());
+		assertEquals(1, validator.getNumberOfComponents());
+		assertTrue(validator.revalidate());
+	}
+}
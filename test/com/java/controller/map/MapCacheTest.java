@@ -0,0 +1,126 @@
+package com.java.controller.map;
+
+import com.java.model.map.GameMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * MapCacheTest class tests that a map content is parsed and validated once, then served from
+ * memory or from the cache files, and that a changed file is loaded again.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class MapCacheTest {
+
+	private Path directory;
+	private String cacheDirectoryPath;
+
+	@Before
+	public void beforeEach() throws IOException {
+		directory = Files.createTempDirectory("maps");
+		cacheDirectoryPath = directory.resolve("cache").toString();
+	}
+
+	@After
+	public void afterEach() throws IOException {
+		for (File file : directory.resolve("cache").toFile().listFiles()) {
+			file.delete();
+		}
+		for (File file : directory.toFile().listFiles()) {
+			file.delete();
+		}
+		Files.delete(directory);
+	}
+
+	private String writeMapFile(String fileName, long seed) throws IOException {
+		String mapFilePath = directory.resolve(fileName).toString();
+		new MapGenerator(200, 5, MapGenerator.Topology.RANDOM_GEOMETRIC, seed).writeMapFile(mapFilePath);
+		return mapFilePath;
+	}
+
+	private static void assertSameMap(GameMap expected, GameMap actual) {
+		assertEquals(expected.getMapAuthor(), actual.getMapAuthor());
+		assertEquals(expected.warn, actual.warn);
+		assertEquals(expected.getAllContinents().keySet(), actual.getAllContinents().keySet());
+		for (String continentName : expected.getAllContinents().keySet()) {
+			assertEquals(expected.getContinent(continentName).getContinentControlValue(),
+					actual.getContinent(continentName).getContinentControlValue());
+		}
+		assertEquals(expected.getContinentCountries(), actual.getContinentCountries());
+		assertEquals(expected.getAdjacentCountries(), actual.getAdjacentCountries());
+	}
+
+	/**
+	 * Tests that repeated loads of a valid and of an invalid map skip the parsing and the
+	 * validation, in the same cache and in a new cache of the same directory.
+	 */
+	@Test
+	public void testRepeatedLoads() throws IOException {
+		String mapFilePath = writeMapFile("generated.map", 4L);
+		MapLoader mapLoader = new MapLoader();
+		assertTrue(mapLoader.loadMapFromFile(mapFilePath));
+
+		MapCache mapCache = new MapCache(cacheDirectoryPath, 4);
+		GameMap firstMap = mapCache.loadMap(mapFilePath);
+		GameMap secondMap = mapCache.loadMap(mapFilePath);
+		assertEquals(1, mapCache.getNumberOfParsedFiles());
+		assertEquals(1, mapCache.getNumberOfMemoryHits());
+		assertSameMap(mapLoader.map, firstMap);
+		assertSameMap(mapLoader.map, secondMap);
+
+		firstMap.removeCountry(MapGenerator.countryName(0));
+		assertSameMap(mapLoader.map, secondMap);
+
+		String invalidMapFilePath = Paths.get("./map/invalid_maps/invalid2_disconnected_map.map").toString();
+		assertNull(mapCache.loadMap(invalidMapFilePath));
+		assertNull(mapCache.loadMap(invalidMapFilePath));
+		assertEquals(2, mapCache.getNumberOfParsedFiles());
+
+		MapCache newMapCache = new MapCache(cacheDirectoryPath, 4);
+		assertSameMap(mapLoader.map, newMapCache.loadMap(mapFilePath));
+		assertNull(newMapCache.loadMap(invalidMapFilePath));
+		assertEquals(0, newMapCache.getNumberOfParsedFiles());
+		assertEquals(2, newMapCache.getNumberOfDiskHits());
+	}
+
+	/**
+	 * Tests that an evicted topology is read back from its cache file, and that a changed file
+	 * is a new content.
+	 */
+	@Test
+	public void testEvictionAndChangedFile() throws IOException {
+		String firstMapFilePath = writeMapFile("first.map", 1L);
+		String secondMapFilePath = writeMapFile("second.map", 2L);
+		MapCache mapCache = new MapCache(cacheDirectoryPath, 1);
+
+		GameMap firstMap = mapCache.loadMap(firstMapFilePath);
+		mapCache.loadMap(secondMapFilePath);
+		assertSameMap(firstMap, mapCache.loadMap(firstMapFilePath));
+		assertEquals(2, mapCache.getNumberOfParsedFiles());
+		assertEquals(1, mapCache.getNumberOfDiskHits());
+		assertEquals(0, mapCache.getNumberOfMemoryHits());
+
+		writeMapFile("first.map", 3L);
+		GameMap changedMap = mapCache.loadMap(firstMapFilePath);
+		assertEquals(3, mapCache.getNumberOfParsedFiles());
+		assertFalse(firstMap.getAdjacentCountries().equals(changedMap.getAdjacentCountries()));
+		assertSameMap(new MapGenerator(200, 5, MapGenerator.Topology.RANDOM_GEOMETRIC, 3L).generateMap(), changedMap);
+	}
+}
@@ -0,0 +1,184 @@
+package com.java.controller.map;
+
+import com.java.model.map.Continent;
+import com.java.model.map.GameMap;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * MapEditEngineTest class tests that the edits of the map editor are checked, undone and
+ * redone exactly, and that scripts are applied as a whole or not at all.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class MapEditEngineTest {
+
+	private GameMap map;
+	private MapEditEngine engine;
+
+	@Before
+	public void beforeEach() {
+		map = new MapGenerator(40, 4, MapGenerator.Topology.PLANAR_GRID, 5L).generateMap();
+		engine = new MapEditEngine(map);
+	}
+
+	/**
+	 * Describes the content of a map, so two maps can be compared.
+	 */
+	private static String describe(GameMap map) {
+		TreeMap<String, String> content = new TreeMap<>();
+		for (Continent continent : map.getAllContinents().values()) {
+			String continentName = continent.getContinentName();
+			content.put("continent " + continentName, continent.getContinentControlValue() + " "
+					+ new TreeSet<>(map.getContinentCountries(continentName)));
+		}
+		for (String countryName : map.getAllCountries().keySet()) {
+			content.put("country " + countryName, map.getCountry(countryName).getCountryContinentName() + " "
+					+ new TreeSet<>(map.getAdjacentCountries(countryName)));
+		}
+		return map.getMapAuthor() + " " + content;
+	}
+
+	/**
+	 * Tests that undoing every edit gives back the original map and redoing them the edited one.
+	 */
+	@Test
+	public void testUndoAndRedo() {
+		String original = describe(map);
+		String removedCountry = MapGenerator.countryName(7);
+		HashSet<String> neighbours = new HashSet<>(map.getAdjacentCountries(removedCountry));
+
+		engine.apply(MapEdit.removeCountry(removedCountry));
+		engine.apply(MapEdit.addContinent("Atlantis", 3));
+		engine.apply(MapEdit.addCountry("Poseidonis", "Atlantis"));
+		engine.apply(MapEdit.addCountry("Thule", "Atlantis"));
+		engine.apply(MapEdit.addAdjacency("Poseidonis", "Thule"));
+		engine.apply(MapEdit.addAdjacency("Poseidonis", MapGenerator.countryName(0)));
+		engine.apply(MapEdit.removeContinent(MapGenerator.continentName(1)));
+		engine.apply(MapEdit.setAuthor("Cartographer"));
+
+		assertNull(map.getCountry(removedCountry));
+		for (String neighbourName : neighbours) {
+			assertFalse(map.getAdjacentCountries(neighbourName).contains(removedCountry));
+		}
+		for (HashSet<String> adjacency : map.getAdjacentCountriesObject().values()) {
+			assertFalse(adjacency.contains(removedCountry));
+		}
+		String edited = describe(map);
+		assertNotEquals(original, edited);
+
+		assertTrue(engine.undo());
+		assertTrue(engine.undo());
+		assertTrue(engine.redo());
+		assertEquals(7, engine.undoAll());
+		assertEquals(original, describe(map));
+		assertFalse(engine.undo());
+
+		engine.apply(MapEdit.removeCountry(removedCountry));
+		assertEquals(0, engine.getNumberOfRedoableChanges());
+		engine.undo();
+		assertEquals(original, describe(map));
+		assertTrue(engine.redo());
+		assertNull(map.getCountry(removedCountry));
+	}
+
+	/**
+	 * Tests that invalid edits are rejected without changing the map.
+	 */
+	@Test
+	public void testInvalidEdits() {
+		String original = describe(map);
+		MapEdit[] invalidEdits = { MapEdit.addCountry(MapGenerator.countryName(1), MapGenerator.continentName(0)),
+				MapEdit.addCountry("Thule", "Atlantis"), MapEdit.removeCountry("Thule"),
+				MapEdit.addContinent(MapGenerator.continentName(0), 1), MapEdit.addContinent("Atlantis", -1),
+				MapEdit.addAdjacency(MapGenerator.countryName(1), MapGenerator.countryName(1)),
+				MapEdit.removeAdjacency(MapGenerator.countryName(0), MapGenerator.countryName(39)),
+				MapEdit.setAuthor(" ") };
+		for (MapEdit edit : invalidEdits) {
+			try {
+				engine.apply(edit);
+				fail(edit.toString());
+			} catch (IllegalArgumentException e) {
+				assertEquals(original, describe(map));
+			}
+		}
+		assertEquals(0, engine.getNumberOfUndoableChanges());
+	}
+
+	/**
+	 * Tests that a script is one change, and that a script with an invalid line is not applied.
+	 */
+	@Test
+	public void testScripts() throws IOException {
+		String original = describe(map);
+		String script = "; new continent\naddContinent,Atlantis,3\naddCountry,Thule,Atlantis\n\n"
+				+ "addCountry,Poseidonis,Atlantis\naddAdjacency,Thule,Poseidonis\naddAdjacency,Thule,"
+				+ MapGenerator.countryName(0) + "\n";
+		assertEquals(5, engine.applyScript(new BufferedReader(new StringReader(script))));
+		assertEquals(1, engine.getNumberOfUndoableChanges());
+		assertTrue(map.getAdjacentCountries(MapGenerator.countryName(0)).contains("Thule"));
+		String edited = describe(map);
+		engine.undo();
+		assertEquals(original, describe(map));
+		engine.redo();
+		assertEquals(edited, describe(map));
+
+		String invalidScript = "removeCountry,Thule\nremoveContinent,Atlantis\nremoveCountry,Thule\n";
+		try {
+			engine.applyScript(new BufferedReader(new StringReader(invalidScript)));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().startsWith("Line 3"));
+		}
+		assertEquals(edited, describe(map));
+		assertEquals(1, engine.getNumberOfUndoableChanges());
+
+		for (String line : script.split("\n")) {
+			MapEdit edit = MapEdit.parse(line);
+			if (edit != null) {
+				assertEquals(line, edit.toString());
+			}
+		}
+	}
+
+	/**
+	 * Tests that only the countries and continents touched by the edits are validated.
+	 */
+	@Test
+	public void testValidateChanges() {
+		assertTrue(engine.validateChanges().isEmpty());
+		engine.apply(MapEdit.addContinent("Atlantis", 3));
+		engine.apply(MapEdit.addCountry("Thule", "Atlantis"));
+		List<String> errors = engine.validateChanges();
+		assertEquals(2, errors.size());
+		assertTrue(engine.getChangedCountries().isEmpty());
+
+		engine.apply(MapEdit.addCountry("Poseidonis", "Atlantis"));
+		engine.apply(MapEdit.addAdjacency("Thule", "Poseidonis"));
+		engine.apply(MapEdit.addAdjacency("Thule", MapGenerator.countryName(0)));
+		assertTrue(engine.validateChanges().isEmpty());
+
+		engine.apply(MapEdit.removeAdjacency("Thule", "Poseidonis"));
+		assertEquals(1, engine.validateChanges().size());
+	}
+}
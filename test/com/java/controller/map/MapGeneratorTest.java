@@ -0,0 +1,94 @@
+package com.java.controller.map;
+
+import com.java.model.map.GameMap;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * MapGeneratorTest class tests that the synthetic maps of every topology are valid, both
+ * in memory and once written and loaded back from a .map file.
+ *
+ * @author Karan Dhingra
+ * @version 2.0.0
+ */
+public class MapGeneratorTest {
+
+	static MapValidator mapValidator;
+	static Integer numberOfCountries;
+	static Integer numberOfContinents;
+
+	@BeforeClass
+	public static void beforeEverything() {
+		mapValidator = new MapValidator();
+		numberOfCountries = 200;
+		numberOfContinents = 8;
+	}
+
+	/**
+	 * Tests that a planar grid map is valid and has the expected size.
+	 */
+	@Test
+	public void testGeneratePlanarGridMap() {
+		GameMap map = new MapGenerator(numberOfCountries, numberOfContinents, MapGenerator.Topology.PLANAR_GRID, 1L)
+				.generateMap();
+		assertEquals(numberOfCountries, map.getNumberOfCountries());
+		assertEquals((int) numberOfContinents, map.getAllContinents().size());
+		assertTrue(mapValidator.validateMap(map));
+	}
+
+	/**
+	 * Tests that a random geometric map is valid, including the links added to connect it.
+	 */
+	@Test
+	public void testGenerateRandomGeometricMap() {
+		GameMap map = new MapGenerator(numberOfCountries, numberOfContinents, MapGenerator.Topology.RANDOM_GEOMETRIC, 2, 7L)
+				.generateMap();
+		assertEquals(numberOfCountries, map.getNumberOfCountries());
+		assertTrue(mapValidator.validateMap(map));
+	}
+
+	/**
+	 * Tests that a scale free map is valid.
+	 */
+	@Test
+	public void testGenerateScaleFreeMap() {
+		GameMap map = new MapGenerator(numberOfCountries, numberOfContinents, MapGenerator.Topology.SCALE_FREE, 3L)
+				.generateMap();
+		assertEquals(numberOfCountries, map.getNumberOfCountries());
+		assertTrue(mapValidator.validateMap(map));
+	}
+
+	/**
+	 * Tests that the same seed generates the same map.
+	 */
+	@Test
+	public void testGenerationIsDeterministic() {
+		GameMap firstMap = new MapGenerator(numberOfCountries, numberOfContinents, MapGenerator.Topology.SCALE_FREE, 5L)
+				.generateMap();
+		GameMap secondMap = new MapGenerator(numberOfCountries, numberOfContinents, MapGenerator.Topology.SCALE_FREE, 5L)
+				.generateMap();
+		assertEquals(firstMap.getAdjacentCountries(), secondMap.getAdjacentCountries());
+		assertEquals(firstMap.getContinentCountries(), secondMap.getContinentCountries());
+	}
+
+	/**
+	 * Tests that a written .map file is accepted by the map loader and gives back the same map.
+	 */
+	@Test
+	public void testWrittenMapFileLoads() throws Exception {
+		MapGenerator generator = new MapGenerator(numberOfCountries, numberOfContinents,
+				MapGenerator.Topology.RANDOM_GEOMETRIC, 11L);
+		File mapFile = File.createTempFile("generated", ".map");
+		mapFile.deleteOnExit();
+		generator.writeMapFile(mapFile.getPath());
+
+		MapLoader mapLoader = new MapLoader();
+		assertTrue(mapLoader.loadMapFromFile(mapFile.getPath()));
+		assertEquals(generator.generateMap().getAdjacentCountries(), mapLoader.map.getAdjacentCountries());
+	}
+}
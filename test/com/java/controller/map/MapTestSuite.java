@@ -5,7 +5,9 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 
-@Suite.SuiteClasses({MapTest.class})
+@Suite.SuiteClasses({MapTest.class, MapGeneratorTest.class, MapEditEngineTest.class,
+		IncrementalMapValidatorTest.class, MapWriterTest.class,
+		MapCacheTest.class, TerritoryParserTest.class})
 
 /**
  * This class is the suit to run the test cases of every test class.
@@ -0,0 +1,96 @@
+package com.java.controller.map;
+
+import com.java.model.map.GameMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * MapWriterTest class tests that saved maps are loadable and byte-identical from one save to the
+ * next, and that a failed save leaves the previous file in place.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class MapWriterTest {
+
+	private Path directory;
+
+	@Before
+	public void beforeEach() throws IOException {
+		directory = Files.createTempDirectory("maps");
+	}
+
+	@After
+	public void afterEach() throws IOException {
+		for (File file : directory.toFile().listFiles()) {
+			file.delete();
+		}
+		Files.delete(directory);
+	}
+
+	/**
+	 * Tests that a saved map loads back, and that saving the loaded map gives the same bytes.
+	 */
+	@Test
+	public void testSavesAreDeterministic() throws IOException {
+		GameMap map = new MapGenerator(300, 6, MapGenerator.Topology.SCALE_FREE, 3L).generateMap();
+		String firstPath = directory.resolve("first.map").toString();
+		String secondPath = directory.resolve("second.map").toString();
+		MapWriter.writeMap(map, firstPath);
+
+		MapLoader mapLoader = new MapLoader();
+		assertTrue(mapLoader.loadMapFromFile(firstPath));
+		assertEquals(map.getAdjacentCountries(), mapLoader.map.getAdjacentCountries());
+		assertEquals(map.getContinentCountries(), mapLoader.map.getContinentCountries());
+
+		MapWriter.writeMap(mapLoader.map, secondPath);
+		assertArrayEquals(Files.readAllBytes(Path.of(firstPath)), Files.readAllBytes(Path.of(secondPath)));
+		MapWriter.writeMap(map, secondPath);
+		assertArrayEquals(Files.readAllBytes(Path.of(firstPath)), Files.readAllBytes(Path.of(secondPath)));
+		assertEquals(Arrays.asList("first.map", "second.map"), listDirectory());
+	}
+
+	/**
+	 * Tests that a file which is not committed replaces nothing and leaves no temporary file.
+	 */
+	@Test
+	public void testUncommittedWriteKeepsPreviousFile() throws IOException {
+		Path mapFilePath = directory.resolve("kept.map");
+		new MapGenerator(40, 2, MapGenerator.Topology.PLANAR_GRID, 1L).writeMapFile(mapFilePath.toString());
+		byte[] previousContent = Files.readAllBytes(mapFilePath);
+
+		try (MapWriter mapWriter = new MapWriter(mapFilePath.toString())) {
+			mapWriter.writeMapMetaData("nobody", "yes");
+			mapWriter.writeCountry("Thule", "Atlantis");
+			mapWriter.writeContinent("Atlantis", 3);
+			fail();
+		} catch (IllegalStateException e) {
+			assertArrayEquals(previousContent, Files.readAllBytes(mapFilePath));
+		}
+		assertArrayEquals(previousContent, Files.readAllBytes(mapFilePath));
+		assertEquals(Arrays.asList("kept.map"), listDirectory());
+	}
+
+	private List<String> listDirectory() {
+		String[] names = directory.toFile().list();
+		Arrays.sort(names);
+		return Arrays.asList(names);
+	}
+}
@@ -0,0 +1,111 @@
+package com.java.controller.map;
+
+import com.java.model.map.GameMap;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * TerritoryParserTest class tests that the parallel parser loads the same countries and
+ * adjacencies as the line by line reading of MapLoader, whatever the chunks.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class TerritoryParserTest {
+
+	private static void assertSameCountries(GameMap expected, GameMap actual) {
+		assertEquals(expected.getAllCountries().keySet(), actual.getAllCountries().keySet());
+		assertEquals(expected.getContinentCountries(), actual.getContinentCountries());
+		assertEquals(expected.getAdjacentCountriesObject(), actual.getAdjacentCountriesObject());
+	}
+
+	/**
+	 * Tests that a generated file gives the generated map, with one chunk and with chunks cut
+	 * in the middle of the lines.
+	 */
+	@Test
+	public void testGeneratedMap() throws IOException {
+		File mapFile = File.createTempFile("generated", ".map");
+		mapFile.deleteOnExit();
+		MapGenerator generator = new MapGenerator(3000, 12, MapGenerator.Topology.SCALE_FREE, 8L);
+		generator.writeMapFile(mapFile.getPath());
+		GameMap generatedMap = generator.generateMap();
+		byte[] content = Files.readAllBytes(mapFile.toPath());
+
+		int[] offsets = null;
+		int[] neighbours = null;
+		for (int numberOfChunks : new int[] { 1, 7, 1000 }) {
+			TerritoryParser.Territories territories = new TerritoryParser(numberOfChunks).parse(content);
+			assertEquals(3000, territories.getNumberOfCountries());
+			assertEquals(MapGenerator.countryName(0), territories.getName(0));
+			GameMap map = new GameMap();
+			territories.loadInto(map);
+			assertSameCountries(generatedMap, map);
+			if (offsets != null) {
+				assertArrayEquals(offsets, territories.getOffsets());
+				assertArrayEquals(neighbours, territories.getNeighbours());
+			}
+			offsets = territories.getOffsets();
+			neighbours = territories.getNeighbours();
+		}
+	}
+
+	/**
+	 * Tests blank lines, Windows line ends, spaces, trailing commas, adjacencies listed on one
+	 * side only, a neighbour which is not a country and a country on two lines against the
+	 * reading of MapLoader.
+	 */
+	@Test
+	public void testIrregularLines() throws Exception {
+		String section = "Alpha,North,Beta,Gamma\r\n\r\n  Beta,North,Alpha , \n"
+				+ "Gamma,South,Delta,Alpha,Alpha,,\r\rDelta,South,Gamma,Nowhere\n"
+				+ "Beta,South,Delta\n\u00C9cosse,South,Delta";
+		Method readandLoadCountries = MapLoader.class.getDeclaredMethod("readandLoadCountries", BufferedReader.class);
+		readandLoadCountries.setAccessible(true);
+		MapLoader mapLoader = new MapLoader();
+		readandLoadCountries.invoke(mapLoader, new BufferedReader(new StringReader(section)));
+
+		byte[] content = ("[Map]\nauthor=a\nwarn=yes\n[Continents]\nNorth=1\nSouth=2\n[Territories]\n" + section)
+				.getBytes(StandardCharsets.UTF_8);
+		for (int numberOfChunks = 1; numberOfChunks < 4; numberOfChunks++) {
+			TerritoryParser.Territories territories = new TerritoryParser(numberOfChunks).parse(content);
+			assertEquals(6, territories.getNumberOfLines());
+			assertEquals(5, territories.getNumberOfCountries());
+			GameMap map = new GameMap();
+			territories.loadInto(map);
+			assertSameCountries(mapLoader.map, map);
+		}
+	}
+
+	/**
+	 * Tests that a line without continent and a missing section are rejected.
+	 */
+	@Test
+	public void testInvalidSections() {
+		String[] contents = { "[Territories]\nAlpha,North,Beta\nBeta\n", "[Continents]\nNorth=1\nAlpha,North,Beta\n" };
+		for (String content : contents) {
+			try {
+				new TerritoryParser(2).parse(content.getBytes(StandardCharsets.UTF_8));
+				fail(content);
+			} catch (IOException e) {
+				assertTrue(e.getMessage().length() > 0);
+			}
+		}
+	}
+}
@@ -0,0 +1,196 @@
+package com.java.controller.server;
+
+import com.java.controller.map.MapGenerator;
+import com.java.model.map.GameMap;
+import com.java.model.player.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * GameServerTest class tests that a server plays many sessions on its bot pool, parks and
+ * resumes the idle ones and closes the finished ones.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class GameServerTest {
+
+	private static final long IDLE_TIMEOUT = 60000;
+
+	private static GameMap map;
+
+	private GameServer server;
+
+	@BeforeClass
+	public static void beforeEverything() {
+		map = new MapGenerator(12, 2, MapGenerator.Topology.PLANAR_GRID, 1L).generateMap();
+	}
+
+	@Before
+	public void beforeEach() {
+		server = new GameServer(2, 4, IDLE_TIMEOUT, Long.MAX_VALUE);
+	}
+
+	@After
+	public void afterEach() {
+		server.close();
+	}
+
+	/**
+	 * Tests that several sessions are played to the end on a pool of two threads.
+	 */
+	@Test
+	public void testPlaySessions() throws InterruptedException {
+		long[] sessionIds = new long[3];
+		for (int i = 0; i < sessionIds.length; i++) {
+			sessionIds[i] = server.createSession(map, 2, 20, i);
+			assertFalse(server.joinSession(sessionIds[i], "Aggressive", 1));
+			assertTrue(server.joinSession(sessionIds[i], "Cheater", 4));
+		}
+		for (long sessionId : sessionIds) {
+			GameSession session = server.getSession(sessionId);
+			assertTrue(session.awaitFinished(30000));
+			assertEquals(GameSession.State.FINISHED, session.getState());
+			assertTrue(session.getTurnsPlayed() <= 20);
+			assertTrue(session.getWinner() != null || session.getTurnsPlayed() == 20);
+			assertTrue(session.getMemoryFootprint() > 0);
+		}
+		assertEquals(Integer.valueOf(12), map.getNumberOfCountries());
+		assertNull(map.getCountry(MapGenerator.countryName(0)).getCountryConquerorID());
+
+		assertEquals(3, server.evictIdleSessions(System.currentTimeMillis() + IDLE_TIMEOUT));
+		assertEquals(0, server.getNumberOfSessions());
+	}
+
+	/**
+	 * Tests that an idle session is parked and brought back when a player joins it.
+	 */
+	@Test
+	public void testParkAndResume() throws InterruptedException {
+		long sessionId = server.createSession(map, 2, 10, 7L);
+		server.joinSession(sessionId, "Benevolent", 2);
+		assertEquals(0, server.evictIdleSessions(System.currentTimeMillis()));
+
+		assertEquals(1, server.evictIdleSessions(System.currentTimeMillis() + IDLE_TIMEOUT));
+		GameSession session = server.getSession(sessionId);
+		assertTrue(session.isParked());
+		assertNull(session.getGameData());
+		assertTrue(server.getMemoryFootprint() > 0);
+
+		assertTrue(server.joinSession(sessionId, "Aggressive", 1));
+		assertFalse(session.isParked());
+		assertNotNull(session.getGameData());
+		assertEquals(2, session.getGameData().getPlayers().size());
+		assertTrue(session.awaitFinished(30000));
+
+		server.closeSession(sessionId);
+		assertEquals(GameSession.State.CLOSED, session.getState());
+		assertEquals(0, server.getMemoryFootprint());
+	}
+
+	/**
+	 * Tests that the turn of a remote player waits for its commands, and cannot be played by
+	 * the turn template of the bots.
+	 */
+	@Test
+	public void testRemoteTurnWaitsForCommands() {
+		long sessionId = server.createSession(map, 2, 10, 5L);
+		GameServer.RemoteSeat seat = server.joinRemoteSession(sessionId, "Remote");
+		assertTrue(server.joinSession(sessionId, "Benevolent", 2));
+		GameSession session = server.getSession(sessionId);
+		long deadline = System.currentTimeMillis() + IDLE_TIMEOUT;
+		while (session.getAwaitedPlayerId() != seat.getPlayerId() && System.currentTimeMillis() < deadline) {
+			Thread.yield();
+		}
+		assertEquals(seat.getPlayerId(), session.getAwaitedPlayerId());
+
+		Player remotePlayer = session.getGameData().getPlayer(seat.getPlayerId());
+		try {
+			remotePlayer.startTurn();
+			fail("A remote player is played through the server");
+		} catch (IllegalStateException e) {
+			assertEquals(seat.getPlayerId(), session.getAwaitedPlayerId());
+		}
+	}
+
+	/**
+	 * Tests that sessions created at once never exceed the limit of the server.
+	 */
+	@Test
+	public void testConcurrentCreation() throws InterruptedException {
+		AtomicInteger created = new AtomicInteger();
+		Thread[] threads = new Thread[16];
+		for (int i = 0; i < threads.length; i++) {
+			long seed = i;
+			threads[i] = new Thread(() -> {
+				try {
+					server.createSession(map, 2, 10, seed);
+					created.incrementAndGet();
+				} catch (IllegalStateException e) {
+					// the server is full
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(4, created.get());
+		assertEquals(4, server.getNumberOfSessions());
+	}
+
+	/**
+	 * Tests the limits of the server.
+	 */
+	@Test
+	public void testLimits() {
+		for (int i = 0; i < 4; i++) {
+			server.createSession(map, 2, 10, i);
+		}
+		try {
+			server.createSession(map, 2, 10, 4L);
+			fail("The server is full");
+		} catch (IllegalStateException e) {
+			assertEquals(4, server.getNumberOfSessions());
+		}
+		long sessionId = server.getSessions().iterator().next().getId();
+		try {
+			server.joinSession(sessionId, "Human", 5);
+			fail("Humans cannot join");
+		} catch (IllegalArgumentException e) {
+			assertEquals(GameSession.State.WAITING_FOR_PLAYERS, server.getSession(sessionId).getState());
+		}
+		for (int strategy : new int[] { 0, 9 }) {
+			try {
+				server.joinSession(sessionId, "Unknown", strategy);
+				fail("Unknown strategy code " + strategy);
+			} catch (IllegalArgumentException e) {
+				assertEquals(GameSession.State.WAITING_FOR_PLAYERS, server.getSession(sessionId).getState());
+			}
+		}
+		server.closeSession(sessionId);
+		server.createSession(map, 2, 10, 5L);
+		assertEquals(4, server.getNumberOfSessions());
+		try {
+			server.getSession(-1);
+			fail("Unknown session");
+		} catch (IllegalArgumentException e) {
+			assertEquals(4, server.getNumberOfSessions());
+		}
+	}
+}
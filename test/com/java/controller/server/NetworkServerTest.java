@@ -0,0 +1,201 @@
+package com.java.controller.server;
+
+import com.java.controller.map.MapGenerator;
+import com.java.model.map.Country;
+import com.java.model.map.GameMap;
+import com.java.model.player.RemoteMode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * NetworkServerTest class tests the frames of Protocol and a remote player playing a session
+ * through a NetworkServer on the loopback interface.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class NetworkServerTest {
+
+	private static final int TIMEOUT = 30000;
+
+	private static GameMap map;
+
+	private GameServer gameServer;
+	private NetworkServer networkServer;
+	private InetSocketAddress address;
+
+	@BeforeClass
+	public static void beforeEverything() {
+		map = new MapGenerator(12, 2, MapGenerator.Topology.PLANAR_GRID, 1L).generateMap();
+	}
+
+	@Before
+	public void beforeEach() throws IOException {
+		gameServer = new GameServer(2, 4, 60000, Long.MAX_VALUE);
+		networkServer = new NetworkServer(gameServer, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		address = new InetSocketAddress(InetAddress.getLoopbackAddress(), networkServer.getPort());
+	}
+
+	@After
+	public void afterEach() throws IOException {
+		networkServer.close();
+		gameServer.close();
+	}
+
+	/**
+	 * Tests that frames split across reads are only taken once complete, and that invalid
+	 * lengths are rejected.
+	 */
+	@Test
+	public void testFraming() throws ProtocolException {
+		ByteBuffer place = new Protocol.FrameWriter(Protocol.PLACE).putString("\u00c5land").putInt(3).toFrame();
+		ByteBuffer endTurn = new Protocol.FrameWriter(Protocol.END_TURN).toFrame();
+		ByteBuffer input = ByteBuffer.allocate(64);
+
+		input.put(place.array(), 0, 3);
+		assertNull(Protocol.nextFrame(input));
+		input.put(place.array(), 3, place.limit() - 4);
+		assertNull(Protocol.nextFrame(input));
+		input.put(place.array(), place.limit() - 1, 1);
+		input.put(endTurn.array(), 0, endTurn.limit());
+
+		ByteBuffer frame = Protocol.nextFrame(input);
+		assertEquals(Protocol.PLACE, frame.get());
+		assertEquals("\u00c5land", Protocol.getString(frame));
+		assertEquals(3, frame.getInt());
+		frame = Protocol.nextFrame(input);
+		assertEquals(Protocol.END_TURN, frame.get());
+		assertFalse(frame.hasRemaining());
+		assertNull(Protocol.nextFrame(input));
+
+		input.putInt(Protocol.MAX_FRAME_LENGTH + 1);
+		try {
+			Protocol.nextFrame(input);
+			fail();
+		} catch (ProtocolException e) {
+			assertNotNull(e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that a remote player places its armies and ends its turns over the network, that
+	 * its invalid commands are rejected, and that the updates keep the map of the clients equal
+	 * to the map of the server.
+	 */
+	@Test
+	public void testRemotePlayer() throws IOException {
+		long sessionId = gameServer.createSession(map, 2, 8, 3L);
+		GameServer.RemoteSeat seat = gameServer.joinRemoteSession(sessionId, "Remote");
+		assertFalse(seat.isStarted());
+		assertTrue(gameServer.joinSession(sessionId, "Benevolent", 2));
+
+		try (RemoteClient client = new RemoteClient(address, sessionId, seat.getPlayerId(), seat.getJoinToken(),
+				TIMEOUT); RemoteClient observer = new RemoteClient(address, sessionId, TIMEOUT)) {
+			observer.endTurn();
+			assertEquals(Protocol.ERROR, observer.awaitTurn());
+			assertNotNull(observer.getLastError());
+
+			int numberOfTurns = 0;
+			byte reply = client.awaitTurn();
+			assertEquals(map.getNumberOfCountries().intValue(), client.getCountryNames().length);
+			while (reply == Protocol.TURN) {
+				assertEquals(RemoteMode.TurnPhase.REINFORCEMENT, client.getTurnPhase());
+				String ownCountry = null;
+				for (String countryName : client.getCountryNames()) {
+					if (client.isOwnCountry(countryName)) {
+						ownCountry = countryName;
+					}
+				}
+				assertNotNull(ownCountry);
+				int armiesToPlace = client.getArmiesToPlace();
+				int armies = client.getCountryArmies(ownCountry);
+
+				client.place(ownCountry, armiesToPlace + 1);
+				assertEquals(Protocol.ERROR, client.awaitTurn());
+				client.fortify(ownCountry, ownCountry, 0);
+				assertEquals(Protocol.ERROR, client.awaitTurn());
+
+				client.place(ownCountry, armiesToPlace);
+				assertEquals(Protocol.TURN, client.awaitTurn());
+				assertEquals(RemoteMode.TurnPhase.ATTACK, client.getTurnPhase());
+				assertEquals(armies + armiesToPlace, client.getCountryArmies(ownCountry));
+
+				client.endTurn();
+				numberOfTurns++;
+				reply = client.awaitTurn();
+			}
+			assertEquals(Protocol.GAME_OVER, reply);
+			assertEquals(4, numberOfTurns);
+			assertEquals(GameSession.NO_PLAYER, client.getWinnerId());
+
+			while (!observer.isGameOver()) {
+				observer.receive();
+			}
+			GameMap serverMap = gameServer.getSession(sessionId).getGameData().gameMap;
+			for (String countryName : client.getCountryNames()) {
+				Country country = serverMap.getCountry(countryName);
+				assertEquals(country.getConquerorId(), client.getCountryOwner(countryName));
+				assertEquals(country.getArmies(), client.getCountryArmies(countryName));
+				assertEquals(country.getConquerorId(), observer.getCountryOwner(countryName));
+				assertEquals(country.getArmies(), observer.getCountryArmies(countryName));
+			}
+		}
+	}
+
+	/**
+	 * Tests that a connection can only play a remote player of the session, with the token it
+	 * joined with, and only while no other connection plays it.
+	 */
+	@Test
+	public void testHelloIsAuthenticated() throws IOException {
+		long sessionId = gameServer.createSession(map, 2, 8, 3L);
+		try {
+			gameServer.joinSession(sessionId, "Remote", 8);
+			fail("Remote players must join with a token");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		GameServer.RemoteSeat seat = gameServer.joinRemoteSession(sessionId, "Remote");
+		assertEquals(1, seat.getPlayerId());
+		assertTrue(gameServer.joinSession(sessionId, "Benevolent", 2));
+
+		try (RemoteClient intruder = new RemoteClient(address, sessionId, seat.getPlayerId(),
+				seat.getJoinToken() + 1, TIMEOUT)) {
+			assertEquals(Protocol.ERROR, intruder.awaitTurn());
+			intruder.endTurn();
+			assertEquals(Protocol.ERROR, intruder.awaitTurn());
+			assertEquals("HELLO must be the first message", intruder.getLastError());
+		}
+		try (RemoteClient bot = new RemoteClient(address, sessionId, 2, seat.getJoinToken(), TIMEOUT)) {
+			assertEquals(Protocol.ERROR, bot.awaitTurn());
+		}
+		try (RemoteClient client = new RemoteClient(address, sessionId, seat.getPlayerId(), seat.getJoinToken(),
+				TIMEOUT)) {
+			assertEquals(Protocol.TURN, client.awaitTurn());
+			try (RemoteClient second = new RemoteClient(address, sessionId, seat.getPlayerId(),
+					seat.getJoinToken(), TIMEOUT)) {
+				assertEquals(Protocol.ERROR, second.awaitTurn());
+				assertEquals("Player 1 is already connected", second.getLastError());
+			}
+		}
+	}
+}
@@ -2,6 +2,8 @@ package com.java.controller.startup;
 
 import com.java.model.gamedata.GameData;
 import com.java.model.map.GameMap;
+import com.java.model.player.AggresiveMode;
+import com.java.model.player.BenevolentMode;
 import com.java.model.player.HumanMode;
 import com.java.model.player.Player;
 import org.junit.BeforeClass;
@@ -9,9 +11,12 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * StartUpPhaseTest class tests the important aspects of start up phase, for
@@ -125,14 +130,14 @@ public class StartUpPhaseTest {
     	startUp.assignCountriesToPlayers();
 
         // if one player id's country matches any of the other players meaning countries are assigned wrongly
-        HashSet<String> countriesOwnedByPlayer0 =  gameData.gameMap.getConqueredCountries(1);
+        Set<String> countriesOwnedByPlayer0 =  gameData.gameMap.getConqueredCountries(1);
 
         for(String country : countriesOwnedByPlayer0){
             for(Player player: players){
                 if(player.getStrategyType().getPlayerID() == 1){
                     continue;
                 }
-                HashSet<String> countriesOwned =  gameData.gameMap.getConqueredCountries(player.getStrategyType().getPlayerID());
+                Set<String> countriesOwned =  gameData.gameMap.getConqueredCountries(player.getStrategyType().getPlayerID());
                 for (String countryNotExpected : countriesOwned){
                     assertNotEquals(country, countryNotExpected);
                 }
@@ -176,4 +181,85 @@ public class StartUpPhaseTest {
     	}
     	
     }
+
+    /**
+     * The initial armies of the bots are placed in one pass after the policies, every country
+     * getting at least one army.
+     * */
+    @Test
+    public void placeInitialArmies() {
+    	GameData placementData = new GameData();
+    	placementData.setNoOfPlayers(2);
+    	placementData.gameMap = new GameMap();
+    	ArrayList<Player> players = new ArrayList<Player>();
+    	Player aggressive = new Player();
+    	aggressive.setStrategyType(new AggresiveMode(1, "Aggressive"));
+    	players.add(aggressive);
+    	Player benevolent = new Player();
+    	benevolent.setStrategyType(new BenevolentMode(2, "Benevolent"));
+    	players.add(benevolent);
+    	placementData.setPlayers(players);
+    	placementData.gameMap.setupPlayerNames(players);
+
+    	// a line of countries, the first three to the first player and the last two to the second
+    	placementData.gameMap.addContinent("Continent1", 5);
+    	for (int i = 0; i < 5; i++) {
+    		placementData.gameMap.addCountry("C" + i, "Continent1");
+    		placementData.gameMap.setCountryConquerer("C" + i, i < 3 ? 1 : 2);
+    		if (i > 0) {
+    			placementData.gameMap.setAdjacentCountry("C" + (i - 1), "C" + i);
+    		}
+    	}
+    	StartUpPhase placement = new StartUpPhase(placementData);
+    	int numberOfArmies = placement.initialArmyCalculation(2);
+
+    	int[] uniform = placement.computeInitialPlacement(aggressive, numberOfArmies, PlacementPolicy.UNIFORM, new Random(7));
+    	int total = 0;
+    	for (int i = 0; i < 3; i++) {
+    		int armies = uniform[placementData.gameMap.getCountryIndex("C" + i)];
+    		assertTrue(armies == numberOfArmies / 3 || armies == numberOfArmies / 3 + 1);
+    		total += armies;
+    	}
+    	assertEquals(numberOfArmies, total);
+
+    	int[] frontier = placement.computeInitialPlacement(aggressive, numberOfArmies, PlacementPolicy.FRONTIER_WEIGHTED, new Random(7));
+    	assertEquals(1, frontier[placementData.gameMap.getCountryIndex("C0")]);
+    	assertEquals(1, frontier[placementData.gameMap.getCountryIndex("C1")]);
+    	assertEquals(numberOfArmies - 2, frontier[placementData.gameMap.getCountryIndex("C2")]);
+
+    	assertEquals(2, placement.placeInitialArmies(PlacementPolicy.STRATEGY, new Random(7)));
+    	assertEquals(Integer.valueOf(numberOfArmies - 2), placementData.gameMap.getCountry("C2").getCountryArmyCount());
+    	assertEquals(Integer.valueOf(numberOfArmies - 1), placementData.gameMap.getCountry("C3").getCountryArmyCount());
+    	assertEquals(Integer.valueOf(1), placementData.gameMap.getCountry("C4").getCountryArmyCount());
+    	assertEquals(Integer.valueOf(numberOfArmies), placementData.gameMap.getNumberOfArmiesPerPlayer().get("2"));
+    }
+
+    /**
+     * The seeded orders of play are permutations of the players, the same for the same seed,
+     * and leave the previous list of players unchanged.
+     * */
+    @Test
+    public void generateSeededRoundRobin() {
+    	GameData orderData = new GameData();
+    	ArrayList<Player> players = new ArrayList<Player>();
+    	for (int i = 1; i <= 6; i++) {
+    		Player player = new Player();
+    		player.setStrategyType(new HumanMode(i, "Player" + i));
+    		players.add(player);
+    	}
+    	orderData.setPlayers(players);
+    	StartUpPhase order = new StartUpPhase(orderData);
+
+    	for (long seed : new long[] { 5, 11 }) {
+    		orderData.setPlayers(players);
+    		ArrayList<Player> drawn = new ArrayList<Player>(order.generateRoundRobin(seed));
+    		assertEquals(6, players.size());
+    		assertEquals(6, new HashSet<Player>(drawn).size());
+    		for (int i = 0; i < drawn.size(); i++) {
+    			assertEquals(Integer.valueOf(i + 1), drawn.get(i).getStrategyType().getOrderOfPlay());
+    		}
+    		orderData.setPlayers(players);
+    		assertEquals(drawn, order.generateRoundRobin(seed));
+    	}
+    }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.java.model.gamedata;
+
+import com.java.controller.startup.StartUpPhase;
+import com.java.model.map.GameMap;
+import com.java.model.player.Player;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * GameDataTest class tests the lookup of the players by id and the players still in the game.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class GameDataTest {
+
+	private static GameData gameData;
+
+	/**
+	 * Creates a game of three bots on a map of three countries, one for each.
+	 */
+	@BeforeClass
+	public static void beforeEverything() {
+		gameData = new GameData();
+		gameData.setNoOfPlayers(3);
+		gameData.gameMap = new GameMap();
+		gameData.gameMap.addContinent("Continent1", 3);
+		for (int i = 0; i < 3; i++) {
+			gameData.gameMap.addCountry("Country" + i, "Continent1");
+		}
+		StartUpPhase startUp = new StartUpPhase(gameData);
+		startUp.generatePlayers(new ArrayList<String>(Arrays.asList("A", "B", "C")),
+				new ArrayList<Integer>(Arrays.asList(1, 2, 4)));
+		for (int i = 0; i < 3; i++) {
+			gameData.gameMap.setCountryConquerer("Country" + i, i + 1);
+		}
+	}
+
+	/**
+	 * Tests that every game numbers its players from 1 and finds them by id.
+	 */
+	@Test
+	public void testGetPlayer() {
+		for (int playerId = 1; playerId <= 3; playerId++) {
+			assertEquals(Integer.valueOf(playerId), gameData.getPlayer(playerId).getStrategyType().getPlayerID());
+		}
+		assertNull(gameData.getPlayer(4));
+		assertNull(gameData.getPlayer(null));
+
+		GameData other = new GameData();
+		other.gameMap = new GameMap();
+		new StartUpPhase(other).generatePlayers(new ArrayList<String>(Arrays.asList("D")),
+				new ArrayList<Integer>(Arrays.asList(2)));
+		assertEquals(Integer.valueOf(1), other.getPlayer(1).getStrategyType().getPlayerID());
+
+		// a list changed in place is indexed again
+		Player removed = gameData.getPlayers().remove(2);
+		assertNull(gameData.getPlayer(3));
+		gameData.getPlayers().add(removed);
+		assertSame(removed, gameData.getPlayer(3));
+	}
+
+	/**
+	 * Tests that the players still in the game and the winner follow the map.
+	 */
+	@Test
+	public void testActivePlayers() {
+		GameMap gameMap = gameData.gameMap;
+		assertEquals(3, gameData.getNumberOfActivePlayers());
+
+		gameMap.startJournal();
+		int mark = gameMap.getJournalMark();
+		gameMap.updateCountryConquerer("Country2", 3, 1);
+		assertFalse(gameData.isPlayerActive(3));
+		assertEquals(2, gameData.getNumberOfActivePlayers());
+		gameMap.updateCountryConquerer("Country1", 2, 1);
+		assertEquals(1, gameData.getNumberOfActivePlayers());
+
+		assertNull(gameData.getWinner());
+		gameData.getPlayer(1).getStrategyType().setGameData(gameData);
+		assertTrue(gameData.getPlayer(1).getStrategyType().checkIfPlayerHasConqueredTheWorld());
+		assertSame(gameData.getPlayer(1), gameData.getWinner());
+		gameData.setWinner(gameData.getPlayer(1));
+		assertSame(gameData.getPlayer(1), gameData.getWinner());
+
+		gameMap.undoTo(mark);
+		gameMap.stopJournal();
+		assertTrue(gameData.isPlayerActive(3));
+		assertEquals(3, gameData.getNumberOfActivePlayers());
+	}
+
+	/**
+	 * Tests that the card trades of a game do not raise the trade value of another game.
+	 */
+	@Test
+	public void testCardExchangeArmyCountPerGame() {
+		GameData other = new GameData();
+		other.gameMap = new GameMap();
+		new StartUpPhase(other).generatePlayers(new ArrayList<String>(Arrays.asList("D")),
+				new ArrayList<Integer>(Arrays.asList(2)));
+		for (Player player : gameData.getPlayers()) {
+			player.getStrategyType().setGameData(gameData);
+		}
+		other.getPlayer(1).getStrategyType().setGameData(other);
+		int count = gameData.getCardExchangeArmyCount();
+
+		gameData.getPlayer(1).getStrategyType().setCardExchangeArmyCount();
+		gameData.getPlayer(2).getStrategyType().setCardExchangeArmyCount();
+		assertEquals(count + 10, gameData.getCardExchangeArmyCount());
+		assertEquals(count + 10, gameData.getPlayer(3).getStrategyType().getCardExchangeArmyCount());
+		assertEquals(5, other.getCardExchangeArmyCount());
+		assertEquals(5, other.getPlayer(1).getStrategyType().getCardExchangeArmyCount());
+	}
+}
@@ -0,0 +1,21 @@
+package com.java.model.gamedata;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+
+@Suite.SuiteClasses({GameDataTest.class})
+
+/**
+ * This class is the suit to run the test cases of every test class.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ * */
+public class GameDataTestSuite {
+}
@@ -0,0 +1,158 @@
+package com.java.model.map;
+
+import com.java.model.player.HumanMode;
+import com.java.model.player.Player;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * GameMapSnapshotTest class tests the snapshots of the state of the map, the journal that
+ * undoes its changes and the deep clone of the map.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class GameMapSnapshotTest {
+
+	/**
+	 * Creates a map of three countries on two continents owned by two players, the second
+	 * continent being conquered by the second player.
+	 *
+	 * @return the map.
+	 */
+	private static GameMap createMap() {
+		GameMap gameMap = new GameMap();
+		ArrayList<Player> players = new ArrayList<Player>();
+		Player player1 = new Player();
+		player1.setStrategyType(new HumanMode(1, "Player1"));
+		Player player2 = new Player();
+		player2.setStrategyType(new HumanMode(2, "Player2"));
+		players.add(player1);
+		players.add(player2);
+		gameMap.setupPlayerNames(players);
+
+		gameMap.addContinent("Continent1", 3);
+		gameMap.addContinent("Continent2", 2);
+		gameMap.addCountry("Country1", "Continent1");
+		gameMap.addCountry("Country2", "Continent1");
+		gameMap.addCountry("Country3", "Continent2");
+		gameMap.setAdjacentCountry("Country1", "Country2");
+		gameMap.setAdjacentCountry("Country2", "Country3");
+		gameMap.setCountryConquerer("Country1", 1);
+		gameMap.setCountryConquerer("Country2", 2);
+		gameMap.setCountryConquerer("Country3", 2);
+		gameMap.addArmyToCountry("Country1", 9);
+		gameMap.addArmyToCountry("Country2", 1);
+		gameMap.addArmyToCountry("Country3", 2);
+		return gameMap;
+	}
+
+	/**
+	 * Conquers the second country with the first player, which then owns the first continent.
+	 */
+	private static void conquerCountry2(GameMap gameMap) {
+		gameMap.setCurrentTurn(1, Zobrist.Phase.ATTACK);
+		gameMap.deductArmyToCountry("Country1", 5);
+		gameMap.updateCountryConquerer("Country2", 2, 1);
+		gameMap.addArmyToCountry("Country2", 4);
+	}
+
+	/**
+	 * Tests that restoring a snapshot puts back the owners, armies, conquered sets and hash.
+	 */
+	@Test
+	public void testRestoreSnapshot() {
+		GameMap gameMap = createMap();
+		long hash = gameMap.getStateHash();
+		GameMapSnapshot snapshot = gameMap.createSnapshot();
+
+		conquerCountry2(gameMap);
+		assertEquals(new HashSet<>(Arrays.asList("Country1", "Country2")), gameMap.getConqueredCountries(1));
+		assertTrue(gameMap.getConqueredContinentsPerPlayer(1).contains("Continent1"));
+
+		gameMap.restoreSnapshot(snapshot);
+
+		assertEquals(Integer.valueOf(2), gameMap.getCountry("Country2").getCountryConquerorID());
+		assertEquals(Integer.valueOf(9), gameMap.getCountry("Country1").getCountryArmyCount());
+		assertEquals(Integer.valueOf(1), gameMap.getCountry("Country2").getCountryArmyCount());
+		assertEquals(new HashSet<>(Arrays.asList("Country1")), gameMap.getConqueredCountries(1));
+		assertEquals(new HashSet<>(Arrays.asList("Country2", "Country3")), gameMap.getConqueredCountries(2));
+		assertTrue(gameMap.getConqueredContinentsPerPlayer(1).isEmpty());
+		assertEquals(null, gameMap.getContinent("Continent1").getContinentConquerorID());
+		assertEquals(hash, gameMap.getStateHash());
+		assertEquals(gameMap.computeStateHash(), gameMap.getStateHash());
+		assertEquals(Integer.valueOf(9), gameMap.getNumberOfArmiesPerPlayer().get("1"));
+		assertEquals(1, gameMap.getSameOwnerNeighbourCount("Country3"));
+		assertEquals(0, gameMap.getSameOwnerNeighbourCount("Country1"));
+
+		GameMapSnapshot copy = gameMap.createSnapshot();
+		conquerCountry2(gameMap);
+		gameMap.captureSnapshot(snapshot);
+		copy.copyFrom(snapshot);
+		assertEquals(Integer.valueOf(1), copy.getCountryOwner(1));
+		assertEquals("Country2", copy.getCountryName(1));
+	}
+
+	/**
+	 * Tests that the journal undoes the changes back to every mark.
+	 */
+	@Test
+	public void testUndoJournal() {
+		GameMap gameMap = createMap();
+		long hash = gameMap.getStateHash();
+		gameMap.startJournal();
+		int start = gameMap.getJournalMark();
+
+		gameMap.deductArmyToCountry("Country1", 5);
+		int afterMove = gameMap.getJournalMark();
+		long hashAfterMove = gameMap.getStateHash();
+		gameMap.updateCountryConquerer("Country2", 2, 1);
+		gameMap.addArmyToCountry("Country2", 4);
+		assertEquals("Continent1", gameMap.getConqueredContinentsPerPlayer(1).iterator().next());
+
+		gameMap.undoTo(afterMove);
+		assertEquals(Integer.valueOf(2), gameMap.getCountry("Country2").getCountryConquerorID());
+		assertEquals(Integer.valueOf(1), gameMap.getCountry("Country2").getCountryArmyCount());
+		assertEquals(Integer.valueOf(4), gameMap.getCountry("Country1").getCountryArmyCount());
+		assertTrue(gameMap.getConqueredContinentsPerPlayer(1).isEmpty());
+		assertEquals(1, gameMap.getSameOwnerNeighbourCount("Country2"));
+		assertTrue(gameMap.isSurroundedCountry("Country1"));
+		assertEquals(hashAfterMove, gameMap.getStateHash());
+
+		gameMap.undoTo(start);
+		assertEquals(Integer.valueOf(9), gameMap.getCountry("Country1").getCountryArmyCount());
+		assertEquals(new HashSet<>(Arrays.asList("Country2", "Country3")), gameMap.getConqueredCountries(2));
+		assertEquals(hash, gameMap.getStateHash());
+		gameMap.stopJournal();
+	}
+
+	/**
+	 * Tests that a clone can be played without changing the original map.
+	 */
+	@Test
+	public void testDeepClone() {
+		GameMap gameMap = createMap();
+		GameMap clone = gameMap.clone();
+		assertNotSame(gameMap.getCountry("Country2"), clone.getCountry("Country2"));
+
+		conquerCountry2(clone);
+
+		assertEquals(Integer.valueOf(1), clone.getCountry("Country2").getCountryConquerorID());
+		assertEquals(Integer.valueOf(2), gameMap.getCountry("Country2").getCountryConquerorID());
+		assertEquals(Integer.valueOf(9), gameMap.getCountry("Country1").getCountryArmyCount());
+		assertEquals(new HashSet<>(Arrays.asList("Country1")), gameMap.getConqueredCountries(1));
+		assertEquals(gameMap.computeStateHash(), gameMap.getStateHash());
+		assertEquals(clone.computeStateHash(), clone.getStateHash());
+	}
+}
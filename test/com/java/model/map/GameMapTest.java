@@ -5,12 +5,16 @@ import com.java.model.player.PlayerStrategy;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import com.java.model.player.Player;
+import com.java.view.GameView;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * GameMapTest class tests the important aspects of game map, for
@@ -109,9 +113,9 @@ public class GameMapTest {
     @Test
     public void continentOwnership() {
     	
-        HashMap<Integer, HashSet<String>> conqueredContinentsPerPlayer = gameMap.getConqueredContinentsPerPlayer();
+        Map<Integer, Set<String>> conqueredContinentsPerPlayer = gameMap.getConqueredContinentsPerPlayer();
         
-        HashSet<String> conqueredContinentsPlayer1 = conqueredContinentsPerPlayer.get(1);
+        Set<String> conqueredContinentsPlayer1 = conqueredContinentsPerPlayer.get(1);
         
         String conqueredContinentPlayer1 = " ";
         
@@ -123,4 +127,156 @@ public class GameMapTest {
         
         assertEquals(expectedConqueredContinentPlayer1,conqueredContinentPlayer1);
     }
+
+    /**
+     * Tests that a batch of transfers moves the countries, gives the continents taken and
+     * notifies the views once, on a clone so the other tests keep the map.
+     */
+    @Test
+    public void transferCountries() {
+        GameMap clonedMap = gameMap.clone();
+        int[] notifications = new int[1];
+        GameView counter = observable -> notifications[0]++;
+        clonedMap.addObserver(counter);
+
+        HashMap<String, Integer> transfers = new HashMap<String, Integer>();
+        transfers.put("Country4", 1);
+        transfers.put("Country1", 1);
+        int numberOfTransfers = clonedMap.transferCountries(transfers);
+        clonedMap.deleteObserver(counter);
+
+        assertEquals(1, numberOfTransfers);
+        assertEquals(1, notifications[0]);
+        assertEquals(Integer.valueOf(1), clonedMap.getCountry("Country4").getCountryConquerorID());
+        assertTrue(clonedMap.getConqueredContinentsPerPlayer(1).contains("Continent2"));
+        assertTrue(clonedMap.getConqueredCountries(2).isEmpty());
+        assertEquals(clonedMap.computeStateHash(), clonedMap.getStateHash());
+        assertEquals(Integer.valueOf(2), gameMap.getCountry("Country4").getCountryConquerorID());
+    }
+
+    /**
+     * Tests that a batch with a country without new conqueror is rejected before any country
+     * moves.
+     */
+    @Test
+    public void transferCountriesWithoutConqueror() {
+        GameMap clonedMap = gameMap.clone();
+        long stateHash = clonedMap.getStateHash();
+        HashMap<String, Integer> transfers = new HashMap<String, Integer>();
+        transfers.put("Country4", 1);
+        transfers.put("Country1", null);
+        try {
+            clonedMap.transferCountries(transfers);
+            fail("A country without new conqueror is rejected");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Integer.valueOf(2), clonedMap.getCountry("Country4").getCountryConquerorID());
+            assertEquals(stateHash, clonedMap.getStateHash());
+        }
+    }
+
+    /**
+     * Tests that the neighbours of the same owner are counted as countries change owner, on a
+     * clone so the other tests keep the map.
+     */
+    @Test
+    public void sameOwnerNeighbours() {
+        GameMap clonedMap = gameMap.clone();
+        assertEquals(1, clonedMap.getSameOwnerNeighbourCount("Country1"));
+        assertTrue(clonedMap.isInteriorCountry("Country1"));
+        assertTrue(clonedMap.isFrontierCountry("Country3"));
+        assertTrue(clonedMap.isSurroundedCountry("Country3"));
+
+        clonedMap.updateCountryConquerer("Country4", 2, 1);
+        assertEquals(1, clonedMap.getSameOwnerNeighbourCount("Country3"));
+        assertTrue(clonedMap.isInteriorCountry("Country4"));
+
+        clonedMap.setAdjacentCountry("Country2", "Country3");
+        assertEquals(2, clonedMap.getSameOwnerNeighbourCount("Country3"));
+        clonedMap.setCountryConquerer("Country2", 2);
+        assertEquals(0, clonedMap.getSameOwnerNeighbourCount("Country2"));
+        assertTrue(clonedMap.isSurroundedCountry("Country2"));
+        assertTrue(clonedMap.isFrontierCountry("Country1"));
+        assertEquals(1, clonedMap.getSameOwnerNeighbourCount("Country3"));
+
+        clonedMap.removeCountry("Country4");
+        assertEquals(0, clonedMap.getSameOwnerNeighbourCount("Country3"));
+        assertEquals(0, gameMap.getSameOwnerNeighbourCount("Country3"));
+    }
+
+    /**
+     * Tests that a vector of army changes is checked as a whole, applied in one pass and
+     * notified once.
+     */
+    @Test
+    public void applyArmyDeltas() {
+        GameMap clonedMap = gameMap.clone();
+        int[] notifications = new int[1];
+        GameView counter = observable -> notifications[0]++;
+        clonedMap.addObserver(counter);
+
+        int[] deltas = new int[clonedMap.getNumberOfCountries()];
+        deltas[clonedMap.getCountryIndex("Country1")] = 4;
+        deltas[clonedMap.getCountryIndex("Country4")] = -1;
+        assertEquals(2, clonedMap.applyArmyDeltas(deltas));
+        assertEquals(1, notifications[0]);
+        assertEquals(Integer.valueOf(6), clonedMap.getCountry("Country1").getCountryArmyCount());
+        assertEquals(Integer.valueOf(0), clonedMap.getCountry("Country4").getCountryArmyCount());
+        assertEquals(6, clonedMap.getArmyVector()[clonedMap.getCountryIndex("Country1")]);
+        assertEquals(Integer.valueOf(11), clonedMap.getNumberOfArmiesPerPlayer().get("1"));
+        assertEquals(clonedMap.computeStateHash(), clonedMap.getStateHash());
+
+        deltas[clonedMap.getCountryIndex("Country1")] = 1;
+        try {
+            clonedMap.applyArmyDeltas(deltas);
+            fail("A country cannot have negative armies");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Integer.valueOf(6), clonedMap.getCountry("Country1").getCountryArmyCount());
+            assertEquals(1, notifications[0]);
+        }
+        clonedMap.deleteObserver(counter);
+        assertEquals(Integer.valueOf(2), gameMap.getCountry("Country1").getCountryArmyCount());
+    }
+
+    /**
+     * Tests that player ids outside the cache of the boxed integers are compared by value.
+     */
+    @Test
+    public void largePlayerIds() {
+        GameMap map = new GameMap();
+        ArrayList<Player> players = new ArrayList<Player>();
+        Player player1 = new Player();
+        player1.setStrategyType(new HumanMode(1000, "Player1000"));
+        Player player2 = new Player();
+        player2.setStrategyType(new HumanMode(2000, "Player2000"));
+        players.add(player1);
+        players.add(player2);
+        map.setupPlayerNames(players);
+        map.addContinent("Continent1", 3);
+        map.addCountry("Country1", "Continent1");
+        map.addCountry("Country2", "Continent1");
+        map.addCountry("Country3", "Continent1");
+        map.setAdjacentCountry("Country1", "Country2");
+        map.setAdjacentCountry("Country2", "Country1");
+        map.setAdjacentCountry("Country2", "Country3");
+        map.setAdjacentCountry("Country3", "Country2");
+        assertEquals(null, map.getCountry("Country1").getCountryConquerorID());
+        assertEquals(Country.NO_CONQUEROR, map.getCountry("Country1").getConquerorId());
+
+        map.setCountryConquerer("Country1", Integer.valueOf(1000));
+        map.setCountryConquerer("Country2", Integer.valueOf(1000));
+        map.setCountryConquerer("Country3", Integer.valueOf(2000));
+        Country country1 = map.getCountry("Country1");
+        assertTrue(country1.isConqueredBy(Integer.valueOf(1000)));
+        assertTrue(country1.hasSameConqueror(map.getCountry("Country2")));
+        assertEquals(1000, country1.getConquerorId());
+        assertEquals(1, map.getSameOwnerNeighbourCount("Country1"));
+        assertEquals(0, map.getSameOwnerNeighbourCount("Country3"));
+
+        map.updateCountryConquerer("Country3", Integer.valueOf(2000), Integer.valueOf(1000));
+        assertEquals(2, map.getSameOwnerNeighbourCount("Country2"));
+        assertTrue(map.isInteriorCountry("Country2"));
+        map.addArmyToCountry("Country3", 130);
+        assertEquals(130, map.getCountry("Country3").getArmies());
+        assertEquals(map.computeStateHash(), map.getStateHash());
+    }
 }
\ No newline at end of file
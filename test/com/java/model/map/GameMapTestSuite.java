@@ -5,7 +5,7 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 
-@Suite.SuiteClasses({GameMapTest.class})
+@Suite.SuiteClasses({GameMapTest.class, ZobristTest.class, GameMapSnapshotTest.class, OwnershipSetTest.class})
 
 /**
  * This class is the suit to run the test cases of every test class.
@@ -0,0 +1,123 @@
+package com.java.model.map;
+
+import com.java.model.player.HumanMode;
+import com.java.model.player.Player;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * OwnershipSetTest class tests the bitsets holding the countries and continents of every
+ * player of a map.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class OwnershipSetTest {
+
+	/**
+	 * Creates a map of three countries on two continents owned by two players, the second
+	 * continent being conquered by the second player.
+	 *
+	 * @return the map.
+	 */
+	private static GameMap createMap() {
+		GameMap gameMap = new GameMap();
+		ArrayList<Player> players = new ArrayList<Player>();
+		Player player1 = new Player();
+		player1.setStrategyType(new HumanMode(1, "Player1"));
+		Player player2 = new Player();
+		player2.setStrategyType(new HumanMode(2, "Player2"));
+		players.add(player1);
+		players.add(player2);
+		gameMap.setupPlayerNames(players);
+
+		gameMap.addContinent("Continent1", 3);
+		gameMap.addContinent("Continent2", 2);
+		gameMap.addCountry("Country1", "Continent1");
+		gameMap.addCountry("Country2", "Continent1");
+		gameMap.addCountry("Country3", "Continent2");
+		gameMap.setAdjacentCountry("Country1", "Country2");
+		gameMap.setAdjacentCountry("Country2", "Country3");
+		gameMap.setCountryConquerer("Country1", 1);
+		gameMap.setCountryConquerer("Country2", 2);
+		gameMap.setCountryConquerer("Country3", 2);
+		gameMap.addArmyToCountry("Country1", 3);
+		gameMap.addArmyToCountry("Country2", 1);
+		gameMap.addArmyToCountry("Country3", 2);
+		return gameMap;
+	}
+
+	/**
+	 * Tests that the sets are read-only views that follow the conquests.
+	 */
+	@Test
+	public void testReadOnlyView() {
+		GameMap gameMap = createMap();
+		Set<String> countries = gameMap.getConqueredCountries(1);
+		assertEquals(new HashSet<>(Arrays.asList("Country1")), countries);
+
+		gameMap.updateCountryConquerer("Country2", 2, 1);
+		assertEquals(2, countries.size());
+		assertEquals(new HashSet<>(Arrays.asList("Country1", "Country2")), new HashSet<>(countries));
+		assertEquals(new HashSet<>(Arrays.asList("Continent1")), gameMap.getConqueredContinentsPerPlayer(1));
+
+		try {
+			countries.add("Country3");
+			fail("The set of a player must be read-only");
+		} catch (UnsupportedOperationException e) {
+			assertEquals(2, countries.size());
+		}
+	}
+
+	/**
+	 * Tests that a player losing a country of a continent it held loses the continent.
+	 */
+	@Test
+	public void testContinentLoss() {
+		GameMap gameMap = createMap();
+		assertTrue(gameMap.getConqueredContinentsPerPlayer(2).contains("Continent2"));
+
+		gameMap.updateCountryConquerer("Country3", 2, 1);
+		assertFalse(gameMap.getConqueredContinentsPerPlayer(2).contains("Continent2"));
+		assertTrue(gameMap.getConqueredContinentsPerPlayer(1).contains("Continent2"));
+		assertEquals(Integer.valueOf(1), gameMap.getContinent("Continent2").getContinentConquerorID());
+
+		gameMap.updateCountryConquerer("Country1", 1, 2);
+		assertFalse(gameMap.getConqueredContinentsPerPlayer(1).contains("Continent1"));
+		assertEquals(new HashSet<>(Arrays.asList("Country1", "Country2")), gameMap.getConqueredCountries(2));
+	}
+
+	/**
+	 * Tests that removing a country gives its id to the last country without changing the
+	 * owners of the others.
+	 */
+	@Test
+	public void testRemoveCountry() {
+		GameMap gameMap = createMap();
+		gameMap.removeCountry("Country1");
+		assertTrue(gameMap.getConqueredCountries(1).isEmpty());
+		assertEquals(new HashSet<>(Arrays.asList("Country2", "Country3")), gameMap.getConqueredCountries(2));
+
+		gameMap.addCountry("Country4", "Continent2");
+		gameMap.setCountryConquerer("Country4", 1);
+		assertEquals(new HashSet<>(Arrays.asList("Country4")), gameMap.getConqueredCountries(1));
+		assertEquals(2, gameMap.getConqueredCountries(2).size());
+		assertFalse(gameMap.getConqueredCountries(2).contains("Country4"));
+
+		gameMap.updateCountryConquerer("Country2", 2, 1);
+		assertTrue(gameMap.getConqueredContinentsPerPlayer(1).contains("Continent1"));
+	}
+}
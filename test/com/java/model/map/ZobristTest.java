@@ -0,0 +1,104 @@
+package com.java.model.map;
+
+import com.java.model.player.HumanMode;
+import com.java.model.player.Player;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * ZobristTest class tests that the state hash of the map is maintained incrementally by the
+ * methods that change the owners, the armies and the turn.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class ZobristTest {
+
+	/**
+	 * Creates a map of three countries owned by two players.
+	 *
+	 * @return the map.
+	 */
+	private static GameMap createMap() {
+		GameMap gameMap = new GameMap();
+		ArrayList<Player> players = new ArrayList<Player>();
+		Player player1 = new Player();
+		player1.setStrategyType(new HumanMode(1, "Player1"));
+		Player player2 = new Player();
+		player2.setStrategyType(new HumanMode(2, "Player2"));
+		players.add(player1);
+		players.add(player2);
+		gameMap.setupPlayerNames(players);
+
+		gameMap.addContinent("Continent1", 3);
+		gameMap.addCountry("Country1", "Continent1");
+		gameMap.addCountry("Country2", "Continent1");
+		gameMap.addCountry("Country3", "Continent1");
+		gameMap.setCountryConquerer("Country1", 1);
+		gameMap.setCountryConquerer("Country2", 1);
+		gameMap.setCountryConquerer("Country3", 2);
+		gameMap.addArmyToCountry("Country1", 3);
+		gameMap.addArmyToCountry("Country2", 1);
+		gameMap.addArmyToCountry("Country3", 2);
+		return gameMap;
+	}
+
+	/**
+	 * Tests that the incremental hash matches the hash computed from scratch after every change.
+	 */
+	@Test
+	public void testIncrementalHashMatchesFullHash() {
+		GameMap gameMap = createMap();
+		assertEquals(gameMap.computeStateHash(), gameMap.getStateHash());
+
+		gameMap.setCurrentTurn(1, Zobrist.Phase.ATTACK);
+		assertEquals(gameMap.computeStateHash(), gameMap.getStateHash());
+
+		gameMap.deductArmyToCountry("Country1", 2);
+		gameMap.updateCountryConquerer("Country3", 2, 1);
+		gameMap.addArmyToCountry("Country3", 1);
+		assertEquals(gameMap.computeStateHash(), gameMap.getStateHash());
+
+		gameMap.removeCountry("Country2");
+		assertEquals(gameMap.computeStateHash(), gameMap.getStateHash());
+	}
+
+	/**
+	 * Tests that the same state has the same hash whatever the order of the changes, and that
+	 * the owners, the armies, the player and the phase are all part of it.
+	 */
+	@Test
+	public void testHashIdentifiesTheState() {
+		GameMap gameMap = createMap();
+		GameMap sameMap = createMap();
+		assertEquals(sameMap.getStateHash(), gameMap.getStateHash());
+
+		long initialHash = gameMap.getStateHash();
+		gameMap.addArmyToCountry("Country2", 4);
+		assertNotEquals(initialHash, gameMap.getStateHash());
+		gameMap.deductArmyToCountry("Country2", 4);
+		assertEquals(initialHash, gameMap.getStateHash());
+
+		gameMap.updateCountryConquerer("Country2", 1, 2);
+		assertNotEquals(initialHash, gameMap.getStateHash());
+		gameMap.updateCountryConquerer("Country2", 2, 1);
+		assertEquals(initialHash, gameMap.getStateHash());
+
+		gameMap.setCurrentTurn(1, Zobrist.Phase.REINFORCEMENT);
+		long reinforcementHash = gameMap.getStateHash();
+		gameMap.setCurrentTurn(1, Zobrist.Phase.ATTACK);
+		assertNotEquals(reinforcementHash, gameMap.getStateHash());
+		gameMap.setCurrentTurn(2, Zobrist.Phase.REINFORCEMENT);
+		assertNotEquals(reinforcementHash, gameMap.getStateHash());
+		gameMap.setCurrentTurn(1, Zobrist.Phase.REINFORCEMENT);
+		assertEquals(reinforcementHash, gameMap.getStateHash());
+	}
+}
@@ -3,7 +3,7 @@ package com.java.model.player;
 
 import static org.junit.Assert.*;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -120,7 +120,7 @@ public class AggressiveModeTest {
 	 */
 	@Test
 	public void executeAttack() {
-		HashSet<String> initialOwnedCountries = gameData.gameMap.getConqueredCountries(2);
+		Set<String> initialOwnedCountries = gameData.gameMap.getConqueredCountries(2);
 		int initialOwnedCountriesNumber = initialOwnedCountries.size();
 
 		Country weakerCountry = gameData.gameMap.getCountry("C5");;
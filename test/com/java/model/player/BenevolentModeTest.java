@@ -12,7 +12,7 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 
@@ -124,14 +124,14 @@ public class BenevolentModeTest {
     @Test
     public void testAttack(){
 
-        HashSet<String> conqueredCountryByPlayerOne = gameData.gameMap.getConqueredCountries(1);
+        Set<String> conqueredCountryByPlayerOne = gameData.gameMap.getConqueredCountries(1);
         Integer armyCountBeforeAttack = 0;
         for(String country : conqueredCountryByPlayerOne){
             armyCountBeforeAttack += gameData.gameMap.getCountry(country).getCountryArmyCount();
         }
         // armyCountBeforeAttack is 10 now.
         playerOne.getStrategyType().executeAttack();
-        HashSet<String> conqueredCountryByPlayerOneAfterAttack = gameData.gameMap.getConqueredCountries(1);
+        Set<String> conqueredCountryByPlayerOneAfterAttack = gameData.gameMap.getConqueredCountries(1);
         Integer armyCountAfterAttack = 0;
         for(String country : conqueredCountryByPlayerOneAfterAttack){
             armyCountAfterAttack += gameData.gameMap.getCountry(country).getCountryArmyCount();
@@ -200,7 +200,7 @@ public class BenevolentModeTest {
             Card card = gameData.cardsDeck.getCard();
             playerOne.getStrategyType().addToPlayerCardList(card);
         }
-        playerOne.getStrategyType().cardExchangeArmyCount = 5;
+        gameData.setCardExchangeArmyCount(5);
         /*calculateTotalReinforcement internally verifies for the validity of the card exchange.*/
         int actual_value = playerOne.getStrategyType().tradeCardsAI(playerOne.getStrategyType().getPlayerCardList());
 
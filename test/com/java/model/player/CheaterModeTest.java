@@ -3,7 +3,7 @@ package com.java.model.player;
 
 import static org.junit.Assert.*;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -97,7 +97,7 @@ public class CheaterModeTest {
 	@Test
 	public void executeReinforcement() {
 
-		HashSet<String> countriesOwnedByPlayer = gameData.gameMap.getConqueredCountries(2);
+		Set<String> countriesOwnedByPlayer = gameData.gameMap.getConqueredCountries(2);
 		ArrayList<Integer> beforeReinforcementVariables = new ArrayList<Integer>();
 		ArrayList<Integer> expectedValues = new ArrayList<Integer>();
 		ArrayList<Integer> actualValues = new ArrayList<Integer>();
@@ -132,7 +132,7 @@ public class CheaterModeTest {
 	 */
 	@Test
 	public void executeAttack() {
-		HashSet<String> initialOwnedCountries = gameData.gameMap.getConqueredCountries(2);
+		Set<String> initialOwnedCountries = gameData.gameMap.getConqueredCountries(2);
 
 		int initialOwnedCountriesNumber = initialOwnedCountries.size();
 
@@ -0,0 +1,108 @@
+package com.java.model.player;
+
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import com.java.model.cards.CardsDeck;
+import com.java.model.gamedata.GameData;
+import com.java.model.map.Country;
+import com.java.model.map.GameMap;
+
+/**
+ * This class tests the Monte Carlo strategy behavior.
+ *
+ * reinforce - places all the reinforcement on one of its countries.
+ * attack - takes the weakly defended neighbour of its strongest country.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ *
+ */
+public class MonteCarloModeTest {
+
+	private static GameData gameData;
+	private static Player playerOne, playerTwo;
+
+	/**
+	 * Sets up the scenario for the tests. Creates a map, two players, a Monte Carlo and an aggressive.
+	 */
+	@BeforeClass
+	static public void setUp() {
+		gameData = new GameData();
+		gameData.gameMap = new GameMap();
+		ArrayList<Player> players = new ArrayList<Player>();
+		playerOne = new Player();
+		playerOne.setStrategyType(new MonteCarloMode(1, "P1", 100, 2000, 42));
+		playerTwo = new Player();
+		playerTwo.setStrategyType(new AggresiveMode(2, "P2"));
+		players.add(playerOne);
+		players.add(playerTwo);
+
+		gameData.gameMap.setupPlayerNames(players);
+		gameData.gameMap.addContinent("Continent1", 2);
+		gameData.gameMap.addContinent("Continent2", 2);
+		gameData.gameMap.addCountry("C1", "Continent1");
+		gameData.gameMap.addCountry("C2", "Continent1");
+		gameData.gameMap.addCountry("C3", "Continent2");
+		gameData.gameMap.addCountry("C4", "Continent2");
+		gameData.gameMap.setAdjacentCountry("C1", "C2");
+		gameData.gameMap.setAdjacentCountry("C1", "C3");
+		gameData.gameMap.setAdjacentCountry("C2", "C4");
+		gameData.gameMap.setAdjacentCountry("C3", "C4");
+		gameData.gameMap.setCountryConquerer("C1", 1);
+		gameData.gameMap.setCountryConquerer("C2", 1);
+		gameData.gameMap.setCountryConquerer("C3", 2);
+		gameData.gameMap.setCountryConquerer("C4", 2);
+		gameData.gameMap.addArmyToCountry("C1", 12);
+		gameData.gameMap.addArmyToCountry("C2", 1);
+		gameData.gameMap.addArmyToCountry("C3", 1);
+		gameData.gameMap.addArmyToCountry("C4", 4);
+
+		ArrayList<Country> countryList = new ArrayList<Country>();
+		for (String country : gameData.gameMap.getAllCountries().keySet()) {
+			countryList.add(gameData.gameMap.getCountry(country));
+		}
+		gameData.cardsDeck = new CardsDeck(countryList);
+
+		playerOne.getStrategyType().setGameData(gameData);
+		playerTwo.getStrategyType().setGameData(gameData);
+		gameData.setPlayers(players);
+	}
+
+	/**
+	 * Tests that the whole reinforcement is placed on the countries of the player.
+	 */
+	@Test
+	public void executeReinforcement() {
+		Integer expectedReinforcement = playerOne.getStrategyType().calculateReinforcementArmy();
+		int armiesBefore = 0;
+		for (String country : gameData.gameMap.getConqueredCountries(1)) {
+			armiesBefore += gameData.gameMap.getCountry(country).getCountryArmyCount();
+		}
+
+		playerOne.getStrategyType().executeReinforcement();
+
+		int armiesAfter = 0;
+		for (String country : gameData.gameMap.getConqueredCountries(1)) {
+			armiesAfter += gameData.gameMap.getCountry(country).getCountryArmyCount();
+		}
+		assertEquals(armiesBefore + expectedReinforcement, armiesAfter);
+	}
+
+	/**
+	 * Tests that the search takes the weakly defended neighbour of its strongest country.
+	 */
+	@Test
+	public void executeAttack() {
+		playerOne.getStrategyType().executeAttack();
+
+		assertEquals(Integer.valueOf(1), gameData.gameMap.getCountry("C3").getCountryConquerorID());
+		assertTrue(gameData.gameMap.getCountry("C1").getCountryArmyCount() >= 1);
+	}
+}
@@ -4,8 +4,8 @@ package com.java.model.player;
 import static org.junit.Assert.*;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Random;
+import java.util.Set;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -123,7 +123,7 @@ public class RandomModeTest {
 
 		Integer reinforcementArmy = playerOne.getStrategyType().calculateReinforcementArmy();
 
-		HashSet<String> countriesOwned = playerOne.getStrategyType().gameData.gameMap
+		Set<String> countriesOwned = playerOne.getStrategyType().gameData.gameMap
 				.getConqueredCountries(playerOne.getStrategyType().getPlayerID());
 
 		ArrayList<String> countriesOwnedList = new ArrayList<>(countriesOwned);
@@ -0,0 +1,155 @@
+package com.java.model.simulation;
+
+import com.java.model.map.GameMap;
+import com.java.model.player.AggresiveMode;
+import com.java.model.player.Player;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * BoardStateTest class tests the compact board of the simulations, its copies, its battles
+ * and the dice odds.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class BoardStateTest {
+
+	private static GameMap gameMap;
+
+	/**
+	 * Sets up a map of four countries on two continents, the first continent being owned by
+	 * the first player.
+	 */
+	@BeforeClass
+	static public void setUp() {
+		gameMap = new GameMap();
+		ArrayList<Player> players = new ArrayList<Player>();
+		Player playerOne = new Player();
+		playerOne.setStrategyType(new AggresiveMode(1, "P1"));
+		Player playerTwo = new Player();
+		playerTwo.setStrategyType(new AggresiveMode(2, "P2"));
+		players.add(playerOne);
+		players.add(playerTwo);
+		gameMap.setupPlayerNames(players);
+
+		gameMap.addContinent("Continent1", 4);
+		gameMap.addContinent("Continent2", 2);
+		gameMap.addCountry("C1", "Continent1");
+		gameMap.addCountry("C2", "Continent1");
+		gameMap.addCountry("C3", "Continent2");
+		gameMap.addCountry("C4", "Continent2");
+		gameMap.setAdjacentCountry("C1", "C2");
+		gameMap.setAdjacentCountry("C1", "C3");
+		gameMap.setAdjacentCountry("C3", "C4");
+		gameMap.setCountryConquerer("C1", 1);
+		gameMap.setCountryConquerer("C2", 1);
+		gameMap.setCountryConquerer("C3", 2);
+		gameMap.setCountryConquerer("C4", 2);
+		gameMap.addArmyToCountry("C1", 50);
+		gameMap.addArmyToCountry("C2", 2);
+		gameMap.addArmyToCountry("C3", 1);
+		gameMap.addArmyToCountry("C4", 3);
+	}
+
+	/**
+	 * Tests that the board holds the owners, armies, adjacency and reinforcements of the map.
+	 */
+	@Test
+	public void testStateOfMap() {
+		BoardState state = new BoardState(gameMap, Arrays.asList(1, 2));
+		int c1 = state.getCountryIndex("C1");
+		int c3 = state.getCountryIndex("C3");
+
+		assertEquals(4, state.getNumberOfCountries());
+		assertEquals(0, state.getOwner(c1));
+		assertEquals(1, state.getOwner(c3));
+		assertEquals(50, state.getArmies(c1));
+		assertEquals(2, state.getNeighboursEnd(c1) - state.getNeighboursStart(c1));
+		assertEquals(52, state.getTotalArmies(0));
+		assertTrue(state.isFrontier(c1));
+		assertFalse(state.isFrontier(state.getCountryIndex("C2")));
+		assertEquals(1, state.getEnemyArmiesAround(c1));
+		assertEquals(3 + 4, state.getReinforcement(0));
+		assertEquals(3 + 2, state.getReinforcement(1));
+		assertEquals(-1, state.getWinner());
+	}
+
+	/**
+	 * Tests that a copy does not share its owners and armies with the original.
+	 */
+	@Test
+	public void testCopyIsIndependent() {
+		BoardState state = new BoardState(gameMap, Arrays.asList(1, 2));
+		BoardState copy = state.copy();
+		int c4 = state.getCountryIndex("C4");
+
+		copy.addArmies(c4, 10);
+		copy.setOwner(c4, 0);
+		assertEquals(3, state.getArmies(c4));
+		assertEquals(1, state.getOwner(c4));
+		assertEquals(2, state.getNumberOfCountriesOwned(1));
+		assertEquals(3, copy.getNumberOfCountriesOwned(0));
+
+		copy.copyFrom(state);
+		assertEquals(3, copy.getArmies(c4));
+		assertEquals(1, copy.getOwner(c4));
+	}
+
+	/**
+	 * Tests that an all out attack conquers a weak neighbour and moves the attacking armies.
+	 */
+	@Test
+	public void testAttackAllOut() {
+		BoardState state = new BoardState(gameMap, Arrays.asList(1, 2));
+		int c1 = state.getCountryIndex("C1");
+		int c3 = state.getCountryIndex("C3");
+
+		assertTrue(state.attackAllOut(c1, c3, new SplittableRandom(42)));
+		assertEquals(0, state.getOwner(c3));
+		assertEquals(1, state.getArmies(c1));
+		assertTrue(state.getArmies(c3) > 40);
+		assertEquals(3, state.getNumberOfCountriesOwned(0));
+		assertEquals(1, state.getNumberOfCountriesOwned(1));
+	}
+
+	/**
+	 * Tests the dice odds against the known probabilities of a round.
+	 */
+	@Test
+	public void testDiceOdds() {
+		assertEquals(21.0 / 36, DiceOdds.getAttackerLossProbability(1, 1, 1), 1e-12);
+		assertEquals(2890.0 / 7776, DiceOdds.getAttackerLossProbability(3, 2, 0), 1e-12);
+		assertEquals(2275.0 / 7776, DiceOdds.getAttackerLossProbability(3, 2, 2), 1e-12);
+		for (int attackerDice = 1; attackerDice <= 3; attackerDice++) {
+			for (int defenderDice = 1; defenderDice <= 2; defenderDice++) {
+				double total = 0;
+				for (int losses = 0; losses <= 2; losses++) {
+					total += DiceOdds.getAttackerLossProbability(attackerDice, defenderDice, losses);
+				}
+				assertEquals(1, total, 1e-12);
+			}
+		}
+
+		SplittableRandom random = new SplittableRandom(7);
+		int attackerWins = 0;
+		for (int round = 0; round < 100000; round++) {
+			if (DiceOdds.sampleAttackerLosses(1, 1, random) == 0) {
+				attackerWins++;
+			}
+		}
+		assertEquals(15.0 / 36, attackerWins / 100000.0, 0.01);
+	}
+}
@@ -0,0 +1,142 @@
+package com.java.model.simulation;
+
+import com.java.model.map.GameMap;
+import com.java.model.player.AggresiveMode;
+import com.java.model.player.Player;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ExpectiminimaxSearchTest class tests the exact battle odds, the incremental position
+ * evaluator and the expectiminimax search.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class ExpectiminimaxSearchTest {
+
+	private static GameMap gameMap;
+
+	/**
+	 * Sets up a map of four countries on two continents, the first continent being owned by
+	 * the first player.
+	 */
+	@BeforeClass
+	static public void setUp() {
+		gameMap = new GameMap();
+		ArrayList<Player> players = new ArrayList<Player>();
+		Player playerOne = new Player();
+		playerOne.setStrategyType(new AggresiveMode(1, "P1"));
+		Player playerTwo = new Player();
+		playerTwo.setStrategyType(new AggresiveMode(2, "P2"));
+		players.add(playerOne);
+		players.add(playerTwo);
+		gameMap.setupPlayerNames(players);
+
+		gameMap.addContinent("Continent1", 4);
+		gameMap.addContinent("Continent2", 2);
+		gameMap.addCountry("C1", "Continent1");
+		gameMap.addCountry("C2", "Continent1");
+		gameMap.addCountry("C3", "Continent2");
+		gameMap.addCountry("C4", "Continent2");
+		gameMap.setAdjacentCountry("C1", "C2");
+		gameMap.setAdjacentCountry("C1", "C3");
+		gameMap.setAdjacentCountry("C3", "C4");
+		gameMap.setCountryConquerer("C1", 1);
+		gameMap.setCountryConquerer("C2", 1);
+		gameMap.setCountryConquerer("C3", 2);
+		gameMap.setCountryConquerer("C4", 2);
+		gameMap.addArmyToCountry("C1", 12);
+		gameMap.addArmyToCountry("C2", 2);
+		gameMap.addArmyToCountry("C3", 1);
+		gameMap.addArmyToCountry("C4", 3);
+	}
+
+	/**
+	 * Tests the battle odds against known values of small battles.
+	 */
+	@Test
+	public void testBattleOdds() {
+		// one die against one die, the attacker wins on a strictly higher roll
+		assertEquals(15.0 / 36, BattleOdds.getWinProbability(2, 1), 1e-9);
+		assertEquals(1.0, BattleOdds.getExpectedSurvivorsIfWon(2, 1), 1e-9);
+		assertEquals(0.0, BattleOdds.getWinProbability(1, 1), 1e-9);
+		assertEquals(1.0, BattleOdds.getWinProbability(5, 0), 1e-9);
+
+		double previous = 0;
+		for (int attackers = 2; attackers < 30; attackers++) {
+			double probability = BattleOdds.getWinProbability(attackers, 5);
+			assertTrue(probability >= previous);
+			previous = probability;
+		}
+		assertTrue(BattleOdds.getWinProbability(1000, 10) > 0.999);
+		assertTrue(BattleOdds.getExpectedSurvivorsIfWon(1000, 10) > 900);
+	}
+
+	/**
+	 * Tests that the features and the hash maintained through changes match the ones of an
+	 * evaluator created from the resulting board, and come back when the changes are undone.
+	 */
+	@Test
+	public void testIncrementalEvaluator() {
+		BoardState state = new BoardState(gameMap, Arrays.asList(1, 2));
+		PositionEvaluator evaluator = new PositionEvaluator(state);
+		int c1 = state.getCountryIndex("C1");
+		int c3 = state.getCountryIndex("C3");
+		long hash = evaluator.getHash();
+		double value = evaluator.evaluate(0);
+
+		// the country of the second player is threatened by the 12 armies of C1
+		assertEquals(10, evaluator.getExposure(1));
+		assertEquals(4, evaluator.getContinentBonus(0));
+		assertEquals(2, evaluator.getContinentBonus(1));
+
+		evaluator.setArmies(c1, 1);
+		evaluator.setOwner(c3, 0);
+		evaluator.setArmies(c3, 10);
+		PositionEvaluator fresh = new PositionEvaluator(evaluator.getState());
+		assertEquals(fresh.getHash(), evaluator.getHash());
+		assertEquals(fresh.evaluate(0), evaluator.evaluate(0), 1e-9);
+		assertEquals(fresh.getExposure(0), evaluator.getExposure(0));
+		assertEquals(fresh.getTotalArmies(0), evaluator.getTotalArmies(0));
+		assertEquals(0, evaluator.getContinentBonus(1));
+
+		evaluator.setArmies(c3, 1);
+		evaluator.setOwner(c3, 1);
+		evaluator.setArmies(c1, 12);
+		assertEquals(hash, evaluator.getHash());
+		assertEquals(value, evaluator.evaluate(0), 1e-9);
+	}
+
+	/**
+	 * Tests that the search attacks the weak neighbour of the strong country, leaves the board
+	 * as it found it and reuses the memoized positions.
+	 */
+	@Test
+	public void testSearch() {
+		BoardState state = new BoardState(gameMap, Arrays.asList(1, 2));
+		PositionEvaluator evaluator = new PositionEvaluator(state);
+		long hash = evaluator.getHash();
+		TranspositionTable table = new TranspositionTable(1 << 10);
+		ExpectiminimaxSearch search = new ExpectiminimaxSearch(evaluator, 0, new int[] {0, 1}, 3, 10000);
+		search.setTranspositionTable(table);
+
+		long decision = search.search(TurnDecision.Stage.ATTACK, 0);
+
+		assertEquals(state.getCountryIndex("C1"), TurnDecision.getSourceCountry(decision));
+		assertEquals(state.getCountryIndex("C3"), TurnDecision.getTargetCountry(decision));
+		assertEquals(3, search.getLastDepth());
+		assertEquals(hash, evaluator.getHash());
+		assertTrue(table.getHits() > 0);
+	}
+}
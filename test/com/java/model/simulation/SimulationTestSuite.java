@@ -0,0 +1,22 @@
+package com.java.model.simulation;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+
+@Suite.SuiteClasses({BoardStateTest.class, TranspositionTableTest.class, ExpectiminimaxSearchTest.class,
+		WinProbabilityEstimatorTest.class})
+
+/**
+ * This class is the suit to run the test cases of every test class.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ * */
+public class SimulationTestSuite {
+}
@@ -0,0 +1,99 @@
+package com.java.model.simulation;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * TranspositionTableTest class tests the lookups, the replacements and the concurrent use of
+ * the transposition table.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class TranspositionTableTest {
+
+	/**
+	 * Tests that a stored position is found and an unknown one is not.
+	 */
+	@Test
+	public void testStoreAndProbe() {
+		TranspositionTable table = new TranspositionTable(1000);
+		assertEquals(1024, table.getCapacity());
+		assertNull(table.probe(0x1234L));
+
+		table.store(0x1234L, 0.75, 500, TurnDecision.encode(3, 4));
+		TranspositionTable.Entry entry = table.probe(0x1234L);
+		assertNotNull(entry);
+		assertEquals(0.75, entry.getValue(), 1e-6);
+		assertEquals(500, entry.getIterations());
+		assertEquals(TurnDecision.encode(3, 4), entry.getDecision());
+		assertNull(table.probe(0x1234L + 1024 * 7));
+		assertEquals(1, table.getHits());
+		assertEquals(2, table.getMisses());
+
+		table.clear();
+		assertNull(table.probe(0x1234L));
+	}
+
+	/**
+	 * Tests that an evaluation with fewer iterations does not replace the same position, and
+	 * that another position takes the slot.
+	 */
+	@Test
+	public void testReplacement() {
+		TranspositionTable table = new TranspositionTable(16);
+		table.store(5, 0.5, 100, 1);
+		table.store(5, 0.9, 10, 2);
+		assertEquals(1, table.probe(5).getDecision());
+		table.store(5, 0.9, 200, 2);
+		assertEquals(2, table.probe(5).getDecision());
+
+		table.store(5 + 16, 0.1, 1, 3);
+		assertNull(table.probe(5));
+		assertEquals(3, table.probe(5 + 16).getDecision());
+	}
+
+	/**
+	 * Tests that concurrent writers to the same slots never make a reader see the evaluation of
+	 * another position.
+	 */
+	@Test
+	public void testConcurrentAccessNeverReturnsAnotherPosition() throws Exception {
+		TranspositionTable table = new TranspositionTable(8);
+		AtomicInteger wrongEntries = new AtomicInteger();
+		ArrayList<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			final long seed = t;
+			Thread thread = new Thread(() -> {
+				SplittableRandom random = new SplittableRandom(seed);
+				for (int i = 0; i < 200000; i++) {
+					long key = random.nextLong(64) + 1;
+					// the decision and the iterations are derived from the key to detect mixed slots
+					table.store(key, key / 64.0, (int) key, key * 31);
+					long probedKey = random.nextLong(64) + 1;
+					TranspositionTable.Entry entry = table.probe(probedKey);
+					if (entry != null && (entry.getIterations() != probedKey || entry.getDecision() != probedKey * 31)) {
+						wrongEntries.incrementAndGet();
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, wrongEntries.get());
+	}
+}
@@ -0,0 +1,130 @@
+package com.java.model.simulation;
+
+import com.java.model.gamedata.GameData;
+import com.java.model.map.GameMap;
+import com.java.model.player.AggresiveMode;
+import com.java.model.player.BenevolentMode;
+import com.java.model.player.Player;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * WinProbabilityEstimatorTest class tests the estimates of the win probabilities, their
+ * intervals, their reproducibility and the early stop of the simulations.
+ *
+ * @author Arnav Bhardwaj
+ * @author Karan Dhingra
+ * @author Ghalia Elkerdi
+ * @author Sahil Singh Sodhi
+ * @author Cristian Rodriguez
+ * @version 1.0.0
+ */
+public class WinProbabilityEstimatorTest {
+
+	private static GameData gameData;
+
+	/**
+	 * Sets up a game of four countries where an aggressive player with many armies faces a
+	 * benevolent player.
+	 */
+	@BeforeClass
+	static public void setUp() {
+		gameData = new GameData();
+		gameData.gameMap = new GameMap();
+		ArrayList<Player> players = new ArrayList<Player>();
+		Player playerOne = new Player();
+		playerOne.setStrategyType(new AggresiveMode(1, "P1"));
+		Player playerTwo = new Player();
+		playerTwo.setStrategyType(new BenevolentMode(2, "P2"));
+		players.add(playerOne);
+		players.add(playerTwo);
+		gameData.gameMap.setupPlayerNames(players);
+		gameData.setPlayers(players);
+
+		gameData.gameMap.addContinent("Continent1", 2);
+		gameData.gameMap.addContinent("Continent2", 2);
+		gameData.gameMap.addCountry("C1", "Continent1");
+		gameData.gameMap.addCountry("C2", "Continent1");
+		gameData.gameMap.addCountry("C3", "Continent2");
+		gameData.gameMap.addCountry("C4", "Continent2");
+		gameData.gameMap.setAdjacentCountry("C1", "C2");
+		gameData.gameMap.setAdjacentCountry("C1", "C3");
+		gameData.gameMap.setAdjacentCountry("C2", "C4");
+		gameData.gameMap.setAdjacentCountry("C3", "C4");
+		gameData.gameMap.setCountryConquerer("C1", 1);
+		gameData.gameMap.setCountryConquerer("C2", 1);
+		gameData.gameMap.setCountryConquerer("C3", 2);
+		gameData.gameMap.setCountryConquerer("C4", 2);
+		gameData.gameMap.addArmyToCountry("C1", 30);
+		gameData.gameMap.addArmyToCountry("C2", 1);
+		gameData.gameMap.addArmyToCountry("C3", 2);
+		gameData.gameMap.addArmyToCountry("C4", 2);
+	}
+
+	/**
+	 * Tests that the strong player is estimated to win, inside its interval, and that the
+	 * game is left unchanged.
+	 */
+	@Test
+	public void testEstimate() {
+		WinProbabilityEstimate estimate = new WinProbabilityEstimator(20, 2000, 0, 4, 42).estimate(gameData);
+
+		assertEquals(2000, estimate.getNumberOfSimulations());
+		assertFalse(estimate.isConverged());
+		double probability = estimate.getWinProbability(1);
+		double[] interval = estimate.getConfidenceInterval(1);
+		assertTrue(probability > 0.9);
+		assertTrue(interval[0] <= probability && probability <= interval[1]);
+		assertEquals(1.0, probability + estimate.getWinProbability(2) + estimate.getNoWinnerProbability(), 1e-9);
+		assertEquals(Integer.valueOf(30), gameData.gameMap.getCountry("C1").getCountryArmyCount());
+	}
+
+	/**
+	 * Tests that an estimate only depends on the seed, not on the number of workers.
+	 */
+	@Test
+	public void testReproducible() {
+		WinProbabilityEstimate sequential = new WinProbabilityEstimator(3, 1000, 0, 1, 7).estimate(gameData);
+		WinProbabilityEstimate parallel = new WinProbabilityEstimator(3, 1000, 0, 8, 7).estimate(gameData);
+
+		assertEquals(sequential.getWinProbability(1), parallel.getWinProbability(1), 0);
+		assertEquals(sequential.getNoWinnerProbability(), parallel.getNoWinnerProbability(), 0);
+	}
+
+	/**
+	 * Tests that the simulations stop once the intervals are tight enough.
+	 */
+	@Test
+	public void testEarlyStop() {
+		WinProbabilityEstimate estimate = new WinProbabilityEstimator(20, 100000, 0.05, 4, 42).estimate(gameData);
+
+		assertTrue(estimate.isConverged());
+		assertTrue(estimate.getNumberOfSimulations() < 100000);
+		double[] interval = estimate.getConfidenceInterval(1);
+		assertTrue(interval[1] - interval[0] <= 0.1);
+	}
+
+	/**
+	 * Tests that an interrupted estimate stops without counting simulations that did not run
+	 * and keeps the interrupt.
+	 */
+	@Test
+	public void testInterrupted() {
+		Thread.currentThread().interrupt();
+		try {
+			WinProbabilityEstimate estimate = new WinProbabilityEstimator(20, 100000, 0.05, 4, 42).estimate(gameData);
+
+			assertEquals(0, estimate.getNumberOfSimulations());
+			assertFalse(estimate.isConverged());
+			assertTrue(Thread.currentThread().isInterrupted());
+		} finally {
+			Thread.interrupted();
+		}
+	}
+}